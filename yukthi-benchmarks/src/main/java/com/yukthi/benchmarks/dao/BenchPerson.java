@@ -0,0 +1,54 @@
+package com.yukthi.benchmarks.dao;
+
+/**
+ * Bean used by dao benchmarks.
+ * @author akiran
+ */
+public class BenchPerson
+{
+	private String name;
+	
+	private int age;
+	
+	private String phone;
+	
+	public BenchPerson()
+	{}
+	
+	public BenchPerson(String name, int age, String phone)
+	{
+		this.name = name;
+		this.age = age;
+		this.phone = phone;
+	}
+	
+	public String getName()
+	{
+		return name;
+	}
+	
+	public void setName(String name)
+	{
+		this.name = name;
+	}
+	
+	public int getAge()
+	{
+		return age;
+	}
+	
+	public void setAge(int age)
+	{
+		this.age = age;
+	}
+	
+	public String getPhone()
+	{
+		return phone;
+	}
+	
+	public void setPhone(String phone)
+	{
+		this.phone = phone;
+	}
+}
@@ -0,0 +1,52 @@
+package com.yukthi.benchmarks.dao;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import com.yukthi.dao.qry.DBConnection;
+import com.yukthi.dao.qry.impl.AbstractConnectionSource;
+import com.yukthi.dao.qry.impl.SimpleDBConnection;
+
+/**
+ * Connection source on benchmark database, which opens new connection for every request. Derby does not allow 
+ * closing connection with active transaction (which is the case after reads), so uncommitted work is discarded 
+ * before closing, same as most of the drivers do on close.
+ * @author akiran
+ */
+public class BenchmarkConnectionSource extends AbstractConnectionSource
+{
+	private String driver;
+	private String dbUrl;
+	
+	public void setDriver(String driver)
+	{
+		this.driver = driver;
+	}
+	
+	public void setDbUrl(String dbUrl)
+	{
+		this.dbUrl = dbUrl;
+	}
+	
+	@Override
+	public DBConnection getConnection() throws SQLException
+	{
+		try
+		{
+			Class.forName(driver);
+		}catch(Exception ex)
+		{
+			throw new SQLException("Invalid driver class name specified: " + driver, ex);
+		}
+		
+		return new SimpleDBConnection(DriverManager.getConnection(dbUrl))
+		{
+			@Override
+			public void close() throws SQLException
+			{
+				getConnection().rollback();
+				super.close();
+			}
+		};
+	}
+}
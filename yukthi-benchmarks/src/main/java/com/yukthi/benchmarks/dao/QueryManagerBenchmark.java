@@ -0,0 +1,116 @@
+package com.yukthi.benchmarks.dao;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.yukthi.dao.qry.FetchOptions;
+import com.yukthi.dao.qry.QueryManager;
+import com.yukthi.dao.qry.impl.BulkBeanQueryFilter;
+import com.yukthi.dao.qry.impl.XMLQueryFactory;
+
+/**
+ * Benchmarks bean fetching and bulk updates of query manager, using queries defined in 
+ * benchmarkQueries.xml over in-memory derby.
+ * @author akiran
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryManagerBenchmark
+{
+	private static final String QUERIES_RESOURCE = "/com/yukthi/benchmarks/dao/benchmarkQueries.xml";
+	
+	private static final String PHONE_PREFIX = "8000";
+	
+	/**
+	 * Number of rows fetched or inserted by single invocation
+	 */
+	@Param({"10", "100", "1000"})
+	private int rowCount;
+	
+	private QueryManager queryManager;
+	
+	private List<BenchPerson> persons;
+	
+	@Setup(Level.Trial)
+	public void setup() throws SQLException
+	{
+		queryManager = XMLQueryFactory.loadFromXML(QUERIES_RESOURCE);
+		
+		try
+		{
+			queryManager.executeUpdate("dropTable");
+		}catch(SQLException ex)
+		{
+			//ignore, table may not exist
+		}
+		
+		queryManager.executeUpdate("createTable");
+		
+		persons = new ArrayList<>(rowCount);
+		
+		for(int i = 0; i < rowCount; i++)
+		{
+			persons.add(new BenchPerson("Person " + i, 20 + (i % 40), PHONE_PREFIX + i));
+		}
+		
+		queryManager.executeBulkUpdates("insertPerson", new BulkBeanQueryFilter(persons));
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException
+	{
+		queryManager.executeUpdate("dropTable");
+	}
+	
+	/**
+	 * Ensures table contains only the seeded rows, before every bulk update iteration.
+	 */
+	@TearDown(Level.Iteration)
+	public void resetData() throws SQLException
+	{
+		queryManager.executeUpdate("deletePersons");
+		queryManager.executeBulkUpdates("insertPerson", new BulkBeanQueryFilter(persons));
+	}
+	
+	@Benchmark
+	public List<BenchPerson> fetchBeans() throws SQLException
+	{
+		return queryManager.fetchBeans("fetchPersons", PHONE_PREFIX + "%");
+	}
+	
+	@Benchmark
+	public long streamBeans() throws SQLException
+	{
+		try(Stream<BenchPerson> stream = queryManager.streamBeans("fetchPersons", new FetchOptions(100), PHONE_PREFIX + "%"))
+		{
+			return stream.count();
+		}
+	}
+	
+	@Benchmark
+	public int[] executeBulkUpdates() throws SQLException
+	{
+		return queryManager.executeBulkUpdates("insertPerson", new BulkBeanQueryFilter(persons));
+	}
+}
@@ -0,0 +1,91 @@
+package com.yukthi.benchmarks.indexer;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.yukthi.indexer.IndexField;
+import com.yukthi.indexer.IndexType;
+
+/**
+ * Document indexed by index benchmarks.
+ * @author akiran
+ */
+public class BenchDocument
+{
+	@IndexField(value = IndexType.NOT_ANALYZED, idField = true)
+	private String code;
+	
+	@IndexField
+	private String title;
+	
+	@IndexField
+	private String description;
+	
+	@IndexField(IndexType.NOT_ANALYZED)
+	private int rating;
+	
+	@IndexField
+	private List<String> tags;
+	
+	public BenchDocument()
+	{}
+	
+	public BenchDocument(String code, String title, String description, int rating, String... tags)
+	{
+		this.code = code;
+		this.title = title;
+		this.description = description;
+		this.rating = rating;
+		this.tags = Arrays.asList(tags);
+	}
+	
+	public String getCode()
+	{
+		return code;
+	}
+	
+	public void setCode(String code)
+	{
+		this.code = code;
+	}
+	
+	public String getTitle()
+	{
+		return title;
+	}
+	
+	public void setTitle(String title)
+	{
+		this.title = title;
+	}
+	
+	public String getDescription()
+	{
+		return description;
+	}
+	
+	public void setDescription(String description)
+	{
+		this.description = description;
+	}
+	
+	public int getRating()
+	{
+		return rating;
+	}
+	
+	public void setRating(int rating)
+	{
+		this.rating = rating;
+	}
+	
+	public List<String> getTags()
+	{
+		return tags;
+	}
+	
+	public void setTags(List<String> tags)
+	{
+		this.tags = tags;
+	}
+}
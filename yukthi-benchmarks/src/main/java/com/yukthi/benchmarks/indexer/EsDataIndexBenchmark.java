@@ -0,0 +1,74 @@
+package com.yukthi.benchmarks.indexer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.elasticsearch.client.Client;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.yukthi.indexer.es.EsDataIndex;
+import com.yukthi.utils.rest.RestClient;
+
+/**
+ * Benchmarks conversion of objects into index documents and their serialization, with requests 
+ * served by local http stub.
+ * @author akiran
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EsDataIndexBenchmark
+{
+	private EsHttpStub stub;
+	
+	private Client client;
+	
+	private RestClient restClient;
+	
+	private EsDataIndex dataIndex;
+	
+	private BenchDocument document = new BenchDocument("DOC-1", "Performance Benchmarks", 
+			"Benchmark document with Mixed Case content to be lower cased during indexing", 4, "Bench", "Index", "Json");
+	
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		stub = new EsHttpStub();
+		client = stub.createClient();
+		restClient = new RestClient(stub.getBaseUrl());
+		
+		dataIndex = new EsDataIndex("bench", client, restClient);
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		restClient.close();
+		stub.stop();
+	}
+	
+	@Benchmark
+	public String indexObject()
+	{
+		return dataIndex.indexObject(document, document);
+	}
+	
+	@Benchmark
+	public void updateObject()
+	{
+		dataIndex.updateObject(document.getCode(), document, document);
+	}
+}
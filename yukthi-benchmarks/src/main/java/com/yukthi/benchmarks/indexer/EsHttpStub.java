@@ -0,0 +1,195 @@
+package com.yukthi.benchmarks.indexer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.elasticsearch.action.ActionFuture;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.admin.indices.exists.indices.IndicesExistsAction;
+import org.elasticsearch.action.admin.indices.exists.indices.IndicesExistsRequestBuilder;
+import org.elasticsearch.action.admin.indices.exists.indices.IndicesExistsResponse;
+import org.elasticsearch.action.support.PlainActionFuture;
+import org.elasticsearch.client.AdminClient;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.client.IndicesAdminClient;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import com.yukthi.utils.exceptions.InvalidStateException;
+
+/**
+ * Local stub of elastic search, so that index request building and serialization can be benchmarked
+ * without an actual elastic search node. The http server accepts index requests and reports all types
+ * as existing. The transport client created by this stub only supports index existence check.
+ * @author akiran
+ */
+public class EsHttpStub implements HttpHandler
+{
+	/**
+	 * Response for mapping requests, indicating type is already defined
+	 */
+	private static final byte MAPPING_RESPONSE[] = "{\"bench\":{\"mappings\":{\"type\":{}}}}".getBytes(StandardCharsets.UTF_8);
+	
+	/**
+	 * Http server used to serve requests
+	 */
+	private HttpServer server;
+	
+	/**
+	 * Used to generate ids for indexed documents
+	 */
+	private AtomicLong nextId = new AtomicLong(1);
+	
+	/**
+	 * Starts the stub server on a free local port.
+	 */
+	public EsHttpStub()
+	{
+		//response headers and body are written separately, without no-delay every request waits for delayed ack
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+		
+		try
+		{
+			server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+			server.createContext("/", this);
+			server.start();
+		}catch(IOException ex)
+		{
+			throw new InvalidStateException(ex, "An error occurred while starting es stub server");
+		}
+	}
+	
+	/**
+	 * Fetches the base url of the stub server.
+	 * @return Base url
+	 */
+	public String getBaseUrl()
+	{
+		return "http://localhost:" + server.getAddress().getPort();
+	}
+	
+	/**
+	 * Stops the stub server.
+	 */
+	public void stop()
+	{
+		server.stop(0);
+	}
+	
+	@Override
+	public void handle(HttpExchange exchange) throws IOException
+	{
+		//consume the request body fully, so that connection can be reused
+		try(InputStream is = exchange.getRequestBody())
+		{
+			byte buff[] = new byte[2048];
+			
+			while(is.read(buff) >= 0);
+		}
+		
+		byte response[] = null;
+		
+		if(exchange.getRequestURI().getPath().contains("/_mapping/"))
+		{
+			response = MAPPING_RESPONSE;
+		}
+		else
+		{
+			response = ("{\"_id\":\"" + nextId.getAndIncrement() + "\",\"created\":true}").getBytes(StandardCharsets.UTF_8);
+		}
+		
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(200, response.length);
+		
+		try(OutputStream os = exchange.getResponseBody())
+		{
+			os.write(response);
+		}
+	}
+	
+	/**
+	 * Creates transport client which reports all the indexes as existing. Other operations are not supported.
+	 * @return Stub client
+	 */
+	public Client createClient()
+	{
+		final IndicesAdminClient indicesClient = (IndicesAdminClient)Proxy.newProxyInstance(EsHttpStub.class.getClassLoader(), 
+				new Class<?>[] {IndicesAdminClient.class}, new InvocationHandler()
+		{
+			@SuppressWarnings("unchecked")
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+			{
+				if("prepareExists".equals(method.getName()))
+				{
+					return new IndicesExistsRequestBuilder((IndicesAdminClient)proxy, IndicesExistsAction.INSTANCE, (String[])args[0]);
+				}
+				
+				//thread pool is only stored by request builders, and is not used by synchronous execution
+				if("threadPool".equals(method.getName()))
+				{
+					return null;
+				}
+				
+				if("execute".equals(method.getName()) && method.getReturnType() == ActionFuture.class)
+				{
+					PlainActionFuture<IndicesExistsResponse> future = PlainActionFuture.newFuture();
+					future.onResponse(new IndicesExistsResponse(true));
+					
+					return future;
+				}
+				
+				//execution with listener, used by request builders
+				if("execute".equals(method.getName()) && args.length == 3 && (args[2] instanceof ActionListener))
+				{
+					((ActionListener<IndicesExistsResponse>)args[2]).onResponse(new IndicesExistsResponse(true));
+					return null;
+				}
+				
+				throw new UnsupportedOperationException("Operation is not supported by stub client: " + method.getName());
+			}
+		});
+		
+		final AdminClient adminClient = (AdminClient)Proxy.newProxyInstance(EsHttpStub.class.getClassLoader(), 
+				new Class<?>[] {AdminClient.class}, new InvocationHandler()
+		{
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+			{
+				if("indices".equals(method.getName()))
+				{
+					return indicesClient;
+				}
+				
+				throw new UnsupportedOperationException("Operation is not supported by stub client: " + method.getName());
+			}
+		});
+		
+		return (Client)Proxy.newProxyInstance(EsHttpStub.class.getClassLoader(), new Class<?>[] {Client.class}, new InvocationHandler()
+		{
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+			{
+				if("admin".equals(method.getName()))
+				{
+					return adminClient;
+				}
+				
+				if("close".equals(method.getName()))
+				{
+					return null;
+				}
+				
+				throw new UnsupportedOperationException("Operation is not supported by stub client: " + method.getName());
+			}
+		});
+	}
+}
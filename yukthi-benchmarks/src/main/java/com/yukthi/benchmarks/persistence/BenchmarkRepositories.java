@@ -0,0 +1,73 @@
+package com.yukthi.benchmarks.persistence;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import com.yukthi.benchmarks.persistence.entity.BenchEmployee;
+import com.yukthi.benchmarks.persistence.entity.IBenchEmployeeRepository;
+import com.yukthi.persistence.rdbms.RdbmsDataSource;
+import com.yukthi.persistence.rdbms.RdbmsDataStore;
+import com.yukthi.persistence.repository.RepositoryFactory;
+
+/**
+ * Creates repository factories over embedded (in-memory) derby, to be used by persistence benchmarks.
+ * @author akiran
+ */
+public class BenchmarkRepositories
+{
+	/**
+	 * Phone number prefix used by the seeded employees
+	 */
+	public static final String PHONE_PREFIX = "9000";
+	
+	/**
+	 * Creates repository factory backed by in-memory derby database with specified name.
+	 * @param dbName Name of the in-memory database to use
+	 * @return Repository factory
+	 */
+	public static RepositoryFactory createFactory(String dbName)
+	{
+		RdbmsDataSource dataSource = new RdbmsDataSource();
+		dataSource.setDriverClassName("org.apache.derby.jdbc.EmbeddedDriver");
+		dataSource.setUrl("jdbc:derby:memory:" + dbName + ";create=true");
+		
+		RdbmsDataStore dataStore = new RdbmsDataStore("derby");
+		dataStore.setDataSource(dataSource);
+		
+		RepositoryFactory factory = new RepositoryFactory();
+		factory.setDataStore(dataStore);
+		factory.setCreateTables(true);
+		
+		return factory;
+	}
+	
+	/**
+	 * Creates a new employee with specified index.
+	 * @param index Index used to generate unique employee details
+	 * @return New employee
+	 */
+	public static BenchEmployee newEmployee(int index)
+	{
+		return new BenchEmployee("E" + index, "Employee " + index, PHONE_PREFIX + index, 20 + (index % 40), 1000.0 * index, new Date());
+	}
+	
+	/**
+	 * Saves specified number of employees using specified repository.
+	 * @param repository Repository to use
+	 * @param count Number of employees to save
+	 * @return Saved employees
+	 */
+	public static List<BenchEmployee> seed(IBenchEmployeeRepository repository, int count)
+	{
+		List<BenchEmployee> employees = new ArrayList<>(count);
+		
+		for(int i = 0; i < count; i++)
+		{
+			employees.add(newEmployee(i));
+		}
+		
+		repository.saveAll(employees);
+		return employees;
+	}
+}
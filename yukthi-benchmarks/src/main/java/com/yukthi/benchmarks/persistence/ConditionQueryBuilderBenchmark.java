@@ -0,0 +1,118 @@
+package com.yukthi.benchmarks.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.yukthi.benchmarks.persistence.entity.BenchEmployee;
+import com.yukthi.benchmarks.persistence.entity.IBenchEmployeeRepository;
+import com.yukthi.persistence.EntityDetails;
+import com.yukthi.persistence.FieldDetails;
+import com.yukthi.persistence.IDataStore;
+import com.yukthi.persistence.Record;
+import com.yukthi.persistence.conversion.ConversionService;
+import com.yukthi.persistence.query.FinderQuery;
+import com.yukthi.persistence.repository.PersistenceExecutionContext;
+import com.yukthi.persistence.repository.RepositoryFactory;
+import com.yukthi.persistence.repository.executors.ConditionQueryBuilder;
+
+/**
+ * Benchmarks conversion of finder result records into entities by ConditionQueryBuilder.parseResults(). Records
+ * are fetched once during setup, so that query execution is not part of the measured time. Complete finder
+ * invocation is measured by {@link FinderRoundTripBenchmark}.
+ * @author akiran
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConditionQueryBuilderBenchmark
+{
+	/**
+	 * Number of records to be parsed by single invocation
+	 */
+	@Param({"10", "100", "1000"})
+	private int rowCount;
+	
+	private RepositoryFactory factory;
+	
+	private ConditionQueryBuilder conditionQueryBuilder;
+	
+	private ConversionService conversionService;
+	
+	private PersistenceExecutionContext persistenceExecutionContext;
+	
+	/**
+	 * Records to be parsed, fetched during setup
+	 */
+	private List<Record> records;
+	
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		factory = BenchmarkRepositories.createFactory("conditionQueryBuilderBench");
+		IBenchEmployeeRepository repository = factory.getRepository(IBenchEmployeeRepository.class);
+		
+		repository.deleteAll();
+		BenchmarkRepositories.seed(repository, rowCount);
+		
+		EntityDetails entityDetails = repository.getEntityDetails();
+		IDataStore dataStore = factory.getDataStore();
+		
+		//build query builder which fetches full entities, same as entity finders
+		conditionQueryBuilder = new ConditionQueryBuilder(entityDetails);
+		
+		for(FieldDetails field : entityDetails.getFieldDetails())
+		{
+			if(!field.isTableOwned())
+			{
+				continue;
+			}
+			
+			conditionQueryBuilder.addResultField(field.getName(), field.getField().getType(), field.getName(), "benchmark");
+		}
+		
+		FinderQuery finderQuery = new FinderQuery(entityDetails);
+		conditionQueryBuilder.loadConditionalQuery(null, finderQuery, new Object[0]);
+		
+		records = dataStore.executeFinder(finderQuery, entityDetails, null);
+		conversionService = dataStore.getConversionService();
+		persistenceExecutionContext = new PersistenceExecutionContext(factory);
+		
+		if(records.size() != rowCount)
+		{
+			throw new IllegalStateException("Expected " + rowCount + " records, but fetched " + records.size());
+		}
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		factory.dropRepository(BenchEmployee.class);
+	}
+	
+	@Benchmark
+	public List<BenchEmployee> parseResults()
+	{
+		List<BenchEmployee> result = new ArrayList<>(records.size());
+		conditionQueryBuilder.parseResults(records, BenchEmployee.class, result, conversionService, persistenceExecutionContext);
+		
+		return result;
+	}
+}
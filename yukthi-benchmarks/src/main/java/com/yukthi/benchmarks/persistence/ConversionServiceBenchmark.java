@@ -0,0 +1,101 @@
+package com.yukthi.benchmarks.persistence;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.yukthi.benchmarks.persistence.entity.BenchEmployee;
+import com.yukthi.benchmarks.persistence.entity.IBenchEmployeeRepository;
+import com.yukthi.persistence.EntityDetails;
+import com.yukthi.persistence.FieldDetails;
+import com.yukthi.persistence.conversion.ConversionService;
+import com.yukthi.persistence.repository.RepositoryFactory;
+
+/**
+ * Benchmarks conversion of values between java and db types, as done for every field of every row.
+ * @author akiran
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConversionServiceBenchmark
+{
+	private RepositoryFactory factory;
+	
+	private ConversionService conversionService;
+	
+	private FieldDetails ageField;
+	
+	private FieldDetails salaryField;
+	
+	private FieldDetails joinDateField;
+	
+	/**
+	 * Field details not resolved by entity details, which are served by fallback cache
+	 */
+	private FieldDetails adhocAgeField;
+	
+	private Date joinDate = new Date();
+	
+	private Timestamp joinTimestamp = new Timestamp(joinDate.getTime());
+	
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		factory = BenchmarkRepositories.createFactory("conversionServiceBench");
+		
+		IBenchEmployeeRepository repository = factory.getRepository(IBenchEmployeeRepository.class);
+		EntityDetails entityDetails = repository.getEntityDetails();
+		
+		conversionService = factory.getDataStore().getConversionService();
+		ageField = entityDetails.getFieldDetailsByField("age");
+		salaryField = entityDetails.getFieldDetailsByField("salary");
+		joinDateField = entityDetails.getFieldDetailsByField("joinDate");
+		adhocAgeField = new FieldDetails(ageField.getField(), ageField.getDbDataType(), false, true);
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		factory.dropRepository(BenchEmployee.class);
+	}
+	
+	@Benchmark
+	public void convertToJavaType(Blackhole blackhole)
+	{
+		blackhole.consume(conversionService.convertToJavaType(34L, ageField));
+		blackhole.consume(conversionService.convertToJavaType(2500.5f, salaryField));
+		blackhole.consume(conversionService.convertToJavaType(joinTimestamp, joinDateField));
+	}
+	
+	@Benchmark
+	public void convertUnresolvedToJavaType(Blackhole blackhole)
+	{
+		blackhole.consume(conversionService.convertToJavaType(34L, adhocAgeField));
+	}
+	
+	@Benchmark
+	public void convertToDBType(Blackhole blackhole)
+	{
+		blackhole.consume(conversionService.convertToDBType(34, ageField));
+		blackhole.consume(conversionService.convertToDBType(2500.5, salaryField));
+		blackhole.consume(conversionService.convertToDBType(joinDate, joinDateField));
+	}
+}
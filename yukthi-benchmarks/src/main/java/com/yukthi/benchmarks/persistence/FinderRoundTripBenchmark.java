@@ -0,0 +1,68 @@
+package com.yukthi.benchmarks.persistence;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.yukthi.benchmarks.persistence.entity.BenchEmployee;
+import com.yukthi.benchmarks.persistence.entity.IBenchEmployeeRepository;
+import com.yukthi.persistence.repository.RepositoryFactory;
+
+/**
+ * Benchmarks complete finder invocation (query building, execution and parsing of results into entities)
+ * fetching different number of rows. Time taken by result parsing alone is measured by {@link ConditionQueryBuilderBenchmark}.
+ * @author akiran
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FinderRoundTripBenchmark
+{
+	/**
+	 * Number of rows to be fetched and parsed by single finder call
+	 */
+	@Param({"10", "100", "1000"})
+	private int rowCount;
+	
+	private RepositoryFactory factory;
+	
+	private IBenchEmployeeRepository repository;
+	
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		factory = BenchmarkRepositories.createFactory("finderRoundTripBench");
+		repository = factory.getRepository(IBenchEmployeeRepository.class);
+		
+		repository.deleteAll();
+		BenchmarkRepositories.seed(repository, rowCount);
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		factory.dropRepository(BenchEmployee.class);
+	}
+	
+	@Benchmark
+	public List<BenchEmployee> findByPhoneNo()
+	{
+		return repository.findByPhoneNo(BenchmarkRepositories.PHONE_PREFIX + "%");
+	}
+}
@@ -0,0 +1,95 @@
+package com.yukthi.benchmarks.persistence;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.yukthi.benchmarks.persistence.entity.BenchEmployee;
+import com.yukthi.benchmarks.persistence.entity.IBenchEmployeeRepository;
+import com.yukthi.persistence.repository.RepositoryFactory;
+
+/**
+ * Benchmarks finder, save and update operations of rdbms data store, executed through repositories.
+ * @author akiran
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RdbmsDataStoreBenchmark
+{
+	private static final int RECORD_COUNT = 1000;
+	
+	private RepositoryFactory factory;
+	
+	private IBenchEmployeeRepository repository;
+	
+	private List<BenchEmployee> employees;
+	
+	/**
+	 * Index used to generate unique employees during save
+	 */
+	private int nextIndex = RECORD_COUNT;
+	
+	/**
+	 * Index of the next employee to be updated
+	 */
+	private int updateIndex = 0;
+	
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		factory = BenchmarkRepositories.createFactory("rdbmsDataStoreBench");
+		repository = factory.getRepository(IBenchEmployeeRepository.class);
+		
+		repository.deleteAll();
+		employees = BenchmarkRepositories.seed(repository, RECORD_COUNT);
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		factory.dropRepository(BenchEmployee.class);
+	}
+	
+	@Benchmark
+	public BenchEmployee findById()
+	{
+		return repository.findById(employees.get(updateIndex++ % RECORD_COUNT).getId());
+	}
+	
+	@Benchmark
+	public BenchEmployee findByEmployeeNo()
+	{
+		return repository.findByEmployeeNo("E" + (updateIndex++ % RECORD_COUNT));
+	}
+	
+	@Benchmark
+	public boolean save()
+	{
+		return repository.save(BenchmarkRepositories.newEmployee(nextIndex++));
+	}
+	
+	@Benchmark
+	public boolean update()
+	{
+		BenchEmployee employee = employees.get(updateIndex++ % RECORD_COUNT);
+		employee.setAge(employee.getAge() + 1);
+		
+		return repository.update(employee);
+	}
+}
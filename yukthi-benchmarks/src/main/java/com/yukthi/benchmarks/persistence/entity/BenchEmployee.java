@@ -0,0 +1,120 @@
+package com.yukthi.benchmarks.persistence.entity;
+
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import com.yukthi.persistence.annotations.Indexed;
+
+/**
+ * Entity used by persistence benchmarks.
+ * @author akiran
+ */
+@Table(name = "BENCH_EMPLOYEE")
+public class BenchEmployee
+{
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private long id;
+	
+	@Column(name = "EMP_NO")
+	private String employeeNo;
+	
+	@Indexed
+	private String name;
+	
+	private String phoneNo;
+	
+	private int age;
+	
+	private double salary;
+	
+	private Date joinDate;
+	
+	public BenchEmployee()
+	{}
+	
+	public BenchEmployee(String employeeNo, String name, String phoneNo, int age, double salary, Date joinDate)
+	{
+		this.employeeNo = employeeNo;
+		this.name = name;
+		this.phoneNo = phoneNo;
+		this.age = age;
+		this.salary = salary;
+		this.joinDate = joinDate;
+	}
+	
+	public long getId()
+	{
+		return id;
+	}
+	
+	public void setId(long id)
+	{
+		this.id = id;
+	}
+	
+	public String getEmployeeNo()
+	{
+		return employeeNo;
+	}
+	
+	public void setEmployeeNo(String employeeNo)
+	{
+		this.employeeNo = employeeNo;
+	}
+	
+	public String getName()
+	{
+		return name;
+	}
+	
+	public void setName(String name)
+	{
+		this.name = name;
+	}
+	
+	public String getPhoneNo()
+	{
+		return phoneNo;
+	}
+	
+	public void setPhoneNo(String phoneNo)
+	{
+		this.phoneNo = phoneNo;
+	}
+	
+	public int getAge()
+	{
+		return age;
+	}
+	
+	public void setAge(int age)
+	{
+		this.age = age;
+	}
+	
+	public double getSalary()
+	{
+		return salary;
+	}
+	
+	public void setSalary(double salary)
+	{
+		this.salary = salary;
+	}
+	
+	public Date getJoinDate()
+	{
+		return joinDate;
+	}
+	
+	public void setJoinDate(Date joinDate)
+	{
+		this.joinDate = joinDate;
+	}
+}
@@ -0,0 +1,20 @@
+package com.yukthi.benchmarks.persistence.entity;
+
+import java.util.List;
+
+import com.yukthi.persistence.ICrudRepository;
+import com.yukthi.persistence.repository.annotations.Condition;
+import com.yukthi.persistence.repository.annotations.Operator;
+
+/**
+ * Repository used by persistence benchmarks.
+ * @author akiran
+ */
+public interface IBenchEmployeeRepository extends ICrudRepository<BenchEmployee>
+{
+	public BenchEmployee findByEmployeeNo(String empNo);
+	
+	public List<BenchEmployee> findByPhoneNo(@Condition(value = "phoneNo", op = Operator.LIKE) String phone);
+	
+	public void deleteAll();
+}
@@ -0,0 +1,103 @@
+package com.yukthi.benchmarks.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.yukthi.utils.expr.CompiledExpression;
+import com.yukthi.utils.expr.Expression;
+import com.yukthi.utils.expr.ExpressionEvaluator;
+import com.yukthi.utils.expr.ExpressionRegistry;
+import com.yukthi.utils.expr.IVariableValueProvider;
+import com.yukthi.utils.expr.RegistryFactory;
+
+/**
+ * Benchmarks parsing and evaluation of expressions.
+ * @author akiran
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExpressionEvaluatorBenchmark
+{
+	private static final String EXPRESSION = "IF((price * quantity) > 1000, MAX(price, discount * 2, 10), MIN(price, quantity) + 5)";
+	
+	private ExpressionEvaluator expressionEvaluator = new ExpressionEvaluator();
+	
+	private ExpressionRegistry registry;
+	
+	private Expression expression;
+	
+	private CompiledExpression compiledExpression;
+	
+	private IVariableValueProvider variableValueProvider;
+	
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		registry = new ExpressionRegistry();
+		RegistryFactory.registerDefaults(registry);
+		
+		expression = expressionEvaluator.parse(EXPRESSION);
+		compiledExpression = expression.compile(registry);
+		
+		final Map<String, Object> variables = new HashMap<>();
+		variables.put("price", 120);
+		variables.put("quantity", 12);
+		variables.put("discount", 7.5);
+		
+		variableValueProvider = new IVariableValueProvider()
+		{
+			@Override
+			public Object getVariableValue(String name)
+			{
+				return variables.get(name);
+			}
+		};
+	}
+	
+	@Benchmark
+	public Expression parse()
+	{
+		return expressionEvaluator.parse(EXPRESSION);
+	}
+	
+	@Benchmark
+	public Object evaluate()
+	{
+		return expression.evaluate(variableValueProvider, registry);
+	}
+	
+	@Benchmark
+	public Object parseAndEvaluate()
+	{
+		return expressionEvaluator.parse(EXPRESSION).evaluate(variableValueProvider, registry);
+	}
+	
+	@Benchmark
+	public Object evaluateCompiled()
+	{
+		return compiledExpression.evaluate(variableValueProvider);
+	}
+	
+	@Benchmark
+	public Object compileCachedAndEvaluate()
+	{
+		return expressionEvaluator.compile(EXPRESSION, registry).evaluate(variableValueProvider);
+	}
+}
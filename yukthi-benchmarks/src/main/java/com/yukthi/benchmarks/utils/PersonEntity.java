@@ -0,0 +1,102 @@
+package com.yukthi.benchmarks.utils;
+
+import java.util.Date;
+
+/**
+ * Destination bean used by property mapper benchmark. Department id of the model is mapped 
+ * to nested department bean.
+ * @author akiran
+ */
+public class PersonEntity
+{
+	/**
+	 * Department of the person
+	 * @author akiran
+	 */
+	public static class Department
+	{
+		private long id;
+		
+		public long getId()
+		{
+			return id;
+		}
+		
+		public void setId(long id)
+		{
+			this.id = id;
+		}
+	}
+	
+	private Long id;
+	
+	private String name;
+	
+	private int age;
+	
+	private String phoneNo;
+	
+	private Department department;
+	
+	private Date createdOn;
+	
+	public Long getId()
+	{
+		return id;
+	}
+	
+	public void setId(Long id)
+	{
+		this.id = id;
+	}
+	
+	public String getName()
+	{
+		return name;
+	}
+	
+	public void setName(String name)
+	{
+		this.name = name;
+	}
+	
+	public int getAge()
+	{
+		return age;
+	}
+	
+	public void setAge(int age)
+	{
+		this.age = age;
+	}
+	
+	public String getPhoneNo()
+	{
+		return phoneNo;
+	}
+	
+	public void setPhoneNo(String phoneNo)
+	{
+		this.phoneNo = phoneNo;
+	}
+	
+	public Department getDepartment()
+	{
+		return department;
+	}
+	
+	public void setDepartment(Department department)
+	{
+		this.department = department;
+	}
+	
+	public Date getCreatedOn()
+	{
+		return createdOn;
+	}
+	
+	public void setCreatedOn(Date createdOn)
+	{
+		this.createdOn = createdOn;
+	}
+}
@@ -0,0 +1,95 @@
+package com.yukthi.benchmarks.utils;
+
+import java.util.Date;
+
+/**
+ * Source bean used by property mapper benchmark.
+ * @author akiran
+ */
+public class PersonModel
+{
+	private Long id;
+	
+	private String name;
+	
+	private int age;
+	
+	private String phoneNo;
+	
+	private long departmentId;
+	
+	private Date createdOn;
+	
+	public PersonModel()
+	{}
+	
+	public PersonModel(Long id, String name, int age, String phoneNo, long departmentId, Date createdOn)
+	{
+		this.id = id;
+		this.name = name;
+		this.age = age;
+		this.phoneNo = phoneNo;
+		this.departmentId = departmentId;
+		this.createdOn = createdOn;
+	}
+	
+	public Long getId()
+	{
+		return id;
+	}
+	
+	public void setId(Long id)
+	{
+		this.id = id;
+	}
+	
+	public String getName()
+	{
+		return name;
+	}
+	
+	public void setName(String name)
+	{
+		this.name = name;
+	}
+	
+	public int getAge()
+	{
+		return age;
+	}
+	
+	public void setAge(int age)
+	{
+		this.age = age;
+	}
+	
+	public String getPhoneNo()
+	{
+		return phoneNo;
+	}
+	
+	public void setPhoneNo(String phoneNo)
+	{
+		this.phoneNo = phoneNo;
+	}
+	
+	public long getDepartmentId()
+	{
+		return departmentId;
+	}
+	
+	public void setDepartmentId(long departmentId)
+	{
+		this.departmentId = departmentId;
+	}
+	
+	public Date getCreatedOn()
+	{
+		return createdOn;
+	}
+	
+	public void setCreatedOn(Date createdOn)
+	{
+		this.createdOn = createdOn;
+	}
+}
@@ -0,0 +1,40 @@
+package com.yukthi.benchmarks.utils;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.yukthi.utils.beans.PropertyMapper;
+
+/**
+ * Benchmarks property copying between beans of different types, including nested property mapping.
+ * @author akiran
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropertyMapperBenchmark
+{
+	private PersonModel model = new PersonModel(10L, "Person 10", 32, "9000010", 20L, new Date());
+	
+	@Benchmark
+	public PersonEntity copyProperties()
+	{
+		PersonEntity entity = new PersonEntity();
+		PropertyMapper.copyProperties(entity, model);
+		
+		return entity;
+	}
+}
@@ -521,12 +521,17 @@ public class DefaultQueryFunctions
 	}
 
 	@QueryFunction(minArgCount = 2)
-	public static Object queryResult(String queryName, String executionType, 
+	public static Object queryResult(QueryExecutionContext context, String queryName, String executionType, 
 			String argName1, Object arg1, 
 			String argName2, Object arg2,
 			String argName3, Object arg3) throws SQLException
 	{
-		QueryManager queryManager = QueryManager.getQueryManager();
+		if(context == null)
+		{
+			throw new IllegalStateException("queryResult() can be invoked only during query execution");
+		}
+		
+		QueryManager queryManager = context.getQueryManager();
 		MapQueryFilter filter = new MapQueryFilter();
 		
 		if(argName1 != null && arg1 != null)
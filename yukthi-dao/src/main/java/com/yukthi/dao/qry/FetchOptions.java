@@ -0,0 +1,121 @@
+package com.yukthi.dao.qry;
+
+import java.sql.ResultSet;
+
+/**
+ * Options controlling how the results of a query are fetched from the database, used while streaming
+ * the results.
+ * @author akiran
+ */
+public class FetchOptions
+{
+	/**
+	 * Number of rows to be fetched in single round trip. Zero indicates the default value of the
+	 * query (#fetchCount param) or driver should be used.
+	 */
+	private int fetchSize;
+	
+	/**
+	 * Result set type to be used, defaults to forward only
+	 */
+	private int resultSetType = ResultSet.TYPE_FORWARD_ONLY;
+	
+	/**
+	 * Maximum number of rows to be fetched. Zero indicates no limit.
+	 */
+	private int maxRows;
+	
+	public FetchOptions()
+	{}
+	
+	public FetchOptions(int fetchSize)
+	{
+		setFetchSize(fetchSize);
+	}
+	
+	/**
+	 * Gets the number of rows to be fetched in single round trip.
+	 *
+	 * @return the number of rows to be fetched in single round trip
+	 */
+	public int getFetchSize()
+	{
+		return fetchSize;
+	}
+	
+	/**
+	 * Sets the number of rows to be fetched in single round trip.
+	 *
+	 * @param fetchSize the new number of rows to be fetched in single round trip
+	 */
+	public void setFetchSize(int fetchSize)
+	{
+		if(fetchSize < 0)
+		{
+			throw new IllegalArgumentException("Invalid fetch size specified: " + fetchSize);
+		}
+		
+		this.fetchSize = fetchSize;
+	}
+	
+	/**
+	 * Gets the result set type to be used.
+	 *
+	 * @return the result set type to be used
+	 */
+	public int getResultSetType()
+	{
+		return resultSetType;
+	}
+	
+	/**
+	 * Sets the result set type to be used. Should be one of {@link ResultSet#TYPE_FORWARD_ONLY},
+	 * {@link ResultSet#TYPE_SCROLL_INSENSITIVE} or {@link ResultSet#TYPE_SCROLL_SENSITIVE}.
+	 *
+	 * @param resultSetType the new result set type to be used
+	 */
+	public void setResultSetType(int resultSetType)
+	{
+		if(resultSetType != ResultSet.TYPE_FORWARD_ONLY && resultSetType != ResultSet.TYPE_SCROLL_INSENSITIVE
+				&& resultSetType != ResultSet.TYPE_SCROLL_SENSITIVE)
+		{
+			throw new IllegalArgumentException("Invalid result set type specified: " + resultSetType);
+		}
+		
+		this.resultSetType = resultSetType;
+	}
+	
+	/**
+	 * Gets the maximum number of rows to be fetched.
+	 *
+	 * @return the maximum number of rows to be fetched
+	 */
+	public int getMaxRows()
+	{
+		return maxRows;
+	}
+	
+	/**
+	 * Sets the maximum number of rows to be fetched. Zero indicates no limit.
+	 *
+	 * @param maxRows the new maximum number of rows to be fetched
+	 */
+	public void setMaxRows(int maxRows)
+	{
+		if(maxRows < 0)
+		{
+			throw new IllegalArgumentException("Invalid max rows specified: " + maxRows);
+		}
+		
+		this.maxRows = maxRows;
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		return "[Fetch Size: " + fetchSize + ", Result Set Type: " + resultSetType + ", Max Rows: " + maxRows + "]";
+	}
+}
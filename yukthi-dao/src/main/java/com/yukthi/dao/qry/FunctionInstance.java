@@ -82,11 +82,26 @@ public class FunctionInstance
 		 * @return Value of the specified column
 		 */
 		public Object getColumn(String funcName, String name);
+		
+		/**
+		 * Will be invoked to fetch the context to be passed to the functions which 
+		 * accept {@link QueryExecutionContext}.
+		 * @return Current execution context, can be null
+		 */
+		public default QueryExecutionContext getExecutionContext()
+		{
+			return null;
+		}
 	}
 
 	private String funcStr;
 	private String name;
 	private Object params[];
+	
+	/**
+	 * Function bound to this instance, resolved on first validation/invocation
+	 */
+	private FunctionManager.FunctionDetail function;
 
 	private FunctionInstance(String funcStr, String name, Object params[])
 	{
@@ -315,6 +330,28 @@ public class FunctionInstance
 		return params.length;
 	}
 
+	/**
+	 * Fetches the function bound to this instance. When invoked for first time, function is resolved 
+	 * from {@link FunctionManager}.
+	 * @return Function to be invoked
+	 */
+	private FunctionManager.FunctionDetail getFunction()
+	{
+		FunctionManager.FunctionDetail function = this.function;
+		
+		if(function == null)
+		{
+			function = FunctionManager.getFunction(name);
+			
+			if(function == null)
+				throw new IllegalArgumentException("Invalid function name encountered:" + name);
+			
+			this.function = function;
+		}
+		
+		return function;
+	}
+
 	/**
 	 * This method will invoke this function after fetching the argument values using specified 
 	 * dataProvider.
@@ -327,7 +364,7 @@ public class FunctionInstance
 
 		try
 		{
-			return FunctionManager.evaluate(name, paramVals);
+			return getFunction().invoke(dataProvider.getExecutionContext(), paramVals);
 		}catch(Exception ex)
 		{
 			logger.error("An error occured while invoking function: " + funcStr, ex);
@@ -380,6 +417,8 @@ public class FunctionInstance
 	{
 		if(!FunctionManager.isValidFunction(name, params.length))
 			throw new IllegalStateException("Invalid function name/argument-count encountered: " + funcStr);
+		
+		getFunction();
 
 		for(Object o : params)
 		{
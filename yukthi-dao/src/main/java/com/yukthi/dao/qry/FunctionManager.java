@@ -11,17 +11,27 @@ import java.util.HashMap;
  */
 public class FunctionManager
 {
-	private static class FunctionDetail
+	/**
+	 * Resolved details of a registered function. Instances are immutable, so that they can be 
+	 * bound to the function instances once and invoked without registry lookups.
+	 */
+	static class FunctionDetail
 	{
-		private Method method;
-		private int minArgCount;
-		private Class<?> paramTypes[];
-
-		public FunctionDetail(Method m, int minArgCount, Class<?> paramTypes[])
+		private final Method method;
+		private final int minArgCount;
+		private final Class<?> paramTypes[];
+		
+		/**
+		 * Indicates function expects {@link QueryExecutionContext} as first argument
+		 */
+		private final boolean contextRequired;
+
+		public FunctionDetail(Method m, int minArgCount, Class<?> paramTypes[], boolean contextRequired)
 		{
 			this.method = m;
 			this.minArgCount = minArgCount;
 			this.paramTypes = paramTypes;
+			this.contextRequired = contextRequired;
 		}
 
 		public Class<?> getReturnType()
@@ -37,7 +47,7 @@ public class FunctionManager
 			return paramTypes.length;
 		}
 
-		public Object invoke(Object params[])
+		public Object invoke(QueryExecutionContext context, Object params[])
 		{
 			if(params == null && minArgCount != 0)
 				throw new IllegalArgumentException("Insufficient number of arguments encountered: 0\nRequired: " + minArgCount);
@@ -74,6 +84,15 @@ public class FunctionManager
 				}
 			}
 
+			if(contextRequired)
+			{
+				Object args[] = new Object[res.length + 1];
+				args[0] = context;
+				System.arraycopy(res, 0, args, 1, res.length);
+				
+				res = args;
+			}
+
 			try
 			{
 				return method.invoke(null, (Object[])res);
@@ -100,6 +119,9 @@ public class FunctionManager
 	 * 		<LI>Should have at least one argument</LI>
 	 * 		<LI>Should be annotated with  {@link QueryFunction} </LI>
 	 * </UL>
+	 * <BR/> If first argument of the method is of type {@link QueryExecutionContext}, current execution context
+	 * will be passed as first argument during invocation (and it will not be considered as function argument).
+	 * 
 	 * <BR/> If the functions are overloaded the result is ambiguous. And if already a function is present with
 	 * the function name being loaded, then old one will be overridden. 
 	 * 
@@ -113,6 +135,7 @@ public class FunctionManager
 
 		FunctionDetail funDet = null;
 		Class<?> paramTypes[] = null;
+		boolean contextRequired = false;
 		int count = 0;
 
 		for(Method m : metArr)
@@ -129,6 +152,12 @@ public class FunctionManager
 
 			minArgCont = func.minArgCount();
 			paramTypes = m.getParameterTypes();
+			contextRequired = (paramTypes.length > 0 && QueryExecutionContext.class.equals(paramTypes[0]));
+			
+			if(contextRequired)
+			{
+				paramTypes = Arrays.copyOfRange(paramTypes, 1, paramTypes.length);
+			}
 
 			if(paramTypes == null || paramTypes.length == 0)
 				throw new IllegalStateException("A non-parameter method can not be declared as QueryFunction: " + m.getName());
@@ -136,7 +165,7 @@ public class FunctionManager
 			if(minArgCont < 0 || minArgCont > paramTypes.length)
 				minArgCont = paramTypes.length;
 
-			funDet = new FunctionDetail(m, minArgCont, paramTypes);
+			funDet = new FunctionDetail(m, minArgCont, paramTypes, contextRequired);
 			nameToDet.put(m.getName(), funDet);
 			count++;
 		}
@@ -182,6 +211,18 @@ public class FunctionManager
 	 * @return Return value of the function
 	 */
 	public static Object evaluate(String func, Object param[])
+	{
+		return evaluate(func, null, param);
+	}
+
+	/**
+	 * Executes function with specified name and with specified parameters.
+	 * @param func Function name
+	 * @param context Context to be passed to the functions which expect {@link QueryExecutionContext}
+	 * @param param List of parameters for method invocation
+	 * @return Return value of the function
+	 */
+	public static Object evaluate(String func, QueryExecutionContext context, Object param[])
 	{
 		if(func == null)
 			return null;
@@ -191,7 +232,18 @@ public class FunctionManager
 		if(det == null)
 			throw new IllegalArgumentException("Invalid function name encountered:" + func);
 
-		return det.invoke(param);
+		return det.invoke(context, param);
+	}
+
+	/**
+	 * Fetches the details of function with specified name, which can be bound to the caller and 
+	 * invoked directly.
+	 * @param func Function name
+	 * @return Function details, null if no function is registered with specified name
+	 */
+	static FunctionDetail getFunction(String func)
+	{
+		return nameToDet.get(func);
 	}
 
 	public static Class<?> getReturnType(String func)
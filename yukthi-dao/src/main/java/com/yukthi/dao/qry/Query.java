@@ -7,6 +7,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import org.apache.logging.log4j.LogManager;
@@ -35,14 +36,23 @@ public class Query implements Validateable
 	private static Pattern NAME_QUEST_PARAM_PATTERN=Pattern.compile("\\#\\{(\\w+)\\}");
 	private static Pattern PARAM_W_FUNC_PATTERN=Pattern.compile("\\$\\{(\\w+)\\(([^\\{\\}]*)\\)\\}");
 	private static Pattern QUEST_PARAM_W_FUNC_PATTERN=Pattern.compile("\\#\\{(\\w+)\\(([^\\{\\}]*)\\)\\}");
+	private static Pattern NEW_LINE_SPACES_PATTERN=Pattern.compile("\\n\\s+");
 	
 		private static class QueryFilterDataProvider implements FunctionInstance.DataProvider
 		{
 			private QueryFilter filter;
+			private QueryExecutionContext context;
 			
-				public QueryFilterDataProvider(QueryFilter filter)
+				public QueryFilterDataProvider(QueryFilter filter,QueryExecutionContext context)
 				{
 					this.filter=filter;
+					this.context=context;
+				}
+				
+				@Override
+				public QueryExecutionContext getExecutionContext()
+				{
+					return context;
 				}
 				
 				@Override
@@ -64,10 +74,21 @@ public class Query implements Validateable
 			private LinkedList<Object> lst=new LinkedList<Object>();
 			private boolean reqNextPhase=true;
 			private StringBuilder builder=new StringBuilder();
+			private QueryExecutionContext context;
 			
-				private QueryResult(QueryElement root)
+				private QueryResult(QueryElement root,QueryExecutionContext context)
 				{
 					lst.add(root);
+					this.context=context;
+				}
+				
+				/**
+				 * Execution context to be passed to query functions, while building this result
+				 * @return Execution context
+				 */
+				public QueryExecutionContext getExecutionContext()
+				{
+					return context;
 				}
 			
 				private void addText(String txt)
@@ -165,7 +186,7 @@ public class Query implements Validateable
 										if(!questObj.isNamed() && (params==null || params.length<=paramIdx))
 											throw new IllegalStateException("Insufficient number of parameters supplied: "+paramIdx);
 										
-									value=questObj.getValue(filter,paramIdx,params);
+									value=questObj.getValue(context,filter,paramIdx,params);
 										
 										if(value==null)
 										{
@@ -224,7 +245,7 @@ public class Query implements Validateable
 								if(o instanceof QuestObject)
 								{
 									qryElem=(QuestObject)o;
-									value=qryElem.getValue(filter,-1);
+									value=qryElem.getValue(context,filter,-1);
 									
 										if(value==null)
 										{
@@ -246,7 +267,7 @@ public class Query implements Validateable
 		
 		public static interface QuestObject
 		{
-			public Object getValue(QueryFilter filter,int paramIdx,Object... params);
+			public Object getValue(QueryExecutionContext context,QueryFilter filter,int paramIdx,Object... params);
 			public Class<?> getValueType(BulkQueryFilter filter);
 			public boolean isNamed();
 		}
@@ -301,7 +322,7 @@ public class Query implements Validateable
 	            }
 
 				@Override
-                public Object getValue(QueryFilter filter,int paramIdx,Object... params)
+                public Object getValue(QueryExecutionContext context,QueryFilter filter,int paramIdx,Object... params)
                 {
 						if(name!=null)
 							return filter.getProperty(name);
@@ -381,7 +402,7 @@ public class Query implements Validateable
 						if(isBulkQuery)
 							throw new IllegalStateException("A param based function paramter encountered in bulk query execution: "+this);
 						
-					Object retVal=func.invoke(new QueryFilterDataProvider(filter));
+					Object retVal=func.invoke(new QueryFilterDataProvider(filter,res.getExecutionContext()));
 					
 						if(retVal==null)
 							res.addText(filter.getNullString());
@@ -390,9 +411,9 @@ public class Query implements Validateable
 				}
 
 				@Override
-                public Object getValue(QueryFilter filter,int paramIdx,Object... params)
+                public Object getValue(QueryExecutionContext context,QueryFilter filter,int paramIdx,Object... params)
                 {
-					Object retVal=func.invoke(new QueryFilterDataProvider(filter));
+					Object retVal=func.invoke(new QueryFilterDataProvider(filter,context));
 	                return retVal;
                 }
 
@@ -561,10 +582,15 @@ public class Query implements Validateable
 		}
 		
 	private Map<String,String> paramMap=new HashMap<String,String>();
-	private Map<String,Object> attrMap=new HashMap<String,Object>();
+	private Map<String,Object> attrMap=new ConcurrentHashMap<String,Object>();
 	private Map<String,FunctionInstance> colToExpr=new HashMap<String,FunctionInstance>();
 	private NodeQueryElement dbQuery;
 	
+	/**
+	 * Precompiled plan of this query, null if query structure depends on filter
+	 */
+	private QueryPlan plan;
+	
 		private static void toString(List<QueryElement> elements,QueryFilter filter,QueryResult res, boolean isBulkQuery)
 		{
 				for(QueryElement e:elements)
@@ -642,7 +668,71 @@ public class Query implements Validateable
 		public void setDbQuery(NodeQueryElement dbQuery)
         {
         	this.dbQuery=dbQuery;
+        	this.plan=null;
         }
+		
+		/**
+		 * Compiles specified root element into plan. If query has elements whose output depends on 
+		 * filter (param/function replacements, named nodes) null will be returned.
+		 * @param root Root element to compile
+		 * @return Compiled plan or null
+		 */
+		private static QueryPlan compilePlan(NodeQueryElement root)
+		{
+			List<String> fragments=new ArrayList<String>();
+			List<QuestObject> slots=new ArrayList<QuestObject>();
+			StringBuilder builder=new StringBuilder();
+			
+				if(!compilePlan(root,builder,fragments,slots))
+					return null;
+				
+			fragments.add(builder.toString());
+			
+				//normalize fragments, the way query text is normalized during building
+				for(int i=0;i<fragments.size();i++)
+					fragments.set(i,NEW_LINE_SPACES_PATTERN.matcher(fragments.get(i)).replaceAll("\n"));
+				
+			return new QueryPlan(fragments.toArray(new String[0]),slots.toArray(new QuestObject[0]));
+		}
+		
+		private static boolean compilePlan(NodeQueryElement node,StringBuilder builder,List<String> fragments,List<QuestObject> slots)
+		{
+				if(node.name!=null)
+					return false;
+				
+				if(node.elements==null)
+					return true;
+				
+				for(QueryElement e:node.elements)
+				{
+						if(e instanceof TextQueryElement)
+						{
+							builder.append(((TextQueryElement)e).text);
+							continue;
+						}
+						
+						if((e instanceof QuestParamQueryElement) || (e instanceof FunctionQueryElement && ((FunctionQueryElement)e).questParam))
+						{
+							fragments.add(builder.toString());
+							builder.setLength(0);
+							
+							slots.add((QuestObject)e);
+							continue;
+						}
+						
+						if(e instanceof NodeQueryElement)
+						{
+								if(!compilePlan((NodeQueryElement)e,builder,fragments,slots))
+									return false;
+								
+							continue;
+						}
+						
+					return false;
+				}
+				
+			return true;
+		}
 
 		public void addColExpr(String name,String value)
 		{
@@ -656,6 +746,16 @@ public class Query implements Validateable
 				}
 		}
 		
+		/**
+		 * Returns true if this query is precompiled into a plan, that is query structure does not
+		 * depend on the filter.
+		 * @return true if precompiled
+		 */
+		public boolean isPrecompiled()
+		{
+			return (plan!=null);
+		}
+		
 		public boolean hasColumnExpression(String name)
 		{
 			return colToExpr.containsKey(name);
@@ -678,6 +778,13 @@ public class Query implements Validateable
 		
 		public void setAttribute(String name,Object attr)
 		{
+				//attributes are shared by concurrent executions, null values are not supported by map
+				if(attr==null)
+				{
+					attrMap.remove(name);
+					return;
+				}
+				
 			attrMap.put(name,attr);
 		}
 		
@@ -686,9 +793,12 @@ public class Query implements Validateable
 			return attrMap.get(name);
 		}
 	
-		public String toText(QueryFilter filter,List<Object> finalParams,Object... params)
+		public String toText(QueryExecutionContext context,QueryFilter filter,List<Object> finalParams,Object... params)
 		{
-			QueryResult qryRes=new QueryResult(dbQuery);
+				if(plan!=null)
+					return plan.render(context,filter,finalParams,params);
+				
+			QueryResult qryRes=new QueryResult(dbQuery,context);
 			
 				while(qryRes.requiresNextPhase())
 				{
@@ -696,12 +806,12 @@ public class Query implements Validateable
 				}
 				
 			String res=qryRes.toString(filter,finalParams,params);
-			return res.replaceAll("\\n\\s+","\n");
+			return NEW_LINE_SPACES_PATTERN.matcher(res).replaceAll("\n");
 		}
 
-		public QueryResult buildBulkQuery(QueryFilter filter)
+		public QueryResult buildBulkQuery(QueryExecutionContext context,QueryFilter filter)
 		{
-			QueryResult qryRes=new QueryResult(dbQuery);
+			QueryResult qryRes=new QueryResult(dbQuery,context);
 			
 				while(qryRes.requiresNextPhase())
 				{
@@ -716,6 +826,8 @@ public class Query implements Validateable
         {
 				if(dbQuery==null || dbQuery.elements.isEmpty())
 					throw new ValidateException("DB Query can not be null or empty");
+				
+			plan=compilePlan(dbQuery);
         }
 
 }
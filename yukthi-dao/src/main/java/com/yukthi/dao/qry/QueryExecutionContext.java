@@ -0,0 +1,36 @@
+package com.yukthi.dao.qry;
+
+/**
+ * Context of query execution, passed explicitly to query functions (whose first argument is of this type)
+ * while building queries and processing results. Context is immutable and a single instance is shared by
+ * all the executions of a query manager.
+ *
+ * @author akiran
+ */
+public class QueryExecutionContext
+{
+	/**
+	 * Query manager executing the query
+	 */
+	private final QueryManager queryManager;
+	
+	/**
+	 * Instantiates a new query execution context.
+	 *
+	 * @param queryManager Query manager executing the queries
+	 */
+	QueryExecutionContext(QueryManager queryManager)
+	{
+		this.queryManager = queryManager;
+	}
+	
+	/**
+	 * Gets the query manager executing the query.
+	 *
+	 * @return the query manager executing the query
+	 */
+	public QueryManager getQueryManager()
+	{
+		return queryManager;
+	}
+}
@@ -6,10 +6,12 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -23,26 +25,16 @@ import com.yukthi.dao.qry.impl.RecordDataDigester;
  */
 public class QueryManager
 {
-	private static ThreadLocal<QueryManagerInstance> threadLocal = new ThreadLocal<QueryManagerInstance>();
-	
-	private static class QueryManagerInstance
-	{
-		private QueryManager queryManager;
-		private int count;
-		
-		public QueryManagerInstance(QueryManager queryManager, int count)
-		{
-			this.queryManager = queryManager;
-			this.count = count;
-		}
-	}
-
 	private static Logger logger = LogManager.getLogger(QueryManager.class);
 	private static final QueryFilter DUMMY_FILTER = new MapQueryFilter(new HashMap<String, Object>());
 
 	private QuerySource querySource;
 	private TransactionManager transactionManager;
 	
+	/**
+	 * Context passed to query functions, invoked during query building and result processing
+	 */
+	private final QueryExecutionContext executionContext = new QueryExecutionContext(this);
 
 	/**
 	 * Creates QueryManager instance using specified query-source
@@ -54,16 +46,13 @@ public class QueryManager
 		this.transactionManager = transactionManager;
 	}
 	
-	public static QueryManager getQueryManager()
+	/**
+	 * Fetches the execution context, which is passed to the query functions invoked by this manager
+	 * @return Execution context of this manager
+	 */
+	public QueryExecutionContext getExecutionContext()
 	{
-		QueryManagerInstance instance = threadLocal.get();
-		
-		if(instance != null)
-		{
-			return instance.queryManager;
-		}
-		
-		return null;
+		return executionContext;
 	}
 	
 	public QuerySource getQuerySource()
@@ -71,35 +60,6 @@ public class QueryManager
 		return querySource;
 	}
 	
-	private void setOnThreadLocal()
-	{
-		QueryManagerInstance instance = threadLocal.get();
-		
-		if(instance == null)
-		{
-			instance = new QueryManagerInstance(this, 1);
-			threadLocal.set(instance);
-			return;
-		}
-		
-		instance.count++;
-	}
-	
-	private void clearThreadLocal()
-	{
-		QueryManagerInstance instance = threadLocal.get();
-		
-		if(instance != null)
-		{
-			instance.count--;
-			
-			if(instance.count <= 0)
-			{
-				threadLocal.remove();
-			}
-		}
-	}
-
 	public Transaction newTransaction() throws SQLException
 	{
 		return newTransaction(Connection.TRANSACTION_REPEATABLE_READ);
@@ -135,7 +95,16 @@ public class QueryManager
 		return querySource.getGlobalProperty(name);
 	}
 
-	public synchronized DBConnection getDBConnection(String queryName) throws SQLException
+	/**
+	 * Fetches connection to be used for specified query. If a transaction is active, transaction connection 
+	 * is returned. Otherwise a new connection is fetched from connection source. No locking is done at this level, 
+	 * concurrent access is expected to be handled by connection source (or underlying pool).
+	 * 
+	 * @param queryName Query for which connection is needed
+	 * @return Connection to be used
+	 * @throws SQLException
+	 */
+	public DBConnection getDBConnection(String queryName) throws SQLException
 	{
 		if(isTransactionActive())
 		{
@@ -181,15 +150,7 @@ public class QueryManager
 	 */
 	public String getQuery(String name)
 	{
-		setOnThreadLocal();
-		
-		try
-		{
-			return getQuery(name, null, null);
-		}finally
-		{
-			clearThreadLocal();
-		}
+		return getQuery(name, null, null);
 	}
 	
 	public String getQueryParam(String queryName, String param)
@@ -214,15 +175,7 @@ public class QueryManager
 	 */
 	public String getQuery(String name, QueryFilter filter)
 	{
-		setOnThreadLocal();
-		
-		try
-		{
-			return getQuery(name, filter, null);
-		}finally
-		{
-			clearThreadLocal();
-		}
+		return getQuery(name, filter, null);
 	}
 
 	/**
@@ -248,8 +201,6 @@ public class QueryManager
 		if(filter == null)
 			filter = DUMMY_FILTER;
 
-		setOnThreadLocal();
-		
 		try
 		{
 			Query query = querySource.getQuery(name);
@@ -257,13 +208,10 @@ public class QueryManager
 			if(query == null)
 				throw new NoSuchQueryException("No query exists with specified name: " + name);
 
-			return query.toText(filter, finalParams, params);
+			return query.toText(executionContext, filter, finalParams, params);
 		}catch(Exception ex)
 		{
 			throw new IllegalStateException("An error occured while building query with name: " + name, ex);
-		}finally
-		{
-			clearThreadLocal();
 		}
 	}
 	
@@ -294,15 +242,7 @@ public class QueryManager
 	 */
 	public PreparedStatement buildStatement(String name, DBConnection connection, Object... params) throws SQLException
 	{
-		setOnThreadLocal();
-		
-		try
-		{
-			return buildStatement(name, connection, DUMMY_FILTER, params);
-		}finally
-		{
-			clearThreadLocal();
-		}
+		return buildStatement(name, connection, DUMMY_FILTER, params);
 	}
 
 	/**
@@ -318,60 +258,92 @@ public class QueryManager
 	 */
 	public PreparedStatement buildStatement(String name, DBConnection dbConnection, QueryFilter filter, Object... params) throws SQLException
 	{
-		setOnThreadLocal();
-		
+		return buildStatement(name, dbConnection, filter, null, params);
+	}
+
+	/**
+	 * Builds the prepared statement same as {@link #buildStatement(String, DBConnection, QueryFilter, Object...)}, 
+	 * and applies specified fetch options (if any) on the statement.
+	 * 
+	 * @param name Query name
+	 * @param connection SQL Connection on which prepared statement needs to be built
+	 * @param filter Query filter to be used
+	 * @param fetchOptions Fetch options to be applied, can be null
+	 * @param params Parameters for the prepared statement parameters (?)
+	 * @return Prepared statement after setting required parameter values
+	 * @throws SQLException
+	 */
+	private PreparedStatement buildStatement(String name, DBConnection dbConnection, QueryFilter filter, FetchOptions fetchOptions, Object... params) throws SQLException
+	{
+		LinkedList<Object> finalParams = new LinkedList<Object>();
+		Connection connection = dbConnection.getConnection();
+
+		String qryStr = getQuery(name, filter, finalParams, params);
+
+		PreparedStatement pstmt = null;
+
 		try
 		{
-			LinkedList<Object> finalParams = new LinkedList<Object>();
-			Connection connection = dbConnection.getConnection();
-	
-			String qryStr = getQuery(name, filter, finalParams, params);
-	
-			PreparedStatement pstmt = null;
-	
-			try
+			if(fetchOptions == null)
 			{
 				pstmt = connection.prepareStatement(qryStr);
-			}catch(SQLException ex)
+			}
+			else
 			{
-				logger.error("An error occured while building statement with below query: \n" + "Query Name: " + name + "\nQuery: " + qryStr);
-				throw ex;
+				pstmt = connection.prepareStatement(qryStr, fetchOptions.getResultSetType(), ResultSet.CONCUR_READ_ONLY);
 			}
-	
-			if(!finalParams.isEmpty())
+		}catch(SQLException ex)
+		{
+			logger.error("An error occured while building statement with below query: \n" + "Query Name: " + name + "\nQuery: " + qryStr);
+			throw ex;
+		}
+		
+		//apply query level customizations (like fetch count), which can be overridden by fetch options
+		querySource.customize(name, pstmt);
+		
+		if(fetchOptions != null)
+		{
+			if(fetchOptions.getFetchSize() > 0)
 			{
-				if(logger.isDebugEnabled())
-				{
-					logger.debug("Building query: " + name 
-							+ "\nWith Connection: " + dbConnection
-							+ "\nFilter: " + filter
-							+ "\nWith Params: " + finalParams 
-							+ "\n**********************************************\nQuery Is:" 
-							+ "\n" + qryStr 
-							+ "\n**********************************************");
-				}
-	
-				int idx = 1;
-	
-				for(Object param : finalParams)
-				{
-					pstmt.setObject(idx++, param);
-				}
+				pstmt.setFetchSize(fetchOptions.getFetchSize());
 			}
-			else if(logger.isDebugEnabled())
+			
+			if(fetchOptions.getMaxRows() > 0)
+			{
+				pstmt.setMaxRows(fetchOptions.getMaxRows());
+			}
+		}
+
+		if(!finalParams.isEmpty())
+		{
+			if(logger.isDebugEnabled())
 			{
 				logger.debug("Building query: " + name 
-						+ "\nWith Connection: " + dbConnection 
+						+ "\nWith Connection: " + dbConnection
+						+ "\nFilter: " + filter
+						+ "\nWith Params: " + finalParams 
 						+ "\n**********************************************\nQuery Is:" 
 						+ "\n" + qryStr 
 						+ "\n**********************************************");
 			}
-	
-			return pstmt;
-		}finally
+
+			int idx = 1;
+
+			for(Object param : finalParams)
+			{
+				pstmt.setObject(idx++, param);
+			}
+		}
+		else if(logger.isDebugEnabled())
 		{
-			clearThreadLocal();
+			logger.debug("Building query: " + name 
+					+ "\nWith Connection: " + dbConnection 
+					+ "\n**********************************************\nQuery Is:" 
+					+ "\n" + qryStr 
+					+ "\n**********************************************");
 		}
+
+		return pstmt;
 	}
 
 	/**
@@ -403,8 +375,6 @@ public class QueryManager
 		DBConnection connection = getDBConnection(name);
 		PreparedStatement pstmt = null;
 
-		setOnThreadLocal();
-		
 		try
 		{
 			pstmt = buildStatement(name, connection, filter, params);
@@ -417,12 +387,21 @@ public class QueryManager
 			throw new SQLException("An error occured while executing query: " + name, ex);
 		}finally
 		{
-			clearThreadLocal();
 			closeResources(connection, pstmt, null);
 		}
 	}
 
-	public Integer[] executeBulkUpdates(String name, BulkQueryFilter filter) throws SQLException
+	/**
+	 * Executes specified query for each row of the specified filter. Query is built and prepared only once, 
+	 * rows are bound to the statement and are sent to the database in JDBC batches. Batch is executed and committed 
+	 * whenever filter's commit count is reached (if commit count is zero or less, all rows are sent as single batch).
+	 * 
+	 * @param name Name of the query
+	 * @param filter Filter providing the rows
+	 * @return Update counts, one per row, as returned by driver (can be {@link Statement#SUCCESS_NO_INFO})
+	 * @throws SQLException
+	 */
+	public int[] executeBulkUpdates(String name, BulkQueryFilter filter) throws SQLException
 	{
 		DBConnection dbConnection = getDBConnection(name);
 		Connection connection = dbConnection.getConnection();
@@ -431,98 +410,120 @@ public class QueryManager
 		Query.QueryResult qryResult = null;
 		String qryStr = null;
 
-		setOnThreadLocal();
-		
 		try
 		{
-			try
-			{
-				Query query = querySource.getQuery(name);
-				qryResult = query.buildBulkQuery(filter);
-				qryStr = qryResult.toString(filter);
-			}catch(Exception ex)
-			{
-				throw new IllegalStateException("An error occured while building bulk query with name: " + name, ex);
-			}
-	
-			try
-			{
-				pstmt = connection.prepareStatement(qryStr);
-			}catch(SQLException ex)
-			{
-				logger.error("An error occured while building statement with below query: \n" + "Query Name: " + name + "\nQuery: " + qryStr);
-	
-				throw ex;
-			}
-	
-			if(logger.isDebugEnabled())
-			{
-				logger.debug("Building query (for bulk update): " + name 
-						+ "\nWith Connection: " + dbConnection 
-						+ "\n**********************************************\nQuery Is (for bulk update):" + "\n" + qryStr 
-						+ "\n**********************************************");
-			}
-	
-			List<Object> finalParams = new ArrayList<Object>(20);
-			int idx = 1;
-			List<Integer> updCounts = new LinkedList<Integer>();
-			int commitCount = filter.getCommitCount(), count = 0;
-	
-			try
+			Query query = querySource.getQuery(name);
+			qryResult = query.buildBulkQuery(executionContext, filter);
+			qryStr = qryResult.toString(filter);
+		}catch(Exception ex)
+		{
+			throw new IllegalStateException("An error occured while building bulk query with name: " + name, ex);
+		}
+
+		try
+		{
+			pstmt = connection.prepareStatement(qryStr);
+		}catch(SQLException ex)
+		{
+			logger.error("An error occured while building statement with below query: \n" + "Query Name: " + name + "\nQuery: " + qryStr);
+
+			throw ex;
+		}
+
+		if(logger.isDebugEnabled())
+		{
+			logger.debug("Building query (for bulk update): " + name 
+					+ "\nWith Connection: " + dbConnection 
+					+ "\n**********************************************\nQuery Is (for bulk update):" + "\n" + qryStr 
+					+ "\n**********************************************");
+		}
+
+		List<Object> finalParams = new ArrayList<Object>(20);
+		int idx = 1;
+		int updCounts[] = new int[0];
+		int commitCount = filter.getCommitCount(), count = 0, total = 0;
+
+		try
+		{
+			while(filter.next())
 			{
-				while(filter.next())
+				finalParams.clear();
+
+				try
 				{
-					finalParams.clear();
-	
-					try
-					{
-						qryResult.populateParams(filter, finalParams);
-					}catch(Exception ex)
-					{
-						throw new IllegalStateException("An error occured while executing query: " + name, ex);
-					}
-	
-					idx = 1;
-	
-					if(logger.isDebugEnabled())
-						logger.debug("Executing bulk query with: " + finalParams);
-	
-					for(Object obj : finalParams)
+					qryResult.populateParams(filter, finalParams);
+				}catch(Exception ex)
+				{
+					throw new IllegalStateException("An error occured while executing query: " + name, ex);
+				}
+
+				idx = 1;
+
+				if(logger.isDebugEnabled())
+					logger.debug("Executing bulk query with: " + finalParams);
+
+				for(Object obj : finalParams)
+				{
+					if(obj instanceof SQLNull)
 					{
-						if(obj instanceof SQLNull)
-						{
-							pstmt.setNull(idx, ((SQLNull)obj).getType());
-						}
-						else
-						{
-							pstmt.setObject(idx, obj);
-						}
-	
-						idx++;
+						pstmt.setNull(idx, ((SQLNull)obj).getType());
 					}
-	
-					updCounts.add(pstmt.executeUpdate());
-					pstmt.clearParameters();
-					count++;
-	
-					if(commitCount > 0 && count >= commitCount)
+					else
 					{
-						commitConnection(dbConnection);
-						count = 0;
+						pstmt.setObject(idx, obj);
 					}
+
+					idx++;
 				}
 
-				commitConnection(dbConnection);
-			}finally
+				pstmt.addBatch();
+				count++;
+
+				if(commitCount > 0 && count >= commitCount)
+				{
+					updCounts = executeBatch(pstmt, updCounts, total);
+					total += count;
+					count = 0;
+					
+					commitConnection(dbConnection);
+				}
+			}
+			
+			if(count > 0)
 			{
-				closeResources(dbConnection, pstmt, null);
+				updCounts = executeBatch(pstmt, updCounts, total);
+				total += count;
 			}
-	
-			return updCounts.toArray(new Integer[0]);
+
+			commitConnection(dbConnection);
 		}finally
 		{
-			clearThreadLocal();
+			closeResources(dbConnection, pstmt, null);
 		}
+
+		return (updCounts.length == total) ? updCounts : Arrays.copyOf(updCounts, total);
+	}
+	
+	/**
+	 * Executes the batch of specified statement and appends the resultant counts to specified counts array.
+	 * @param pstmt Statement whose batch needs to be executed
+	 * @param updCounts Counts collected so far
+	 * @param total Number of valid counts in "updCounts"
+	 * @return Counts array including current batch counts
+	 * @throws SQLException
+	 */
+	private int[] executeBatch(PreparedStatement pstmt, int updCounts[], int total) throws SQLException
+	{
+		int batchCounts[] = pstmt.executeBatch();
+		pstmt.clearBatch();
+		
+		if(updCounts.length < total + batchCounts.length)
+		{
+			updCounts = Arrays.copyOf(updCounts, Math.max(updCounts.length * 2, total + batchCounts.length));
+		}
+		
+		System.arraycopy(batchCounts, 0, updCounts, total, batchCounts.length);
+		return updCounts;
 	}
 
 	public boolean executeDDL(String name, QueryFilter filter) throws SQLException
@@ -530,8 +531,6 @@ public class QueryManager
 		DBConnection connection = getDBConnection(name);
 		Statement stmt = null;
 
-		setOnThreadLocal();
-		
 		try
 		{
 			String qryStr = getQuery(name, filter, null);
@@ -551,7 +550,6 @@ public class QueryManager
 			throw new SQLException("An error occured while executing DDL query: " + name, ex);
 		}finally
 		{
-			clearThreadLocal();
 			closeResources(connection, stmt, null);
 		}
 	}
@@ -572,8 +570,6 @@ public class QueryManager
 		PreparedStatement pstmt = null;
 		ResultSet rs = null;
 
-		setOnThreadLocal();
-		
 		try
 		{
 			pstmt = buildStatement(name, connection, filter, params);
@@ -588,7 +584,6 @@ public class QueryManager
 			throw new SQLException("An error occured while executing query: " + name, ex);
 		}finally
 		{
-			clearThreadLocal();
 			closeResources(connection, pstmt, rs);
 		}
 	}
@@ -599,8 +594,6 @@ public class QueryManager
 		PreparedStatement pstmt = null;
 		ResultSet rs = null;
 
-		setOnThreadLocal();
-		
 		try
 		{
 			pstmt = buildStatement(name, connection, filter, params);
@@ -615,7 +608,6 @@ public class QueryManager
 			throw new SQLException("An error occured while executing query: " + name, ex);
 		}finally
 		{
-			clearThreadLocal();
 			closeResources(connection, pstmt, rs);
 		}
 	}
@@ -631,8 +623,6 @@ public class QueryManager
 		PreparedStatement pstmt = null;
 		ResultSet rs = null;
 
-		setOnThreadLocal();
-		
 		try
 		{
 			pstmt = buildStatement(name, connection, filter, params);
@@ -647,7 +637,6 @@ public class QueryManager
 			throw new SQLException("An error occured while executing query: " + name, ex);
 		}finally
 		{
-			clearThreadLocal();
 			closeResources(connection, pstmt, rs);
 		}
 	}
@@ -685,8 +674,6 @@ public class QueryManager
 		ResultSet rs = null;
 		LinkedList<Object> records = new LinkedList<Object>();
 
-		setOnThreadLocal();
-		
 		try
 		{
 			pstmt = buildStatement(name, connection, filter, params);
@@ -696,7 +683,7 @@ public class QueryManager
 			Query query = getQueryObject(name);
 			FunctionInstance func = query.getColumnExpression(colName);
 			Object value = null;
-			QueryResultDataProvider dataProvider = (func == null)? null: new QueryResultDataProvider(new QueryResultData(query, filter, rs));
+			QueryResultDataProvider dataProvider = (func == null)? null: new QueryResultDataProvider(new QueryResultData(executionContext, query, filter, rs));
 			int recNo = 0;
 
 			while(rs.next())
@@ -721,7 +708,6 @@ public class QueryManager
 			throw new SQLException("An error occured while executing query: " + name, ex);
 		}finally
 		{
-			clearThreadLocal();
 			closeResources(connection, pstmt, rs);
 		}
 	}
@@ -743,8 +729,6 @@ public class QueryManager
 		ResultSet rs = null;
 		Map<Object, Object> resMap = new HashMap<Object, Object>();
 
-		setOnThreadLocal();
-		
 		try
 		{
 			Query query = getQueryObject(name);
@@ -762,7 +746,7 @@ public class QueryManager
 			FunctionInstance valFunc = query.getColumnExpression(valCol);
 
 			Object key = null, value = null;
-			QueryResultDataProvider dataProvider = (keyFunc == null && valFunc == null)? null: new QueryResultDataProvider(new QueryResultData(query, filter, rs));
+			QueryResultDataProvider dataProvider = (keyFunc == null && valFunc == null)? null: new QueryResultDataProvider(new QueryResultData(executionContext, query, filter, rs));
 
 			while(rs.next())
 			{
@@ -778,7 +762,6 @@ public class QueryManager
 			throw new SQLException("An error occured while executing query: " + name, ex);
 		}finally
 		{
-			clearThreadLocal();
 			closeResources(connection, pstmt, rs);
 		}
 	}
@@ -815,8 +798,6 @@ public class QueryManager
 		QueryResultData rsData = null;
 		LinkedList<T> records = new LinkedList<T>();
 
-		setOnThreadLocal();
-		
 		try
 		{
 			pstmt = buildStatement(name, connection, filter, params);
@@ -825,7 +806,7 @@ public class QueryManager
 			if(!rs.next())
 				return null;
 
-			rsData = new QueryResultData(query, filter, rs);
+			rsData = new QueryResultData(executionContext, query, filter, rs);
 
 			T bean = null;
 
@@ -848,7 +829,6 @@ public class QueryManager
 			throw new SQLException("An error occured while executing query: " + name, ex);
 		}finally
 		{
-			clearThreadLocal();
 			closeResources(connection, pstmt, rs);
 		}
 	}
@@ -873,15 +853,13 @@ public class QueryManager
 		ResultSet rs = null;
 		QueryResultData rsData = null;
 
-		setOnThreadLocal();
-		
 		try
 		{
 			pstmt = buildStatement(name, connection, filter, params);
 			rs = pstmt.executeQuery();
 
 			if(rs.next())
-				rsData = new QueryResultData(query, filter, rs);
+				rsData = new QueryResultData(executionContext, query, filter, rs);
 			else
 				return;
 
@@ -900,7 +878,6 @@ public class QueryManager
 			throw new SQLException("An error occured while executing query: " + name, ex);
 		}finally
 		{
-			clearThreadLocal();
 			closeResources(connection, pstmt, rs);
 		}
 	}
@@ -935,8 +912,6 @@ public class QueryManager
 		PreparedStatement pstmt = null;
 		ResultSet rs = null;
 
-		setOnThreadLocal();
-		
 		try
 		{
 			pstmt = buildStatement(name, connection, filter, params);
@@ -945,7 +920,7 @@ public class QueryManager
 			if(!rs.next())
 				return null;
 
-			QueryResultData rsData = new QueryResultData(query, filter, rs);
+			QueryResultData rsData = new QueryResultData(executionContext, query, filter, rs);
 
 			T data = digester.digest(rsData);
 			digester.finalizeDigester();
@@ -955,11 +930,82 @@ public class QueryManager
 			throw new SQLException("An error occured while executing query: " + name, ex);
 		}finally
 		{
-			clearThreadLocal();
 			closeResources(connection, pstmt, rs);
 		}
 	}
 
+	public <T>ResultIterator<T> iterateBeans(String name, FetchOptions fetchOptions, Object... params) throws SQLException
+	{
+		return iterateBeans(name, DUMMY_FILTER, null, fetchOptions, params);
+	}
+
+	/**
+	 * Executes specified query and returns an iterator, which digests the rows as they are requested, instead of
+	 * collecting all the results in memory. Returned iterator should be closed, if it is not consumed fully.
+	 * 
+	 * @param name Query name
+	 * @param filter Query filter to be used
+	 * @param digester Digester to be used, if null query digester will be used
+	 * @param fetchOptions Fetch options to be used, can be null
+	 * @param params Parameters for the prepared statement parameters (?)
+	 * @return Iterator over digested results
+	 * @throws SQLException
+	 */
+	@SuppressWarnings("unchecked")
+	public <T>ResultIterator<T> iterateBeans(String name, QueryFilter filter, DataDigester<T> digester, FetchOptions fetchOptions, Object... params) throws SQLException
+	{
+		Query query = getQueryObject(name);
+
+		if(digester == null)
+			digester = (DataDigester<T>)querySource.getDataDigester(query);
+
+		if(digester == null)
+			throw new IllegalStateException("No data digester is specified.");
+
+		if(fetchOptions == null)
+			fetchOptions = new FetchOptions();
+
+		DBConnection connection = getDBConnection(name);
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+
+		try
+		{
+			pstmt = buildStatement(name, connection, filter, fetchOptions, params);
+			rs = pstmt.executeQuery();
+
+			QueryResultData rsData = new QueryResultData(executionContext, query, filter, rs);
+			return new ResultIterator<T>(this, name, connection, pstmt, rs, rsData, digester);
+		}catch(Exception ex)
+		{
+			closeResources(connection, pstmt, rs);
+			throw new SQLException("An error occured while executing query: " + name, ex);
+		}
+	}
+
+	public <T>Stream<T> streamBeans(String name, FetchOptions fetchOptions, Object... params) throws SQLException
+	{
+		return streamBeans(name, DUMMY_FILTER, null, fetchOptions, params);
+	}
+
+	/**
+	 * Same as {@link #iterateBeans(String, QueryFilter, DataDigester, FetchOptions, Object...)}, but returns results as stream. 
+	 * Returned stream should be closed, if it is not consumed fully.
+	 * 
+	 * @param name Query name
+	 * @param filter Query filter to be used
+	 * @param digester Digester to be used, if null query digester will be used
+	 * @param fetchOptions Fetch options to be used, can be null
+	 * @param params Parameters for the prepared statement parameters (?)
+	 * @return Stream of digested results
+	 * @throws SQLException
+	 */
+	public <T>Stream<T> streamBeans(String name, QueryFilter filter, DataDigester<T> digester, FetchOptions fetchOptions, Object... params) throws SQLException
+	{
+		ResultIterator<T> iterator = iterateBeans(name, filter, digester, fetchOptions, params);
+		return iterator.stream();
+	}
+
 	public Record fetchRecord(String name, Object... params) throws SQLException
 	{
 		return fetchRecord(name, DUMMY_FILTER, params);
@@ -980,4 +1026,14 @@ public class QueryManager
 		return fetchBeans(name, filter, new RecordDataDigester(), params);
 	}
 
+	public ResultIterator<Record> iterateRecords(String name, QueryFilter filter, FetchOptions fetchOptions, Object... params) throws SQLException
+	{
+		return iterateBeans(name, filter, new RecordDataDigester(), fetchOptions, params);
+	}
+
+	public Stream<Record> streamRecords(String name, QueryFilter filter, FetchOptions fetchOptions, Object... params) throws SQLException
+	{
+		return streamBeans(name, filter, new RecordDataDigester(), fetchOptions, params);
+	}
+
 }
@@ -0,0 +1,139 @@
+package com.yukthi.dao.qry;
+
+import java.util.List;
+
+/**
+ * Precompiled form of a query whose structure does not depend on the query filter, that is a query made of
+ * only static text and bind parameters (positional, named and function parameters). The query is compiled
+ * into static SQL fragments separated by parameter slots, so that rendering does not need any tree
+ * interpretation.
+ * <BR/><BR/>
+ * When none of the parameter values is null, the fixed SQL (with "?" for every slot) is used as is. Otherwise
+ * null-string of the filter is substituted in place of the null parameters, as done during normal query
+ * building.
+ * <BR/><BR/>
+ * Plan is immutable and can be used by multiple threads concurrently.
+ * @author akiran
+ */
+class QueryPlan
+{
+	/**
+	 * Static SQL fragments. Fragment at index "i" precedes the slot at index "i", the last fragment
+	 * follows the last slot.
+	 */
+	private final String fragments[];
+	
+	/**
+	 * Parameter slots of the query
+	 */
+	private final Query.QuestObject slots[];
+	
+	/**
+	 * Fixed SQL with "?" for every slot
+	 */
+	private final String sql;
+	
+	/**
+	 * Instantiates a new query plan.
+	 *
+	 * @param fragments Static SQL fragments, one more than slots
+	 * @param slots Parameter slots
+	 */
+	QueryPlan(String fragments[], Query.QuestObject slots[])
+	{
+		if(fragments.length != slots.length + 1)
+		{
+			throw new IllegalArgumentException("Number of fragments should be one more than number of slots");
+		}
+		
+		this.fragments = fragments;
+		this.slots = slots;
+		
+		StringBuilder builder = new StringBuilder(fragments[0]);
+		
+		for(int i = 0; i < slots.length; i++)
+		{
+			builder.append("?").append(fragments[i + 1]);
+		}
+		
+		this.sql = builder.toString();
+	}
+	
+	/**
+	 * Gets the fixed SQL with "?" for every slot.
+	 *
+	 * @return the fixed SQL
+	 */
+	public String getSql()
+	{
+		return sql;
+	}
+	
+	/**
+	 * Renders the query using specified filter and parameters. Non-null parameter values are added to "finalParams"
+	 * in order of their occurrence.
+	 *
+	 * @param context Execution context to be passed to query functions
+	 * @param filter Filter providing named parameters
+	 * @param finalParams List to be populated with final parameters. If null, fixed sql will be returned.
+	 * @param params Positional parameter values
+	 * @return Query string to be used
+	 */
+	public String render(QueryExecutionContext context, QueryFilter filter, List<Object> finalParams, Object... params)
+	{
+		if(finalParams == null || slots.length == 0)
+		{
+			return sql;
+		}
+		
+		Object values[] = new Object[slots.length];
+		boolean nullFound = false;
+		int paramIdx = 0;
+		
+		for(int i = 0; i < slots.length; i++)
+		{
+			if(!slots[i].isNamed() && (params == null || params.length <= paramIdx))
+			{
+				throw new IllegalStateException("Insufficient number of parameters supplied: " + paramIdx);
+			}
+			
+			values[i] = slots[i].getValue(context, filter, paramIdx, params);
+			nullFound |= (values[i] == null);
+			
+			if(!slots[i].isNamed())
+			{
+				paramIdx++;
+			}
+		}
+		
+		if(!nullFound)
+		{
+			for(Object value : values)
+			{
+				finalParams.add(value);
+			}
+			
+			return sql;
+		}
+		
+		StringBuilder builder = new StringBuilder(sql.length() + 16);
+		builder.append(fragments[0]);
+		
+		for(int i = 0; i < slots.length; i++)
+		{
+			if(values[i] == null)
+			{
+				builder.append(filter.getNullString());
+			}
+			else
+			{
+				builder.append("?");
+				finalParams.add(values[i]);
+			}
+			
+			builder.append(fragments[i + 1]);
+		}
+		
+		return builder.toString();
+	}
+}
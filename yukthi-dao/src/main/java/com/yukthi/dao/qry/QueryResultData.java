@@ -16,6 +16,8 @@ import java.sql.SQLException;
 import java.sql.SQLXML;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
 
 public class QueryResultData
 {
@@ -23,12 +25,19 @@ public class QueryResultData
 	private String columnNames[];
 	private Query query;
 	private QueryFilter filter;
+	private QueryExecutionContext context;
 	private boolean stopProcessing=false;
 	
 	private QueryResultDataProvider dataProvider=null;
 	
-		QueryResultData(Query query,QueryFilter filter,ResultSet rs) throws SQLException
+	/**
+	 * State maintained by digesters for current result
+	 */
+	private Map<String,Object> digesterStates;
+	
+		QueryResultData(QueryExecutionContext context,Query query,QueryFilter filter,ResultSet rs) throws SQLException
 		{
+			this.context=context;
 			this.query=query;
 			this.rs=rs;
 			this.filter=filter;
@@ -51,6 +60,52 @@ public class QueryResultData
 			return data;
 		}
 		
+		/**
+		 * Execution context to be passed to query functions, while processing this result
+		 * @return Execution context
+		 */
+		public QueryExecutionContext getExecutionContext()
+		{
+			return context;
+		}
+		
+		/**
+		 * Fetches the state set by digester (like mapping plans resolved for current result), 
+		 * with specified key.
+		 * @param key Key of the state
+		 * @return State with specified key, null if not found
+		 */
+		public Object getDigesterState(String key)
+		{
+				if(digesterStates==null)
+					return null;
+				
+			return digesterStates.get(key);
+		}
+		
+		/**
+		 * Sets the state of digester, which is maintained till the end of current result.
+		 * @param key Key of the state
+		 * @param state State to be set
+		 */
+		public void setDigesterState(String key,Object state)
+		{
+				if(digesterStates==null)
+					digesterStates=new HashMap<String,Object>();
+				
+			digesterStates.put(key,state);
+		}
+		
+		public ResultSetMetaData getMetaData() throws SQLException
+		{
+			return rs.getMetaData();
+		}
+		
+		public boolean wasNull() throws SQLException
+		{
+			return rs.wasNull();
+		}
+		
 		public String getQueryParam(String name)
 		{
 			return query.getParam(name);
@@ -23,6 +23,12 @@ public class QueryResultDataProvider implements DataProvider
 				}
 	    }
 	
+		@Override
+		public QueryExecutionContext getExecutionContext()
+		{
+			return rsData.getExecutionContext();
+		}
+	
 		@Override
 	    public Object getProperty(String funcName,String name)
 	    {
@@ -0,0 +1,171 @@
+package com.yukthi.dao.qry;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterator over the results of a query, which digests the rows one by one as they are requested. Only the current
+ * row is held in memory (apart from the rows prefetched by the driver), so that large results can be processed in
+ * bounded memory.
+ * <BR/><BR/>
+ * Underlying connection, statement and result set are closed when the results are exhausted, when digester
+ * stops the processing, or when this iterator is closed. If the results are not consumed fully, iterator
+ * should be closed explicitly (preferably using try-with-resources).
+ * <BR/><BR/>
+ * Iterator is not thread safe.
+ * @author akiran
+ * @param <T> Type of elements produced by digester
+ */
+public class ResultIterator<T> implements Iterator<T>, AutoCloseable
+{
+	private QueryManager queryManager;
+	private String queryName;
+	
+	private DBConnection connection;
+	private PreparedStatement pstmt;
+	private ResultSet rs;
+	
+	private QueryResultData rsData;
+	private DataDigester<T> digester;
+	
+	/**
+	 * Next element to be returned, fetched during hasNext()
+	 */
+	private T nextElement;
+	
+	/**
+	 * Flag indicating no more rows needs to be digested
+	 */
+	private boolean finished;
+	
+	/**
+	 * Flag indicating underlying resources are closed
+	 */
+	private boolean closed;
+	
+	ResultIterator(QueryManager queryManager, String queryName, DBConnection connection, PreparedStatement pstmt, ResultSet rs, QueryResultData rsData, DataDigester<T> digester)
+	{
+		this.queryManager = queryManager;
+		this.queryName = queryName;
+		this.connection = connection;
+		this.pstmt = pstmt;
+		this.rs = rs;
+		this.rsData = rsData;
+		this.digester = digester;
+	}
+	
+	@Override
+	public boolean hasNext()
+	{
+		if(nextElement != null)
+		{
+			return true;
+		}
+		
+		if(finished)
+		{
+			return false;
+		}
+		
+		try
+		{
+			T element = null;
+			
+			while(rs.next())
+			{
+				element = digester.digest(rsData);
+				
+				if(rsData.getStopProcessing())
+				{
+					finish();
+				}
+				
+				if(element != null)
+				{
+					nextElement = element;
+					return true;
+				}
+				
+				if(finished)
+				{
+					return false;
+				}
+			}
+			
+			finish();
+			return false;
+		}catch(SQLException ex)
+		{
+			close();
+			throw new IllegalStateException("An error occured while fetching results of query: " + queryName, ex);
+		}catch(RuntimeException ex)
+		{
+			close();
+			throw ex;
+		}
+	}
+	
+	@Override
+	public T next()
+	{
+		if(!hasNext())
+		{
+			throw new NoSuchElementException("No more results are available for query: " + queryName);
+		}
+		
+		T element = nextElement;
+		nextElement = null;
+		
+		return element;
+	}
+	
+	/**
+	 * Marks the results as finished, finalizes the digester and releases the resources.
+	 */
+	private void finish()
+	{
+		finished = true;
+		
+		try
+		{
+			digester.finalizeDigester();
+		}finally
+		{
+			close();
+		}
+	}
+	
+	/**
+	 * Wraps this iterator as sequential stream. Closing the stream closes this iterator.
+	 * @return Stream of results
+	 */
+	public Stream<T> stream()
+	{
+		Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+		return StreamSupport.stream(spliterator, false).onClose(this::close);
+	}
+	
+	/**
+	 * Releases underlying connection, statement and result set. Results not yet consumed will be discarded.
+	 */
+	@Override
+	public void close()
+	{
+		if(closed)
+		{
+			return;
+		}
+		
+		closed = true;
+		finished = true;
+		
+		queryManager.closeResources(connection, pstmt, rs);
+	}
+}
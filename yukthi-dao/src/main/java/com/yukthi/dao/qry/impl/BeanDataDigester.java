@@ -23,11 +23,24 @@ public class BeanDataDigester implements DataDigester<Object>
 	private static final String CONSTR_KEY="BeanDataDigester$Construcotr#";
 	private static final String FUNC_INST_KEY="BeanDataDigester$funcInst#";
 	private static final String BEAN_FUNC_KEY="BeanDataDigester$beanFunc#";
+	private static final String STATE_KEY="BeanDataDigester$state#";
 	
 	public static final String QRY_PARAM_CONSTRUCTOR="beanConstructor";
 	public static final String QRY_PARAM_CONSTR_PARAM="constructorParams";
 	public static final String QRY_PARAM_BEAN_FUNC_EXPR="beanFuncExpr";
 	
+	/**
+	 * Digest state of a result, resolved on first row so that remaining rows need no lookups.
+	 */
+	private static class DigestState
+	{
+		private FunctionInstance beanExpr;
+		private Constructor<?> constructor;
+		private Class<?> paramTypes[];
+		private FunctionInstance constParams;
+		private QueryResultDataProvider dataProvider;
+	}
+	
 	private String name=null;
 	
 		public BeanDataDigester(String name)
@@ -151,15 +164,42 @@ public class BeanDataDigester implements DataDigester<Object>
 			rsData.setQueryAttribute(key,funcInst);
 			return funcInst;
 		}
+		
+		private DigestState getState(QueryResultData rsData)
+		{
+			String key=(name==null)?STATE_KEY:STATE_KEY+name;
+			DigestState state=(DigestState)rsData.getDigesterState(key);
+			
+				if(state!=null)
+					return state;
+				
+			state=new DigestState();
+			state.dataProvider=new QueryResultDataProvider(rsData);
+			state.beanExpr=geBeanFunctionExpression(rsData);
+			
+				if(state.beanExpr==null)
+				{
+					state.constructor=getConstructor(rsData);
+					
+						if(state.constructor!=null)
+						{
+							state.paramTypes=state.constructor.getParameterTypes();
+							state.constParams=getConstFunctionInstance(rsData);
+						}
+				}
+				
+			rsData.setDigesterState(key,state);
+			return state;
+		}
 	
 		@Override
 	    public Object digest(QueryResultData rsData) throws SQLException
 	    {
-			FunctionInstance beanExpr=geBeanFunctionExpression(rsData);
+			DigestState state=getState(rsData);
 			
-				if(beanExpr!=null)
+				if(state.beanExpr!=null)
 				{
-					Object bean=beanExpr.invoke(new QueryResultDataProvider(rsData));
+					Object bean=state.beanExpr.invoke(state.dataProvider);
 					
 						if(processBeanRecord(bean))
 							return null;
@@ -167,9 +207,7 @@ public class BeanDataDigester implements DataDigester<Object>
 					return bean;
 				}
 			
-			Constructor<?> construct=getConstructor(rsData);
-			
-				if(construct==null)
+				if(state.constructor==null)
 				{
 					Object bean=recDataDigester.digest(rsData);
 					
@@ -179,13 +217,12 @@ public class BeanDataDigester implements DataDigester<Object>
 					return bean;
 				}
 				
-			FunctionInstance funcInst=getConstFunctionInstance(rsData);
-			Object paramValues[]=funcInst.getParamValues(new QueryResultDataProvider(rsData));
+			Object paramValues[]=state.constParams.getParamValues(state.dataProvider);
 			
 				try
 				{
-					paramValues=QueryUtil.convert(paramValues,construct.getParameterTypes());
-					Object bean=construct.newInstance((Object[])paramValues);
+					paramValues=QueryUtil.convert(paramValues,state.paramTypes);
+					Object bean=state.constructor.newInstance((Object[])paramValues);
 					
 						if(processBeanRecord(bean))
 							return null;
@@ -0,0 +1,479 @@
+package com.yukthi.dao.qry.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import com.yukthi.dao.qry.QueryResultData;
+import com.yukthi.dao.qry.QueryUtil;
+import com.yukthi.utils.beans.AccessorFactory;
+
+/**
+ * Plan to map rows of a result to beans of a type. Plan is built once per query, bean type and result shape (column
+ * names and types) and holds, for every mapped column, the column index, setter invoker and the way the value
+ * needs to be read and converted. Primitive int, long, double and boolean properties are read using typed getters
+ * and are set without boxing, but only when column type maps to property type without any loss (for example INTEGER
+ * to int or long). All other combinations (DECIMAL/NUMERIC columns, short/byte/float properties, etc) are read as
+ * object and converted, so that out of range or fractional values are not truncated silently.
+ * <BR/><BR/>
+ * Plan is immutable and can be shared by concurrent executions.
+ * @author akiran
+ */
+class BeanMappingPlan
+{
+	/**
+	 * Sets value of a column on the bean.
+	 * @author akiran
+	 */
+	private static abstract class ColumnSetter
+	{
+		/**
+		 * Name of the column
+		 */
+		protected final String column;
+		
+		/**
+		 * Index of the column (starting from 1)
+		 */
+		protected final int index;
+		
+		public ColumnSetter(String column, int index)
+		{
+			this.column = column;
+			this.index = index;
+		}
+		
+		/**
+		 * Reads the column value from current row and sets it on specified bean. Null values are ignored.
+		 * @param rsData Result data positioned on current row
+		 * @param bean Bean to be populated
+		 * @throws Throwable
+		 */
+		public abstract void apply(QueryResultData rsData, Object bean) throws Throwable;
+	}
+	
+	/**
+	 * Setter which reads the value as object (or evaluating column expression) and converts it to the property type, if required.
+	 * @author akiran
+	 */
+	private static class ObjectColumnSetter extends ColumnSetter
+	{
+		private final BiConsumer<Object, Object> setter;
+		private final Class<?> propertyType;
+		
+		/**
+		 * Wrapper type of property type, used to check if conversion is required.
+		 */
+		private final Class<?> wrapperType;
+		
+		/**
+		 * Indicates column has expression, which needs to be evaluated to fetch value.
+		 */
+		private final boolean expression;
+		
+		public ObjectColumnSetter(String column, int index, BiConsumer<Object, Object> setter, Class<?> propertyType, boolean expression)
+		{
+			super(column, index);
+			
+			this.setter = setter;
+			this.propertyType = propertyType;
+			this.wrapperType = MethodType.methodType(propertyType).wrap().returnType();
+			this.expression = expression;
+		}
+		
+		@Override
+		public void apply(QueryResultData rsData, Object bean) throws Throwable
+		{
+			Object value = expression ? rsData.executeColumnExpression(column) : rsData.getObject(index);
+			
+			if(value == null)
+			{
+				return;
+			}
+			
+			if(!wrapperType.isInstance(value))
+			{
+				value = QueryUtil.convert(value, propertyType);
+			}
+			
+			setter.accept(bean, value);
+		}
+	}
+	
+	/**
+	 * Setter for int properties.
+	 * @author akiran
+	 */
+	private static class IntColumnSetter extends ColumnSetter
+	{
+		/**
+		 * Setter handle of type (Object, int)void
+		 */
+		private final MethodHandle setter;
+		
+		public IntColumnSetter(String column, int index, MethodHandle setter)
+		{
+			super(column, index);
+			this.setter = setter;
+		}
+		
+		@Override
+		public void apply(QueryResultData rsData, Object bean) throws Throwable
+		{
+			int value = rsData.getInt(index);
+			
+			if(rsData.wasNull())
+			{
+				return;
+			}
+			
+			setter.invokeExact(bean, value);
+		}
+	}
+	
+	/**
+	 * Setter for long properties.
+	 * @author akiran
+	 */
+	private static class LongColumnSetter extends ColumnSetter
+	{
+		/**
+		 * Setter handle of type (Object, long)void
+		 */
+		private final MethodHandle setter;
+		
+		public LongColumnSetter(String column, int index, MethodHandle setter)
+		{
+			super(column, index);
+			this.setter = setter;
+		}
+		
+		@Override
+		public void apply(QueryResultData rsData, Object bean) throws Throwable
+		{
+			long value = rsData.getLong(index);
+			
+			if(rsData.wasNull())
+			{
+				return;
+			}
+			
+			setter.invokeExact(bean, value);
+		}
+	}
+	
+	/**
+	 * Setter for double properties.
+	 * @author akiran
+	 */
+	private static class DoubleColumnSetter extends ColumnSetter
+	{
+		/**
+		 * Setter handle of type (Object, double)void
+		 */
+		private final MethodHandle setter;
+		
+		public DoubleColumnSetter(String column, int index, MethodHandle setter)
+		{
+			super(column, index);
+			this.setter = setter;
+		}
+		
+		@Override
+		public void apply(QueryResultData rsData, Object bean) throws Throwable
+		{
+			double value = rsData.getDouble(index);
+			
+			if(rsData.wasNull())
+			{
+				return;
+			}
+			
+			setter.invokeExact(bean, value);
+		}
+	}
+	
+	/**
+	 * Setter for boolean properties.
+	 * @author akiran
+	 */
+	private static class BooleanColumnSetter extends ColumnSetter
+	{
+		/**
+		 * Setter handle of type (Object, boolean)void
+		 */
+		private final MethodHandle setter;
+		
+		public BooleanColumnSetter(String column, int index, MethodHandle setter)
+		{
+			super(column, index);
+			this.setter = setter;
+		}
+		
+		@Override
+		public void apply(QueryResultData rsData, Object bean) throws Throwable
+		{
+			boolean value = rsData.getBoolean(index);
+			
+			if(rsData.wasNull())
+			{
+				return;
+			}
+			
+			setter.invokeExact(bean, value);
+		}
+	}
+	
+	/**
+	 * Bean type for which plan is built
+	 */
+	private final Class<?> beanType;
+	
+	/**
+	 * Column names of the result shape
+	 */
+	private final String columnNames[];
+	
+	/**
+	 * Column sql types of the result shape
+	 */
+	private final int columnTypes[];
+	
+	/**
+	 * Setters of mapped columns
+	 */
+	private final ColumnSetter setters[];
+	
+	/**
+	 * Constructor of bean type, null if bean type does not have default constructor
+	 */
+	private final Supplier<Object> constructor;
+	
+	private BeanMappingPlan(Class<?> beanType, String columnNames[], int columnTypes[], ColumnSetter setters[], Supplier<Object> constructor)
+	{
+		this.beanType = beanType;
+		this.columnNames = columnNames;
+		this.columnTypes = columnTypes;
+		this.setters = setters;
+		this.constructor = constructor;
+	}
+	
+	/**
+	 * Fetches column sql types of specified result.
+	 * @param rsData Result data
+	 * @return Column types
+	 * @throws SQLException
+	 */
+	private static int[] getColumnTypes(QueryResultData rsData) throws SQLException
+	{
+		ResultSetMetaData metaData = rsData.getMetaData();
+		int types[] = new int[metaData.getColumnCount()];
+		
+		for(int i = 0; i < types.length; i++)
+		{
+			types[i] = metaData.getColumnType(i + 1);
+		}
+		
+		return types;
+	}
+	
+	/**
+	 * Checks if specified sql type can be read using typed getter of specified primitive type without any loss
+	 * of value. DECIMAL/NUMERIC columns are never read using typed getters, as they may carry fractions or values
+	 * which are out of range of the property type.
+	 * @param sqlType Column sql type
+	 * @param type Primitive property type
+	 * @return true if typed getter can be used
+	 */
+	private static boolean isTypedReadable(int sqlType, Class<?> type)
+	{
+		if(type == int.class)
+		{
+			return (sqlType == Types.INTEGER || sqlType == Types.SMALLINT || sqlType == Types.TINYINT);
+		}
+		
+		if(type == long.class)
+		{
+			return (sqlType == Types.BIGINT || sqlType == Types.INTEGER || sqlType == Types.SMALLINT || sqlType == Types.TINYINT);
+		}
+		
+		if(type == double.class)
+		{
+			return (sqlType == Types.DOUBLE || sqlType == Types.FLOAT || sqlType == Types.REAL);
+		}
+		
+		if(type == boolean.class)
+		{
+			return (sqlType == Types.BOOLEAN || sqlType == Types.BIT);
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Builds typed setter for specified primitive setter method. If method handle can not be created or property type is
+	 * not supported by typed setters, null is returned. Handles are adapted only on receiver type, so that no value
+	 * conversion is involved.
+	 * @param column Column name
+	 * @param index Column index
+	 * @param method Setter method
+	 * @param type Primitive property type
+	 * @return Typed setter or null
+	 */
+	private static ColumnSetter buildTypedSetter(String column, int index, Method method, Class<?> type)
+	{
+		MethodHandle handle = null;
+		
+		try
+		{
+			method.setAccessible(true);
+			handle = MethodHandles.lookup().unreflect(method);
+		}catch(Exception ex)
+		{
+			return null;
+		}
+		
+		if(type == int.class)
+		{
+			handle = handle.asType(MethodType.methodType(void.class, Object.class, int.class));
+			return new IntColumnSetter(column, index, handle);
+		}
+		
+		if(type == long.class)
+		{
+			handle = handle.asType(MethodType.methodType(void.class, Object.class, long.class));
+			return new LongColumnSetter(column, index, handle);
+		}
+		
+		if(type == double.class)
+		{
+			handle = handle.asType(MethodType.methodType(void.class, Object.class, double.class));
+			return new DoubleColumnSetter(column, index, handle);
+		}
+		
+		if(type == boolean.class)
+		{
+			handle = handle.asType(MethodType.methodType(void.class, Object.class, boolean.class));
+			return new BooleanColumnSetter(column, index, handle);
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Builds mapping plan for specified result and bean type.
+	 * @param rsData Result data, for which plan needs to be built
+	 * @param beanType Bean type to be populated
+	 * @param nameToSetter Property name to setter mapping of bean type
+	 * @return Mapping plan
+	 * @throws SQLException
+	 */
+	public static BeanMappingPlan build(QueryResultData rsData, Class<?> beanType, Map<String, Method> nameToSetter) throws SQLException
+	{
+		String columnNames[] = rsData.getColumnNames();
+		int columnTypes[] = getColumnTypes(rsData);
+		List<ColumnSetter> setters = new ArrayList<ColumnSetter>(columnNames.length);
+		
+		Method method = null;
+		Class<?> type = null;
+		ColumnSetter setter = null;
+		boolean expression = false;
+		
+		for(int i = 0; i < columnNames.length; i++)
+		{
+			method = nameToSetter.get(columnNames[i]);
+			
+			if(method == null)
+			{
+				continue;
+			}
+			
+			type = method.getParameterTypes()[0];
+			expression = rsData.hasColumnExpression(columnNames[i]);
+			setter = null;
+			
+			if(!expression && type.isPrimitive() && isTypedReadable(columnTypes[i], type))
+			{
+				setter = buildTypedSetter(columnNames[i], i + 1, method, type);
+			}
+			
+			if(setter == null)
+			{
+				setter = new ObjectColumnSetter(columnNames[i], i + 1, AccessorFactory.createSetter(method), type, expression);
+			}
+			
+			setters.add(setter);
+		}
+		
+		return new BeanMappingPlan(beanType, columnNames, columnTypes, setters.toArray(new ColumnSetter[0]), AccessorFactory.createConstructor(beanType));
+	}
+	
+	/**
+	 * Checks if this plan is built for specified bean type and the shape of specified result.
+	 * @param rsData Result data to check
+	 * @param beanType Bean type to check
+	 * @return true if plan can be used
+	 * @throws SQLException
+	 */
+	public boolean isApplicable(QueryResultData rsData, Class<?> beanType) throws SQLException
+	{
+		return this.beanType == beanType && Arrays.equals(columnNames, rsData.getColumnNames()) && Arrays.equals(columnTypes, getColumnTypes(rsData));
+	}
+	
+	/**
+	 * Gets the bean type for which plan is built.
+	 *
+	 * @return the bean type for which plan is built
+	 */
+	public Class<?> getBeanType()
+	{
+		return beanType;
+	}
+	
+	/**
+	 * Creates new instance of bean type.
+	 * @return New bean instance
+	 */
+	public Object newBean()
+	{
+		if(constructor == null)
+		{
+			throw new IllegalStateException("No default constructor found for bean type: " + beanType.getName());
+		}
+		
+		return constructor.get();
+	}
+	
+	/**
+	 * Populates specified bean with values of current row.
+	 * @param rsData Result data positioned on current row
+	 * @param bean Bean to be populated
+	 * @throws SQLException
+	 */
+	public void apply(QueryResultData rsData, Object bean) throws SQLException
+	{
+		for(ColumnSetter setter : setters)
+		{
+			try
+			{
+				setter.apply(rsData, bean);
+			}catch(SQLException | Error ex)
+			{
+				throw ex;
+			}catch(Throwable ex)
+			{
+				throw new IllegalStateException("An error occured while invoking property: " + setter.column, ex);
+			}
+		}
+	}
+}
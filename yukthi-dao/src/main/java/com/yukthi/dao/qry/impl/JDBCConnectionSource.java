@@ -4,7 +4,13 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 
 import com.yukthi.dao.qry.DBConnection;
+import com.yukthi.utils.pool.PooledDataSource;
 
+/**
+ * Connection source which connects using jdbc url and credentials. By default new connection is opened for every request.
+ * Pooling can be enabled using {@link #setPooled(boolean)}, in which case connections are pooled using {@link PooledDataSource},
+ * which is created on first usage. Once the pool is created, configuration can not be changed till the pool is closed.
+ */
 public class JDBCConnectionSource extends AbstractConnectionSource
 {
 	private String dbUrl;
@@ -12,6 +18,14 @@ public class JDBCConnectionSource extends AbstractConnectionSource
 	private String password;
 	private String driver;
 
+	private boolean pooled = false;
+	private int minPoolSize = 0;
+	private int maxPoolSize = 10;
+	private long acquireTimeout = 30000;
+	private long leakDetectionThreshold = 0;
+
+	private volatile PooledDataSource dataSource;
+
 	public JDBCConnectionSource()
 	{}
 
@@ -24,29 +38,127 @@ public class JDBCConnectionSource extends AbstractConnectionSource
 		this.driver = driver;
 	}
 
-	public void setDbUrl(String dbUrl)
+	/**
+	 * Ensures pool is not yet created, as pool would not reflect configuration changes
+	 */
+	private void checkConfigurable()
+	{
+		if(dataSource != null)
+		{
+			throw new IllegalStateException("Configuration can not be changed after connection pool is created");
+		}
+	}
+
+	public synchronized void setDbUrl(String dbUrl)
 	{
+		checkConfigurable();
 		this.dbUrl = dbUrl;
 	}
 
-	public void setUser(String user)
+	public synchronized void setUser(String user)
 	{
+		checkConfigurable();
 		this.user = user;
 	}
 
-	public void setPassword(String password)
+	public synchronized void setPassword(String password)
 	{
+		checkConfigurable();
 		this.password = password;
 	}
 
-	public void setDriver(String driver)
+	public synchronized void setDriver(String driver)
 	{
+		checkConfigurable();
 		this.driver = driver;
 	}
 
+	/**
+	 * Sets flag indicating whether connections should be pooled. Defaults to false.
+	 * @param pooled
+	 */
+	public synchronized void setPooled(boolean pooled)
+	{
+		checkConfigurable();
+		this.pooled = pooled;
+	}
+
+	/**
+	 * Sets minimum number of connections to be maintained in pool
+	 * @param minPoolSize
+	 */
+	public synchronized void setMinPoolSize(int minPoolSize)
+	{
+		checkConfigurable();
+		this.minPoolSize = minPoolSize;
+	}
+
+	/**
+	 * Sets maximum number of pooled connections that can be used at a time
+	 * @param maxPoolSize
+	 */
+	public synchronized void setMaxPoolSize(int maxPoolSize)
+	{
+		checkConfigurable();
+		this.maxPoolSize = maxPoolSize;
+	}
+
+	/**
+	 * Sets maximum time (in millis) to wait for a pooled connection
+	 * @param acquireTimeout
+	 */
+	public synchronized void setAcquireTimeout(long acquireTimeout)
+	{
+		checkConfigurable();
+		this.acquireTimeout = acquireTimeout;
+	}
+
+	/**
+	 * Sets time (in millis) after which a connection not returned to pool is reported as leak
+	 * @param leakDetectionThreshold
+	 */
+	public synchronized void setLeakDetectionThreshold(long leakDetectionThreshold)
+	{
+		checkConfigurable();
+		this.leakDetectionThreshold = leakDetectionThreshold;
+	}
+
+	/**
+	 * Fetches the pooled data source, creating it on first call
+	 * @return Pooled data source
+	 */
+	private PooledDataSource getDataSource()
+	{
+		if(dataSource != null)
+		{
+			return dataSource;
+		}
+
+		synchronized(this)
+		{
+			if(dataSource == null)
+			{
+				PooledDataSource newDataSource = new PooledDataSource(driver, dbUrl, user, password);
+				newDataSource.setMinSize(minPoolSize);
+				newDataSource.setMaxSize(maxPoolSize);
+				newDataSource.setAcquireTimeout(acquireTimeout);
+				newDataSource.setLeakDetectionThreshold(leakDetectionThreshold);
+
+				dataSource = newDataSource;
+			}
+
+			return dataSource;
+		}
+	}
+
 	@Override
 	public DBConnection getConnection() throws SQLException
 	{
+		if(pooled)
+		{
+			return new SimpleDBConnection(getDataSource().getConnection());
+		}
+
 		try
 		{
 			Class.forName(driver);
@@ -57,4 +169,16 @@ public class JDBCConnectionSource extends AbstractConnectionSource
 
 		return new SimpleDBConnection(DriverManager.getConnection(dbUrl, user, password));
 	}
+
+	/**
+	 * Closes the connection pool, if any
+	 */
+	public synchronized void close()
+	{
+		if(dataSource != null)
+		{
+			dataSource.close();
+			dataSource = null;
+		}
+	}
 }
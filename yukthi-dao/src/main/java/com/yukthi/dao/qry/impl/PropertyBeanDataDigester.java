@@ -9,18 +9,31 @@ import com.yukthi.dao.qry.DataDigester;
 import com.yukthi.dao.qry.FunctionInstance;
 import com.yukthi.dao.qry.QueryResultData;
 import com.yukthi.dao.qry.QueryResultDataProvider;
-import com.yukthi.dao.qry.QueryUtil;
 
 public class PropertyBeanDataDigester implements DataDigester<Object>
 {
 	//private static final Logger logger=Logger.getLogger(PropertyBeanDataDigester.class);
 	
-	private static final String SETTER_KEY="PropertyBeanDataDigester$setters#";
+	/**
+	 * Query attribute (suffixed with digester name, if any) holding the cached mapping plan
+	 */
+	public static final String PLAN_KEY="PropertyBeanDataDigester$plan#";
+	private static final String STATE_KEY="PropertyBeanDataDigester$state#";
 	private static final String BEAN_FUNC_KEY="PropertyBeanDataDigester$beanFunc#";
 
 	public static final String QRY_PARAM_BEAN_TYE="beanType";
 	public static final String QRY_PARAM_BEAN_FUNC_EXPR="beanFuncExpr";
 	
+	/**
+	 * Digest state of a result, resolved on first row so that remaining rows need no lookups.
+	 */
+	private static class DigestState
+	{
+		private FunctionInstance beanFunc;
+		private QueryResultDataProvider dataProvider;
+		private BeanMappingPlan plan;
+	}
+	
 	private String name;
 	
 		public PropertyBeanDataDigester(String name)
@@ -50,15 +63,8 @@ public class PropertyBeanDataDigester implements DataDigester<Object>
 			return funcInst;
 		}
 		
-		private Object createBean(QueryResultData rsData)
+		private Class<?> getBeanType(QueryResultData rsData)
 		{
-			FunctionInstance funcInst=getBeanFunctionExpression(rsData);
-			
-				if(funcInst!=null)
-				{
-					return funcInst.invoke(new QueryResultDataProvider(rsData));
-				}
-				
 			String beanType=rsData.getQueryParam(QRY_PARAM_BEAN_TYE);
 			
 				if(beanType==null || beanType.trim().length()==0)
@@ -74,63 +80,78 @@ public class PropertyBeanDataDigester implements DataDigester<Object>
 					throw new IllegalStateException("Invalid bean type encountered: "+beanType,ex);
 				}
 				
-				try
-				{
-					return beanCls.newInstance();
-				}catch(Exception ex)
-				{
-					throw new IllegalStateException("An error occured while creating bean of type: "+beanType,ex);
-				}
+			return beanCls;
 		}
-	
-		@SuppressWarnings("unchecked")
-        private Map<String,Method> loadProperties(QueryResultData rsData,Class<?> cls)
+		
+		/**
+		 * Fetches the mapping plan of specified bean type for current result shape. Plans are cached
+		 * at query level and are rebuilt when result shape or bean type changes.
+		 * @param rsData Current result
+		 * @param beanType Bean type to be mapped
+		 * @return Mapping plan
+		 * @throws SQLException
+		 */
+		private BeanMappingPlan getPlan(QueryResultData rsData,Class<?> beanType) throws SQLException
 		{
-			Map<String,Method> nameToSetter=(Map<String,Method>)rsData.getQueryAttribute(SETTER_KEY);
+			String key=(name==null)?PLAN_KEY:PLAN_KEY+name;
+			BeanMappingPlan plan=(BeanMappingPlan)rsData.getQueryAttribute(key);
 			
-				if(nameToSetter!=null)
-					return nameToSetter;
+				if(plan!=null && plan.isApplicable(rsData,beanType))
+					return plan;
 				
-			nameToSetter=BeanUtil.getSetterMethodMap(cls,false);
-			rsData.setQueryAttribute(SETTER_KEY,nameToSetter);
+			Map<String,Method> nameToSetter=BeanUtil.getSetterMethodMap(beanType,false);
+			plan=BeanMappingPlan.build(rsData,beanType,nameToSetter);
 			
-			return nameToSetter;
+			rsData.setQueryAttribute(key,plan);
+			return plan;
+		}
+		
+		private DigestState getState(QueryResultData rsData) throws SQLException
+		{
+			String key=(name==null)?STATE_KEY:STATE_KEY+name;
+			DigestState state=(DigestState)rsData.getDigesterState(key);
+			
+				if(state!=null)
+					return state;
+				
+			state=new DigestState();
+			state.beanFunc=getBeanFunctionExpression(rsData);
+			
+				if(state.beanFunc!=null)
+					state.dataProvider=new QueryResultDataProvider(rsData);
+				else
+					state.plan=getPlan(rsData,getBeanType(rsData));
+				
+			rsData.setDigesterState(key,state);
+			return state;
 		}
 
 		@Override
 	    public Object digest(QueryResultData rsData) throws SQLException
 	    {
-			Object bean=createBean(rsData);
-			Map<String,Method> nameToSetter=loadProperties(rsData,bean.getClass());
-			String columnNames[]=rsData.getColumnNames();
-			Method setter=null;
-			Object value=null;
-			Class<?> paramTypes[]=null;
+			DigestState state=getState(rsData);
+			Object bean=null;
 			
-				for(int i=0;i<columnNames.length;i++)
+				if(state.beanFunc!=null)
 				{
-					setter=nameToSetter.get(columnNames[i]);
-					
-						if(setter==null)
-							continue;
-			
-					value=rsData.executeColumnExpression(i+1);
-					
-						if(value==null)
-							continue;
-						
-					paramTypes=setter.getParameterTypes();
-					value=QueryUtil.convert(value,paramTypes[0]);
+					bean=state.beanFunc.invoke(state.dataProvider);
 					
+						//bean function can result in different types
+						if(state.plan==null || state.plan.getBeanType()!=bean.getClass())
+							state.plan=getPlan(rsData,bean.getClass());
+				}
+				else
+				{
 						try
 						{
-							setter.invoke(bean,value);
+							bean=state.plan.newBean();
 						}catch(Exception ex)
 						{
-							throw new IllegalStateException("An error occured while invoking property: "+columnNames[i],ex);
+							throw new IllegalStateException("An error occured while creating bean of type: "+state.plan.getBeanType().getName(),ex);
 						}
 				}
-			
+				
+			state.plan.apply(rsData,bean);
 		    return bean;
 	    }
 
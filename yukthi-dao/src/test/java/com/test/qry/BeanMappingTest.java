@@ -0,0 +1,169 @@
+package com.test.qry;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.List;
+
+import com.yukthi.dao.qry.Query;
+import com.yukthi.dao.qry.QueryManager;
+import com.yukthi.dao.qry.impl.MapQueryFilter;
+import com.yukthi.dao.qry.impl.PropertyBeanDataDigester;
+import com.yukthi.dao.qry.impl.XMLQueryFactory;
+
+import junit.framework.TestCase;
+
+/**
+ * Ensures columns are mapped to bean properties without loss of values, and mapping plans are cached
+ * and rebuilt when result shape changes.
+ * @author akiran
+ */
+public class BeanMappingTest extends TestCase
+{
+	private static final String COLUMNS_QUERY = "getMappingBeanColumns";
+
+	private QueryManager manager = XMLQueryFactory.loadFromXML("/testQueries.xml");
+
+	@Override
+	protected void setUp() throws Exception
+	{
+		TestDatabase.init();
+
+		TestDatabase.executeUpdate("UPDATE BAS_APPLICATIONS SET PRICE = 12.75 WHERE APP_NO = 1");
+		TestDatabase.executeUpdate("UPDATE BAS_APPLICATIONS SET PRICE = 15 WHERE APP_NO = 2");
+		TestDatabase.executeUpdate("UPDATE BAS_APPLICATIONS SET PRICE = 99999999.99 WHERE APP_NO = 4");
+	}
+
+	private MappingBean fetchBean(String columns, int appNo) throws SQLException
+	{
+		List<MappingBean> beans = manager.fetchBeans(COLUMNS_QUERY, new MapQueryFilter("columns", columns), appNo);
+		assertEquals(1, beans.size());
+
+		return beans.get(0);
+	}
+
+	private Object getPlan()
+	{
+		Query query = manager.getQuerySource().getQuery(COLUMNS_QUERY);
+		return query.getAttribute(PropertyBeanDataDigester.PLAN_KEY);
+	}
+
+	/**
+	 * Maps columns of different sql types to properties of different types and ensures values are set
+	 * without any loss.
+	 */
+	public void testPropertyTypes() throws SQLException
+	{
+		List<MappingBean> beans = manager.fetchBeans("getMappingBeans", new MapQueryFilter());
+		assertEquals(4, beans.size());
+
+		MappingBean bean = beans.get(0);
+		assertEquals("AOL", bean.getName());
+		assertEquals(1, bean.getIntValue());
+		assertEquals(10000000000L, bean.getLongValue());
+		assertEquals(1, bean.getShortValue());
+		assertEquals(1, bean.getByteValue());
+		assertEquals(12.75, bean.getDoubleValue());
+		assertEquals(12.75f, bean.getFloatValue());
+		assertEquals(new BigDecimal("12.75"), bean.getDecimalValue());
+		assertFalse(bean.isBooleanValue());
+
+		bean = beans.get(1);
+		assertEquals(2, bean.getIntValue());
+		assertEquals(20000000000L, bean.getLongValue());
+		assertEquals(15.0, bean.getDoubleValue());
+		assertEquals(new BigDecimal("15.00"), bean.getDecimalValue());
+		assertTrue(bean.isBooleanValue());
+
+		//null values should leave the defaults
+		bean = beans.get(2);
+		assertEquals(30000000000L, bean.getLongValue());
+		assertEquals(0.0, bean.getDoubleValue());
+		assertEquals(0.0f, bean.getFloatValue());
+		assertNull(bean.getDecimalValue());
+
+		bean = beans.get(3);
+		assertEquals(4, bean.getIntValue());
+		assertEquals(0L, bean.getLongValue());
+		assertEquals(3, bean.getShortValue());
+		assertEquals(99999999.99, bean.getDoubleValue());
+		assertEquals(new BigDecimal("99999999.99"), bean.getDecimalValue());
+		assertTrue(bean.isBooleanValue());
+	}
+
+	/**
+	 * Ensures decimal columns and columns not matching the property type exactly are converted, instead of
+	 * being read with typed getters.
+	 */
+	public void testConvertedColumns() throws SQLException
+	{
+		//decimal to double
+		assertEquals(12.75, fetchBean("PRICE \"doubleValue\"", 1).getDoubleValue());
+		assertEquals(99999999.99, fetchBean("PRICE \"doubleValue\"", 4).getDoubleValue());
+
+		//integer to long and bigint to int
+		assertEquals(2L, fetchBean("APP_NO \"longValue\"", 2).getLongValue());
+		assertEquals(2, fetchBean("CAST(APP_NO AS BIGINT) \"intValue\"", 2).getIntValue());
+
+		//real to double
+		assertEquals(12.75, fetchBean("CAST(PRICE AS REAL) \"doubleValue\"", 1).getDoubleValue());
+	}
+
+	/**
+	 * Ensures values which do not fit the property type are not truncated silently.
+	 */
+	public void testNoSilentTruncation() throws SQLException
+	{
+		//out of range of short
+		assertConversionFails("APP_NO * 40000 \"shortValue\"", 1);
+
+		//out of range of byte
+		assertConversionFails("APP_NO * 200 \"byteValue\"", 1);
+
+		//out of range of int
+		assertConversionFails("CAST(APP_NO AS BIGINT) * 10000000000 \"intValue\"", 1);
+
+		//fractional values to integral types
+		assertConversionFails("PRICE \"longValue\"", 1);
+		assertConversionFails("PRICE \"intValue\"", 1);
+	}
+
+	private void assertConversionFails(String columns, int appNo) throws SQLException
+	{
+		try
+		{
+			MappingBean bean = fetchBean(columns, appNo);
+			fail("Value is truncated silently for columns '" + columns + "': " + bean.getShortValue() + ", " + bean.getByteValue() + ", "
+					+ bean.getIntValue() + ", " + bean.getLongValue());
+		}catch(RuntimeException | SQLException ex)
+		{
+			//expected
+		}
+	}
+
+	/**
+	 * Ensures plan is reused for same result shape and rebuilt when column names or column types change.
+	 */
+	public void testPlanCache() throws SQLException
+	{
+		fetchBean("PRICE \"doubleValue\"", 1);
+		Object plan = getPlan();
+		assertNotNull(plan);
+
+		//same shape, should reuse plan
+		assertEquals(15.0, fetchBean("PRICE \"doubleValue\"", 2).getDoubleValue());
+		assertSame(plan, getPlan());
+
+		//same column names with different column type
+		assertEquals(12.75, fetchBean("CAST(PRICE AS DOUBLE) \"doubleValue\"", 1).getDoubleValue());
+		assertNotSame(plan, getPlan());
+		plan = getPlan();
+
+		//different columns
+		MappingBean bean = fetchBean("APP_VERSION \"intValue\", PRICE \"decimalValue\"", 2);
+		assertNotSame(plan, getPlan());
+		assertEquals("AOL TopSpeed", bean.getName());
+		assertEquals(2, bean.getIntValue());
+		assertEquals(new BigDecimal("15.00"), bean.getDecimalValue());
+		assertEquals(0.0, bean.getDoubleValue());
+	}
+}
@@ -1,8 +1,10 @@
 package com.test.qry;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
+import java.util.List;
 
 import junit.framework.TestCase;
 
@@ -24,10 +26,66 @@ public class BulkQueryTest extends TestCase
 			beans.add(new TestBean(null,20));
 			beans.add(new TestBean(null,null));
 			
-			Integer res[]=manager.executeBulkUpdates("bulkInsert",new BulkBeanQueryFilter(beans));
+			int res[]=manager.executeBulkUpdates("bulkInsert",new BulkBeanQueryFilter(beans));
 			System.out.println("Result: "+Arrays.toString(res));
 			
 		}
+		
+		/**
+		 * Inserts specified number of beans with specified commit count and returns the update counts.
+		 */
+		private int[] insertBeans(QueryManager manager,int count,int commitCount) throws SQLException
+		{
+			List<TestBean> beans=new ArrayList<TestBean>();
+			
+				for(int i=0;i<count;i++)
+					beans.add(new TestBean("bulk"+i,(i%2==0)?i:null));
+			
+			TestDatabase.executeUpdate("DELETE FROM TEST");
+			((TrackingConnectionSource)manager.getQuerySource().getConnectionSource()).reset();
+			
+			int res[]=manager.executeBulkUpdates("bulkInsert",new BulkBeanQueryFilter(beans.iterator(),commitCount));
+			
+			assertEquals(count,res.length);
+			
+				for(int updCount:res)
+					assertEquals(1,updCount);
+				
+			assertEquals(count,manager.fetchInt("countTestRows"));
+			return res;
+		}
+		
+		/**
+		 * Ensures rows are sent as batches, which are executed and committed at commit count boundaries.
+		 */
+		public void testBatchFlushAtCommitCount() throws SQLException
+		{
+			QueryManager manager=XMLQueryFactory.loadFromXML("/testQueries.xml");
+			TrackingConnectionSource connectionSource=(TrackingConnectionSource)manager.getQuerySource().getConnectionSource();
+			
+			//partial last batch
+			insertBeans(manager,7,3);
+			assertEquals(Arrays.asList(3,3,1),connectionSource.getBatchSizes());
+			assertEquals(3,connectionSource.getCommitCount());
+			
+			//exact multiple of commit count, should not execute empty batch
+			insertBeans(manager,6,3);
+			assertEquals(Arrays.asList(3,3),connectionSource.getBatchSizes());
+			assertEquals(3,connectionSource.getCommitCount());
+			
+			//commit count bigger than rows
+			insertBeans(manager,5,10);
+			assertEquals(Arrays.asList(5),connectionSource.getBatchSizes());
+			assertEquals(1,connectionSource.getCommitCount());
+			
+			//no commit count, all rows in single batch
+			insertBeans(manager,7,-1);
+			assertEquals(Arrays.asList(7),connectionSource.getBatchSizes());
+			assertEquals(1,connectionSource.getCommitCount());
+			
+			assertEquals(0,connectionSource.getOpenStatements());
+			assertEquals(0,connectionSource.getOpenConnections());
+		}
 
 		public static void main(String args[]) throws SQLException
 		{
@@ -0,0 +1,139 @@
+package com.test.qry;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.yukthi.dao.qry.DBConnection;
+import com.yukthi.dao.qry.impl.JDBCConnectionSource;
+
+import junit.framework.TestCase;
+
+/**
+ * Ensures jdbc connection source opens connections directly by default and pools them only when
+ * configured to do so.
+ * @author akiran
+ */
+public class JDBCConnectionSourceTest extends TestCase
+{
+	private JDBCConnectionSource newConnectionSource()
+	{
+		TestDatabase.init();
+		return new JDBCConnectionSource(TestDatabase.URL, null, null, TestDatabase.DRIVER);
+	}
+
+	private static void close(List<DBConnection> connections) throws SQLException
+	{
+		for(DBConnection connection : connections)
+		{
+			connection.rollback();
+			connection.close();
+		}
+	}
+
+	/**
+	 * Ensures connections are not pooled by default, so that number of connections is not limited
+	 * and closing connection closes the physical connection.
+	 */
+	public void testNotPooledByDefault() throws SQLException
+	{
+		JDBCConnectionSource connectionSource = newConnectionSource();
+		connectionSource.setMaxPoolSize(1);
+
+		List<DBConnection> connections = new ArrayList<>();
+
+		for(int i = 0; i < 3; i++)
+		{
+			connections.add(connectionSource.getConnection());
+		}
+
+		close(connections);
+
+		for(DBConnection connection : connections)
+		{
+			assertTrue(connection.getConnection().isClosed());
+		}
+
+		//configuration can be changed any time, as there is no pool
+		connectionSource.setMaxPoolSize(2);
+		connectionSource.close();
+	}
+
+	/**
+	 * Ensures connections are pooled when enabled and pool limits are honored.
+	 */
+	public void testPooled() throws SQLException
+	{
+		JDBCConnectionSource connectionSource = newConnectionSource();
+		connectionSource.setPooled(true);
+		connectionSource.setMaxPoolSize(1);
+		connectionSource.setAcquireTimeout(100);
+
+		try
+		{
+			DBConnection connection = connectionSource.getConnection();
+
+			try
+			{
+				connectionSource.getConnection();
+				fail("Connection obtained beyond max pool size");
+			}catch(SQLTimeoutException ex)
+			{
+				//expected
+			}
+
+			close(Arrays.asList(connection));
+
+			//returned connection should be reusable
+			connection = connectionSource.getConnection();
+			close(Arrays.asList(connection));
+		}finally
+		{
+			connectionSource.close();
+		}
+	}
+
+	/**
+	 * Ensures configuration can not be changed once pool is created, till the pool is closed.
+	 */
+	public void testConfigurationAfterPoolCreation() throws SQLException
+	{
+		JDBCConnectionSource connectionSource = newConnectionSource();
+		connectionSource.setPooled(true);
+		close(Arrays.asList(connectionSource.getConnection()));
+
+		try
+		{
+			connectionSource.setMaxPoolSize(5);
+			fail("Pool size changed after pool creation");
+		}catch(IllegalStateException ex)
+		{
+			//expected
+		}
+
+		try
+		{
+			connectionSource.setDbUrl("jdbc:derby:memory:otherDB;create=true");
+			fail("Url changed after pool creation");
+		}catch(IllegalStateException ex)
+		{
+			//expected
+		}
+
+		try
+		{
+			connectionSource.setPooled(false);
+			fail("Pooling disabled after pool creation");
+		}catch(IllegalStateException ex)
+		{
+			//expected
+		}
+
+		//after closing pool, configuration can be changed
+		connectionSource.close();
+		connectionSource.setMaxPoolSize(5);
+		connectionSource.setPooled(false);
+	}
+}
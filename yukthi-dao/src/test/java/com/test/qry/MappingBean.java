@@ -0,0 +1,110 @@
+package com.test.qry;
+
+import java.math.BigDecimal;
+
+/**
+ * Bean with properties of different types, used to test mapping of columns to properties.
+ * @author akiran
+ */
+public class MappingBean
+{
+	private int intValue;
+	private long longValue;
+	private short shortValue;
+	private byte byteValue;
+	private float floatValue;
+	private double doubleValue;
+	private boolean booleanValue;
+	private BigDecimal decimalValue;
+	private String name;
+
+	public int getIntValue()
+	{
+		return intValue;
+	}
+
+	public void setIntValue(int intValue)
+	{
+		this.intValue = intValue;
+	}
+
+	public long getLongValue()
+	{
+		return longValue;
+	}
+
+	public void setLongValue(long longValue)
+	{
+		this.longValue = longValue;
+	}
+
+	public short getShortValue()
+	{
+		return shortValue;
+	}
+
+	public void setShortValue(short shortValue)
+	{
+		this.shortValue = shortValue;
+	}
+
+	public byte getByteValue()
+	{
+		return byteValue;
+	}
+
+	public void setByteValue(byte byteValue)
+	{
+		this.byteValue = byteValue;
+	}
+
+	public float getFloatValue()
+	{
+		return floatValue;
+	}
+
+	public void setFloatValue(float floatValue)
+	{
+		this.floatValue = floatValue;
+	}
+
+	public double getDoubleValue()
+	{
+		return doubleValue;
+	}
+
+	public void setDoubleValue(double doubleValue)
+	{
+		this.doubleValue = doubleValue;
+	}
+
+	public boolean isBooleanValue()
+	{
+		return booleanValue;
+	}
+
+	public void setBooleanValue(boolean booleanValue)
+	{
+		this.booleanValue = booleanValue;
+	}
+
+	public BigDecimal getDecimalValue()
+	{
+		return decimalValue;
+	}
+
+	public void setDecimalValue(BigDecimal decimalValue)
+	{
+		this.decimalValue = decimalValue;
+	}
+
+	public String getName()
+	{
+		return name;
+	}
+
+	public void setName(String name)
+	{
+		this.name = name;
+	}
+}
@@ -0,0 +1,132 @@
+package com.test.qry;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.yukthi.dao.qry.QueryExecutionContext;
+import com.yukthi.dao.qry.QueryManager;
+import com.yukthi.dao.qry.impl.BeanDataDigester;
+import com.yukthi.dao.qry.impl.MapQueryFilter;
+import com.yukthi.dao.qry.impl.XMLQueryFactory;
+
+import junit.framework.TestCase;
+
+/**
+ * Ensures query functions receive the execution context of the query manager executing the query.
+ * @author akiran
+ */
+public class QueryExecutionContextTest extends TestCase
+{
+	private static final int THREAD_COUNT = 4;
+	private static final int CALLS_PER_THREAD = 20;
+
+	/**
+	 * Fetches application with specified number, using a query which invokes context tracking function while
+	 * building the query and while processing the result.
+	 */
+	private Application fetchApplication(QueryManager manager, int appNo) throws SQLException
+	{
+		MapQueryFilter filter = new MapQueryFilter();
+		filter.addValue("appNo", appNo);
+
+		List<Object> apps = manager.fetchBeans("getAppWithContext", filter, new BeanDataDigester());
+		assertEquals(1, apps.size());
+
+		return (Application)apps.get(0);
+	}
+
+	/**
+	 * Ensures context is passed to functions, both while building query and processing results.
+	 */
+	public void testContextPassedToFunctions() throws SQLException
+	{
+		QueryManager manager = XMLQueryFactory.loadFromXML("/testQueries.xml");
+		QueryExecutionContext context = manager.getExecutionContext();
+
+		assertNotNull(context);
+		assertSame(manager, context.getQueryManager());
+
+		TestQueryFunctions.fetchReceivedContexts();
+
+		Application app = fetchApplication(manager, 2);
+		assertEquals("AOL TopSpeed", app.getAppName());
+
+		//one call during query building and one during row processing
+		assertEquals(Collections.nCopies(2, context), TestQueryFunctions.fetchReceivedContexts());
+
+		MapQueryFilter filter = new MapQueryFilter();
+		filter.addValue("appNo", 3);
+
+		manager.getQuery("getAppWithContext", filter);
+		assertEquals(Collections.nCopies(1, context), TestQueryFunctions.fetchReceivedContexts());
+	}
+
+	/**
+	 * Executes queries of different managers concurrently and ensures functions always receive the context of the 
+	 * manager executing the query.
+	 */
+	public void testContextIsolatedAcrossManagers() throws Exception
+	{
+		QueryManager managers[] = {
+			XMLQueryFactory.loadFromXML("/testQueries.xml", true),
+			XMLQueryFactory.loadFromXML("/testQueries.xml", true)
+		};
+
+		assertNotSame(managers[0].getExecutionContext(), managers[1].getExecutionContext());
+
+		ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+		List<Future<List<String>>> futures = new ArrayList<>();
+
+		try
+		{
+			for(int i = 0; i < THREAD_COUNT; i++)
+			{
+				final int threadIdx = i;
+
+				futures.add(executorService.submit(() -> {
+					List<String> errors = new ArrayList<>();
+					TestQueryFunctions.fetchReceivedContexts();
+
+					for(int callIdx = 0; callIdx < CALLS_PER_THREAD; callIdx++)
+					{
+						QueryManager manager = managers[(threadIdx + callIdx) % managers.length];
+						int appNo = (callIdx % TestDatabase.APPLICATIONS.length) + 1;
+
+						Application app = fetchApplication(manager, appNo);
+						List<QueryExecutionContext> contexts = TestQueryFunctions.fetchReceivedContexts();
+
+						if(app.getAppNo() != appNo)
+						{
+							errors.add("Thread " + threadIdx + ", call " + callIdx + " - fetched application " + app.getAppNo() + " instead of " + appNo);
+						}
+
+						if(!contexts.equals(Collections.nCopies(2, manager.getExecutionContext())))
+						{
+							errors.add("Thread " + threadIdx + ", call " + callIdx + " - received invalid contexts: " + contexts);
+						}
+					}
+
+					return errors;
+				}));
+			}
+
+			List<String> errors = new ArrayList<>();
+
+			for(Future<List<String>> future : futures)
+			{
+				errors.addAll(future.get(1, TimeUnit.MINUTES));
+			}
+
+			assertEquals(Collections.emptyList(), errors);
+		}finally
+		{
+			executorService.shutdownNow();
+		}
+	}
+}
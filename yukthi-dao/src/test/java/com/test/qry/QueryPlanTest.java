@@ -0,0 +1,147 @@
+package com.test.qry;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.yukthi.dao.qry.QueryManager;
+import com.yukthi.dao.qry.impl.MapQueryFilter;
+import com.yukthi.dao.qry.impl.XMLQueryFactory;
+
+import junit.framework.TestCase;
+
+/**
+ * Ensures queries precompiled into plans are rendered the same way as interpreted queries - slot
+ * ordering of positional and named params, null-string substitution and parameter validation.
+ * @author akiran
+ */
+public class QueryPlanTest extends TestCase
+{
+	private static final String PLAN_QUERY = "getAppPlan";
+	private static final String INTERPRETED_QUERY = "getAppPlanInterpreted";
+
+	private QueryManager manager = XMLQueryFactory.loadFromXML("/testQueries.xml");
+
+	private MapQueryFilter newFilter(Object appVersion, String appName)
+	{
+		MapQueryFilter filter = new MapQueryFilter("extraCondition", "");
+
+		if(appVersion != null)
+		{
+			filter.addValue("appVersion", appVersion);
+		}
+
+		if(appName != null)
+		{
+			filter.addValue("appName", appName);
+		}
+
+		return filter;
+	}
+
+	/**
+	 * Renders plan query and the equivalent interpreted query with specified values, ensures both result in
+	 * same query and parameters and returns the rendered query.
+	 */
+	private String render(MapQueryFilter filter, List<Object> expectedParams, Object... params)
+	{
+		List<Object> planParams = new ArrayList<>();
+		List<Object> interpretedParams = new ArrayList<>();
+
+		String planQuery = manager.getQuery(PLAN_QUERY, filter, planParams, params);
+		String interpretedQuery = manager.getQuery(INTERPRETED_QUERY, filter, interpretedParams, params);
+
+		assertEquals(interpretedQuery, planQuery);
+		assertEquals(interpretedParams, planParams);
+		assertEquals(expectedParams, planParams);
+
+		return planQuery;
+	}
+
+	private static String normalize(String query)
+	{
+		return query.trim().replaceAll("\\s+", " ");
+	}
+
+	public void testPlanCompilation()
+	{
+		assertTrue(manager.getQuerySource().getQuery(PLAN_QUERY).isPrecompiled());
+		assertFalse(manager.getQuerySource().getQuery(INTERPRETED_QUERY).isPrecompiled());
+
+		//queries with conditional nodes should not be precompiled
+		assertFalse(manager.getQuerySource().getQuery("getAppDetails").isPrecompiled());
+	}
+
+	/**
+	 * Ensures slots are rendered in order of occurrence, with positional and named values interleaved.
+	 */
+	public void testSlotOrder()
+	{
+		String query = render(newFilter(1, "%aol%"), Arrays.<Object>asList(2, 1, "%aol%", "x.exe"), 2, "x.exe");
+
+		assertEquals("SELECT NAME FROM BAS_APPLICATIONS WHERE APP_NO >= ? AND APP_VERSION = ? AND LOWER(NAME) LIKE ? AND MAIN_FILE != ? ORDER BY APP_NO", 
+				normalize(query));
+	}
+
+	/**
+	 * Ensures null-string is substituted for null values of positional, named and function slots and the
+	 * null values are not included in final params.
+	 */
+	public void testNullSubstitution()
+	{
+		//null positional value
+		String query = render(newFilter(1, "%aol%"), Arrays.<Object>asList(1, 1, "%aol%"), 1, null);
+		assertEquals("SELECT NAME FROM BAS_APPLICATIONS WHERE APP_NO >= ? AND APP_VERSION = ? AND LOWER(NAME) LIKE ? AND MAIN_FILE != NULL ORDER BY APP_NO", 
+				normalize(query));
+
+		//null named and function values
+		query = render(newFilter(null, null), Arrays.<Object>asList(1, "x.exe"), 1, "x.exe");
+		assertEquals("SELECT NAME FROM BAS_APPLICATIONS WHERE APP_NO >= ? AND APP_VERSION = NULL AND LOWER(NAME) LIKE NULL AND MAIN_FILE != ? ORDER BY APP_NO", 
+				normalize(query));
+
+		//custom null string of the filter
+		MapQueryFilter filter = newFilter(null, "%aol%");
+		filter.setNullString("-1");
+
+		query = render(filter, Arrays.<Object>asList(1, "%aol%", "x.exe"), 1, "x.exe");
+		assertEquals("SELECT NAME FROM BAS_APPLICATIONS WHERE APP_NO >= ? AND APP_VERSION = -1 AND LOWER(NAME) LIKE ? AND MAIN_FILE != ? ORDER BY APP_NO", 
+				normalize(query));
+	}
+
+	/**
+	 * Ensures fixed query is returned when final params are not requested.
+	 */
+	public void testWithoutFinalParams()
+	{
+		MapQueryFilter filter = newFilter(null, null);
+
+		assertEquals(manager.getQuery(INTERPRETED_QUERY, filter), manager.getQuery(PLAN_QUERY, filter));
+		assertEquals("SELECT NAME FROM BAS_APPLICATIONS WHERE APP_NO >= ? AND APP_VERSION = ? AND LOWER(NAME) LIKE ? AND MAIN_FILE != ? ORDER BY APP_NO", 
+				normalize(manager.getQuery(PLAN_QUERY, filter)));
+	}
+
+	public void testInsufficientParams()
+	{
+		try
+		{
+			manager.getQuery(PLAN_QUERY, newFilter(1, "%aol%"), new ArrayList<Object>(), 1);
+			fail("No exception thrown when positional params are missing");
+		}catch(IllegalStateException ex)
+		{
+			assertTrue(ex.getCause().getMessage().startsWith("Insufficient number of parameters supplied"));
+		}
+	}
+
+	/**
+	 * Ensures rendered plan query fetches the expected data.
+	 */
+	public void testExecution() throws SQLException
+	{
+		List<Object> names = manager.fetchSingleColumnList(PLAN_QUERY, newFilter(1, "%aol%"), new Object[] {1, "x.exe"});
+		assertEquals(Arrays.asList("AOL", "waolversioning"), names);
+
+		names = manager.fetchSingleColumnList(PLAN_QUERY, newFilter(2, "%aol%"), new Object[] {1, "x.exe"});
+		assertEquals(Arrays.asList("AOL TopSpeed"), names);
+	}
+}
@@ -0,0 +1,325 @@
+package com.test.qry;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.yukthi.dao.qry.DataDigester;
+import com.yukthi.dao.qry.FetchOptions;
+import com.yukthi.dao.qry.QueryManager;
+import com.yukthi.dao.qry.QueryResultData;
+import com.yukthi.dao.qry.ResultIterator;
+import com.yukthi.dao.qry.impl.MapQueryFilter;
+import com.yukthi.dao.qry.impl.XMLQueryFactory;
+
+import junit.framework.TestCase;
+
+/**
+ * Ensures streamed results are digested on demand, honor fetch options and release the jdbc resources
+ * on exhaustion, on stop of processing and on close.
+ * @author akiran
+ */
+public class ResultIteratorTest extends TestCase
+{
+	private static final String QUERY = "getAllAppNames";
+	
+	private static final List<String> ALL_NAMES = Arrays.asList("AOL", "AOL TopSpeed", "waolversioning", "Popup", "Notes");
+
+	/**
+	 * Digester which returns application names and tracks the rows digested.
+	 * @author akiran
+	 */
+	private static class NameDigester implements DataDigester<String>
+	{
+		/**
+		 * Application number at which processing should be stopped, zero if processing should not be stopped
+		 */
+		private int stopAtAppNo;
+
+		/**
+		 * Application number at which digester should fail, zero if digester should not fail
+		 */
+		private int failAtAppNo;
+
+		/**
+		 * Application numbers for which null should be returned
+		 */
+		private List<Integer> skipAppNos = new ArrayList<>();
+
+		private int digestCount;
+		private int finalizeCount;
+
+		@Override
+		public String digest(QueryResultData rsData) throws SQLException
+		{
+			digestCount++;
+			int appNo = rsData.getInt("APP_NO");
+
+			if(appNo == failAtAppNo)
+			{
+				throw new IllegalStateException("Failed to digest application: " + appNo);
+			}
+
+			if(appNo == stopAtAppNo)
+			{
+				rsData.stopProcessing();
+			}
+
+			if(skipAppNos.contains(appNo))
+			{
+				return null;
+			}
+
+			return rsData.getString("NAME");
+		}
+
+		@Override
+		public void finalizeDigester()
+		{
+			finalizeCount++;
+		}
+	}
+
+	private QueryManager manager = XMLQueryFactory.loadFromXML("/testQueries.xml");
+	private TrackingConnectionSource connectionSource = (TrackingConnectionSource)manager.getQuerySource().getConnectionSource();
+
+	private ResultIterator<String> iterate(NameDigester digester, FetchOptions fetchOptions) throws SQLException
+	{
+		return manager.iterateBeans(QUERY, new MapQueryFilter(), digester, fetchOptions);
+	}
+
+	private void assertResourcesOpen(boolean open)
+	{
+		int expected = open ? 1 : 0;
+
+		assertEquals(expected, connectionSource.getOpenConnections());
+		assertEquals(expected, connectionSource.getOpenStatements());
+		assertEquals(expected, connectionSource.getOpenResultSets());
+	}
+
+	/**
+	 * Ensures rows are digested on demand and resources are released on exhaustion.
+	 */
+	public void testFullIteration() throws SQLException
+	{
+		NameDigester digester = new NameDigester();
+		List<String> names = new ArrayList<>();
+
+		try(ResultIterator<String> iterator = iterate(digester, null))
+		{
+			assertResourcesOpen(true);
+			assertEquals(0, digester.digestCount);
+
+			assertTrue(iterator.hasNext());
+			assertEquals(1, digester.digestCount);
+
+			//repeated hasNext() should not consume rows
+			assertTrue(iterator.hasNext());
+			assertEquals(1, digester.digestCount);
+
+			while(iterator.hasNext())
+			{
+				names.add(iterator.next());
+
+				if(names.size() < ALL_NAMES.size())
+				{
+					assertResourcesOpen(true);
+				}
+			}
+
+			assertEquals(ALL_NAMES, names);
+			assertEquals(1, digester.finalizeCount);
+			assertResourcesOpen(false);
+
+			try
+			{
+				iterator.next();
+				fail("No exception thrown on exhausted iterator");
+			}catch(NoSuchElementException ex)
+			{
+				//expected
+			}
+		}
+
+		assertEquals(1, digester.finalizeCount);
+	}
+
+	/**
+	 * Ensures rows for which digester returns null are skipped.
+	 */
+	public void testNullElementsSkipped() throws SQLException
+	{
+		NameDigester digester = new NameDigester();
+		digester.skipAppNos.addAll(Arrays.asList(1, 3, 5));
+
+		List<String> names = new ArrayList<>();
+
+		try(ResultIterator<String> iterator = iterate(digester, null))
+		{
+			iterator.forEachRemaining(names::add);
+		}
+
+		assertEquals(Arrays.asList("AOL TopSpeed", "Popup"), names);
+		assertEquals(5, digester.digestCount);
+		assertResourcesOpen(false);
+	}
+
+	/**
+	 * Ensures closing iterator early releases resources, without consuming remaining rows.
+	 */
+	public void testEarlyClose() throws SQLException
+	{
+		NameDigester digester = new NameDigester();
+		ResultIterator<String> iterator = iterate(digester, null);
+
+		assertEquals("AOL", iterator.next());
+		assertEquals("AOL TopSpeed", iterator.next());
+
+		iterator.close();
+
+		assertResourcesOpen(false);
+		assertFalse(iterator.hasNext());
+		assertEquals(2, digester.digestCount);
+
+		//closing again should not have any effect
+		iterator.close();
+		assertResourcesOpen(false);
+	}
+
+	/**
+	 * Ensures iteration ends when digester stops processing, including the element of the stopping row.
+	 */
+	public void testStopProcessing() throws SQLException
+	{
+		NameDigester digester = new NameDigester();
+		digester.stopAtAppNo = 3;
+
+		List<String> names = new ArrayList<>();
+
+		try(ResultIterator<String> iterator = iterate(digester, null))
+		{
+			iterator.forEachRemaining(names::add);
+			assertResourcesOpen(false);
+		}
+
+		assertEquals(ALL_NAMES.subList(0, 3), names);
+		assertEquals(3, digester.digestCount);
+		assertEquals(1, digester.finalizeCount);
+
+		//when the stopping row itself is skipped
+		digester = new NameDigester();
+		digester.stopAtAppNo = 3;
+		digester.skipAppNos.add(3);
+
+		try(ResultIterator<String> iterator = iterate(digester, null))
+		{
+			names = new ArrayList<>();
+			iterator.forEachRemaining(names::add);
+		}
+
+		assertEquals(ALL_NAMES.subList(0, 2), names);
+		assertEquals(3, digester.digestCount);
+		assertResourcesOpen(false);
+	}
+
+	/**
+	 * Ensures runtime exceptions thrown by digester release the resources.
+	 */
+	public void testDigesterFailure() throws SQLException
+	{
+		NameDigester digester = new NameDigester();
+		digester.failAtAppNo = 2;
+
+		ResultIterator<String> iterator = iterate(digester, null);
+		assertEquals("AOL", iterator.next());
+
+		try
+		{
+			iterator.next();
+			fail("No exception thrown on digester failure");
+		}catch(IllegalStateException ex)
+		{
+			assertEquals("Failed to digest application: 2", ex.getMessage());
+		}
+
+		assertResourcesOpen(false);
+		assertFalse(iterator.hasNext());
+	}
+
+	/**
+	 * Ensures closing partially consumed stream releases the resources.
+	 */
+	public void testStream() throws SQLException
+	{
+		NameDigester digester = new NameDigester();
+		List<String> names = null;
+
+		try(Stream<String> stream = manager.streamBeans(QUERY, new MapQueryFilter(), digester, null))
+		{
+			names = stream.limit(2).collect(Collectors.toList());
+			assertResourcesOpen(true);
+		}
+
+		assertEquals(ALL_NAMES.subList(0, 2), names);
+		assertEquals(2, digester.digestCount);
+		assertResourcesOpen(false);
+	}
+
+	/**
+	 * Ensures fetch options are applied on the statement, overriding the query level fetch count.
+	 */
+	public void testFetchOptions() throws SQLException
+	{
+		//query level fetch count with default options
+		try(ResultIterator<String> iterator = iterate(new NameDigester(), null))
+		{
+			assertEquals(4, connectionSource.getLastFetchSize());
+			assertEquals(0, connectionSource.getLastMaxRows());
+			assertEquals(ResultSet.TYPE_FORWARD_ONLY, connectionSource.getLastResultSetType());
+		}
+
+		FetchOptions fetchOptions = new FetchOptions(2);
+		fetchOptions.setMaxRows(3);
+		fetchOptions.setResultSetType(ResultSet.TYPE_SCROLL_INSENSITIVE);
+
+		List<String> names = new ArrayList<>();
+
+		try(ResultIterator<String> iterator = iterate(new NameDigester(), fetchOptions))
+		{
+			assertEquals(2, connectionSource.getLastFetchSize());
+			assertEquals(3, connectionSource.getLastMaxRows());
+			assertEquals(ResultSet.TYPE_SCROLL_INSENSITIVE, connectionSource.getLastResultSetType());
+
+			iterator.forEachRemaining(names::add);
+		}
+
+		assertEquals(ALL_NAMES.subList(0, 3), names);
+		assertResourcesOpen(false);
+	}
+
+	public void testInvalidFetchOptions()
+	{
+		try
+		{
+			new FetchOptions(-1);
+			fail("No exception thrown for negative fetch size");
+		}catch(IllegalArgumentException ex)
+		{
+			//expected
+		}
+
+		try
+		{
+			new FetchOptions().setResultSetType(ResultSet.CONCUR_READ_ONLY);
+			fail("No exception thrown for invalid result set type");
+		}catch(IllegalArgumentException ex)
+		{
+			//expected
+		}
+	}
+}
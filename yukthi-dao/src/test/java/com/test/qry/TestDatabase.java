@@ -0,0 +1,99 @@
+package com.test.qry;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Embedded (in-memory) derby database used by test cases. Tables used by test queries are created
+ * and populated on first usage.
+ * @author akiran
+ */
+public class TestDatabase
+{
+	public static final String DRIVER = "org.apache.derby.jdbc.EmbeddedDriver";
+	public static final String URL = "jdbc:derby:memory:daoTestDB;create=true";
+
+	/**
+	 * Applications populated in BAS_APPLICATIONS table - app no, name, version and main file
+	 */
+	public static final Object APPLICATIONS[][] = {
+		{1, "AOL", 1, "aol.exe"},
+		{2, "AOL TopSpeed", 2, "topspeed.exe"},
+		{3, "waolversioning", 1, "service.jar"},
+		{4, "Popup", 3, null},
+		{5, "Notes", 1, "notes.exe"}
+	};
+
+	private static boolean initialized = false;
+
+	static
+	{
+		//keep derby log out of working directory
+		System.setProperty("derby.stream.error.file", "target/derby.log");
+	}
+
+	/**
+	 * Opens new connection to the test database.
+	 * @return New connection
+	 * @throws SQLException
+	 */
+	public static Connection getConnection() throws SQLException
+	{
+		return DriverManager.getConnection(URL);
+	}
+
+	/**
+	 * Creates and populates the test tables, if not done already.
+	 */
+	public static synchronized void init()
+	{
+		if(initialized)
+		{
+			return;
+		}
+
+		try(Connection connection = getConnection(); Statement stmt = connection.createStatement())
+		{
+			stmt.execute("CREATE TABLE BAS_APPLICATIONS (APP_NO INT NOT NULL PRIMARY KEY, NAME VARCHAR(100), "
+					+ "APP_VERSION INT, MAIN_FILE VARCHAR(100), PRICE DECIMAL(10, 2))");
+			stmt.execute("CREATE TABLE TEST (NAME VARCHAR(100), AGE INT)");
+
+			try(PreparedStatement pstmt = connection.prepareStatement("INSERT INTO BAS_APPLICATIONS(APP_NO, NAME, APP_VERSION, MAIN_FILE) VALUES (?, ?, ?, ?)"))
+			{
+				for(Object app[] : APPLICATIONS)
+				{
+					for(int i = 0; i < app.length; i++)
+					{
+						pstmt.setObject(i + 1, app[i]);
+					}
+
+					pstmt.executeUpdate();
+				}
+			}
+		}catch(SQLException ex)
+		{
+			throw new IllegalStateException("An error occured while creating test tables", ex);
+		}
+
+		initialized = true;
+	}
+
+	/**
+	 * Executes specified update statement on test database.
+	 * @param query Query to execute
+	 * @return Number of rows affected
+	 */
+	public static int executeUpdate(String query)
+	{
+		try(Connection connection = getConnection(); Statement stmt = connection.createStatement())
+		{
+			return stmt.executeUpdate(query);
+		}catch(SQLException ex)
+		{
+			throw new IllegalStateException("An error occured while executing query: " + query, ex);
+		}
+	}
+}
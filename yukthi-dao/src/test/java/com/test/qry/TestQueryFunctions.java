@@ -0,0 +1,45 @@
+package com.test.qry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.yukthi.dao.qry.QueryExecutionContext;
+import com.yukthi.dao.qry.QueryFunction;
+
+/**
+ * Query functions used by test queries.
+ * @author akiran
+ */
+public class TestQueryFunctions
+{
+	/**
+	 * Execution contexts received by {@link #trackContext(QueryExecutionContext, Object)} on current thread
+	 */
+	private static ThreadLocal<List<QueryExecutionContext>> receivedContexts = ThreadLocal.withInitial(ArrayList::new);
+
+	/**
+	 * Records the execution context passed by query manager and returns the value as is.
+	 * @param context Execution context passed by query manager
+	 * @param value Value to be returned
+	 * @return Specified value
+	 */
+	@QueryFunction
+	public static Object trackContext(QueryExecutionContext context, Object value)
+	{
+		receivedContexts.get().add(context);
+		return value;
+	}
+
+	/**
+	 * Fetches the contexts received by {@link #trackContext(QueryExecutionContext, Object)} on current thread, 
+	 * since last call of this method.
+	 * @return Received contexts
+	 */
+	public static List<QueryExecutionContext> fetchReceivedContexts()
+	{
+		List<QueryExecutionContext> contexts = new ArrayList<>(receivedContexts.get());
+		receivedContexts.get().clear();
+
+		return contexts;
+	}
+}
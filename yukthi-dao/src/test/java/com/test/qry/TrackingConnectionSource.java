@@ -0,0 +1,203 @@
+package com.test.qry;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.yukthi.dao.qry.DBConnection;
+import com.yukthi.dao.qry.impl.AbstractConnectionSource;
+import com.yukthi.dao.qry.impl.SimpleDBConnection;
+
+/**
+ * Connection source on test database, which tracks the jdbc calls made by query manager. Tracks open
+ * connections, statements and result sets, commits, executed batches and fetch settings of executed queries.
+ * @author akiran
+ */
+public class TrackingConnectionSource extends AbstractConnectionSource
+{
+	/**
+	 * Tracks calls on a jdbc object and wraps the jdbc objects created by it.
+	 * @author akiran
+	 */
+	private class TrackingHandler implements InvocationHandler
+	{
+		private Object target;
+		private AtomicInteger openCounter;
+
+		/**
+		 * Number of rows added to current batch, for statements
+		 */
+		private int batchSize;
+
+		private boolean closed;
+
+		private TrackingHandler(Object target, AtomicInteger openCounter)
+		{
+			this.target = target;
+			this.openCounter = openCounter;
+
+			openCounter.incrementAndGet();
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+		{
+			String name = method.getName();
+			Object result = null;
+
+			try
+			{
+				result = method.invoke(target, args);
+			}catch(InvocationTargetException ex)
+			{
+				throw ex.getCause();
+			}
+
+			switch(name)
+			{
+				case "close":
+				{
+					if(!closed)
+					{
+						closed = true;
+						openCounter.decrementAndGet();
+					}
+
+					break;
+				}
+				case "commit":
+				{
+					commitCount.incrementAndGet();
+					break;
+				}
+				case "prepareStatement":
+				{
+					return wrap(PreparedStatement.class, result, openStatements);
+				}
+				case "addBatch":
+				{
+					batchSize++;
+					break;
+				}
+				case "executeBatch":
+				{
+					batchSizes.add(batchSize);
+					batchSize = 0;
+					break;
+				}
+				case "executeQuery":
+				{
+					PreparedStatement pstmt = (PreparedStatement)target;
+
+					lastFetchSize = pstmt.getFetchSize();
+					lastMaxRows = pstmt.getMaxRows();
+					lastResultSetType = pstmt.getResultSetType();
+
+					return wrap(ResultSet.class, result, openResultSets);
+				}
+			}
+
+			return result;
+		}
+	}
+
+	private AtomicInteger openConnections = new AtomicInteger();
+	private AtomicInteger openStatements = new AtomicInteger();
+	private AtomicInteger openResultSets = new AtomicInteger();
+	private AtomicInteger commitCount = new AtomicInteger();
+
+	/**
+	 * Sizes of the batches executed, in execution order
+	 */
+	private List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<Integer>());
+
+	private volatile int lastFetchSize;
+	private volatile int lastMaxRows;
+	private volatile int lastResultSetType;
+
+	public TrackingConnectionSource()
+	{
+		TestDatabase.init();
+	}
+
+	private <T> T wrap(Class<T> type, Object target, AtomicInteger openCounter)
+	{
+		return type.cast(Proxy.newProxyInstance(TrackingConnectionSource.class.getClassLoader(), new Class<?>[] {type}, new TrackingHandler(target, openCounter)));
+	}
+
+	@Override
+	public DBConnection getConnection() throws SQLException
+	{
+		return new SimpleDBConnection(wrap(Connection.class, TestDatabase.getConnection(), openConnections))
+		{
+			/**
+			 * Derby does not allow closing connection with active transaction (which is the case after reads), so 
+			 * uncommitted work is discarded before closing, same as most of the drivers do on close.
+			 */
+			@Override
+			public void close() throws SQLException
+			{
+				getConnection().rollback();
+				super.close();
+			}
+		};
+	}
+
+	/**
+	 * Resets the tracked counts and batches. Open resource counts are not affected.
+	 */
+	public void reset()
+	{
+		commitCount.set(0);
+		batchSizes.clear();
+	}
+
+	public int getOpenConnections()
+	{
+		return openConnections.get();
+	}
+
+	public int getOpenStatements()
+	{
+		return openStatements.get();
+	}
+
+	public int getOpenResultSets()
+	{
+		return openResultSets.get();
+	}
+
+	public int getCommitCount()
+	{
+		return commitCount.get();
+	}
+
+	public List<Integer> getBatchSizes()
+	{
+		return new ArrayList<>(batchSizes);
+	}
+
+	public int getLastFetchSize()
+	{
+		return lastFetchSize;
+	}
+
+	public int getLastMaxRows()
+	{
+		return lastMaxRows;
+	}
+
+	public int getLastResultSetType()
+	{
+		return lastResultSetType;
+	}
+}
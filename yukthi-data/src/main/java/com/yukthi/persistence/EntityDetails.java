@@ -9,10 +9,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.yukthi.persistence.accessor.BeanAccessor;
 import com.yukthi.utils.exceptions.InvalidConfigurationException;
 
 public class EntityDetails
@@ -30,7 +32,11 @@ public class EntityDetails
 
 	private List<ForeignConstraintDetails> foreignConstraints = new ArrayList<>();
 
-	private List<ForeignConstraintDetails> childConstraints = new ArrayList<>();
+	/**
+	 * Constraints of child entities referring this entity. Child entities can get built after this entity is published
+	 * and in use, so copy-on-write list is used to let deletes iterate this list while new constraints get added.
+	 */
+	private List<ForeignConstraintDetails> childConstraints = new CopyOnWriteArrayList<>();
 
 	private List<IndexDetails> indexDetailsList = new ArrayList<>();
 
@@ -50,6 +56,11 @@ public class EntityDetails
 	 * Indicates whether table is created
 	 */
 	private boolean isTableCreated = false;
+	
+	/**
+	 * Generated constructor and property accessors of the entity type
+	 */
+	private BeanAccessor beanAccessor;
 
 	public EntityDetails(String tableName, Class<?> entityType)
 	{
@@ -65,6 +76,7 @@ public class EntityDetails
 
 		this.tableName = tableName;
 		this.entityType = entityType;
+		this.beanAccessor = BeanAccessor.getAccessor(entityType);
 	}
 
 	void resetColumnMapping(Map<String, String> fieldMapping)
@@ -103,6 +115,15 @@ public class EntityDetails
 	{
 		return entityType;
 	}
+	
+	/**
+	 * Fetches generated constructor and property accessors of the entity type
+	 * @return Bean accessor of entity type
+	 */
+	public BeanAccessor getBeanAccessor()
+	{
+		return beanAccessor;
+	}
 
 	void addFieldDetails(FieldDetails fieldDetails)
 	{
@@ -272,7 +293,7 @@ public class EntityDetails
 		
 		if(childConstraints == null)
 		{
-			childConstraints = new ArrayList<ForeignConstraintDetails>();
+			childConstraints = new CopyOnWriteArrayList<ForeignConstraintDetails>();
 		}
 
 		childConstraints.add(childConstraint);
@@ -12,12 +12,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import javax.persistence.Column;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.persistence.Version;
 
@@ -31,12 +33,17 @@ import com.yukthi.persistence.annotations.DataTypeMapping;
 import com.yukthi.persistence.annotations.Extendable;
 import com.yukthi.persistence.annotations.ExtendedFields;
 import com.yukthi.persistence.annotations.FieldAccess;
+import com.yukthi.persistence.annotations.HiLoSequence;
+import com.yukthi.persistence.annotations.IdGenerator;
 import com.yukthi.persistence.annotations.Index;
 import com.yukthi.persistence.annotations.Indexed;
 import com.yukthi.persistence.annotations.Indexes;
 import com.yukthi.persistence.annotations.Transient;
 import com.yukthi.persistence.annotations.UniqueConstraint;
 import com.yukthi.persistence.annotations.UniqueConstraints;
+import com.yukthi.persistence.conversion.ConversionService;
+import com.yukthi.persistence.idgen.IIdGenerator;
+import com.yukthi.persistence.idgen.SequenceBlockIdGenerator;
 import com.yukthi.persistence.monitor.EntityDetailsMonitor;
 import com.yukthi.persistence.monitor.IEntityCreateTableListener;
 import com.yukthi.persistence.query.CreateIndexQuery;
@@ -50,11 +57,38 @@ public class EntityDetailsFactory
 	private static Logger logger = LogManager.getLogger(EntityDetailsFactory.class);
 	private static final String SPECIAL_CHAR_PATTERN = "[\\W\\_]+";
 	
-	private Map<Class<?>, EntityDetails> typeToDetails = new HashMap<>();
+	/**
+	 * Fully built entity details. Entity details are published to this map only after they are
+	 * completely built, so that lookups can be done without locking.
+	 */
+	private Map<Class<?>, EntityDetails> typeToDetails = new ConcurrentHashMap<>();
+	
+	/**
+	 * Entity details being built by current build. Entity details are added to this map before processing constraints,
+	 * so that self and cross linking will not cause recursion. Guarded by {@link #buildLock}.
+	 */
+	private Map<Class<?>, EntityDetails> buildingDetails = new HashMap<>();
+	
+	/**
+	 * Foreign constraints built by current build, which needs to be registered as child constraints on target entities.
+	 * Registration is done only after build is completed successfully, as target entities may be already published. 
+	 * Guarded by {@link #buildLock}.
+	 */
+	private List<ForeignConstraintDetails> pendingChildConstraints = new ArrayList<>();
+	
+	/**
+	 * Depth of nested entity builds in progress. Guarded by {@link #buildLock}.
+	 */
+	private int buildDepth = 0;
+	
+	/**
+	 * Lock used to build entity details.
+	 */
+	private final Object buildLock = new Object();
 
 	private EntityDetailsMonitor entityDetailsMonitor = new EntityDetailsMonitor();
 	
-	private Map<String, Object> nameToConstraints = new HashMap<>();
+	private Map<String, Object> nameToConstraints = new ConcurrentHashMap<>();
 	
 	private RecursiveAnnotationFactory recursiveAnnotationFactory = new RecursiveAnnotationFactory();
 	
@@ -151,9 +185,9 @@ public class EntityDetailsFactory
 			return;
 		}
 		
-		//add foreign constraint at entity level to source and target entity
+		//add foreign constraint at entity level to source entity, target entity gets it on successful completion of build
 		entityDetails.addForeignConstraintDetails(foreignConstraintDetails);
-		foreignConstraintDetails.getTargetEntityDetails().addChildConstraint(foreignConstraintDetails);
+		pendingChildConstraints.add(foreignConstraintDetails);
 		
 		//add constraint at field level
 		fieldDetails.setForeignConstraintDetails(foreignConstraintDetails);
@@ -193,7 +227,7 @@ public class EntityDetailsFactory
 	 * @param entityType
 	 * @return
 	 */
-	public synchronized EntityDetails getEntityDetailsFromCache(Class<?> entityType)
+	public EntityDetails getEntityDetailsFromCache(Class<?> entityType)
 	{
 		//check in cache
 		return typeToDetails.get(entityType);
@@ -204,30 +238,47 @@ public class EntityDetailsFactory
 		Collection<UniqueConstraintDetails> uniqueConstraints = entityDetails.getUniqueConstraints();
 		Collection<ForeignConstraintDetails> foreignConstraints = entityDetails.getForeignConstraints();
 		
-		//load unique constraints on to map 
+		//validate all the names before loading, so that failed entity does not leave its constraints on the map
+		Set<String> names = new HashSet<>();
+		
 		for(UniqueConstraintDetails constraint : uniqueConstraints)
 		{
-			if(nameToConstraints.containsKey(constraint.getConstraintName()))
+			if(!names.add(constraint.getConstraintName()) || nameToConstraints.containsKey(constraint.getConstraintName()))
 			{
 				throw new InvalidStateException("Multiple constraint(s) found with same name - {}", constraint.getConstraintName());
 			}
-			
-			nameToConstraints.put(constraint.getConstraintName(), constraint);
 		}
 		
-		//load foreign key constraints
 		for(ForeignConstraintDetails constraint : foreignConstraints)
 		{
-			if(nameToConstraints.containsKey(constraint.getConstraintName()))
+			if(!names.add(constraint.getConstraintName()) || nameToConstraints.containsKey(constraint.getConstraintName()))
 			{
 				throw new InvalidStateException("Multiple constraint(s) found with same name - {}", constraint.getConstraintName());
 			}
-			
+		}
+		
+		//load unique constraints on to map 
+		for(UniqueConstraintDetails constraint : uniqueConstraints)
+		{
+			nameToConstraints.put(constraint.getConstraintName(), constraint);
+		}
+		
+		//load foreign key constraints
+		for(ForeignConstraintDetails constraint : foreignConstraints)
+		{
 			nameToConstraints.put(constraint.getConstraintName(), constraint);
 		}
 	}
 	
-	public synchronized EntityDetails getEntityDetails(Class<?> entityType, IDataStore dataStore, boolean createTables)
+	/**
+	 * Fetches entity details of specified type. If not already loaded, entity details will be built. Once built
+	 * entity details are served without locking.
+	 * @param entityType Entity type for which details needs to be fetched
+	 * @param dataStore Data store to be used
+	 * @param createTables Flag indicating if tables should be created, if not present
+	 * @return Entity details of specified type
+	 */
+	public EntityDetails getEntityDetails(Class<?> entityType, IDataStore dataStore, boolean createTables)
 	{
 		EntityDetails entityDetails = typeToDetails.get(entityType);
 		
@@ -235,6 +286,122 @@ public class EntityDetailsFactory
 		{
 			return entityDetails;
 		}
+		
+		synchronized(buildLock)
+		{
+			//check again, in case other thread built it while waiting for lock
+			entityDetails = typeToDetails.get(entityType);
+			
+			if(entityDetails != null)
+			{
+				return entityDetails;
+			}
+			
+			buildDepth++;
+			boolean built = false;
+			
+			try
+			{
+				entityDetails = buildEntityDetails(entityType, dataStore, createTables);
+				built = true;
+				
+				return entityDetails;
+			}finally
+			{
+				buildDepth--;
+				
+				//publish only when outer most build is completed, as nested entities may refer to entities still being built
+				if(buildDepth == 0)
+				{
+					if(built)
+					{
+						publishBuiltDetails();
+					}
+					else
+					{
+						discardBuiltDetails();
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Registers pending child constraints on target entities and publishes the entities built by current build. 
+	 * Expected to be called with {@link #buildLock} held.
+	 */
+	private void publishBuiltDetails()
+	{
+		for(ForeignConstraintDetails constraint : pendingChildConstraints)
+		{
+			constraint.getTargetEntityDetails().addChildConstraint(constraint);
+		}
+		
+		typeToDetails.putAll(buildingDetails);
+		
+		pendingChildConstraints.clear();
+		buildingDetails.clear();
+	}
+	
+	/**
+	 * Discards the entities built by failed build, along with their constraints. As entities built by a build can refer
+	 * each other (cyclic references), all of them are discarded even if only one of them failed.
+	 * Expected to be called with {@link #buildLock} held.
+	 */
+	private void discardBuiltDetails()
+	{
+		for(EntityDetails entityDetails : buildingDetails.values())
+		{
+			for(UniqueConstraintDetails constraint : entityDetails.getUniqueConstraints())
+			{
+				nameToConstraints.remove(constraint.getConstraintName(), constraint);
+			}
+			
+			for(ForeignConstraintDetails constraint : entityDetails.getForeignConstraints())
+			{
+				nameToConstraints.remove(constraint.getConstraintName(), constraint);
+			}
+		}
+		
+		logger.debug("Discarding partially built entity details of types: {}", buildingDetails.keySet());
+		
+		pendingChildConstraints.clear();
+		buildingDetails.clear();
+	}
+	
+	/**
+	 * Builds entity details of specified type. Expected to be called with {@link #buildLock} held.
+	 * @param entityType Entity type to build
+	 * @param dataStore Data store to be used
+	 * @param createTables Flag indicating if tables should be created, if not present
+	 * @return Entity details of specified type
+	 */
+	private EntityDetails buildEntityDetails(Class<?> entityType, IDataStore dataStore, boolean createTables)
+	{
+		EntityDetails entityDetails = buildingDetails.get(entityType);
+		
+		if(entityDetails != null)
+		{
+			return entityDetails;
+		}
+		
+		try
+		{
+			return buildNewEntityDetails(entityType, dataStore, createTables);
+		}catch(RuntimeException ex)
+		{
+			//ensure partially built details are not published
+			buildingDetails.remove(entityType);
+			throw ex;
+		}
+	}
+	
+	/**
+	 * Builds entity details of specified type, which is not already built or being built.
+	 */
+	private EntityDetails buildNewEntityDetails(Class<?> entityType, IDataStore dataStore, boolean createTables)
+	{
+		EntityDetails entityDetails = null;
 
 		logger.trace("*********************************************************");
 		logger.trace("Building entity details for type: " + entityType.getName());
@@ -281,10 +448,27 @@ public class EntityDetailsFactory
 			fetchFieldMappings(cls, entityDetails, accessType, flattenColumnMap);
 			cls = cls.getSuperclass();
 		}
+		
+		FieldDetails idField = entityDetails.getIdField();
+		
+		//hi-lo ids need sequences to be fetched directly, which is not supported by all data stores
+		if(idField != null && (idField.getIdGenerator() instanceof SequenceBlockIdGenerator) && !dataStore.isSequenceSupported())
+		{
+			throw new InvalidMappingException(String.format("@HiLoSequence is specified on field '%s' of entity '%s', but sequences are not supported by data store", 
+					idField.getName(), entityType.getName()));
+		}
+		
+		//resolve field converters once, so that conversions during row mapping need not lookup annotations
+		ConversionService conversionService = dataStore.getConversionService();
+		
+		for(FieldDetails fieldDetails : entityDetails.getFieldDetails())
+		{
+			conversionService.resolveConverter(fieldDetails);
+		}
 
 		//set entity details on map, set it before processing constraints
 			// so that self linking will not cause recursion
-		typeToDetails.put(entityType, entityDetails);
+		buildingDetails.put(entityType, entityDetails);
 		
 		UniqueConstraints uniqueConstraints = null;
 		//ForeignConstraints foreignConstraints = null;
@@ -490,6 +674,14 @@ public class EntityDetailsFactory
 						generationType, field.getName(), entityDetails.getEntityType().getName()));
 			}
 			
+			SequenceGenerator sequenceGenerator = field.getAnnotation(SequenceGenerator.class);
+			
+			//if sequence name is specified explicitly, use the same
+			if(generationType == GenerationType.SEQUENCE && sequenceGenerator != null && sequenceGenerator.sequenceName().trim().length() > 0)
+			{
+				sequenceName = sequenceGenerator.sequenceName().trim();
+			}
+			
 			//if generation type is sequence, get sequence name
 			if(generationType == GenerationType.SEQUENCE && (sequenceName == null || sequenceName.trim().length() == 0))
 			{
@@ -497,6 +689,7 @@ public class EntityDetailsFactory
 			}
 			
 			fieldDetails = new FieldDetails(field, dataType, true, generationType, autoFetch, sequenceName, false);
+			fieldDetails.setIdGenerator(buildIdGenerator(entityDetails, field, generationType, sequenceName, sequenceGenerator));
 			
 			logger.trace("Adding ID field details {} to entity {}", fieldDetails, entityDetails);
 		}
@@ -505,6 +698,53 @@ public class EntityDetailsFactory
 		return fieldDetails;
 	}
 
+	/**
+	 * Builds client side id generator for specified id field, if configured. Generator type specified by {@link IdGenerator} is
+	 * used, if specified. For sequence based ids marked with {@link HiLoSequence}, hi-lo generator is used to allocate
+	 * ids in blocks of configured allocation size.
+	 * @param entityDetails Entity details of the field
+	 * @param field Id field
+	 * @param generationType Generation type of the field
+	 * @param sequenceName Sequence name of the field
+	 * @param sequenceGenerator Sequence generator configuration of the field
+	 * @return Id generator, null if id is not generated on client side
+	 */
+	private IIdGenerator buildIdGenerator(EntityDetails entityDetails, Field field, GenerationType generationType, String sequenceName, SequenceGenerator sequenceGenerator)
+	{
+		IdGenerator idGenerator = field.getAnnotation(IdGenerator.class);
+		
+		if(idGenerator != null)
+		{
+			if(generationType != null)
+			{
+				throw new IllegalStateException(String.format("Both @GeneratedValue and @IdGenerator are specified on field '%s' of entity - %s", 
+						field.getName(), entityDetails.getEntityType().getName()));
+			}
+			
+			try
+			{
+				return idGenerator.value().newInstance();
+			}catch(Exception ex)
+			{
+				throw new IllegalStateException(String.format("An error occurred while creating id generator of type '%s' for entity - %s", 
+						idGenerator.value().getName(), entityDetails.getEntityType().getName()), ex);
+			}
+		}
+		
+		if(field.getAnnotation(HiLoSequence.class) == null)
+		{
+			return null;
+		}
+		
+		if(generationType != GenerationType.SEQUENCE || sequenceGenerator == null)
+		{
+			throw new IllegalStateException(String.format("@HiLoSequence is specified without sequence @GeneratedValue and @SequenceGenerator on field '%s' of entity - %s", 
+					field.getName(), entityDetails.getEntityType().getName()));
+		}
+		
+		return new SequenceBlockIdGenerator(sequenceName, sequenceGenerator.allocationSize());
+	}
+
 	/**
 	 * Fetches constraints defined at fied level like - Unique constraint, foreign key constraint etc
 	 * @param entityDetails
@@ -771,7 +1011,11 @@ public class EntityDetailsFactory
 	 */
 	public void removeEntityDetails(Class<?> entityType)
 	{
-		typeToDetails.remove(entityType);
+		synchronized(buildLock)
+		{
+			typeToDetails.remove(entityType);
+		}
+		
 		entityDetailsMonitor.entityRemoved(entityType);
 		
 		Set<String> constraintNames = new HashSet<>(this.nameToConstraints.keySet());
@@ -1,14 +1,21 @@
 package com.yukthi.persistence;
 
 import java.lang.reflect.Field;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import javax.persistence.Column;
 import javax.persistence.GenerationType;
 
 import com.yukthi.persistence.annotations.DataType;
 import com.yukthi.persistence.annotations.NotUpdateable;
+import com.yukthi.persistence.conversion.ConversionService;
+import com.yukthi.persistence.conversion.IPersistenceConverter;
+import com.yukthi.persistence.idgen.IIdGenerator;
 import com.yukthi.utils.CommonUtils;
+import com.yukthi.utils.beans.AccessorFactory;
 import com.yukthi.utils.exceptions.InvalidStateException;
 
 /**
@@ -36,6 +43,16 @@ public class FieldDetails
 	/** The field. */
 	private Field field;
 	
+	/**
+	 * Generated getter of the field, used instead of reflection
+	 */
+	private Function<Object, Object> getter;
+	
+	/**
+	 * Generated setter of the field, used instead of reflection
+	 */
+	private BiConsumer<Object, Object> setter;
+	
 	/** The db data type. */
 	private DataType dbDataType;
 	
@@ -48,6 +65,11 @@ public class FieldDetails
 	/** The sequence name. */
 	private String sequenceName;
 	
+	/**
+	 * Generator used to generate id values on client side, if any
+	 */
+	private IIdGenerator idGenerator;
+	
 	/**
 	 * Name of the db column
 	 */
@@ -78,6 +100,29 @@ public class FieldDetails
 	 */
 	private int length = 255;
 	
+	/**
+	 * Converter explicitly defined for this field, resolved by {@link ConversionService} when entity details are loaded.
+	 */
+	private volatile IPersistenceConverter converter;
+	
+	/**
+	 * Flag indicating converter of this field is resolved. Set after {@link #converter} so that
+	 * threads finding this flag set will find the converter as well.
+	 */
+	private volatile boolean converterResolved;
+	
+	/**
+	 * Default converter used to convert values of this field into db type, resolved by {@link ConversionService}
+	 * on first conversion. Empty value indicates none of the default converters handles this field.
+	 */
+	private volatile Optional<IPersistenceConverter> defaultDbConverter;
+	
+	/**
+	 * Default converter used to convert db values into java type of this field, resolved by {@link ConversionService}
+	 * on first conversion. Empty value indicates none of the default converters handles this field.
+	 */
+	private volatile Optional<IPersistenceConverter> defaultJavaConverter;
+	
 	/**
 	 * Instantiates a new field details.
 	 *
@@ -86,9 +131,15 @@ public class FieldDetails
 	private FieldDetails(FieldDetails details)
 	{
 		this.field = details.field;
+		this.getter = details.getter;
+		this.setter = details.setter;
 		this.dbColumnName = details.dbColumnName;
 		this.dbDataType = details.dbDataType;
 		this.dbColumnName = details.dbColumnName;
+		this.converter = details.converter;
+		this.converterResolved = details.converterResolved;
+		this.defaultDbConverter = details.defaultDbConverter;
+		this.defaultJavaConverter = details.defaultJavaConverter;
 	}
 	
 	/**
@@ -129,6 +180,9 @@ public class FieldDetails
 			field.setAccessible(true);
 		}
 		
+		this.getter = AccessorFactory.createFieldGetter(field);
+		this.setter = AccessorFactory.createFieldSetter(field);
+		
 		this.versionField = isVersionField;
 		populateInternalDetails();
 	}
@@ -246,6 +300,77 @@ public class FieldDetails
 		return dbDataType;
 	}
 
+	/**
+	 * Sets the converter explicitly defined for this field and marks the converter as resolved.
+	 *
+	 * @param converter converter of the field, null if field does not have specific converter
+	 */
+	public void setConverter(IPersistenceConverter converter)
+	{
+		this.converter = converter;
+		this.converterResolved = true;
+	}
+	
+	/**
+	 * Gets the converter explicitly defined for this field.
+	 *
+	 * @return the converter of the field, null if not defined or not resolved
+	 */
+	public IPersistenceConverter getConverter()
+	{
+		return converter;
+	}
+	
+	/**
+	 * Checks if converter of this field is resolved.
+	 *
+	 * @return true, if converter is resolved
+	 */
+	public boolean isConverterResolved()
+	{
+		return converterResolved;
+	}
+	
+	/**
+	 * Sets the default converter to be used to convert values of this field into db type.
+	 *
+	 * @param defaultDbConverter the default db converter, empty if no default converter handles this field
+	 */
+	public void setDefaultDbConverter(Optional<IPersistenceConverter> defaultDbConverter)
+	{
+		this.defaultDbConverter = defaultDbConverter;
+	}
+	
+	/**
+	 * Gets the default converter to be used to convert values of this field into db type.
+	 *
+	 * @return the default db converter, null if not resolved yet
+	 */
+	public Optional<IPersistenceConverter> getDefaultDbConverter()
+	{
+		return defaultDbConverter;
+	}
+	
+	/**
+	 * Sets the default converter to be used to convert db values into java type of this field.
+	 *
+	 * @param defaultJavaConverter the default java converter, empty if no default converter handles this field
+	 */
+	public void setDefaultJavaConverter(Optional<IPersistenceConverter> defaultJavaConverter)
+	{
+		this.defaultJavaConverter = defaultJavaConverter;
+	}
+	
+	/**
+	 * Gets the default converter to be used to convert db values into java type of this field.
+	 *
+	 * @return the default java converter, null if not resolved yet
+	 */
+	public Optional<IPersistenceConverter> getDefaultJavaConverter()
+	{
+		return defaultJavaConverter;
+	}
+
 	/**
 	 * Checks if is id field.
 	 *
@@ -286,6 +411,26 @@ public class FieldDetails
 		return sequenceName;
 	}
 	
+	/**
+	 * Sets the generator to be used to generate id values on client side.
+	 *
+	 * @param idGenerator the new id generator
+	 */
+	void setIdGenerator(IIdGenerator idGenerator)
+	{
+		this.idGenerator = idGenerator;
+	}
+	
+	/**
+	 * Gets the generator to be used to generate id values on client side.
+	 *
+	 * @return the id generator, null if id is not generated on client side
+	 */
+	public IIdGenerator getIdGenerator()
+	{
+		return idGenerator;
+	}
+	
 	/**
 	 * Gets the value.
 	 *
@@ -296,7 +441,7 @@ public class FieldDetails
 	{
 		try
 		{
-			return field.get(bean);
+			return getter.apply(bean);
 		}catch(Exception ex)
 		{
 			throw new IllegalStateException("Failed to fetch value from field: " + field.getName(), ex);
@@ -313,7 +458,7 @@ public class FieldDetails
 	{
 		try
 		{
-			field.set(bean, value);
+			setter.accept(bean, value);
 		}catch(Exception ex)
 		{
 			throw new IllegalStateException("Failed to setting value from field: " + field.getName(), ex);
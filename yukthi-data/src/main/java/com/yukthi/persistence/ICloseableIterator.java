@@ -0,0 +1,18 @@
+package com.yukthi.persistence;
+
+import java.util.Iterator;
+
+/**
+ * Iterator backed by live data store resources (like db cursor and connection). The resources are released 
+ * when all the elements are iterated or when {@link #close()} is called, whichever happens first.
+ * @author akiran
+ * @param <T> Type of elements being iterated
+ */
+public interface ICloseableIterator<T> extends Iterator<T>, AutoCloseable
+{
+	/**
+	 * Releases the underlying resources. Calling this method multiple times has no effect.
+	 */
+	@Override
+	public void close();
+}
@@ -1,5 +1,6 @@
 package com.yukthi.persistence;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -55,6 +56,27 @@ public interface ICrudRepository<E>
 	
 	public boolean deleteById(Object key);
 	
+	/**
+	 * Saves specified entities in batches. Generated ids are populated on the entities.
+	 * @param entities Entities to save
+	 * @return Number of entities saved
+	 */
+	public int saveAll(Collection<E> entities);
+	
+	/**
+	 * Updates specified entities in batches.
+	 * @param entities Entities to update
+	 * @return Number of entities updated
+	 */
+	public int updateAll(Collection<E> entities);
+	
+	/**
+	 * Deletes the entities with specified ids in batches.
+	 * @param keys Ids of entities to delete
+	 * @return Number of entities deleted
+	 */
+	public int deleteAllById(Collection<?> keys);
+	
 	public E findById(Object key);
 	
 	/**
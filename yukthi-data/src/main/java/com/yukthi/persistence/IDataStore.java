@@ -4,11 +4,13 @@ import java.util.List;
 import java.util.Set;
 
 import com.yukthi.persistence.conversion.ConversionService;
+import com.yukthi.persistence.metrics.IPersistenceMetrics;
 import com.yukthi.persistence.query.ChildrenExistenceQuery;
 import com.yukthi.persistence.query.CountQuery;
 import com.yukthi.persistence.query.CreateExtendedTableQuery;
 import com.yukthi.persistence.query.CreateIndexQuery;
 import com.yukthi.persistence.query.CreateTableQuery;
+import com.yukthi.persistence.query.DeleteChildrenQuery;
 import com.yukthi.persistence.query.DeleteQuery;
 import com.yukthi.persistence.query.DropTableQuery;
 import com.yukthi.persistence.query.FetchChildrenIdsQuery;
@@ -34,12 +36,31 @@ public interface IDataStore
 	
 	public ConversionService getConversionService();
 	
+	/**
+	 * Fetches the metrics to which query life cycle events are reported.
+	 * @return Persistence metrics, no-op metrics if not configured
+	 */
+	public IPersistenceMetrics getPersistenceMetrics();
+	
 	public ITransactionManager<? extends ITransaction> getTransactionManager();
 	
 	public Set<String> getColumnNames(String tableName);
 	
 	public void checkAndCreateSequence(String name);
 	
+	/**
+	 * Checks if this data store supports creating sequences and fetching their values.
+	 * @return True if sequences are supported
+	 */
+	public boolean isSequenceSupported();
+	
+	/**
+	 * Fetches next value of specified sequence.
+	 * @param name Name of the sequence
+	 * @return Next value of the sequence
+	 */
+	public long nextSequenceValue(String name);
+	
 	public void createTable(CreateTableQuery query);
 	
 	public void createExtendedTable(CreateExtendedTableQuery query);
@@ -63,12 +84,58 @@ public interface IDataStore
 	
 	public int delete(DeleteQuery deleteQuery, EntityDetails entityDetails);
 	
+	/**
+	 * Executes specified save-queries in batches. Queries with same structure are executed together as single batch.
+	 * Generated ids, if returned by underlying store, are stored into corresponding idsGenerated wrappers.
+	 * 
+	 * @param saveQueries Queries to execute
+	 * @param entityDetails Entity details of the queries
+	 * @param idsGenerated Wrappers (in order of queries) to store generated ids. Can be null.
+	 * @return Number of rows effected by each query, in order of queries
+	 */
+	public int[] saveAll(List<SaveQuery> saveQueries, EntityDetails entityDetails, List<ObjectWrapper<Object>> idsGenerated);
+	
+	/**
+	 * Executes specified update-queries in batches.
+	 * @param updateQueries Queries to execute
+	 * @param entityDetails Entity details of the queries
+	 * @return Number of rows effected by each query, in order of queries
+	 */
+	public int[] updateAll(List<UpdateQuery> updateQueries, EntityDetails entityDetails);
+	
+	/**
+	 * Executes specified delete-queries in batches.
+	 * @param deleteQueries Queries to execute
+	 * @param entityDetails Entity details of the queries
+	 * @return Number of rows effected by each query, in order of queries
+	 */
+	public int[] deleteAll(List<DeleteQuery> deleteQueries, EntityDetails entityDetails);
+	
 	public int checkChildrenExistence(ChildrenExistenceQuery childrenExistenceQuery);
 	
 	public List<Object> fetchChildrenIds(FetchChildrenIdsQuery fetchChildrenIdsQuery);
+	
+	/**
+	 * Deletes child rows using specified set-based queries. Queries are executed in specified order as part of
+	 * single transaction, so that the queries of descendant tables can be placed ahead of their parent tables.
+	 * @param deleteChildrenQueries Queries to execute
+	 * @return Number of rows deleted by each query, in order of queries
+	 */
+	public int[] deleteChildren(List<DeleteChildrenQuery> deleteChildrenQueries);
 
 	public List<Record> executeFinder(FinderQuery findQuery, EntityDetails entityDetails, IFinderRecordProcessor recordProcessor);
 	
+	/**
+	 * Executes specified finder query and returns iterator which fetches records lazily from the underlying cursor.
+	 * The underlying connection is held till the returned iterator is closed or fully iterated, and the iterator
+	 * should be consumed and closed by the calling thread.
+	 * @param findQuery Finder query to execute
+	 * @param entityDetails Entity details of the main entity
+	 * @param recordProcessor Optional processor to filter the records
+	 * @return Iterator over the records
+	 */
+	public ICloseableIterator<Record> streamFinder(FinderQuery findQuery, EntityDetails entityDetails, IFinderRecordProcessor recordProcessor);
+	
 	/**
 	 * Used to execute native search query indicated by "queryName"
 	 * @param queryName Name of the query to execute
@@ -7,4 +7,10 @@ public interface ITransaction extends AutoCloseable
 	public void rollback() throws TransactionException;
 	
 	public void close() throws TransactionException;
+	
+	/**
+	 * Adds listener to be notified when this transaction is committed or rolled back.
+	 * @param listener Listener to be added
+	 */
+	public void addTransactionListener(ITransactionListener listener);
 }
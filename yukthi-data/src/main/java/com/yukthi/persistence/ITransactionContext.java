@@ -0,0 +1,27 @@
+package com.yukthi.persistence;
+
+/**
+ * Holds the transaction bound to current unit of execution. Transaction managers use the context to find
+ * the transaction of current execution, which by default is the current thread (see {@link ThreadLocalTransactionContext}).
+ * @author akiran
+ * @param <T> Type of transaction
+ */
+public interface ITransactionContext<T extends ITransaction>
+{
+	/**
+	 * Fetches the transaction bound to current execution.
+	 * @return Bound transaction, null if none
+	 */
+	public T getTransaction();
+	
+	/**
+	 * Binds specified transaction to current execution.
+	 * @param transaction Transaction to bind
+	 */
+	public void setTransaction(T transaction);
+	
+	/**
+	 * Removes the transaction bound to current execution, if any.
+	 */
+	public void clearTransaction();
+}
@@ -0,0 +1,15 @@
+package com.yukthi.persistence;
+
+/**
+ * Listener to be notified when a transaction is completed.
+ * @author akiran
+ */
+@FunctionalInterface
+public interface ITransactionListener
+{
+	/**
+	 * Invoked after the transaction is committed or rolled back and its resources are released.
+	 * @param committed true, if transaction is committed. false, if transaction is rolled back.
+	 */
+	public void transactionCompleted(boolean committed);
+}
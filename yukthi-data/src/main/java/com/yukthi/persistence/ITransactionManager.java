@@ -1,5 +1,9 @@
 package com.yukthi.persistence;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
 public interface ITransactionManager<T extends ITransaction>
 {
 	public T newTransaction() throws TransactionException;
@@ -7,4 +11,37 @@ public interface ITransactionManager<T extends ITransaction>
 	public TransactionWrapper<T> currentTransaction() throws TransactionException;
 	
 	public TransactionWrapper<T> newOrExistingTransaction() throws TransactionException;
+	
+	/**
+	 * Wraps specified task, so that the transaction of current execution (if any) is used by the task, when 
+	 * executed by other thread. Transaction is not closed by the task, the owner is expected to close it after
+	 * the task completes. A transaction should not be used by multiple threads at same time.
+	 * @param task Task to wrap
+	 * @return Wrapped task
+	 */
+	public Runnable propagate(Runnable task);
+	
+	/**
+	 * Wraps specified task, so that the transaction of current execution (if any) is used by the task. 
+	 * See {@link #propagate(Runnable)} for details.
+	 * @param task Task to wrap
+	 * @return Wrapped task
+	 */
+	public <V> Callable<V> propagate(Callable<V> task);
+	
+	/**
+	 * Wraps specified supplier, so that the transaction of current execution (if any) is used by the supplier. Useful
+	 * with {@link java.util.concurrent.CompletableFuture#supplyAsync(Supplier)}. See {@link #propagate(Runnable)} for details.
+	 * @param task Supplier to wrap
+	 * @return Wrapped supplier
+	 */
+	public <V> Supplier<V> propagateSupplier(Supplier<V> task);
+	
+	/**
+	 * Wraps specified executor, so that tasks submitted to the returned executor use the transaction
+	 * of submitting execution. See {@link #propagate(Runnable)} for details.
+	 * @param executor Executor to wrap
+	 * @return Wrapped executor
+	 */
+	public Executor propagatingExecutor(Executor executor);
 }
@@ -0,0 +1,33 @@
+package com.yukthi.persistence;
+
+/**
+ * Default transaction context which binds the transaction to current thread. As transactions are maintained
+ * in thread local, entries of dead threads are garbage collected along with thread and lookups do not need any locking.
+ * @author akiran
+ * @param <T> Type of transaction
+ */
+public class ThreadLocalTransactionContext<T extends ITransaction> implements ITransactionContext<T>
+{
+	/**
+	 * Transaction of current thread
+	 */
+	private ThreadLocal<T> currentTransaction = new ThreadLocal<>();
+	
+	@Override
+	public T getTransaction()
+	{
+		return currentTransaction.get();
+	}
+
+	@Override
+	public void setTransaction(T transaction)
+	{
+		currentTransaction.set(transaction);
+	}
+
+	@Override
+	public void clearTransaction()
+	{
+		currentTransaction.remove();
+	}
+}
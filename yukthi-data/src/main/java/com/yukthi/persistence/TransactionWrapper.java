@@ -60,6 +60,12 @@ public class TransactionWrapper<T extends ITransaction> implements ITransaction
 		transaction.close();
 	}
 	
+	@Override
+	public void addTransactionListener(ITransactionListener listener)
+	{
+		transaction.addTransactionListener(listener);
+	}
+	
 	public boolean isExistingTransaction()
 	{
 		return existingTransaction;
@@ -0,0 +1,173 @@
+package com.yukthi.persistence.accessor;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.apache.commons.beanutils.PropertyUtils;
+
+import com.yukthi.utils.beans.AccessorFactory;
+import com.yukthi.utils.exceptions.InvalidStateException;
+
+/**
+ * Provides constructor and property accessors of a bean type. The accessors are generated once per bean type
+ * and are cached, so that bean creation and population does not involve introspection and reflection on
+ * every invocation.
+ * @author akiran
+ */
+public class BeanAccessor
+{
+	/**
+	 * Bean accessors cached by bean type
+	 */
+	private static Map<Class<?>, BeanAccessor> accessors = new ConcurrentHashMap<>();
+	
+	/**
+	 * Type of the bean
+	 */
+	private Class<?> beanType;
+	
+	/**
+	 * Default constructor invoker, null if bean type does not have default constructor
+	 */
+	private Supplier<Object> constructor;
+	
+	/**
+	 * Property accessors by property name
+	 */
+	private Map<String, PropertyAccessor> properties = new HashMap<>();
+	
+	private BeanAccessor(Class<?> beanType)
+	{
+		this.beanType = beanType;
+		this.constructor = AccessorFactory.createConstructor(beanType);
+		
+		BeanInfo beanInfo = null;
+		
+		try
+		{
+			beanInfo = Introspector.getBeanInfo(beanType);
+		}catch(IntrospectionException ex)
+		{
+			throw new InvalidStateException(ex, "An error occurred while fetching bean info of type - {}", beanType.getName());
+		}
+		
+		for(PropertyDescriptor descriptor : beanInfo.getPropertyDescriptors())
+		{
+			//ignore indexed and class properties
+			if(descriptor.getPropertyType() == null || "class".equals(descriptor.getName()))
+			{
+				continue;
+			}
+			
+			properties.put(descriptor.getName(), new PropertyAccessor(descriptor));
+		}
+	}
+	
+	/**
+	 * Fetches accessor for specified bean type.
+	 * @param beanType Type of bean
+	 * @return Bean accessor
+	 */
+	public static BeanAccessor getAccessor(Class<?> beanType)
+	{
+		BeanAccessor accessor = accessors.get(beanType);
+		
+		if(accessor != null)
+		{
+			return accessor;
+		}
+		
+		//multiple threads may create accessor at same time, but only one will get cached
+		accessor = new BeanAccessor(beanType);
+		BeanAccessor existingAccessor = accessors.putIfAbsent(beanType, accessor);
+		
+		return (existingAccessor != null) ? existingAccessor : accessor;
+	}
+	
+	/**
+	 * @return the {@link #beanType beanType}
+	 */
+	public Class<?> getBeanType()
+	{
+		return beanType;
+	}
+	
+	/**
+	 * Creates new instance of bean type using default constructor.
+	 * @return New bean instance
+	 */
+	public Object newInstance()
+	{
+		if(constructor == null)
+		{
+			throw new InvalidStateException("No default constructor found for type - {}", beanType.getName());
+		}
+		
+		return constructor.get();
+	}
+	
+	/**
+	 * Fetches accessor of specified property.
+	 * @param name Name of the property
+	 * @return Matching property accessor, null if no such property exists
+	 */
+	public PropertyAccessor getProperty(String name)
+	{
+		return properties.get(name);
+	}
+	
+	/**
+	 * Fetches specified property value from the bean. Nested properties are fetched using bean utils.
+	 * @param bean Bean from which value needs to be fetched
+	 * @param property Property to fetch
+	 * @return Property value
+	 */
+	public Object getProperty(Object bean, String property)
+	{
+		PropertyAccessor accessor = properties.get(property);
+		
+		if(accessor != null && accessor.isReadable())
+		{
+			return accessor.getValue(bean);
+		}
+		
+		try
+		{
+			return PropertyUtils.getProperty(bean, property);
+		}catch(Exception ex)
+		{
+			throw new InvalidStateException(ex, "An error occurred while fetching property '{}' of type - {}", property, beanType.getName());
+		}
+	}
+	
+	/**
+	 * Sets specified property value on the bean. Nested properties are set using bean utils.
+	 * @param bean Bean on which value needs to be set
+	 * @param property Property to set
+	 * @param value Value to set
+	 */
+	public void setProperty(Object bean, String property, Object value)
+	{
+		PropertyAccessor accessor = properties.get(property);
+		
+		if(accessor != null && accessor.isWriteable())
+		{
+			accessor.setValue(bean, value);
+			return;
+		}
+		
+		try
+		{
+			PropertyUtils.setProperty(bean, property, value);
+		}catch(Exception ex)
+		{
+			throw new InvalidStateException(ex, "An error occurred while setting property '{}' of type - {}", property, beanType.getName());
+		}
+	}
+}
@@ -0,0 +1,145 @@
+package com.yukthi.persistence.accessor;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.ClassUtils;
+
+import com.yukthi.utils.ConvertUtils;
+import com.yukthi.utils.beans.AccessorFactory;
+import com.yukthi.utils.exceptions.InvalidStateException;
+
+/**
+ * Generated getter and setter invokers of a bean property.
+ * @author akiran
+ */
+public class PropertyAccessor
+{
+	/**
+	 * Name of the property
+	 */
+	private String name;
+	
+	/**
+	 * Type of the property
+	 */
+	private Class<?> type;
+	
+	/**
+	 * Wrapper type of property type, used to convert values of primitive properties
+	 */
+	private Class<?> wrapperType;
+	
+	/**
+	 * Read method of the property
+	 */
+	private Method readMethod;
+	
+	/**
+	 * Getter invoker, null if property is not readable
+	 */
+	private Function<Object, Object> getter;
+	
+	/**
+	 * Setter invoker, null if property is not writeable
+	 */
+	private BiConsumer<Object, Object> setter;
+	
+	PropertyAccessor(PropertyDescriptor descriptor)
+	{
+		this.name = descriptor.getName();
+		this.type = descriptor.getPropertyType();
+		this.wrapperType = ClassUtils.primitiveToWrapper(type);
+		this.readMethod = descriptor.getReadMethod();
+		
+		if(readMethod != null)
+		{
+			this.getter = AccessorFactory.createGetter(readMethod);
+		}
+		
+		if(descriptor.getWriteMethod() != null)
+		{
+			this.setter = AccessorFactory.createSetter(descriptor.getWriteMethod());
+		}
+	}
+	
+	/**
+	 * @return the {@link #name name}
+	 */
+	public String getName()
+	{
+		return name;
+	}
+	
+	/**
+	 * @return the {@link #type type}
+	 */
+	public Class<?> getType()
+	{
+		return type;
+	}
+	
+	/**
+	 * @return the {@link #readMethod readMethod}
+	 */
+	public Method getReadMethod()
+	{
+		return readMethod;
+	}
+	
+	/**
+	 * Returns true if property has getter
+	 * @return
+	 */
+	public boolean isReadable()
+	{
+		return (getter != null);
+	}
+	
+	/**
+	 * Returns true if property has setter
+	 * @return
+	 */
+	public boolean isWriteable()
+	{
+		return (setter != null);
+	}
+	
+	/**
+	 * Fetches the property value from specified bean.
+	 * @param bean Bean from which value needs to be fetched
+	 * @return Property value
+	 */
+	public Object getValue(Object bean)
+	{
+		if(getter == null)
+		{
+			throw new InvalidStateException("Property '{}' of type {} is not readable", name, bean.getClass().getName());
+		}
+		
+		return getter.apply(bean);
+	}
+	
+	/**
+	 * Sets the specified value on the bean.
+	 * @param bean Bean on which value needs to be set
+	 * @param value Value to set
+	 */
+	public void setValue(Object bean, Object value)
+	{
+		if(setter == null)
+		{
+			throw new InvalidStateException("Property '{}' of type {} is not writeable", name, bean.getClass().getName());
+		}
+		
+		//generated setters expect exact wrapper type for primitives
+		if(type.isPrimitive() && value != null && !wrapperType.isInstance(value))
+		{
+			value = ConvertUtils.convert(value, type);
+		}
+		
+		setter.accept(bean, value);
+	}
+}
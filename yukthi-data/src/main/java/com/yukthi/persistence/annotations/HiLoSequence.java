@@ -0,0 +1,21 @@
+package com.yukthi.persistence.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Enables hi-lo id allocation for sequence generated id field. Ids are allocated in blocks of size specified by
+ * {@link javax.persistence.SequenceGenerator#allocationSize()}, using {@link com.yukthi.persistence.idgen.SequenceBlockIdGenerator}.
+ * Without this annotation, every insert uses next value of the sequence directly.
+ *
+ * Should be used along with <code>@GeneratedValue(strategy = GenerationType.SEQUENCE)</code> and <code>@SequenceGenerator</code>,
+ * and is supported only by data stores which support sequences.
+ * @author akiran
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface HiLoSequence
+{
+}
@@ -0,0 +1,24 @@
+package com.yukthi.persistence.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.yukthi.persistence.idgen.IIdGenerator;
+
+/**
+ * Specifies the generator to be used to generate id values on client side. Should not be combined with
+ * {@link javax.persistence.GeneratedValue}. Specified generator type should have default constructor.
+ * @author akiran
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface IdGenerator
+{
+	/**
+	 * Type of generator to be used.
+	 * @return Generator type
+	 */
+	public Class<? extends IIdGenerator> value();
+}
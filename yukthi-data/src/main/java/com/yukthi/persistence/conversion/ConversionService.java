@@ -1,29 +1,45 @@
 package com.yukthi.persistence.conversion;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.lang.reflect.Field;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.yukthi.persistence.FieldDetails;
-import com.yukthi.persistence.annotations.DataType;
 import com.yukthi.persistence.annotations.DataTypeMapping;
 import com.yukthi.utils.ConvertUtils;
 
 /**
- * Service to convert object of one type into other.
+ * Service to convert object of one type into other. Field specific converters are expected to be resolved
+ * once, when entity details are loaded (see {@link #resolveConverter(FieldDetails)}). This service is
+ * thread safe.
  * @author akiran
  */
 public class ConversionService
 {
 	private static Logger logger = LogManager.getLogger(ConversionService.class);
 	
-	private List<IPersistenceConverter> converters = new ArrayList<>();
+	/**
+	 * Default converters. Converters are added during initialization. The default converter handling a field
+	 * is looked up on first conversion of the field and cached on the field details.
+	 */
+	private List<IPersistenceConverter> converters = new CopyOnWriteArrayList<>();
+	
+	/**
+	 * Converter instances by type, so that single instance is shared by all fields using same converter.
+	 */
+	private Map<Class<?>, IPersistenceConverter> typeToConverter = new ConcurrentHashMap<>();
 	
-	private Map<Class<?>, IPersistenceConverter> typeToConverter = new HashMap<>();
+	/**
+	 * Fallback cache of field converters, used for field details which are not resolved
+	 * during entity details loading. Empty value indicates field does not have specific converter.
+	 */
+	private Map<Field, Optional<IPersistenceConverter>> fieldToConverter = new ConcurrentHashMap<>();
 	
 	public ConversionService()
 	{
@@ -31,7 +47,9 @@ public class ConversionService
 	}
 	
 	/**
-	 * Adds a converter that can modify data of one particular type to other
+	 * Adds a converter that can modify data of one particular type to other. Default converters are expected
+	 * to decide whether they handle a field based on db type and java type of the field, and not on the value
+	 * being converted, as the converter handling a field is resolved once and reused for the field.
 	 * @param converter
 	 */
 	public void addConverter(IPersistenceConverter converter)
@@ -45,20 +63,29 @@ public class ConversionService
 	}
 	
 	/**
-	 * Fetches the converter for specified field, if it is explcitly defined on 
-	 * target java field
-	 * @param fieldDetails
-	 * @return
+	 * Creates converter of specified type.
+	 * @param converterType Type of converter to create
+	 * @return Converter instance
 	 */
-	private IPersistenceConverter getConverter(FieldDetails fieldDetails)
+	private static IPersistenceConverter newConverter(Class<?> converterType)
 	{
-		//TODO: Check why field details needs to be null. Is there any substitute.
-		if(fieldDetails == null || fieldDetails.getField() == null)
+		try
 		{
-			return null;
+			return (IPersistenceConverter)converterType.newInstance();
+		}catch(Exception ex)
+		{
+			throw new IllegalStateException("Failed to create converter of type: " + converterType.getName(), ex);
 		}
-		
-		DataTypeMapping typeMapping = fieldDetails.getField().getAnnotation(DataTypeMapping.class);
+	}
+	
+	/**
+	 * Finds the converter explicitly defined on specified field using {@link DataTypeMapping}.
+	 * @param field Field to check
+	 * @return Matching converter, null if no converter is defined
+	 */
+	private IPersistenceConverter findConverter(Field field)
+	{
+		DataTypeMapping typeMapping = field.getAnnotation(DataTypeMapping.class);
 		
 		if(typeMapping == null)
 		{
@@ -74,23 +101,44 @@ public class ConversionService
 			return null;
 		}
 		
-		IPersistenceConverter converter = typeToConverter.get(converterType);
-		
-		if(converter != null)
+		return typeToConverter.computeIfAbsent(converterType, ConversionService::newConverter);
+	}
+	
+	/**
+	 * Resolves the converter of specified field and sets it on the field details, so that
+	 * conversions of the field need not lookup the annotations.
+	 * @param fieldDetails Field details to be resolved
+	 */
+	public void resolveConverter(FieldDetails fieldDetails)
+	{
+		if(fieldDetails.getField() == null)
 		{
-			return converter;
+			return;
 		}
 		
-		try
+		fieldDetails.setConverter( findConverter(fieldDetails.getField()) );
+	}
+	
+	/**
+	 * Fetches the converter for specified field, if it is explcitly defined on 
+	 * target java field
+	 * @param fieldDetails
+	 * @return
+	 */
+	private IPersistenceConverter getConverter(FieldDetails fieldDetails)
+	{
+		//TODO: Check why field details needs to be null. Is there any substitute.
+		if(fieldDetails == null || fieldDetails.getField() == null)
 		{
-			converter = (IPersistenceConverter)converterType.newInstance();
-		}catch(Exception ex)
+			return null;
+		}
+		
+		if(fieldDetails.isConverterResolved())
 		{
-			throw new IllegalStateException("Failed to create converter of type: " + converterType.getName(), ex);
+			return fieldDetails.getConverter();
 		}
 		
-		typeToConverter.put(converterType, converter);
-		return converter;
+		return fieldToConverter.computeIfAbsent(fieldDetails.getField(), fld -> Optional.ofNullable(findConverter(fld))).orElse(null);
 	}
 	
 	/**
@@ -117,7 +165,7 @@ public class ConversionService
 		}
 		
 		//try to convert using default converters and in generic way
-		return convert(dbObject, fieldDetails.getDbDataType(), fieldDetails.getField().getType());
+		return convert(dbObject, fieldDetails);
 	}
 	
 	/**
@@ -149,33 +197,48 @@ public class ConversionService
 			return fldConverter.convertToDBType(javaObj, fieldDetails.getDbDataType());
 		}
 		
+		Optional<IPersistenceConverter> defaultConverter = fieldDetails.getDefaultDbConverter();
 		Object result = null;
 		
-		//check if any converter can handle conversion
-		for(IPersistenceConverter converter: converters)
+		//if default converter handling the field is already resolved, use the same
+		if(defaultConverter != null)
 		{
-			result = converter.convertToDBType(javaObj, fieldDetails.getDbDataType());
+			result = defaultConverter.isPresent() ? defaultConverter.get().convertToDBType(javaObj, fieldDetails.getDbDataType()) : null;
+		}
+		else
+		{
+			defaultConverter = Optional.empty();
 			
-			//if conversion was successful
-			if(result != null)
+			//check if any converter can handle conversion, and cache the one which can
+			for(IPersistenceConverter converter: converters)
 			{
-				return result;
+				result = converter.convertToDBType(javaObj, fieldDetails.getDbDataType());
+				
+				//if conversion was successful
+				if(result != null)
+				{
+					defaultConverter = Optional.of(converter);
+					break;
+				}
 			}
+			
+			fieldDetails.setDefaultDbConverter(defaultConverter);
 		}
 		
 		//if no converter is able to convert, simply return actual value
-		return javaObj;
+		return (result != null) ? result : javaObj;
 	}
 	
 	/**
-	 * Converts specified db object into specified java type using default converters 
+	 * Converts specified db object into java type of specified field using default converters 
 	 * @param dbObject
-	 * @param dbDataType
-	 * @param targetType
+	 * @param fieldDetails
 	 * @return
 	 */
-	private Object convert(Object dbObject, DataType dbDataType, Class<?> targetType)
+	private Object convert(Object dbObject, FieldDetails fieldDetails)
 	{
+		Class<?> targetType = fieldDetails.getField().getType();
+		
 		//if from value is null
 		if(dbObject == null)
 		{
@@ -194,18 +257,38 @@ public class ConversionService
 			return null;
 		}
 		
+		Optional<IPersistenceConverter> defaultConverter = fieldDetails.getDefaultJavaConverter();
 		Object result = null;
 		
-		//check if any of the default converters can convert current db object
-		for(IPersistenceConverter converter: converters)
+		//if default converter handling the field is already resolved, use the same
+		if(defaultConverter != null)
+		{
+			result = defaultConverter.isPresent() ? defaultConverter.get().convertToJavaType(dbObject, fieldDetails.getDbDataType(), targetType) : null;
+		}
+		else
 		{
-			result = converter.convertToJavaType(dbObject, dbDataType, targetType);
+			defaultConverter = Optional.empty();
 			
-			//if conversion was success
-			if(result != null)
+			//check if any of the default converters can convert current db object, and cache the one which can
+			for(IPersistenceConverter converter: converters)
 			{
-				return result;
+				result = converter.convertToJavaType(dbObject, fieldDetails.getDbDataType(), targetType);
+				
+				//if conversion was success
+				if(result != null)
+				{
+					defaultConverter = Optional.of(converter);
+					break;
+				}
 			}
+			
+			fieldDetails.setDefaultJavaConverter(defaultConverter);
+		}
+		
+		//if conversion was success
+		if(result != null)
+		{
+			return result;
 		}
 
 		//if in built coverters are not able to convert, use generic utils to convert
@@ -23,16 +23,63 @@ import freemarker.template.TemplateModel;
  * In final query, this directive will be replaced with question mark (?) and during execution collected param values needs
  * to be passed to prepared statement parameters using {@link PreparedStatement#setObject(int, Object)}
  * 
+ * Directive itself is stateless, collected params are maintained in {@link ParamCollection} set on the processing
+ * environment using {@link #startCollection(Environment, Object)}. So single directive instance can be used by concurrent
+ * template processing.
+ * 
  * @author akiran
  */
 public class ParamCollectorDirective implements TemplateDirectiveModel
 {
 	/**
-	 * List of parameter values to be passed
+	 * Environment attribute name used to maintain param collection
 	 */
-	private List<Object> paramValues = new ArrayList<Object>(20);
+	private static final String ATTR_PARAM_COLLECTION = ParamCollectorDirective.class.getName() + ".paramCollection";
 	
-	private Object context;
+	/**
+	 * Params collected during single template processing.
+	 * @author akiran
+	 */
+	public static class ParamCollection
+	{
+		/**
+		 * Context from which param values are fetched
+		 */
+		private Object context;
+		
+		/**
+		 * Names of the params in the order they occurred in query
+		 */
+		private List<String> paramNames = new ArrayList<>();
+		
+		/**
+		 * List of parameter values to be passed
+		 */
+		private List<Object> paramValues = new ArrayList<>();
+		
+		private ParamCollection(Object context)
+		{
+			this.context = context;
+		}
+		
+		/**
+		 * Returns names of the params in the order they occurred in query
+		 * @return param names
+		 */
+		public List<String> getParamNames()
+		{
+			return paramNames;
+		}
+		
+		/**
+		 * Returns collected parameter values
+		 * @return param values
+		 */
+		public List<Object> getParamValues()
+		{
+			return paramValues;
+		}
+	}
 	
 	/* (non-Javadoc)
 	 * @see freemarker.template.TemplateDirectiveModel#execute(freemarker.core.Environment, java.util.Map, freemarker.template.TemplateModel[], freemarker.template.TemplateDirectiveBody)
@@ -42,34 +89,47 @@ public class ParamCollectorDirective implements TemplateDirectiveModel
 	public void execute(Environment env, Map params, TemplateModel[] loopVars, TemplateDirectiveBody body) throws TemplateException, IOException
 	{
 		String name = params.get("name").toString();
+		ParamCollection paramCollection = (ParamCollection) env.getCustomAttribute(ATTR_PARAM_COLLECTION);
 		
-		try
+		if(paramCollection == null)
 		{
-			paramValues.add(PropertyUtils.getProperty(context, name));
-		}catch(Exception e)
-		{
-			throw new InvalidStateException(e, "An error occurred while fetching value for property - {}", name);
+			throw new InvalidStateException("Param collection is not started on current environment");
 		}
+		
+		paramCollection.paramNames.add(name);
+		paramCollection.paramValues.add(getParamValue(paramCollection.context, name));
 
 		env.getOut().append("?");
 	}
 	
 	/**
-	 * Resets this directive and sets specified context and free marker context (for fetching propery values)
-	 * @param context
+	 * Fetches the value of specified param from specified context.
+	 * @param context Context from which value needs to be fetched
+	 * @param name Name of the param (property)
+	 * @return Param value
 	 */
-	public void reset(Object context)
+	public static Object getParamValue(Object context, String name)
 	{
-		this.context = context;
-		paramValues.clear();
+		try
+		{
+			return PropertyUtils.getProperty(context, name);
+		}catch(Exception e)
+		{
+			throw new InvalidStateException(e, "An error occurred while fetching value for property - {}", name);
+		}
 	}
 	
 	/**
-	 * Returns collected parameter values
-	 * @return
+	 * Starts param collection on specified environment with specified context (for fetching propery values).
+	 * @param env Environment to be used for template processing
+	 * @param context Context from which param values are fetched
+	 * @return Param collection, which will be populated during template processing
 	 */
-	public List<Object> getParamValues()
+	public static ParamCollection startCollection(Environment env, Object context)
 	{
-		return paramValues;
+		ParamCollection paramCollection = new ParamCollection(context);
+		env.setCustomAttribute(ATTR_PARAM_COLLECTION, paramCollection);
+		
+		return paramCollection;
 	}
 }
@@ -0,0 +1,22 @@
+package com.yukthi.persistence.idgen;
+
+import com.yukthi.persistence.EntityDetails;
+import com.yukthi.persistence.IDataStore;
+
+/**
+ * Generates id values on client side. As id value is known before insert, entity can be saved
+ * using single statement and no extra query is needed to fetch the generated id.
+ * 
+ * Implementations are shared by all saves of an entity type and should be thread safe.
+ * @author akiran
+ */
+public interface IIdGenerator
+{
+	/**
+	 * Generates new id for specified entity type.
+	 * @param entityDetails Entity for which id is needed
+	 * @param dataStore Data store, which can be used to allocate ids
+	 * @return New id value
+	 */
+	public Object generateId(EntityDetails entityDetails, IDataStore dataStore);
+}
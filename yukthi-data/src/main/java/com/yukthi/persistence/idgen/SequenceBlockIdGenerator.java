@@ -0,0 +1,128 @@
+package com.yukthi.persistence.idgen;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.yukthi.persistence.EntityDetails;
+import com.yukthi.persistence.IDataStore;
+import com.yukthi.utils.exceptions.InvalidArgumentException;
+
+/**
+ * Hi-lo id generator, which pre-allocates blocks of ids using a data store sequence. For every block single
+ * sequence value (hi) is fetched and ids from <code>hi * blockSize</code> till <code>(hi + 1) * blockSize - 1</code> are
+ * served without hitting the data store.
+ * 
+ * Note: Ids generated by this generator will not be in sync with direct sequence usage. So all inserts of an entity
+ * should use the same generator.
+ * 
+ * Ids of current block are served without locking. Only allocation of new block is done under lock, so that
+ * single thread hits the data store while other threads, which need new block, wait for it.
+ * @author akiran
+ */
+public class SequenceBlockIdGenerator implements IIdGenerator
+{
+	private static Logger logger = LogManager.getLogger(SequenceBlockIdGenerator.class);
+	
+	/**
+	 * Sequence used to allocate blocks
+	 */
+	private final String sequenceName;
+	
+	/**
+	 * Number of ids in single block
+	 */
+	private final int blockSize;
+	
+	/**
+	 * Block of ids allocated from single sequence value.
+	 * @author akiran
+	 */
+	private static class IdBlock
+	{
+		/**
+		 * Next id to be served from this block
+		 */
+		private final AtomicLong nextId;
+		
+		/**
+		 * End (exclusive) of this block
+		 */
+		private final long end;
+		
+		private IdBlock(long start, long end)
+		{
+			this.nextId = new AtomicLong(start);
+			this.end = end;
+		}
+	}
+	
+	/**
+	 * Current block from which ids are served. Initially empty, so that first call allocates a block.
+	 */
+	private volatile IdBlock currentBlock = new IdBlock(0, 0);
+	
+	/**
+	 * Lock used while allocating new block
+	 */
+	private final ReentrantLock allocationLock = new ReentrantLock();
+	
+	public SequenceBlockIdGenerator(String sequenceName, int blockSize)
+	{
+		if(blockSize <= 0)
+		{
+			throw new InvalidArgumentException("Invalid block size specified for sequence '{}' - {}", sequenceName, blockSize);
+		}
+		
+		this.sequenceName = sequenceName;
+		this.blockSize = blockSize;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.yukthi.persistence.idgen.IIdGenerator#generateId(com.yukthi.persistence.EntityDetails, com.yukthi.persistence.IDataStore)
+	 */
+	@Override
+	public Object generateId(EntityDetails entityDetails, IDataStore dataStore)
+	{
+		while(true)
+		{
+			IdBlock block = currentBlock;
+			long id = block.nextId.getAndIncrement();
+			
+			if(id < block.end)
+			{
+				return id;
+			}
+			
+			//current block is exhausted, allocate new block, unless it is already done by other thread
+			allocationLock.lock();
+			
+			try
+			{
+				if(currentBlock == block)
+				{
+					long hi = dataStore.nextSequenceValue(sequenceName);
+					long start = hi * blockSize;
+					
+					currentBlock = new IdBlock(start, start + blockSize);
+					logger.debug("Allocated id block [{}, {}) for entity {} using sequence: {}", start, start + blockSize, entityDetails.getEntityType().getName(), sequenceName);
+				}
+			}finally
+			{
+				allocationLock.unlock();
+			}
+		}
+	}
+	
+	public String getSequenceName()
+	{
+		return sequenceName;
+	}
+	
+	public int getBlockSize()
+	{
+		return blockSize;
+	}
+}
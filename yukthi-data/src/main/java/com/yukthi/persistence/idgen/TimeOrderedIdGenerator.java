@@ -0,0 +1,114 @@
+package com.yukthi.persistence.idgen;
+
+import java.security.SecureRandom;
+
+import com.yukthi.persistence.EntityDetails;
+import com.yukthi.persistence.IDataStore;
+import com.yukthi.utils.exceptions.InvalidArgumentException;
+
+/**
+ * Generates 64 bit time ordered ids on client side, without involving data store. Ids are composed of
+ * milli seconds since {@link #EPOCH} (41 bits), node id (10 bits) and a counter within the milli second (12 bits).
+ * As ids are increasing with time, inserts are appended at the end of the primary key index.
+ * 
+ * When multiple nodes insert into same table, each node should be configured with a distinct node id. With default
+ * constructor, random node id is used.
+ * @author akiran
+ */
+public class TimeOrderedIdGenerator implements IIdGenerator
+{
+	/**
+	 * Epoch (2015-01-01T00:00:00Z) from which time part is computed
+	 */
+	public static final long EPOCH = 1420070400000L;
+	
+	private static final int NODE_BITS = 10;
+	private static final int COUNTER_BITS = 12;
+	
+	/**
+	 * Maximum node id that can be used
+	 */
+	public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+	
+	private static final long MAX_COUNTER = (1L << COUNTER_BITS) - 1;
+	
+	/**
+	 * Node id of this generator
+	 */
+	private final long nodeId;
+	
+	/**
+	 * Time (milli seconds) used by last id
+	 */
+	private long lastTime = -1;
+	
+	/**
+	 * Counter within {@link #lastTime}
+	 */
+	private long counter;
+	
+	/**
+	 * Instantiates generator with random node id.
+	 */
+	public TimeOrderedIdGenerator()
+	{
+		this(new SecureRandom().nextInt(MAX_NODE_ID + 1));
+	}
+	
+	/**
+	 * Instantiates generator with specified node id.
+	 * @param nodeId Node id, between 0 and {@link #MAX_NODE_ID}
+	 */
+	public TimeOrderedIdGenerator(int nodeId)
+	{
+		if(nodeId < 0 || nodeId > MAX_NODE_ID)
+		{
+			throw new InvalidArgumentException("Invalid node id specified - {}. Node id should be between 0 and {}", nodeId, MAX_NODE_ID);
+		}
+		
+		this.nodeId = nodeId;
+	}
+	
+	/**
+	 * Generates next id.
+	 * @return Next id, greater than all ids generated earlier by this generator
+	 */
+	public synchronized long nextId()
+	{
+		long time = System.currentTimeMillis();
+		
+		//if clock moved back, continue with last time, so that ids keep increasing
+		if(time <= lastTime)
+		{
+			time = lastTime;
+			counter = (counter + 1) & MAX_COUNTER;
+			
+			//if counter is exhausted for current milli second, borrow next milli second
+			if(counter == 0)
+			{
+				time++;
+			}
+		}
+		else
+		{
+			counter = 0;
+		}
+		
+		lastTime = time;
+		return ((time - EPOCH) << (NODE_BITS + COUNTER_BITS)) | (nodeId << COUNTER_BITS) | counter;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.yukthi.persistence.idgen.IIdGenerator#generateId(com.yukthi.persistence.EntityDetails, com.yukthi.persistence.IDataStore)
+	 */
+	@Override
+	public Object generateId(EntityDetails entityDetails, IDataStore dataStore)
+	{
+		return nextId();
+	}
+	
+	public int getNodeId()
+	{
+		return (int)nodeId;
+	}
+}
@@ -0,0 +1,212 @@
+package com.yukthi.persistence.listeners;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.yukthi.persistence.ITransaction;
+import com.yukthi.persistence.ITransactionManager;
+import com.yukthi.persistence.TransactionWrapper;
+
+/**
+ * Dispatches post-operation events on a bounded executor, after the transaction in which the events are raised
+ * is committed. Events of a transaction are grouped by entity type and each group is dispatched, in order, by single
+ * task. Events of rolled back transactions are discarded.
+ *
+ * When executor queue is full, events are dispatched by the thread completing the transaction.
+ * @author akiran
+ */
+class AsyncEventDispatcher
+{
+	private static Logger logger = LogManager.getLogger(AsyncEventDispatcher.class);
+	
+	/**
+	 * Event along with the listeners to which it needs to be dispatched.
+	 * @author akiran
+	 */
+	private static class PendingEvent
+	{
+		private final EntityEvent event;
+		
+		private final EntityListener listeners[];
+		
+		public PendingEvent(EntityEvent event, EntityListener listeners[])
+		{
+			this.event = event;
+			this.listeners = listeners;
+		}
+	}
+	
+	/**
+	 * Executor used to dispatch events
+	 */
+	private final ThreadPoolExecutor executor;
+	
+	/**
+	 * Events pending for transaction completion, grouped by entity type
+	 */
+	private final Map<ITransaction, Map<Class<?>, List<PendingEvent>>> transactionEvents = new ConcurrentHashMap<>();
+	
+	/**
+	 * Instantiates a new async event dispatcher.
+	 *
+	 * @param threadCount Number of threads to be used for dispatching
+	 * @param queueSize Maximum number of event batches that can be queued
+	 */
+	public AsyncEventDispatcher(int threadCount, int queueSize)
+	{
+		AtomicInteger threadIndex = new AtomicInteger();
+		ThreadFactory threadFactory = task -> {
+			Thread thread = new Thread(task, "entity-event-dispatcher-" + threadIndex.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+		
+		this.executor = new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueSize), threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+	
+	/**
+	 * Fetches the underlying transaction of current execution.
+	 * @param transactionManager Transaction manager to use
+	 * @return Current transaction, null if no transaction is active
+	 */
+	private ITransaction getCurrentTransaction(ITransactionManager<?> transactionManager)
+	{
+		ITransaction transaction = null;
+		
+		try
+		{
+			transaction = transactionManager.currentTransaction();
+		}catch(Exception ex)
+		{
+			//no active transaction
+			return null;
+		}
+		
+		if(transaction instanceof TransactionWrapper)
+		{
+			transaction = ((TransactionWrapper<?>) transaction).getTransaction();
+		}
+		
+		return transaction;
+	}
+	
+	/**
+	 * Queues specified event to be dispatched after current transaction is committed. If no transaction is active
+	 * event will be dispatched immediately.
+	 * @param entityType Entity type of the event
+	 * @param event Event to dispatch
+	 * @param listeners Listeners to which event should be dispatched
+	 * @param transactionManager Transaction manager to find current transaction
+	 */
+	public void dispatch(Class<?> entityType, EntityEvent event, EntityListener listeners[], ITransactionManager<?> transactionManager)
+	{
+		PendingEvent pendingEvent = new PendingEvent(event, listeners);
+		ITransaction transaction = getCurrentTransaction(transactionManager);
+		
+		if(transaction == null)
+		{
+			List<PendingEvent> events = new ArrayList<>();
+			events.add(pendingEvent);
+			
+			submit(entityType, events);
+			return;
+		}
+		
+		Map<Class<?>, List<PendingEvent>> eventsByType = transactionEvents.computeIfAbsent(transaction, tx -> {
+			tx.addTransactionListener(committed -> transactionCompleted(tx, committed));
+			return new LinkedHashMap<>();
+		});
+		
+		//transaction is expected to be used by single thread at a time
+		synchronized(eventsByType)
+		{
+			eventsByType.computeIfAbsent(entityType, type -> new ArrayList<>()).add(pendingEvent);
+		}
+	}
+	
+	/**
+	 * Dispatches or discards the events of specified transaction based on the transaction result.
+	 * @param transaction Completed transaction
+	 * @param committed Flag indicating if transaction was committed
+	 */
+	private void transactionCompleted(ITransaction transaction, boolean committed)
+	{
+		Map<Class<?>, List<PendingEvent>> eventsByType = transactionEvents.remove(transaction);
+		
+		if(eventsByType == null)
+		{
+			return;
+		}
+		
+		if(!committed)
+		{
+			logger.debug("Discarding post events of rolled back transaction for entity types: {}", eventsByType.keySet());
+			return;
+		}
+		
+		synchronized(eventsByType)
+		{
+			for(Map.Entry<Class<?>, List<PendingEvent>> entry : eventsByType.entrySet())
+			{
+				submit(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+	
+	/**
+	 * Submits specified events of an entity type as single task.
+	 * @param entityType Entity type of the events
+	 * @param events Events to dispatch
+	 */
+	private void submit(Class<?> entityType, List<PendingEvent> events)
+	{
+		Runnable task = () -> {
+			logger.trace("Dispatching {} post events of entity type: {}", events.size(), entityType.getName());
+			
+			for(PendingEvent pendingEvent : events)
+			{
+				EntityListenerManager.invokeListeners(pendingEvent.listeners, pendingEvent.event);
+			}
+		};
+		
+		//if dispatcher is shutdown, dispatch on current thread, so that events are not lost
+		if(executor.isShutdown())
+		{
+			task.run();
+			return;
+		}
+		
+		executor.execute(task);
+	}
+	
+	/**
+	 * Stops accepting new tasks and waits for queued events to be dispatched.
+	 * @param timeoutMillis Maximum time to wait
+	 * @return true if all queued events are dispatched within specified time
+	 */
+	public boolean shutdown(long timeoutMillis)
+	{
+		executor.shutdown();
+		
+		try
+		{
+			return executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+		}catch(InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+}
@@ -1,7 +1,12 @@
 package com.yukthi.persistence.listeners;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 
+import com.yukthi.utils.exceptions.InvalidStateException;
+
 /**
  * Holds listener method details for event handling
  * @author akiran
@@ -22,32 +27,60 @@ public class EntityListener
 	 * Does listener method accept event object
 	 */
 	private boolean hasEventArg;
+	
+	/**
+	 * Handle bound to listener container, which accepts event argument irrespective of {@link #hasEventArg}
+	 */
+	private MethodHandle invoker;
 
 	public EntityListener(Object listenerContainer, Method listenerMethod, boolean hasEventArg)
 	{
 		this.listenerContainer = listenerContainer;
 		this.listenerMethod = listenerMethod;
 		this.hasEventArg = hasEventArg;
+		this.invoker = buildInvoker();
 	}
 	
 	/**
-	 * Invokes the listener method with specified event object
-	 * @param e
+	 * Builds method handle for listener method with signature (EntityEvent)void.
+	 * @return Listener method handle
 	 */
-	public void invoke(EntityEvent e)
+	private MethodHandle buildInvoker()
 	{
 		try
 		{
-			if(hasEventArg)
+			//needed for public methods of non-public container classes
+			listenerMethod.setAccessible(true);
+			
+			MethodHandle handle = MethodHandles.lookup().unreflect(listenerMethod).bindTo(listenerContainer);
+			
+			if(!hasEventArg)
 			{
-				listenerMethod.invoke(listenerContainer, e);
-				return;
+				handle = MethodHandles.dropArguments(handle, 0, EntityEvent.class);
 			}
 			
-			listenerMethod.invoke(listenerContainer);
+			return handle.asType(MethodType.methodType(void.class, EntityEvent.class));
 		}catch(Exception ex)
 		{
-			throw new IllegalStateException("An error occurred while invoking ");
+			throw new InvalidStateException(ex, "Failed to create invoker for listener method: {}", this);
+		}
+	}
+	
+	/**
+	 * Invokes the listener method with specified event object
+	 * @param e
+	 */
+	public void invoke(EntityEvent e)
+	{
+		try
+		{
+			invoker.invokeExact(e);
+		}catch(RuntimeException | Error ex)
+		{
+			throw ex;
+		}catch(Throwable ex)
+		{
+			throw new InvalidStateException(ex, "An error occurred while invoking listener: {}", this);
 		}
 	}
 	
@@ -2,9 +2,11 @@ package com.yukthi.persistence.listeners;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -12,7 +14,11 @@ import org.apache.logging.log4j.Logger;
 import com.yukthi.persistence.repository.RepositoryFactory;
 
 /**
- * Manages registered listener methods and their invocations
+ * Manages registered listener methods and their invocations. Registered listeners are resolved into
+ * per entity-type and per event-type arrays, so that event dispatch does not need any lookups.
+ * 
+ * By default listeners are invoked synchronously. When async dispatch is enabled (see {@link #enableAsyncDispatch(int, int)}),
+ * post-operation listeners are invoked on separate threads after the transaction is committed.
  * @author akiran
  */
 public class EntityListenerManager
@@ -20,24 +26,46 @@ public class EntityListenerManager
 	private static Logger logger = LogManager.getLogger(EntityListenerManager.class);
 	
 	/**
-	 * Holds handlers grouped by entity-type and event-type
+	 * Empty listener array, used when no listeners are registered for an event
 	 */
-	private Map<String, List<EntityListener>> typeToListeners = new HashMap<>();
+	private static final EntityListener NO_LISTENERS[] = new EntityListener[0];
 	
 	/**
-	 * Add listener details with specified key
-	 * @param key
-	 * @param details
+	 * Holds entity specific handlers grouped by entity-type and event-type
 	 */
-	private void addListenerDetails(String key, EntityListener details)
+	private Map<Class<?>, Map<EntityEventType, List<EntityListener>>> typeToListeners = new HashMap<>();
+	
+	/**
+	 * Holds handlers which are applicable for all entity types
+	 */
+	private Map<EntityEventType, List<EntityListener>> genericListeners = new EnumMap<>(EntityEventType.class);
+	
+	/**
+	 * Resolved listeners by entity type. The array is indexed by event type ordinal, and contains entity specific listeners
+	 * followed by generic listeners. Cleared when new listeners are registered.
+	 */
+	private Map<Class<?>, EntityListener[][]> resolvedListeners = new ConcurrentHashMap<>();
+	
+	/**
+	 * Dispatcher for post events, if async dispatch is enabled
+	 */
+	private volatile AsyncEventDispatcher asyncEventDispatcher;
+	
+	/**
+	 * Add listener details for specified event type to specified map
+	 * @param listenerMap map to which listener should be added
+	 * @param eventType event type of the listener
+	 * @param details listener details
+	 */
+	private void addListenerDetails(Map<EntityEventType, List<EntityListener>> listenerMap, EntityEventType eventType, EntityListener details)
 	{
-		List<EntityListener> detailsLst = typeToListeners.get(key);
+		List<EntityListener> detailsLst = listenerMap.get(eventType);
 		
-		//for specified key if list is not already existing
+		//for specified event type if list is not already existing
 		if(detailsLst == null)
 		{
 			detailsLst = new ArrayList<>();
-			typeToListeners.put(key, detailsLst);
+			listenerMap.put(eventType, detailsLst);
 		}
 		
 		detailsLst.add(details);
@@ -47,7 +75,7 @@ public class EntityListenerManager
 	 * Registers specified listener container object
 	 * @param listenerContainerObject
 	 */
-	public void registerListener(Object listenerContainerObject)
+	public synchronized void registerListener(Object listenerContainerObject)
 	{
 		Method methods[] = listenerContainerObject.getClass().getMethods();
 		Class<?> argTypes[] = null;
@@ -88,7 +116,7 @@ public class EntityListenerManager
 			{
 				logger.debug("Registering '{}.{}()' to handle {} event for all types of entities", 
 							listenerContainerObject.getClass().getName(), method.getName(), entityEventHandler.eventType());
-				addListenerDetails(entityEventHandler.eventType().name(), new EntityListener(listenerContainerObject, method, (argTypes.length == 1) ));
+				addListenerDetails(genericListeners, entityEventHandler.eventType(), new EntityListener(listenerContainerObject, method, (argTypes.length == 1) ));
 				continue;
 			}
 			
@@ -97,10 +125,136 @@ public class EntityListenerManager
 			{
 				logger.debug("Registering '{}.{}()' to handle {} event for entity type - {}", 
 						listenerContainerObject.getClass().getName(), method.getName(), entityEventHandler.eventType(), entityType.getName());
-				addListenerDetails(entityType.getName() + "@" + entityEventHandler.eventType(), 
-						new EntityListener(listenerContainerObject, method, (argTypes.length == 1)) );
+				addListenerDetails(typeToListeners.computeIfAbsent(entityType, type -> new EnumMap<>(EntityEventType.class)), 
+						entityEventHandler.eventType(), new EntityListener(listenerContainerObject, method, (argTypes.length == 1)) );
+			}
+		}
+		
+		//force resolution of listeners with new registrations
+		resolvedListeners.clear();
+	}
+	
+	/**
+	 * Resolves listeners of specified entity type for all event types.
+	 * @param entityType Entity type for which listeners needs to be resolved
+	 * @return Listeners indexed by event type ordinal
+	 */
+	private synchronized EntityListener[][] resolveListeners(Class<?> entityType)
+	{
+		EntityListener resolved[][] = resolvedListeners.get(entityType);
+		
+		//if resolved by other thread
+		if(resolved != null)
+		{
+			return resolved;
+		}
+		
+		EntityEventType eventTypes[] = EntityEventType.values();
+		Map<EntityEventType, List<EntityListener>> entityListeners = typeToListeners.get(entityType);
+		List<EntityListener> listeners = null;
+		
+		resolved = new EntityListener[eventTypes.length][];
+		
+		for(EntityEventType eventType : eventTypes)
+		{
+			listeners = new ArrayList<>();
+			
+			if(entityListeners != null && entityListeners.containsKey(eventType))
+			{
+				listeners.addAll(entityListeners.get(eventType));
 			}
+			
+			if(genericListeners.containsKey(eventType))
+			{
+				listeners.addAll(genericListeners.get(eventType));
+			}
+			
+			resolved[eventType.ordinal()] = listeners.isEmpty() ? NO_LISTENERS : listeners.toArray(new EntityListener[0]);
 		}
+		
+		resolvedListeners.put(entityType, resolved);
+		return resolved;
+	}
+	
+	/**
+	 * Fetches listeners to be invoked for specified entity type and event type.
+	 * @param entityType Entity type
+	 * @param eventType Event type
+	 * @return Listeners to be invoked, empty array if none
+	 */
+	private EntityListener[] getListeners(Class<?> entityType, EntityEventType eventType)
+	{
+		EntityListener resolved[][] = resolvedListeners.get(entityType);
+		
+		if(resolved == null)
+		{
+			resolved = resolveListeners(entityType);
+		}
+		
+		return resolved[eventType.ordinal()];
+	}
+	
+	/**
+	 * Invokes specified listeners with specified event. Errors from listeners are logged and ignored.
+	 * @param listeners Listeners to be invoked
+	 * @param event Event to pass
+	 */
+	static void invokeListeners(EntityListener listeners[], EntityEvent event)
+	{
+		for(EntityListener listener : listeners)
+		{
+			try
+			{
+				listener.invoke(event);
+			}catch(Exception ex)
+			{
+				logger.error("An error occurred while invoking event handler - " + listener, ex);
+			}
+		}
+	}
+	
+	/**
+	 * Enables asynchronous dispatch of post-operation events (POST_SAVE, POST_UPDATE and POST_DELETE). Post events raised within a transaction
+	 * are dispatched after the transaction is committed and are discarded if the transaction is rolled back. Pre-operation events are
+	 * always dispatched synchronously.
+	 * @param threadCount Number of threads to be used for dispatching
+	 * @param queueSize Maximum number of event batches to queue. When the queue is full, events are dispatched by the committing thread.
+	 */
+	public synchronized void enableAsyncDispatch(int threadCount, int queueSize)
+	{
+		if(asyncEventDispatcher != null)
+		{
+			throw new IllegalStateException("Async dispatch is already enabled");
+		}
+		
+		asyncEventDispatcher = new AsyncEventDispatcher(threadCount, queueSize);
+	}
+	
+	/**
+	 * Disables asynchronous dispatch, if enabled, and waits for queued events to be dispatched.
+	 * @param timeoutMillis Maximum time to wait for queued events
+	 * @return true, if all queued events are dispatched within specified time
+	 */
+	public synchronized boolean disableAsyncDispatch(long timeoutMillis)
+	{
+		AsyncEventDispatcher dispatcher = this.asyncEventDispatcher;
+		
+		if(dispatcher == null)
+		{
+			return true;
+		}
+		
+		this.asyncEventDispatcher = null;
+		return dispatcher.shutdown(timeoutMillis);
+	}
+	
+	/**
+	 * Checks if async dispatch of post events is enabled.
+	 * @return true, if async dispatch is enabled
+	 */
+	public boolean isAsyncDispatchEnabled()
+	{
+		return (asyncEventDispatcher != null);
 	}
 	
 	/**
@@ -112,46 +266,24 @@ public class EntityListenerManager
 	public void handleEventType(Class<?> entityType, RepositoryFactory factory, 
 			Object key, Object entity, EntityEventType eventType)
 	{
-		List<EntityListener> listenerLst = typeToListeners.get(entityType.getName() + "@" + eventType);
-		List<EntityListener> genericListenerLst = typeToListeners.get(eventType.toString());
+		EntityListener listeners[] = getListeners(entityType, eventType);
 		
 		//if no handlers are present
-		if(listenerLst == null && genericListenerLst == null)
+		if(listeners.length == 0)
 		{
 			return;
 		}
 		
 		EntityEvent event = new EntityEvent(entity, eventType, factory);
+		AsyncEventDispatcher dispatcher = this.asyncEventDispatcher;
 		
-		//if available, invoke entity specific handlers
-		if(listenerLst != null)
+		if(dispatcher != null && eventType.isPostEvent())
 		{
-			for(EntityListener listener : listenerLst)
-			{
-				try
-				{
-					listener.invoke(event);
-				}catch(Exception ex)
-				{
-					logger.error("An error occurred while invoking event handler - " + listener, ex);
-				}
-			}
+			dispatcher.dispatch(entityType, event, listeners, factory.getDataStore().getTransactionManager());
+			return;
 		}
 		
-		//if available, invoke generic handlers
-		if(genericListenerLst != null)
-		{
-			for(EntityListener listener : genericListenerLst)
-			{
-				try
-				{
-					listener.invoke(event);
-				}catch(Exception ex)
-				{
-					logger.error("An error occurred while invoking generic event handler - " + listener, ex);
-				}
-			}
-		}
+		invokeListeners(listeners, event);
 	}
 	
 	/**
@@ -162,15 +294,6 @@ public class EntityListenerManager
 	 */
 	public boolean isListenerPresent(Class<?> entityType, EntityEventType eventType)
 	{
-		List<EntityListener> listenerLst = typeToListeners.get(entityType.getName() + "@" + eventType);
-		List<EntityListener> genericListenerLst = typeToListeners.get(eventType.toString());
-		
-		//if no handlers are present
-		if(listenerLst == null && genericListenerLst == null)
-		{
-			return false;
-		}
-		
-		return true;
+		return (getListeners(entityType, eventType).length > 0);
 	}
 }
@@ -0,0 +1,91 @@
+package com.yukthi.persistence.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free histogram with power-of-two buckets. Bucket i holds values in range [2^(i-1), 2^i), so percentiles
+ * are approximate (with max error of 2x), which is sufficient to find slow operations.
+ * @author akiran
+ */
+public class Histogram
+{
+	private static final int BUCKET_COUNT = 64;
+	
+	private AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+	
+	private LongAdder count = new LongAdder();
+	
+	private LongAdder sum = new LongAdder();
+	
+	private LongAccumulator max = new LongAccumulator(Math::max, 0);
+	
+	/**
+	 * Records specified value. Negative values are recorded as zero.
+	 * @param value Value to record
+	 */
+	public void record(long value)
+	{
+		if(value < 0)
+		{
+			value = 0;
+		}
+		
+		buckets.incrementAndGet(BUCKET_COUNT - Long.numberOfLeadingZeros(value));
+		count.increment();
+		sum.add(value);
+		max.accumulate(value);
+	}
+	
+	/**
+	 * Computes approximate value at specified percentile, from specified bucket counts.
+	 */
+	private static long percentile(long bucketCounts[], long total, double percentile, long max)
+	{
+		long required = (long)Math.ceil(total * percentile / 100.0);
+		long cumulative = 0;
+		
+		for(int i = 0; i < bucketCounts.length; i++)
+		{
+			cumulative += bucketCounts[i];
+			
+			if(cumulative >= required)
+			{
+				//upper bound of the bucket, limited by max value
+				long upperBound = (i == 0) ? 0 : (1L << i) - 1;
+				return Math.min(upperBound, max);
+			}
+		}
+		
+		return max;
+	}
+	
+	/**
+	 * Takes snapshot of current values. Values recorded concurrently may be partially reflected.
+	 * @return Current snapshot
+	 */
+	public HistogramSnapshot snapshot()
+	{
+		long bucketCounts[] = new long[BUCKET_COUNT];
+		long total = 0;
+		
+		for(int i = 0; i < BUCKET_COUNT; i++)
+		{
+			bucketCounts[i] = buckets.get(i);
+			total += bucketCounts[i];
+		}
+		
+		if(total == 0)
+		{
+			return new HistogramSnapshot(0, 0, 0, 0, 0, 0);
+		}
+		
+		long maxValue = max.get();
+		
+		return new HistogramSnapshot(total, sum.sum() / (double)total, maxValue, 
+				percentile(bucketCounts, total, 50, maxValue), 
+				percentile(bucketCounts, total, 90, maxValue), 
+				percentile(bucketCounts, total, 99, maxValue));
+	}
+}
@@ -0,0 +1,255 @@
+package com.yukthi.persistence.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.yukthi.utils.exceptions.InvalidStateException;
+
+/**
+ * Metrics implementation which maintains in-memory histograms of timings and counters. Timings are
+ * maintained in micro seconds. Collected metrics can be accessed over JMX by setting {@link #setObjectName(String)}.
+ * @author akiran
+ */
+public class HistogramPersistenceMetrics implements IPersistenceMetrics, PersistenceMetricsMXBean
+{
+	private static Logger logger = LogManager.getLogger(HistogramPersistenceMetrics.class);
+	
+	/**
+	 * Default object name used for JMX registration
+	 */
+	public static final String DEFAULT_OBJECT_NAME = "com.yukthi.persistence:type=PersistenceMetrics";
+	
+	private static final String TEMPLATE_RENDER = "templateRender:";
+	private static final String PREPARE = "prepare:";
+	private static final String EXECUTE = "execute:";
+	private static final String ROWS_FETCHED = "rowsFetched:";
+	private static final String ROW_MAPPING = "rowMapping:";
+	private static final String ROWS_MAPPED = "rowsMapped:";
+	private static final String LAZY_LOAD = "lazyLoad:";
+	private static final String LAZY_LOADS = "lazyLoads:";
+	private static final String LAZY_LOADED_ENTITIES = "lazyLoadedEntities:";
+	private static final String TRANSACTION = "transaction:";
+	private static final String REPOSITORY = "repository:";
+	private static final String REPOSITORY_ERRORS = "repositoryErrors:";
+	
+	/**
+	 * Timing histograms by metric name
+	 */
+	private Map<String, Histogram> timings = new ConcurrentHashMap<>();
+	
+	/**
+	 * Counters by metric name
+	 */
+	private Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+	
+	/**
+	 * Object name with which this instance is registered with JMX
+	 */
+	private ObjectName objectName;
+	
+	/**
+	 * Registers this instance with platform mbean server using specified object name. If this instance is already registered
+	 * with different name, the earlier registration is removed.
+	 * @param name Object name to use, {@link #DEFAULT_OBJECT_NAME} can be used as default
+	 */
+	public synchronized void setObjectName(String name)
+	{
+		unregister();
+		
+		try
+		{
+			ObjectName newName = new ObjectName(name);
+			MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+			
+			//if an earlier instance is registered with same name (like in redeployments) replace it
+			if(mbeanServer.isRegistered(newName))
+			{
+				logger.warn("Replacing existing mbean registered with name - {}", name);
+				mbeanServer.unregisterMBean(newName);
+			}
+			
+			mbeanServer.registerMBean(this, newName);
+			this.objectName = newName;
+		}catch(Exception ex)
+		{
+			throw new InvalidStateException(ex, "An error occurred while registering persistence metrics with name - {}", name);
+		}
+	}
+	
+	/**
+	 * Gets the object name with which this instance is registered with JMX.
+	 * @return Object name, null if not registered
+	 */
+	public synchronized String getObjectName()
+	{
+		return (objectName != null) ? objectName.toString() : null;
+	}
+	
+	/**
+	 * Removes JMX registration of this instance, if any.
+	 */
+	public synchronized void unregister()
+	{
+		if(objectName == null)
+		{
+			return;
+		}
+		
+		try
+		{
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+		}catch(Exception ex)
+		{
+			logger.warn("An error occurred while unregistering persistence metrics - {}", objectName, ex);
+		}
+		
+		objectName = null;
+	}
+	
+	private void recordTime(String name, long timeTaken)
+	{
+		timings.computeIfAbsent(name, key -> new Histogram()).record(TimeUnit.NANOSECONDS.toMicros(timeTaken));
+	}
+	
+	private void increment(String name, long value)
+	{
+		counters.computeIfAbsent(name, key -> new LongAdder()).add(value);
+	}
+	
+	@Override
+	public boolean isEnabled()
+	{
+		return true;
+	}
+	
+	@Override
+	public void templateRendered(String operation, long timeTaken)
+	{
+		recordTime(TEMPLATE_RENDER + operation, timeTaken);
+	}
+	
+	@Override
+	public void statementPrepared(String operation, long timeTaken)
+	{
+		recordTime(PREPARE + operation, timeTaken);
+	}
+	
+	@Override
+	public void statementExecuted(String operation, long timeTaken)
+	{
+		recordTime(EXECUTE + operation, timeTaken);
+	}
+	
+	@Override
+	public void rowsFetched(String operation, int rowCount)
+	{
+		increment(ROWS_FETCHED + operation, rowCount);
+	}
+	
+	@Override
+	public void rowsMapped(Class<?> resultType, int rowCount, long timeTaken)
+	{
+		recordTime(ROW_MAPPING + resultType.getName(), timeTaken);
+		increment(ROWS_MAPPED + resultType.getName(), rowCount);
+	}
+	
+	@Override
+	public void lazyLoaded(Class<?> entityType, int entityCount, long timeTaken)
+	{
+		recordTime(LAZY_LOAD + entityType.getName(), timeTaken);
+		increment(LAZY_LOADS + entityType.getName(), 1);
+		increment(LAZY_LOADED_ENTITIES + entityType.getName(), entityCount);
+	}
+	
+	@Override
+	public void transactionCompleted(boolean committed, long duration)
+	{
+		recordTime(TRANSACTION + (committed ? "committed" : "rolledBack"), duration);
+	}
+	
+	@Override
+	public void repositoryMethodExecuted(Class<?> repositoryType, String method, long timeTaken, boolean failed)
+	{
+		String name = repositoryType.getName() + "." + method;
+		recordTime(REPOSITORY + name, timeTaken);
+		
+		if(failed)
+		{
+			increment(REPOSITORY_ERRORS + name, 1);
+		}
+	}
+	
+	/**
+	 * Fetches timing histogram snapshot of specified metric.
+	 * @param name Metric name
+	 * @return Snapshot, null if no values are recorded with specified name
+	 */
+	public HistogramSnapshot getTiming(String name)
+	{
+		Histogram histogram = timings.get(name);
+		return (histogram != null) ? histogram.snapshot() : null;
+	}
+	
+	/**
+	 * Fetches value of specified counter.
+	 * @param name Counter name
+	 * @return Counter value, zero if counter is not found
+	 */
+	public long getCounter(String name)
+	{
+		LongAdder counter = counters.get(name);
+		return (counter != null) ? counter.sum() : 0;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.yukthi.persistence.metrics.PersistenceMetricsMXBean#getTimings()
+	 */
+	@Override
+	public Map<String, HistogramSnapshot> getTimings()
+	{
+		Map<String, HistogramSnapshot> snapshots = new TreeMap<>();
+		
+		for(Map.Entry<String, Histogram> entry : timings.entrySet())
+		{
+			snapshots.put(entry.getKey(), entry.getValue().snapshot());
+		}
+		
+		return snapshots;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.yukthi.persistence.metrics.PersistenceMetricsMXBean#getCounters()
+	 */
+	@Override
+	public Map<String, Long> getCounters()
+	{
+		Map<String, Long> values = new TreeMap<>();
+		
+		for(Map.Entry<String, LongAdder> entry : counters.entrySet())
+		{
+			values.put(entry.getKey(), entry.getValue().sum());
+		}
+		
+		return values;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.yukthi.persistence.metrics.PersistenceMetricsMXBean#reset()
+	 */
+	@Override
+	public void reset()
+	{
+		timings.clear();
+		counters.clear();
+	}
+}
@@ -0,0 +1,102 @@
+package com.yukthi.persistence.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Point in time values of a {@link Histogram}. Exposed over JMX as composite data.
+ * @author akiran
+ */
+public class HistogramSnapshot
+{
+	private long count;
+	
+	private double mean;
+	
+	private long max;
+	
+	private long percentile50;
+	
+	private long percentile90;
+	
+	private long percentile99;
+	
+	@ConstructorProperties({"count", "mean", "max", "percentile50", "percentile90", "percentile99"})
+	public HistogramSnapshot(long count, double mean, long max, long percentile50, long percentile90, long percentile99)
+	{
+		this.count = count;
+		this.mean = mean;
+		this.max = max;
+		this.percentile50 = percentile50;
+		this.percentile90 = percentile90;
+		this.percentile99 = percentile99;
+	}
+	
+	/**
+	 * Gets the number of values recorded.
+	 *
+	 * @return the number of values recorded
+	 */
+	public long getCount()
+	{
+		return count;
+	}
+	
+	/**
+	 * Gets the mean of recorded values.
+	 *
+	 * @return the mean of recorded values
+	 */
+	public double getMean()
+	{
+		return mean;
+	}
+	
+	/**
+	 * Gets the maximum recorded value.
+	 *
+	 * @return the maximum recorded value
+	 */
+	public long getMax()
+	{
+		return max;
+	}
+	
+	/**
+	 * Gets the approximate median.
+	 *
+	 * @return the approximate median
+	 */
+	public long getPercentile50()
+	{
+		return percentile50;
+	}
+	
+	/**
+	 * Gets the approximate 90th percentile.
+	 *
+	 * @return the approximate 90th percentile
+	 */
+	public long getPercentile90()
+	{
+		return percentile90;
+	}
+	
+	/**
+	 * Gets the approximate 99th percentile.
+	 *
+	 * @return the approximate 99th percentile
+	 */
+	public long getPercentile99()
+	{
+		return percentile99;
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		return String.format("[Count: %s, Mean: %.2f, Max: %s, P50: %s, P90: %s, P99: %s]", count, mean, max, percentile50, percentile90, percentile99);
+	}
+}
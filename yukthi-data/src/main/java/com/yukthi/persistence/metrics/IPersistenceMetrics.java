@@ -0,0 +1,81 @@
+package com.yukthi.persistence.metrics;
+
+/**
+ * Instrumentation hooks invoked during persistence query life cycle. Implementations are expected to be thread safe
+ * and fast, as the hooks are invoked from query execution paths.
+ * <p>
+ * Callers compute timings only when {@link #isEnabled()} returns true, so that disabled metrics
+ * do not add any overhead.
+ * <p>
+ * All the time values are in nano seconds.
+ * @author akiran
+ */
+public interface IPersistenceMetrics
+{
+	/**
+	 * Indicates whether metrics should be collected. When false, callers are expected to skip time computations
+	 * and hook invocations.
+	 * @return true if metrics are collected
+	 */
+	public boolean isEnabled();
+	
+	/**
+	 * Invoked after query template is rendered into query.
+	 * @param operation Template or query name
+	 * @param timeTaken Time taken for rendering
+	 */
+	public void templateRendered(String operation, long timeTaken);
+	
+	/**
+	 * Invoked after statement is prepared (or fetched from statement cache).
+	 * @param operation Template or query name
+	 * @param timeTaken Time taken for preparation
+	 */
+	public void statementPrepared(String operation, long timeTaken);
+	
+	/**
+	 * Invoked after statement is executed.
+	 * @param operation Template or query name
+	 * @param timeTaken Time taken for execution
+	 */
+	public void statementExecuted(String operation, long timeTaken);
+	
+	/**
+	 * Invoked after rows of a query result are read.
+	 * @param operation Template or query name
+	 * @param rowCount Number of rows read
+	 */
+	public void rowsFetched(String operation, int rowCount);
+	
+	/**
+	 * Invoked after records are mapped into result objects.
+	 * @param resultType Type to which records are mapped
+	 * @param rowCount Number of records mapped
+	 * @param timeTaken Time taken for mapping
+	 */
+	public void rowsMapped(Class<?> resultType, int rowCount, long timeTaken);
+	
+	/**
+	 * Invoked when a lazy proxy triggers loading of entities.
+	 * @param entityType Type of entities loaded
+	 * @param entityCount Number of entities loaded by single load
+	 * @param timeTaken Time taken for loading
+	 */
+	public void lazyLoaded(Class<?> entityType, int entityCount, long timeTaken);
+	
+	/**
+	 * Invoked when a transaction is completed.
+	 * @param committed true if transaction is committed, false if rolled back
+	 * @param duration Time from transaction start to its completion
+	 */
+	public void transactionCompleted(boolean committed, long duration);
+	
+	/**
+	 * Invoked after execution of a repository method.
+	 * @param repositoryType Repository type
+	 * @param method Name of the method executed
+	 * @param timeTaken Time taken for execution
+	 * @param failed true if method execution resulted in error
+	 */
+	public void repositoryMethodExecuted(Class<?> repositoryType, String method, long timeTaken, boolean failed);
+}
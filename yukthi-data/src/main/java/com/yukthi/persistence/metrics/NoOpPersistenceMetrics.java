@@ -0,0 +1,55 @@
+package com.yukthi.persistence.metrics;
+
+/**
+ * Default metrics implementation, which ignores all the events. As {@link #isEnabled()} returns false, callers 
+ * skip time computations.
+ * @author akiran
+ */
+public final class NoOpPersistenceMetrics implements IPersistenceMetrics
+{
+	/**
+	 * Shared instance
+	 */
+	public static final NoOpPersistenceMetrics INSTANCE = new NoOpPersistenceMetrics();
+	
+	private NoOpPersistenceMetrics()
+	{}
+	
+	@Override
+	public boolean isEnabled()
+	{
+		return false;
+	}
+	
+	@Override
+	public void templateRendered(String operation, long timeTaken)
+	{}
+	
+	@Override
+	public void statementPrepared(String operation, long timeTaken)
+	{}
+	
+	@Override
+	public void statementExecuted(String operation, long timeTaken)
+	{}
+	
+	@Override
+	public void rowsFetched(String operation, int rowCount)
+	{}
+	
+	@Override
+	public void rowsMapped(Class<?> resultType, int rowCount, long timeTaken)
+	{}
+	
+	@Override
+	public void lazyLoaded(Class<?> entityType, int entityCount, long timeTaken)
+	{}
+	
+	@Override
+	public void transactionCompleted(boolean committed, long duration)
+	{}
+	
+	@Override
+	public void repositoryMethodExecuted(Class<?> repositoryType, String method, long timeTaken, boolean failed)
+	{}
+}
@@ -0,0 +1,28 @@
+package com.yukthi.persistence.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link HistogramPersistenceMetrics}.
+ * @author akiran
+ */
+public interface PersistenceMetricsMXBean
+{
+	/**
+	 * Fetches timing histograms (in micro seconds) mapped by metric name. Metric names are of format 
+	 * "&lt;metric-type&gt;:&lt;operation&gt;", like "execute:finderTemplate" or "repository:com.app.IEmpRepository.findByName".
+	 * @return Timing histograms
+	 */
+	public Map<String, HistogramSnapshot> getTimings();
+	
+	/**
+	 * Fetches counters mapped by metric name, like "rowsFetched:finderTemplate" or "lazyLoads:com.app.Employee".
+	 * @return Counters
+	 */
+	public Map<String, Long> getCounters();
+	
+	/**
+	 * Clears all the collected metrics.
+	 */
+	public void reset();
+}
@@ -0,0 +1,225 @@
+package com.yukthi.persistence.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.yukthi.persistence.EntityDetails;
+
+/**
+ * Base class for queries on child table rows, which refer to parent table rows matching with parent conditions.
+ * Parent table can in turn be linked to its ancestors (using {@link #linkToParentQuery(AbstractChildQuery)}), in which case
+ * parent conditions are applied on the top most ancestor table.
+ * @author akiran
+ */
+public abstract class AbstractChildQuery extends Query implements IChildQuery
+{
+	/**
+	 * Link between a table and its parent table.
+	 * @author akiran
+	 */
+	public static class ParentLink
+	{
+		/**
+		 * Parent table name
+		 */
+		private String parentTableName;
+		
+		/**
+		 * Columns of child table referring to parent table
+		 */
+		private List<String> childColumns;
+		
+		/**
+		 * Columns of parent table being referred
+		 */
+		private List<String> parentColumns;
+
+		public ParentLink(String parentTableName, List<String> childColumns, List<String> parentColumns)
+		{
+			this.parentTableName = parentTableName;
+			this.childColumns = childColumns;
+			this.parentColumns = parentColumns;
+		}
+
+		public String getParentTableName()
+		{
+			return parentTableName;
+		}
+
+		public List<String> getChildColumns()
+		{
+			return childColumns;
+		}
+
+		public List<String> getParentColumns()
+		{
+			return parentColumns;
+		}
+	}
+	
+	private List<QueryCondition> childConditions = new ArrayList<>();
+	private List<QueryCondition> parentConditions = new ArrayList<>();
+
+	private EntityDetails childEntityDetails;
+	private EntityDetails parentEntityDetails;
+
+	private List<String> childColumns = new ArrayList<>();
+	private List<String> parentColumns = new ArrayList<>();
+	
+	/**
+	 * Links from parent table till the top most ancestor table, on which parent conditions are applied
+	 */
+	private List<ParentLink> ancestorLinks = new ArrayList<>();
+	
+	public AbstractChildQuery(EntityDetails childEntityDetails, EntityDetails parentEntityDetails)
+	{
+		super(childEntityDetails);
+
+		this.childEntityDetails = childEntityDetails;
+		this.parentEntityDetails = parentEntityDetails;
+	}
+
+	public EntityDetails getChildEntityDetails()
+	{
+		return childEntityDetails;
+	}
+	
+	public EntityDetails getParentEntityDetails()
+	{
+		return parentEntityDetails;
+	}
+
+	public String getChildTableName()
+	{
+		return childEntityDetails.getTableName();
+	}
+
+	public String getParentTableName()
+	{
+		return parentEntityDetails.getTableName();
+	}
+
+	/**
+	 * Adds value to {@link #childConditions Conditions}
+	 *
+	 * @param condition condition to be added
+	 */
+	public void addChildCondition(QueryCondition condition)
+	{
+		if(childConditions == null)
+		{
+			childConditions = new ArrayList<QueryCondition>();
+		}
+
+		childConditions.add(condition);
+	}
+
+	public List<QueryCondition> getChildConditions()
+	{
+		return childConditions;
+	}
+
+	/** 
+	 * Adds value to {@link #parentConditions parent Conditions}
+	 *
+	 * @param condition condition to be added
+	 */
+	public void addParentCondition(QueryCondition condition)
+	{
+		if(parentConditions == null)
+		{
+			parentConditions = new ArrayList<QueryCondition>();
+		}
+
+		parentConditions.add(condition);
+	}
+
+	public List<QueryCondition> getParentConditions()
+	{
+		return parentConditions;
+	}
+
+	public void addMapping(String childColumn, String parentColumn)
+	{
+		childColumns.add(childColumn);
+		parentColumns.add(parentColumn);
+	}
+
+	public List<String> getChildColumns()
+	{
+		return childColumns;
+	}
+	
+	public List<String> getParentColumns()
+	{
+		return parentColumns;
+	}
+	
+	/**
+	 * Links this query's parent table to the tables of specified parent query, whose child table
+	 * should be the parent table of this query. Parent conditions of the parent query are copied to this query,
+	 * so that the rows of this query are restricted to the descendants of the top most ancestor rows.
+	 * 
+	 * Note: Child conditions of parent query are not carried.
+	 * 
+	 * @param parentQuery Parent query to link to
+	 */
+	public void linkToParentQuery(AbstractChildQuery parentQuery)
+	{
+		ancestorLinks.add(new ParentLink(parentQuery.getParentTableName(), parentQuery.childColumns, parentQuery.parentColumns));
+		ancestorLinks.addAll(parentQuery.ancestorLinks);
+		
+		for(QueryCondition condition : parentQuery.parentConditions)
+		{
+			addParentCondition(condition.clone());
+		}
+	}
+	
+	public List<ParentLink> getAncestorLinks()
+	{
+		return ancestorLinks;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.yukthi.persistence.query.Query#getQueryShape()
+	 */
+	@Override
+	public String getQueryShape()
+	{
+		StringBuilder builder = new StringBuilder(getClass().getName());
+		builder.append("|").append(getChildTableName()).append(childColumns);
+		builder.append("|").append(getParentTableName()).append(parentColumns);
+		
+		for(ParentLink link : ancestorLinks)
+		{
+			builder.append("|").append(link.childColumns).append(link.parentTableName).append(link.parentColumns);
+		}
+		
+		builder.append("|C");
+		appendShape(childConditions, builder);
+		
+		builder.append("|P");
+		appendShape(parentConditions, builder);
+		
+		return builder.toString();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder(super.toString());
+		builder.append("[Child Conditions: ");
+
+		toString(childConditions, builder);
+		
+		builder.append(" || Parent Conditions: ");
+
+		toString(parentConditions, builder);
+
+		builder.append("]");
+		return builder.toString();
+	}
+}
@@ -138,6 +138,49 @@ public abstract class AbstractConditionalQuery extends Query implements IConditi
 	}
 	*/
 	
+	/* (non-Javadoc)
+	 * @see com.yukthi.persistence.query.Query#getQueryShape()
+	 */
+	@Override
+	public String getQueryShape()
+	{
+		StringBuilder builder = new StringBuilder();
+		appendShape(builder);
+		
+		return builder.toString();
+	}
+	
+	/**
+	 * Appends shape of this query to specified builder. Sub classes having extra structure should override
+	 * this method and append their structure.
+	 * @param builder Builder to which shape needs to be appended
+	 */
+	protected void appendShape(StringBuilder builder)
+	{
+		builder.append(getClass().getName()).append("|").append(getTableName());
+		builder.append("|F{");
+		
+		if(resultFields != null)
+		{
+			for(QueryResultField field : resultFields)
+			{
+				builder.append("[").append(field.getTableCode()).append(".").append(field.getColumn()).append(" ").append(field.getCode()).append("]");
+			}
+		}
+		
+		builder.append("}|J{");
+		
+		for(QueryJoinCondition join : joinConditions)
+		{
+			builder.append("[").append(join.getJoiningTableName()).append(" ").append(join.getJoiningTableCode());
+			builder.append(".").append(join.getJoiningColumn()).append("=").append(join.getParentTableCode());
+			builder.append(".").append(join.getParentColumn()).append(",").append(join.isNullable()).append("]");
+		}
+		
+		builder.append("}|C");
+		appendShape(conditions, builder);
+	}
+	
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
@@ -21,6 +21,15 @@ public class DropTableQuery extends Query
 	{
 		return tableName;
 	}
+	
+	/* (non-Javadoc)
+	 * @see com.yukthi.persistence.query.Query#getQueryShape()
+	 */
+	@Override
+	public String getQueryShape()
+	{
+		return getClass().getName() + "|" + tableName;
+	}
 
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
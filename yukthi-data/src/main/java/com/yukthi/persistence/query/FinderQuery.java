@@ -110,4 +110,26 @@ public class FinderQuery extends AbstractConditionalQuery
 	{
 		return "" + resultsOffset;
 	}
+	
+	/* (non-Javadoc)
+	 * @see com.yukthi.persistence.query.AbstractConditionalQuery#appendShape(java.lang.StringBuilder)
+	 */
+	@Override
+	protected void appendShape(StringBuilder builder)
+	{
+		super.appendShape(builder);
+		
+		builder.append("|O{");
+		
+		if(orderByFields != null)
+		{
+			for(QueryResultField field : orderByFields)
+			{
+				builder.append("[").append(field.getCode()).append(" ").append(field.getOrderByType()).append("]");
+			}
+		}
+		
+		//limits are included, as some dbs need them as part of query string
+		builder.append("}|L").append(resultsOffset).append(",").append(resultsLimit);
+	}
 }
@@ -23,6 +23,37 @@ public abstract class Query
 	{
 		return entityDetails.getTableName();
 	}
+	
+	/**
+	 * Returns the structure of this query (table, columns, condition operators, ordering, etc) which decides
+	 * the query string built out of this query. Values are not part of the shape, so queries differing only
+	 * by values have same shape and same query string.
+	 * @return Shape of this query. Null, if this query does not support shape.
+	 */
+	public String getQueryShape()
+	{
+		return null;
+	}
+	
+	/**
+	 * Appends shape of specified conditions to specified builder.
+	 * @param conditions Conditions whose shape needs to be appended
+	 * @param builder Builder to which shape needs to be appended
+	 */
+	protected static void appendShape(List<QueryCondition> conditions, StringBuilder builder)
+	{
+		builder.append("{");
+		
+		if(conditions != null)
+		{
+			for(QueryCondition condition : conditions)
+			{
+				condition.appendShape(builder);
+			}
+		}
+		
+		builder.append("}");
+	}
 
 	public static void toString(List<QueryCondition> conditions, StringBuilder builder)
 	{
@@ -1,6 +1,8 @@
 package com.yukthi.persistence.query;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import com.yukthi.persistence.repository.annotations.JoinOperator;
@@ -149,6 +151,37 @@ public class QueryCondition implements Cloneable
 	{
 		this.value = value;
 	}
+	
+	/**
+	 * Checks if this condition holds collection of values, which is expected to be used with IN and NOT IN operators.
+	 * @return true if value of this condition is a collection
+	 */
+	public boolean isMultiValued()
+	{
+		return (value instanceof Collection);
+	}
+	
+	/**
+	 * Fetches the values to be bound for this condition. For multi valued condition, elements of the value collection
+	 * are returned, otherwise the value itself is returned as single element list.
+	 * @return Values of this condition
+	 */
+	public List<Object> getValues()
+	{
+		if(!isMultiValued())
+		{
+			return Collections.singletonList(getValue());
+		}
+		
+		List<Object> values = new ArrayList<>();
+		
+		for(Object elem : (Collection<?>)value)
+		{
+			values.add((ignoreCase && (elem instanceof String)) ? ((String)elem).toLowerCase() : elem);
+		}
+		
+		return values;
+	}
 
 	/**
 	 * Gets the joining operator.
@@ -257,12 +290,44 @@ public class QueryCondition implements Cloneable
 		{
 			subquery.fetchQueryParameters(params);
 		}
+		else if(isMultiValued())
+		{
+			params.addAll(getValues());
+		}
 		else
 		{
 			params.add(value);
 		}
 	}
 
+	/**
+	 * Appends the shape of this condition to specified builder. Shape includes everything which affects
+	 * query string, but not the value itself (only its presence and number of values for multi valued condition).
+	 * @param builder Builder to which shape needs to be appended
+	 */
+	void appendShape(StringBuilder builder)
+	{
+		builder.append("[").append(joinOperator);
+		builder.append(",").append(tableCode).append(".").append(column);
+		builder.append(",").append(operator);
+		builder.append(",").append(ignoreCase);
+		builder.append(",").append(isMultiValued() ? ("#" + ((Collection<?>)value).size()) : String.valueOf(value != null));
+		
+		if(subquery != null)
+		{
+			builder.append(",");
+			subquery.appendShape(builder);
+		}
+		
+		if(groupedConditions != null)
+		{
+			builder.append(",");
+			Query.appendShape(groupedConditions, builder);
+		}
+		
+		builder.append("]");
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -34,6 +34,27 @@ public class SaveQuery extends Query
 		return columns;
 	}
 	
+	/* (non-Javadoc)
+	 * @see com.yukthi.persistence.query.Query#getQueryShape()
+	 */
+	@Override
+	public String getQueryShape()
+	{
+		StringBuilder builder = new StringBuilder(getClass().getName());
+		builder.append("|").append(getTableName()).append("|{");
+		
+		if(columns != null)
+		{
+			for(ColumnParam column : columns)
+			{
+				builder.append("[").append(column.getName()).append(" ").append(column.getSequence()).append("]");
+			}
+		}
+		
+		builder.append("}");
+		return builder.toString();
+	}
+	
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
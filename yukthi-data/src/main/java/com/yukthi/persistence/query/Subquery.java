@@ -36,6 +36,17 @@ public class Subquery extends AbstractConditionalQuery
 	{
 		return mainTableCode;
 	}
+	
+	/* (non-Javadoc)
+	 * @see com.yukthi.persistence.query.AbstractConditionalQuery#appendShape(java.lang.StringBuilder)
+	 */
+	@Override
+	protected void appendShape(StringBuilder builder)
+	{
+		builder.append("(");
+		super.appendShape(builder);
+		builder.append("|M").append(mainTableCode).append(")");
+	}
 
 	/**
 	 * Populates the parameters required conditions of this sub query.
@@ -33,5 +33,26 @@ public class UpdateQuery extends AbstractConditionalQuery
 	{
 		return columns;
 	}
+	
+	/* (non-Javadoc)
+	 * @see com.yukthi.persistence.query.AbstractConditionalQuery#appendShape(java.lang.StringBuilder)
+	 */
+	@Override
+	protected void appendShape(StringBuilder builder)
+	{
+		super.appendShape(builder);
+		
+		builder.append("|U{");
+		
+		if(columns != null)
+		{
+			for(UpdateColumnParam column : columns)
+			{
+				builder.append("[").append(column.getName()).append(" ").append(column.getUpdateOperator()).append("]");
+			}
+		}
+		
+		builder.append("}");
+	}
 
 }
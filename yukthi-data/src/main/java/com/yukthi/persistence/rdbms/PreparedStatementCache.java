@@ -0,0 +1,331 @@
+package com.yukthi.persistence.rdbms;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Bounded LRU cache of prepared statements of a single connection. Statements are checked out of the cache
+ * by {@link #prepareStatement(String)} and are returned back to the cache when the caller closes them. As 
+ * statements in use are not part of the cache, eviction never closes a statement which is in use.
+ * 
+ * For pooled connections, cache is bound to the physical connection and is used by multiple transactions one
+ * after another. In such case, {@link #setConnection(Connection)} is used to switch to the connection (handle) of
+ * current transaction and {@link #closeCheckedOutStatements()} is used at the end of the transaction.
+ * 
+ * A connection is used by single thread at a time, so this class is not thread safe.
+ * @author akiran
+ */
+class PreparedStatementCache implements AutoCloseable
+{
+	private static Logger logger = LogManager.getLogger(PreparedStatementCache.class);
+	
+	/**
+	 * Handler for statement proxies handed out by cache, which returns the statement to cache on close.
+	 * @author akiran
+	 */
+	private class CachedStatementHandler implements InvocationHandler
+	{
+		private String query;
+		
+		private PreparedStatement statement;
+		
+		/**
+		 * Cache generation in which statement was checked out
+		 */
+		private int generation;
+		
+		private boolean released = false;
+		
+		public CachedStatementHandler(String query, PreparedStatement statement)
+		{
+			this.query = query;
+			this.statement = statement;
+			this.generation = PreparedStatementCache.this.generation;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+		{
+			String name = method.getName();
+			
+			if("close".equals(name) && method.getParameterCount() == 0)
+			{
+				if(!released)
+				{
+					released = true;
+					release(this);
+				}
+				
+				return null;
+			}
+			
+			if("isClosed".equals(name) && released)
+			{
+				return true;
+			}
+			
+			if(released)
+			{
+				throw new SQLException("Statement is already closed");
+			}
+			
+			try
+			{
+				return method.invoke(statement, args);
+			}catch(InvocationTargetException ex)
+			{
+				throw ex.getTargetException();
+			}
+		}
+	}
+	
+	private Connection connection;
+	
+	/**
+	 * Statements available for reuse, in access order
+	 */
+	private LinkedHashMap<String, PreparedStatement> statements;
+	
+	/**
+	 * Statements currently in use by callers
+	 */
+	private Set<PreparedStatement> checkedOutStatements = Collections.newSetFromMap(new IdentityHashMap<>());
+	
+	/**
+	 * Incremented on every invalidation, statements checked out in older generations are not cached back
+	 */
+	private int generation = 0;
+	
+	private int hitCount = 0;
+	
+	private int missCount = 0;
+	
+	/**
+	 * Statement cache version of transaction manager, which this cache is in sync with
+	 */
+	private long version;
+	
+	private boolean closed = false;
+	
+	public PreparedStatementCache(Connection connection, final int maxSize)
+	{
+		this.connection = connection;
+		
+		this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest)
+			{
+				if(size() <= maxSize)
+				{
+					return false;
+				}
+				
+				closeStatement(eldest.getValue());
+				return true;
+			}
+		};
+	}
+	
+	/**
+	 * Fetches prepared statement for specified query from cache. If not cached, new statement will be prepared.
+	 * Closing the returned statement makes it available in cache for subsequent calls.
+	 * @param query Query for which statement is needed
+	 * @return Prepared statement for the query
+	 * @throws SQLException If statement preparation fails
+	 */
+	public PreparedStatement prepareStatement(String query) throws SQLException
+	{
+		if(closed)
+		{
+			throw new IllegalStateException("Statement cache is already closed");
+		}
+		
+		PreparedStatement statement = statements.remove(query);
+		
+		if(statement != null)
+		{
+			hitCount++;
+		}
+		else
+		{
+			missCount++;
+			statement = connection.prepareStatement(query);
+		}
+		
+		checkedOutStatements.add(statement);
+		
+		return (PreparedStatement) Proxy.newProxyInstance(PreparedStatementCache.class.getClassLoader(), 
+				new Class<?>[] {PreparedStatement.class}, new CachedStatementHandler(query, statement));
+	}
+	
+	/**
+	 * Returns statement of specified handler back to cache. If cache is closed, invalidated after
+	 * statement checkout or if cache is already having statement for same query, the statement will be closed.
+	 * @param handler Handler whose statement needs to be released
+	 */
+	private void release(CachedStatementHandler handler)
+	{
+		PreparedStatement statement = handler.statement;
+		checkedOutStatements.remove(statement);
+		
+		if(closed || handler.generation != generation || statements.containsKey(handler.query))
+		{
+			closeStatement(statement);
+			return;
+		}
+		
+		try
+		{
+			statement.clearParameters();
+			statement.clearBatch();
+		}catch(SQLException ex)
+		{
+			logger.debug("Failed to reset statement for reuse, closing it. Error: {}", "" + ex);
+			closeStatement(statement);
+			return;
+		}
+		
+		statements.put(handler.query, statement);
+	}
+	
+	private void closeStatement(PreparedStatement statement)
+	{
+		try
+		{
+			statement.close();
+		}catch(SQLException ex)
+		{
+			logger.warn("An error occurred while closing cached statement", ex);
+		}
+	}
+	
+	/**
+	 * Closes all cached statements, so that subsequent calls prepare fresh statements. This 
+	 * should be called when underlying db structure is changed (like table drop).
+	 */
+	public void invalidate()
+	{
+		for(PreparedStatement statement : statements.values())
+		{
+			closeStatement(statement);
+		}
+		
+		statements.clear();
+		generation++;
+	}
+	
+	/**
+	 * Sets the connection to be used for preparing new statements. Should be used to switch to the connection handle
+	 * of new transaction, when the cache is bound to a pooled physical connection.
+	 * @param connection Connection to be used
+	 */
+	public void setConnection(Connection connection)
+	{
+		this.connection = connection;
+	}
+	
+	/**
+	 * Closes the statements which are checked out and not yet returned, cached statements are retained. Statements 
+	 * closed by this method will not be cached back, when their callers close them.
+	 */
+	public void closeCheckedOutStatements()
+	{
+		if(checkedOutStatements.isEmpty())
+		{
+			return;
+		}
+		
+		List<PreparedStatement> inUseStatements = new ArrayList<>(checkedOutStatements);
+		checkedOutStatements.clear();
+		generation++;
+		
+		for(PreparedStatement statement : inUseStatements)
+		{
+			closeStatement(statement);
+		}
+	}
+	
+	/**
+	 * Closes all statements of this cache, including the ones in use.
+	 */
+	@Override
+	public void close()
+	{
+		if(closed)
+		{
+			return;
+		}
+		
+		invalidate();
+		closeCheckedOutStatements();
+		
+		closed = true;
+	}
+	
+	/**
+	 * Returns true if this cache is closed.
+	 * @return true if closed
+	 */
+	public boolean isClosed()
+	{
+		return closed;
+	}
+	
+	/**
+	 * Gets the statement cache version of transaction manager, which this cache is in sync with.
+	 *
+	 * @return the version this cache is in sync with
+	 */
+	public long getVersion()
+	{
+		return version;
+	}
+	
+	/**
+	 * Sets the statement cache version of transaction manager, which this cache is in sync with.
+	 *
+	 * @param version the version this cache is in sync with
+	 */
+	public void setVersion(long version)
+	{
+		this.version = version;
+	}
+	
+	/**
+	 * Gets number of statement requests served from cache.
+	 *
+	 * @return the number of statement requests served from cache
+	 */
+	public int getHitCount()
+	{
+		return hitCount;
+	}
+	
+	/**
+	 * Gets number of statement requests which needed fresh statement preparation.
+	 *
+	 * @return the number of statement requests which needed fresh statement preparation
+	 */
+	public int getMissCount()
+	{
+		return missCount;
+	}
+}
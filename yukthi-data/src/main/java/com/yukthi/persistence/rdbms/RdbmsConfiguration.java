@@ -1,25 +1,55 @@
 package com.yukthi.persistence.rdbms;
 
 import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import com.yukthi.ccg.core.ValidateException;
 import com.yukthi.ccg.core.Validateable;
 import com.yukthi.ccg.util.CCGUtility;
 import com.yukthi.persistence.freemarker.ParamCollectorDirective;
+import com.yukthi.persistence.freemarker.ParamCollectorDirective.ParamCollection;
 import com.yukthi.persistence.freemarker.TrimDirective;
+import com.yukthi.persistence.query.Query;
 
+import freemarker.core.Environment;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 
 public class RdbmsConfiguration implements Validateable
 {
+	private static Logger logger = LogManager.getLogger(RdbmsConfiguration.class);
+	
+	/**
+	 * Query string built from a template for a specific query shape, along with the names of 
+	 * params (in order) to be fetched from the context during execution.
+	 * @author akiran
+	 */
+	private static class QueryPlan
+	{
+		private String query;
+		
+		private List<String> paramNames;
+
+		public QueryPlan(String query, List<String> paramNames)
+		{
+			this.query = query;
+			this.paramNames = paramNames;
+		}
+	}
+	
 	public static final String COMMON_CODE = "#commonCode";
 	
 	public static final String CHECK_SEQUENCE_QUERY = "checkSequenceTemplate";
 	public static final String CREATE_SEQUENCE_QUERY = "createSequenceTemplate";
+	public static final String NEXT_SEQUENCE_VALUE_QUERY = "nextSequenceValueTemplate";
 	public static final String CREATE_TABLE = "createTableTemplate";
 	public static final String CREATE_EXTENDED_TABLE = "createExtendedTableTemplate";
 	public static final String CREATE_INDEX = "createIndexTemplate";
@@ -31,6 +61,7 @@ public class RdbmsConfiguration implements Validateable
 	public static final String COUNT_QUERY = "countTemplate";
 	public static final String CHILDREN_EXISTENCE_QUERY = "childrenExistenceTemplate";
 	public static final String FETCH_CHILDREN_IDS_QUERY = "fetchChildrenIdsTemplate";
+	public static final String DELETE_CHILDREN_QUERY = "deleteChildrenTemplate";
 	public static final String DROP_QUERY = "dropTableTemplate";
 
 	public static final String MANDATORY_QUERIES[] = {
@@ -38,32 +69,44 @@ public class RdbmsConfiguration implements Validateable
 		
 		SAVE_QUERY, UPDATE_QUERY, DELETE_QUERY, FINDER_QUERY, COUNT_QUERY, 
 		
-		CHILDREN_EXISTENCE_QUERY, FETCH_CHILDREN_IDS_QUERY,
+		CHILDREN_EXISTENCE_QUERY, FETCH_CHILDREN_IDS_QUERY, DELETE_CHILDREN_QUERY,
 		
 		DROP_QUERY
 	};
 
 	private Map<String, String> queryMap = new HashMap<>();
-	private Map<String, Template> templateMap = new HashMap<>();
+	private Map<String, Template> templateMap = new ConcurrentHashMap<>();
 	
-	private Configuration configuration = new Configuration();
+	/**
+	 * Query plans built so far, keyed by template name and query shape
+	 */
+	private Map<String, QueryPlan> planCache = new ConcurrentHashMap<>();
 	
-	private ParamCollectorDirective paramCollectorDirective = new ParamCollectorDirective();
+	private Configuration configuration = new Configuration();
 	
 	/**
 	 * Indicates whether the target DB supports paging or not
 	 */
 	private boolean pagingSupported = true;
 	
+	/**
+	 * Maximum number of query plans to be cached
+	 */
+	private int maxCachedPlans = 1000;
+	
 	public RdbmsConfiguration()
 	{
 		configuration.setSharedVariable("trim", new TrimDirective());
-		configuration.setSharedVariable("param", paramCollectorDirective);
+		configuration.setSharedVariable("param", new ParamCollectorDirective());
 	}
 	
 	public void addTemplate(String name, String template)
 	{
 		queryMap.put(name, template);
+		
+		//ensure stale templates and plans are not used
+		templateMap.clear();
+		planCache.clear();
 	}
 	
 	private boolean isEmptyQuery(String name)
@@ -91,6 +134,26 @@ public class RdbmsConfiguration implements Validateable
 	{
 		this.pagingSupported = pagingSupported;
 	}
+	
+	/**
+	 * Gets the maximum number of query plans to be cached.
+	 *
+	 * @return the maximum number of query plans to be cached
+	 */
+	public int getMaxCachedPlans()
+	{
+		return maxCachedPlans;
+	}
+
+	/**
+	 * Sets the maximum number of query plans to be cached. Zero disables the caching.
+	 *
+	 * @param maxCachedPlans the new maximum number of query plans to be cached
+	 */
+	public void setMaxCachedPlans(int maxCachedPlans)
+	{
+		this.maxCachedPlans = maxCachedPlans;
+	}
 
 	@Override
 	public void validate() throws ValidateException
@@ -136,39 +199,113 @@ public class RdbmsConfiguration implements Validateable
 		return buildQuery(name, paramValues, CCGUtility.buildMap(contextEntries));
 	}
 	
-	public String buildQuery(String name, List<Object> paramValues, Map<String, Object> context)
+	/**
+	 * Computes the key to be used for caching query plan of specified template and context. If context
+	 * is not made of single query (with shape), null will be returned, indicating plan should not be cached.
+	 * @param name Template name
+	 * @param context Context to be used for building query
+	 * @return Plan key, if plan can be cached
+	 */
+	private String getPlanKey(String name, Map<String, Object> context)
+	{
+		if(maxCachedPlans <= 0 || context == null || context.size() != 1)
+		{
+			return null;
+		}
+		
+		Map.Entry<String, Object> entry = context.entrySet().iterator().next();
+		
+		if(!(entry.getValue() instanceof Query))
+		{
+			return null;
+		}
+		
+		String shape = ((Query) entry.getValue()).getQueryShape();
+		
+		if(shape == null)
+		{
+			return null;
+		}
+		
+		return name + "#" + entry.getKey() + "#" + shape;
+	}
+	
+	private Template getTemplate(String name)
 	{
 		Template template = templateMap.get(name);
 		
-		if(template == null)
+		if(template != null)
 		{
-			try
-			{
-				template = new Template(name, queryMap.get(name), configuration);
-				templateMap.put(name, template);
-			}catch(Exception ex)
+			return template;
+		}
+		
+		try
+		{
+			template = new Template(name, queryMap.get(name), configuration);
+		}catch(Exception ex)
+		{
+			throw new IllegalStateException("An error occurred while loading query template: " + name, ex);
+		}
+		
+		//in case of concurrent loading, first loaded template will be used
+		Template existingTemplate = templateMap.putIfAbsent(name, template);
+		return (existingTemplate != null) ? existingTemplate : template;
+	}
+	
+	public String buildQuery(String name, List<Object> paramValues, Map<String, Object> context)
+	{
+		String planKey = getPlanKey(name, context);
+		QueryPlan plan = (planKey != null) ? planCache.get(planKey) : null;
+		
+		if(plan != null)
+		{
+			if(paramValues != null)
 			{
-				throw new IllegalStateException("An error occurred while loading delete query template", ex);
+				for(String paramName : plan.paramNames)
+				{
+					paramValues.add(ParamCollectorDirective.getParamValue(context, paramName));
+				}
 			}
+			
+			return plan.query;
 		}
 		
+		Template template = getTemplate(name);
+		String query = null;
+		ParamCollection paramCollection = null;
+		
 		try
 		{
-			paramCollectorDirective.reset(context);
-			
 			StringWriter writer = new StringWriter();
-			template.process(context, writer);
+			Environment environment = template.createProcessingEnvironment(context, writer);
 			
-			if(paramValues != null)
-			{
-				paramValues.addAll(paramCollectorDirective.getParamValues());
-			}
+			paramCollection = ParamCollectorDirective.startCollection(environment, context);
+			environment.process();
 			
 			writer.flush();
-			return writer.toString();
+			query = writer.toString();
 		}catch(Exception ex)
 		{
 			throw new IllegalStateException("An exception occurred while building query: " + name, ex);
 		}
+		
+		if(paramValues != null)
+		{
+			paramValues.addAll(paramCollection.getParamValues());
+		}
+		
+		if(planKey != null)
+		{
+			if(planCache.size() < maxCachedPlans)
+			{
+				planCache.put(planKey, new QueryPlan(query, Collections.unmodifiableList(new ArrayList<>(paramCollection.getParamNames()))));
+			}
+			else
+			{
+				logger.debug("Query plan cache is full. Query plan is not cached for key: {}", planKey);
+			}
+		}
+		
+		return query;
 	}
 }
@@ -1,80 +1,22 @@
 package com.yukthi.persistence.rdbms;
 
-import java.io.PrintWriter;
-import java.sql.Connection;
-import java.sql.SQLException;
-import java.sql.SQLFeatureNotSupportedException;
-import java.util.logging.Logger;
-
-import javax.sql.DataSource;
-
-public class RdbmsDataSource implements DataSource
+import com.yukthi.utils.pool.PooledDataSource;
+
+/**
+ * Pooled data source that can be used with {@link RdbmsDataStore}. Connections obtained by {@link RdbmsTransactionManager}
+ * for every transaction are reused from the pool, instead of opening new physical connections.
+ * <p>
+ * For configuration details see {@link PooledDataSource}.
+ * @author akiran
+ */
+public class RdbmsDataSource extends PooledDataSource
 {
 	public RdbmsDataSource()
 	{
 	}
-
-	@Override
-	public PrintWriter getLogWriter() throws SQLException
-	{
-		// TODO Auto-generated method stub
-		return null;
-	}
-
-	@Override
-	public void setLogWriter(PrintWriter out) throws SQLException
-	{
-		// TODO Auto-generated method stub
-		
-	}
-
-	@Override
-	public void setLoginTimeout(int seconds) throws SQLException
-	{
-		// TODO Auto-generated method stub
-		
-	}
-
-	@Override
-	public int getLoginTimeout() throws SQLException
-	{
-		// TODO Auto-generated method stub
-		return 0;
-	}
-
-	@Override
-	public Logger getParentLogger() throws SQLFeatureNotSupportedException
-	{
-		// TODO Auto-generated method stub
-		return null;
-	}
-
-	@Override
-	public <T>T unwrap(Class<T> iface) throws SQLException
-	{
-		// TODO Auto-generated method stub
-		return null;
-	}
-
-	@Override
-	public boolean isWrapperFor(Class<?> iface) throws SQLException
+	
+	public RdbmsDataSource(String driverClassName, String url, String username, String password)
 	{
-		// TODO Auto-generated method stub
-		return false;
+		super(driverClassName, url, username, password);
 	}
-
-	@Override
-	public Connection getConnection() throws SQLException
-	{
-		// TODO Auto-generated method stub
-		return null;
-	}
-
-	@Override
-	public Connection getConnection(String username, String password) throws SQLException
-	{
-		// TODO Auto-generated method stub
-		return null;
-	}
-
 }
@@ -5,6 +5,7 @@ import java.io.CharArrayWriter;
 import java.io.Closeable;
 import java.io.InputStream;
 import java.io.Reader;
+import java.sql.BatchUpdateException;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.Connection;
@@ -16,8 +17,10 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.sql.DataSource;
@@ -29,6 +32,7 @@ import com.yukthi.ccg.xml.XMLBeanParser;
 import com.yukthi.persistence.EntityDetails;
 import com.yukthi.persistence.EntityDetailsFactory;
 import com.yukthi.persistence.IDataStore;
+import com.yukthi.persistence.ICloseableIterator;
 import com.yukthi.persistence.IFinderRecordProcessor;
 import com.yukthi.persistence.IFinderRecordProcessor.Action;
 import com.yukthi.persistence.ITransaction;
@@ -40,22 +44,28 @@ import com.yukthi.persistence.Record;
 import com.yukthi.persistence.TransactionWrapper;
 import com.yukthi.persistence.UnsupportedOperationException;
 import com.yukthi.persistence.conversion.ConversionService;
+import com.yukthi.persistence.query.AbstractChildQuery;
 import com.yukthi.persistence.query.ChildrenExistenceQuery;
 import com.yukthi.persistence.query.ColumnParam;
 import com.yukthi.persistence.query.CountQuery;
 import com.yukthi.persistence.query.CreateExtendedTableQuery;
 import com.yukthi.persistence.query.CreateIndexQuery;
 import com.yukthi.persistence.query.CreateTableQuery;
+import com.yukthi.persistence.query.DeleteChildrenQuery;
 import com.yukthi.persistence.query.DeleteQuery;
 import com.yukthi.persistence.query.DropTableQuery;
 import com.yukthi.persistence.query.FetchChildrenIdsQuery;
 import com.yukthi.persistence.query.FinderQuery;
+import com.yukthi.persistence.query.Query;
 import com.yukthi.persistence.query.QueryCondition;
 import com.yukthi.persistence.query.SaveQuery;
+import com.yukthi.persistence.metrics.IPersistenceMetrics;
+import com.yukthi.persistence.metrics.NoOpPersistenceMetrics;
 import com.yukthi.persistence.query.UpdateQuery;
 import com.yukthi.persistence.rdbms.converters.BlobConverter;
 import com.yukthi.persistence.rdbms.converters.ClobConverter;
 import com.yukthi.utils.ObjectWrapper;
+import com.yukthi.utils.exceptions.InvalidArgumentException;
 
 public class RdbmsDataStore implements IDataStore
 {
@@ -74,6 +84,21 @@ public class RdbmsDataStore implements IDataStore
 	
 	private String templatesName;
 	
+	/**
+	 * Maximum number of statements to be executed as single jdbc batch
+	 */
+	private int batchSize = 500;
+	
+	/**
+	 * Number of rows to be fetched from db at a time, while streaming finder results
+	 */
+	private int fetchSize = 100;
+	
+	/**
+	 * Metrics to which query life cycle events are reported
+	 */
+	private IPersistenceMetrics persistenceMetrics = NoOpPersistenceMetrics.INSTANCE;
+	
 	public RdbmsDataStore(String templatesName)
 	{
 		rdbmsConfig = new RdbmsConfiguration();
@@ -134,13 +159,136 @@ public class RdbmsDataStore implements IDataStore
 		transactionManager.setDataSource(dataSource);
 	}
 	
+	/**
+	 * Sets the maximum number of prepared statements to be cached per connection. Zero disables the caching.
+	 * @param statementCacheSize Statement cache size to use
+	 */
+	public void setStatementCacheSize(int statementCacheSize)
+	{
+		transactionManager.setStatementCacheSize(statementCacheSize);
+	}
+	
+	/**
+	 * Sets the maximum number of statements to be executed as single jdbc batch.
+	 * @param batchSize Batch size to use
+	 */
+	public void setBatchSize(int batchSize)
+	{
+		if(batchSize <= 0)
+		{
+			throw new InvalidArgumentException("Invalid batch size specified: {}", batchSize);
+		}
+		
+		this.batchSize = batchSize;
+	}
+	
+	/**
+	 * Sets the number of rows to be fetched from db at a time, while streaming finder results.
+	 * @param fetchSize Fetch size to use
+	 */
+	public void setFetchSize(int fetchSize)
+	{
+		if(fetchSize <= 0)
+		{
+			throw new InvalidArgumentException("Invalid fetch size specified: {}", fetchSize);
+		}
+		
+		this.fetchSize = fetchSize;
+	}
+	
+	/**
+	 * Sets the metrics to which query life cycle events should be reported. Defaults to no-op metrics.
+	 * @param persistenceMetrics Metrics to use
+	 */
+	public void setPersistenceMetrics(IPersistenceMetrics persistenceMetrics)
+	{
+		if(persistenceMetrics == null)
+		{
+			throw new NullPointerException("Persistence metrics can not be null");
+		}
+		
+		this.persistenceMetrics = persistenceMetrics;
+		transactionManager.setPersistenceMetrics(persistenceMetrics);
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.yukthi.persistence.IDataStore#getPersistenceMetrics()
+	 */
+	@Override
+	public IPersistenceMetrics getPersistenceMetrics()
+	{
+		return persistenceMetrics;
+	}
+	
 	@Override
 	public ITransactionManager<? extends ITransaction> getTransactionManager()
 	{
 		return transactionManager;
 	}
 	
-	private void closeResources(ResultSet rs, Statement statement)
+	/**
+	 * Fetches start time for metric computation. Returns zero, if metrics are disabled.
+	 */
+	private long metricsStartTime()
+	{
+		return persistenceMetrics.isEnabled() ? System.nanoTime() : 0;
+	}
+	
+	/**
+	 * Reports template render time of specified operation, if metrics are enabled.
+	 */
+	private void recordRender(String operation, long startTime)
+	{
+		if(persistenceMetrics.isEnabled())
+		{
+			persistenceMetrics.templateRendered(operation, System.nanoTime() - startTime);
+		}
+	}
+	
+	/**
+	 * Reports statement execution time of specified operation, if metrics are enabled.
+	 */
+	private void recordExecution(String operation, long startTime)
+	{
+		if(persistenceMetrics.isEnabled())
+		{
+			persistenceMetrics.statementExecuted(operation, System.nanoTime() - startTime);
+		}
+	}
+	
+	/**
+	 * Renders specified template with specified query, reporting the render time to metrics.
+	 */
+	private String renderQuery(String templateName, Object query)
+	{
+		long startTime = metricsStartTime();
+		String queryStr = rdbmsConfig.buildQuery(templateName, "query", query);
+		
+		recordRender(templateName, startTime);
+		return queryStr;
+	}
+	
+	/**
+	 * Prepares statement for specified query using specified transaction, reporting the prepare time to metrics.
+	 */
+	private PreparedStatement prepareStatement(RdbmsTransaction transaction, String operation, String query) throws SQLException
+	{
+		long startTime = metricsStartTime();
+		PreparedStatement pstmt = transaction.prepareStatement(query);
+		
+		if(persistenceMetrics.isEnabled())
+		{
+			persistenceMetrics.statementPrepared(operation, System.nanoTime() - startTime);
+		}
+		
+		return pstmt;
+	}
+	
+	/**
+	 * Closes specified result set and statement, if not null. Cached statements should be closed before the transaction
+	 * is committed, so that they are returned to statement cache of the connection. Closing again is harmless.
+	 */
+	void closeResources(ResultSet rs, Statement statement)
 	{
 		try
 		{
@@ -244,6 +392,57 @@ public class RdbmsDataStore implements IDataStore
 		}
 	}
 
+	@Override
+	public boolean isSequenceSupported()
+	{
+		return rdbmsConfig.hasQuery(RdbmsConfiguration.CHECK_SEQUENCE_QUERY) && rdbmsConfig.hasQuery(RdbmsConfiguration.CREATE_SEQUENCE_QUERY)
+				&& rdbmsConfig.hasQuery(RdbmsConfiguration.NEXT_SEQUENCE_VALUE_QUERY);
+	}
+
+	@Override
+	public long nextSequenceValue(String name)
+	{
+		logger.trace("Started method: nextSequenceValue");
+		
+		if(!rdbmsConfig.hasQuery(RdbmsConfiguration.NEXT_SEQUENCE_VALUE_QUERY))
+		{
+			throw new UnsupportedOperationException("Fetching sequence value is not supported by this data-store: " + templatesName);
+		}
+		
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		
+		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
+		{
+			String query = rdbmsConfig.buildQuery(RdbmsConfiguration.NEXT_SEQUENCE_VALUE_QUERY, "name", name);
+			logger.debug("Built next sequence value query as:\n\t {}", query);
+			
+			pstmt = prepareStatement(transaction.getTransaction(), RdbmsConfiguration.NEXT_SEQUENCE_VALUE_QUERY, query);
+			
+			long startTime = metricsStartTime();
+			rs = pstmt.executeQuery();
+			recordExecution(RdbmsConfiguration.NEXT_SEQUENCE_VALUE_QUERY, startTime);
+			
+			if(!rs.next())
+			{
+				throw new PersistenceException("No value returned by sequence: " + name);
+			}
+			
+			long value = rs.getLong(1);
+			
+			closeResources(rs, pstmt);
+			transaction.commit();
+			return value;
+		}catch(Exception ex)
+		{
+			logger.error("An error occurred while fetching next value of sequence: " + name, ex);
+			throw new PersistenceException("An error occurred while fetching next value of sequence: " + name, ex);
+		}finally
+		{
+			closeResources(rs, pstmt);
+		}
+	}
+
 	@Override
 	public void createTable(CreateTableQuery createQuery)
 	{
@@ -262,6 +461,8 @@ public class RdbmsDataStore implements IDataStore
 			logger.debug("Built create-table query as: \n\t{}", query);
 			
 			statement.execute(query);
+			transaction.getTransaction().invalidateStatementCache();
+			
 			transaction.commit();
 		}catch(Exception ex)
 		{
@@ -291,6 +492,8 @@ public class RdbmsDataStore implements IDataStore
 			logger.debug("Built create-extended-table query as: \n\t{}", query);
 			
 			statement.execute(query);
+			transaction.getTransaction().invalidateStatementCache();
+			
 			transaction.commit();
 		}catch(Exception ex)
 		{
@@ -320,6 +523,8 @@ public class RdbmsDataStore implements IDataStore
 			logger.debug("Built create-index query as: \n\t{}", query);
 			
 			statement.execute(query);
+			transaction.getTransaction().invalidateStatementCache();
+			
 			transaction.commit();
 		}catch(Exception ex)
 		{
@@ -352,12 +557,11 @@ public class RdbmsDataStore implements IDataStore
 		
 		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
 		{
-			String query = rdbmsConfig.buildQuery(RdbmsConfiguration.COUNT_QUERY, "query", countQuery);
+			String query = renderQuery(RdbmsConfiguration.COUNT_QUERY, countQuery);
 			
 			logger.debug("Built existence query as: \n\t{}", query);
 			
-			Connection connection = transaction.getTransaction().getConnection();
-			pstmt = connection.prepareStatement(query);
+			pstmt = prepareStatement(transaction.getTransaction(), RdbmsConfiguration.COUNT_QUERY, query);
 			int index = 1;
 			List<Object> params = new ArrayList<>();
 			
@@ -365,19 +569,19 @@ public class RdbmsDataStore implements IDataStore
 			{
 				for(QueryCondition condition: conditions)
 				{
-					pstmt.setObject(index, condition.getValue());
-					params.add(condition.getValue());
-					
-					index++;
+					index = bindConditionValues(pstmt, index, condition, params);
 				}
 			}
 			
 			logger.debug("Executing using params: {}", params);
 			
+			long startTime = metricsStartTime();
 			rs = pstmt.executeQuery();
+			recordExecution(RdbmsConfiguration.COUNT_QUERY, startTime);
 			
 			if(!rs.next())
 			{
+				closeResources(rs, pstmt);
 				transaction.commit();
 				return 0;
 			}
@@ -386,6 +590,7 @@ public class RdbmsDataStore implements IDataStore
 			
 			logger.debug("Existence of {} records found from table: {}", count, countQuery.getTableName());
 			
+			closeResources(rs, pstmt);
 			transaction.commit();
 			return count;
 		}catch(Exception ex)
@@ -400,6 +605,49 @@ public class RdbmsDataStore implements IDataStore
 		}
 	}
 	
+	/**
+	 * Binds parent condition values followed by child condition values of specified child query.
+	 * @param pstmt Statement to which values needs to be bound
+	 * @param childQuery Query whose values needs to be bound
+	 * @param params List to which bound values are added (for logging)
+	 */
+	private void bindChildQueryParams(PreparedStatement pstmt, AbstractChildQuery childQuery, List<Object> params) throws SQLException
+	{
+		int index = 1;
+		
+		for(QueryCondition condition: childQuery.getParentConditions())
+		{
+			index = bindConditionValues(pstmt, index, condition, params);
+		}
+
+		for(QueryCondition condition: childQuery.getChildConditions())
+		{
+			index = bindConditionValues(pstmt, index, condition, params);
+		}
+	}
+	
+	/**
+	 * Binds value(s) of specified condition from specified index. Multi valued conditions (used with IN) bind
+	 * each of their values.
+	 * @param pstmt Statement to which values needs to be bound
+	 * @param index Index from which values needs to be bound
+	 * @param condition Condition whose values needs to be bound
+	 * @param params List to which bound values are added (for logging)
+	 * @return Index for the next parameter
+	 */
+	private int bindConditionValues(PreparedStatement pstmt, int index, QueryCondition condition, List<Object> params) throws SQLException
+	{
+		for(Object value : condition.getValues())
+		{
+			pstmt.setObject(index, value);
+			params.add(value);
+			
+			index++;
+		}
+		
+		return index;
+	}
+	
 	@Override
 	public int checkChildrenExistence(ChildrenExistenceQuery childrenExistenceQuery)
 	{
@@ -411,40 +659,19 @@ public class RdbmsDataStore implements IDataStore
 		
 		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
 		{
-			String query = rdbmsConfig.buildQuery(RdbmsConfiguration.CHILDREN_EXISTENCE_QUERY, "query", childrenExistenceQuery);
+			String query = renderQuery(RdbmsConfiguration.CHILDREN_EXISTENCE_QUERY, childrenExistenceQuery);
 			
 			logger.debug("Built children-existence query as: \n\t{}", query);
 			
-			Connection connection = transaction.getTransaction().getConnection();
-			pstmt = connection.prepareStatement(query);
-			int index = 1;
+			pstmt = prepareStatement(transaction.getTransaction(), RdbmsConfiguration.CHILDREN_EXISTENCE_QUERY, query);
 			List<Object> params = new ArrayList<>();
-			
-			if(childrenExistenceQuery.getParentConditions() != null)
-			{
-				for(QueryCondition condition: childrenExistenceQuery.getParentConditions())
-				{
-					pstmt.setObject(index, condition.getValue());
-					params.add(condition.getValue());
-					
-					index++;
-				}
-			}
-
-			if(childrenExistenceQuery.getChildConditions() != null)
-			{
-				for(QueryCondition condition: childrenExistenceQuery.getChildConditions())
-				{
-					pstmt.setObject(index, condition.getValue());
-					params.add(condition.getValue());
-					
-					index++;
-				}
-			}
+			bindChildQueryParams(pstmt, childrenExistenceQuery, params);
 
 			logger.debug("Executing using params: " + params);
 			
+			long startTime = metricsStartTime();
 			rs = pstmt.executeQuery();
+			recordExecution(RdbmsConfiguration.CHILDREN_EXISTENCE_QUERY, startTime);
 			
 			if(!rs.next())
 			{
@@ -455,6 +682,7 @@ public class RdbmsDataStore implements IDataStore
 			
 			logger.debug("Found {} child record(s)", res);
 			
+			closeResources(rs, pstmt);
 			transaction.commit();
 			return res;
 		}catch(Exception ex)
@@ -480,40 +708,19 @@ public class RdbmsDataStore implements IDataStore
 		
 		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
 		{
-			String query = rdbmsConfig.buildQuery(RdbmsConfiguration.FETCH_CHILDREN_IDS_QUERY, "query", fetchChildrenIdsQuery);
+			String query = renderQuery(RdbmsConfiguration.FETCH_CHILDREN_IDS_QUERY, fetchChildrenIdsQuery);
 			
 			logger.debug("Built children-fetch query as: \n\t{}", query);
 			
-			Connection connection = transaction.getTransaction().getConnection();
-			pstmt = connection.prepareStatement(query);
-			int index = 1;
+			pstmt = prepareStatement(transaction.getTransaction(), RdbmsConfiguration.FETCH_CHILDREN_IDS_QUERY, query);
 			List<Object> params = new ArrayList<>();
-			
-			if(fetchChildrenIdsQuery.getParentConditions() != null)
-			{
-				for(QueryCondition condition: fetchChildrenIdsQuery.getParentConditions())
-				{
-					pstmt.setObject(index, condition.getValue());
-					params.add(condition.getValue());
-					
-					index++;
-				}
-			}
-
-			if(fetchChildrenIdsQuery.getChildConditions() != null)
-			{
-				for(QueryCondition condition: fetchChildrenIdsQuery.getChildConditions())
-				{
-					pstmt.setObject(index, condition.getValue());
-					params.add(condition.getValue());
-					
-					index++;
-				}
-			}
+			bindChildQueryParams(pstmt, fetchChildrenIdsQuery, params);
 
 			logger.debug("Executing using params: " + params);
 			
+			long startTime = metricsStartTime();
 			rs = pstmt.executeQuery();
+			recordExecution(RdbmsConfiguration.FETCH_CHILDREN_IDS_QUERY, startTime);
 			
 			List<Object> ids = new LinkedList<Object>();
 			
@@ -524,6 +731,7 @@ public class RdbmsDataStore implements IDataStore
 			
 			logger.debug("Found {} child record(s)", ids.size());
 			
+			closeResources(rs, pstmt);
 			transaction.commit();
 			return ids;
 		}catch(Exception ex)
@@ -538,6 +746,157 @@ public class RdbmsDataStore implements IDataStore
 		}
 	}
 
+	@Override
+	public int[] deleteChildren(List<DeleteChildrenQuery> deleteChildrenQueries)
+	{
+		logger.trace("Started method: deleteChildren");
+		
+		int counts[] = new int[deleteChildrenQueries.size()];
+		DeleteChildrenQuery deleteChildrenQuery = null;
+		PreparedStatement pstmt = null;
+		
+		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
+		{
+			for(int i = 0; i < counts.length; i++)
+			{
+				deleteChildrenQuery = deleteChildrenQueries.get(i);
+				
+				String query = renderQuery(RdbmsConfiguration.DELETE_CHILDREN_QUERY, deleteChildrenQuery);
+				
+				logger.debug("Built children-delete query as: \n\t{}", query);
+				
+				pstmt = prepareStatement(transaction.getTransaction(), RdbmsConfiguration.DELETE_CHILDREN_QUERY, query);
+				List<Object> params = new ArrayList<>();
+				bindChildQueryParams(pstmt, deleteChildrenQuery, params);
+				
+				logger.debug("Executing using params: {}", params);
+				
+				long startTime = metricsStartTime();
+				counts[i] = pstmt.executeUpdate();
+				recordExecution(RdbmsConfiguration.DELETE_CHILDREN_QUERY, startTime);
+				
+				logger.debug("Deleted {} child record(s) from table: {}", counts[i], deleteChildrenQuery.getChildTableName());
+				
+				closeResources(null, pstmt);
+				pstmt = null;
+			}
+			
+			transaction.commit();
+			return counts;
+		}catch(Exception ex)
+		{
+			logger.error("An error occurred while deleting child rows using query: " + deleteChildrenQuery, ex);
+
+			SqlExceptionHandler.handleException("An error occurred while deleting child rows from table '" 
+					+ (deleteChildrenQuery != null ? deleteChildrenQuery.getChildTableName() : null) + "'", ex, entityDetailsFactory, true);
+
+			return null;
+		}finally
+		{
+			closeResources(null, pstmt);
+		}
+	}
+
+	/**
+	 * Binds parameters of a query to a prepared statement. Used to share binding between single and batch executions.
+	 * @author akiran
+	 */
+	@FunctionalInterface
+	private static interface IParamBinder<Q>
+	{
+		public void bind(PreparedStatement pstmt, Q query, List<Object> params, List<Closeable> closeables) throws SQLException;
+	}
+	
+	/**
+	 * Sets the specified value at specified index of statement. Lob values are set as streams and are added to closeables.
+	 * @param pstmt Statement on which value needs to be set
+	 * @param index Parameter index
+	 * @param value Value to set
+	 * @param closeables Closeables which should be closed after execution
+	 */
+	private void setParam(PreparedStatement pstmt, int index, Object value, List<Closeable> closeables) throws SQLException
+	{
+		if(value instanceof LobData)
+		{
+			LobData lobData = (LobData)value;
+			closeables.add(lobData);
+			
+			if(lobData.isTextStream())
+			{
+				pstmt.setCharacterStream(index, lobData.openReader() );
+			}
+			else
+			{
+				pstmt.setBinaryStream(index,  lobData.openStream() );
+			}
+		}
+		else
+		{
+			pstmt.setObject(index, value);
+		}
+	}
+	
+	private void bindSaveParams(PreparedStatement pstmt, SaveQuery saveQuery, List<Object> params, List<Closeable> closeables) throws SQLException
+	{
+		int index = 1;
+		Object value = null;
+		
+		for(ColumnParam column: saveQuery.getColumns())
+		{
+			if(column.isSequenceGenerated())
+			{
+				continue;
+			}
+			
+			value = column.getValue();
+			setParam(pstmt, index, value, closeables);
+			
+			params.add(value);
+			index++;
+		}
+	}
+	
+	private void bindUpdateParams(PreparedStatement pstmt, UpdateQuery updateQuery, List<Object> params, List<Closeable> closeables) throws SQLException
+	{
+		int index = 1;
+		Object value = null;
+		
+		for(ColumnParam column: updateQuery.getColumns())
+		{
+			value = column.getValue();
+			setParam(pstmt, index, value, closeables);
+
+			params.add(value);
+			index++;
+		}
+		
+		//fetch parameter values for conditions
+		List<Object> conditionParams = new ArrayList<>();
+		updateQuery.getConditions().stream().forEach(condition -> condition.fetchQueryParameters(conditionParams));
+		
+		params.addAll(conditionParams);
+
+		//set the condition parameters on query
+		for(Object param : conditionParams)
+		{
+			pstmt.setObject(index, param);
+			index++;
+		}
+	}
+	
+	private void bindDeleteParams(PreparedStatement pstmt, DeleteQuery deleteQuery, List<Object> params) throws SQLException
+	{
+		int index = 1;
+		
+		deleteQuery.getConditions().stream().forEach(condition -> condition.fetchQueryParameters(params));
+		
+		for(Object param : params)
+		{
+			pstmt.setObject(index, param);
+			index++;
+		}
+	}
+
 	@Override
 	public int save(SaveQuery saveQuery, EntityDetails entityDetails, ObjectWrapper<Object> idGenerated)
 	{
@@ -549,52 +908,21 @@ public class RdbmsDataStore implements IDataStore
 		
 		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
 		{
-			String query = rdbmsConfig.buildQuery(RdbmsConfiguration.SAVE_QUERY, "query", saveQuery);
+			String query = renderQuery(RdbmsConfiguration.SAVE_QUERY, saveQuery);
 			
 			logger.debug("Built save query as: \n\t{}", query);
 			
-			Connection connection = transaction.getTransaction().getConnection();
-			pstmt = connection.prepareStatement(query);
-			int index = 1;
+			pstmt = prepareStatement(transaction.getTransaction(), RdbmsConfiguration.SAVE_QUERY, query);
 			List<Object> params = new ArrayList<>();
-			Object value = null;
 			List<Closeable> closeables = new ArrayList<>();
 			
-			for(ColumnParam column: saveQuery.getColumns())
-			{
-				if(column.isSequenceGenerated())
-				{
-					continue;
-				}
-				
-				value = column.getValue();
-				
-				if(value instanceof LobData)
-				{
-					LobData lobData = (LobData)value;
-					closeables.add(lobData);
-					
-					if(lobData.isTextStream())
-					{
-						pstmt.setCharacterStream(index, lobData.openReader() );
-					}
-					else
-					{
-						pstmt.setBinaryStream(index,  lobData.openStream() );
-					}
-				}
-				else
-				{
-					pstmt.setObject(index, value);
-				}
-				
-				params.add(value);
-				index++;
-			}
+			bindSaveParams(pstmt, saveQuery, params, closeables);
 			
 			logger.debug("Executing using params: {}", params);
 			
+			long startTime = metricsStartTime();
 			int count = pstmt.executeUpdate();
+			recordExecution(RdbmsConfiguration.SAVE_QUERY, startTime);
 			
 			//close any open closeables (like blob streams)
 			for(Closeable closeable : closeables)
@@ -621,6 +949,7 @@ public class RdbmsDataStore implements IDataStore
 			
 			logger.debug("Saved {} records into table: {}", count, saveQuery.getTableName());
 			
+			closeResources(keysRs, pstmt);
 			transaction.commit();
 			return count;
 		}catch(Exception ex)
@@ -646,60 +975,21 @@ public class RdbmsDataStore implements IDataStore
 		
 		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
 		{
-			String query = rdbmsConfig.buildQuery(RdbmsConfiguration.UPDATE_QUERY, "query", updateQuery);
+			String query = renderQuery(RdbmsConfiguration.UPDATE_QUERY, updateQuery);
 			
 			logger.debug("Built update query as: \n\t{}", query);
 			
-			Connection connection = transaction.getTransaction().getConnection();
-			pstmt = connection.prepareStatement(query);
-			int index = 1;
+			pstmt = prepareStatement(transaction.getTransaction(), RdbmsConfiguration.UPDATE_QUERY, query);
 			List<Object> params = new ArrayList<>();
-			Object value = null;
 			List<Closeable> closeables = new ArrayList<>();
 			
-			for(ColumnParam column: updateQuery.getColumns())
-			{
-				value = column.getValue();
-				
-				if(value instanceof LobData)
-				{
-					LobData lobData = (LobData)value;
-					closeables.add(lobData);
-					
-					if(lobData.isTextStream())
-					{
-						pstmt.setCharacterStream(index, lobData.openReader() );
-					}
-					else
-					{
-						pstmt.setBinaryStream(index,  lobData.openStream() );
-					}
-				}
-				else
-				{
-					pstmt.setObject(index, value);
-				}
-
-				params.add(value);
-				index++;
-			}
-			
-			//fetch parameter values for conditions
-			List<Object> conditionParams = new ArrayList<>();
-			updateQuery.getConditions().stream().forEach(condition -> condition.fetchQueryParameters(conditionParams));
-			
-			params.addAll(conditionParams);
-
-			//set the condition parameters on query
-			for(Object param : conditionParams)
-			{
-				pstmt.setObject(index, param);
-				index++;
-			}
+			bindUpdateParams(pstmt, updateQuery, params, closeables);
 
 			logger.debug("Executing using params: {}", params);
 			
+			long startTime = metricsStartTime();
 			int count = pstmt.executeUpdate();
+			recordExecution(RdbmsConfiguration.UPDATE_QUERY, startTime);
 			
 			//close any open closeables (like blob streams)
 			for(Closeable closeable : closeables)
@@ -709,6 +999,7 @@ public class RdbmsDataStore implements IDataStore
 
 			logger.debug("Updated " + count + " records in table: " + updateQuery.getTableName());
 			
+			closeResources(null, pstmt);
 			transaction.commit();
 			return count;
 		}catch(Exception ex)
@@ -736,29 +1027,23 @@ public class RdbmsDataStore implements IDataStore
 		
 		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
 		{
-			String query = rdbmsConfig.buildQuery(RdbmsConfiguration.DELETE_QUERY, "query", deleteQuery);
+			String query = renderQuery(RdbmsConfiguration.DELETE_QUERY, deleteQuery);
 			
 			logger.debug("Built delete query as: \n\t{}", query);
 			
-			Connection connection = transaction.getTransaction().getConnection();
-			pstmt = connection.prepareStatement(query);
-			int index = 1;
+			pstmt = prepareStatement(transaction.getTransaction(), RdbmsConfiguration.DELETE_QUERY, query);
 			List<Object> params = new ArrayList<>();
-			
-			deleteQuery.getConditions().stream().forEach(condition -> condition.fetchQueryParameters(params));
-			
-			for(Object param : params)
-			{
-				pstmt.setObject(index, param);
-				index++;
-			}
+			bindDeleteParams(pstmt, deleteQuery, params);
 			
 			logger.debug("Executing using params: {}", params);
 			
+			long startTime = metricsStartTime();
 			int deleteCount = pstmt.executeUpdate();
+			recordExecution(RdbmsConfiguration.DELETE_QUERY, startTime);
 			
 			logger.debug("Deleted " + deleteCount + " records from table: " + deleteQuery.getTableName());
 			
+			closeResources(null, pstmt);
 			transaction.commit();
 			return deleteCount;
 		}catch(Exception ex)
@@ -775,6 +1060,190 @@ public class RdbmsDataStore implements IDataStore
 		}
 	}
 	
+	/**
+	 * Executes specified queries as jdbc batches. Queries are grouped by their final query string, so that
+	 * queries with same structure are executed as single batch (in chunks of {@link #batchSize}).
+	 * @param templateName Template to be used to build query strings
+	 * @param queries Queries to execute
+	 * @param binder Binder to bind query params
+	 * @param idsGenerated If not null, generated keys returned by driver will be set on these wrappers (in order of queries)
+	 * @return Number of rows effected by each query, in order of queries
+	 */
+	private <Q extends Query> int[] executeBatch(String templateName, List<Q> queries, IParamBinder<Q> binder, List<ObjectWrapper<Object>> idsGenerated) throws Exception
+	{
+		int results[] = new int[queries.size()];
+		
+		//group query indexes by final query string, in the order of first occurrence
+		Map<String, List<Integer>> queryToIndexes = new LinkedHashMap<>();
+		
+		for(int i = 0; i < queries.size(); i++)
+		{
+			String query = renderQuery(templateName, queries.get(i));
+			queryToIndexes.computeIfAbsent(query, key -> new ArrayList<>()).add(i);
+		}
+		
+		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
+		{
+			for(Map.Entry<String, List<Integer>> entry : queryToIndexes.entrySet())
+			{
+				List<Integer> indexes = entry.getValue();
+				
+				logger.debug("Executing {} queries as batch using query: \n\t{}", indexes.size(), entry.getKey());
+				
+				for(int start = 0; start < indexes.size(); start += batchSize)
+				{
+					List<Integer> chunk = indexes.subList(start, Math.min(start + batchSize, indexes.size()));
+					executeBatchChunk(transaction.getTransaction(), templateName, entry.getKey(), queries, chunk, binder, results, idsGenerated);
+				}
+			}
+			
+			transaction.commit();
+		}
+		
+		return results;
+	}
+	
+	/**
+	 * Executes queries at specified indexes as single jdbc batch.
+	 */
+	private <Q extends Query> void executeBatchChunk(RdbmsTransaction transaction, String templateName, String query, List<Q> queries, List<Integer> indexes, 
+			IParamBinder<Q> binder, int results[], List<ObjectWrapper<Object>> idsGenerated) throws Exception
+	{
+		PreparedStatement pstmt = null;
+		ResultSet keysRs = null;
+		List<Closeable> closeables = new ArrayList<>();
+		
+		try
+		{
+			pstmt = prepareStatement(transaction, templateName, query);
+			
+			for(Integer index : indexes)
+			{
+				List<Object> params = new ArrayList<>();
+				binder.bind(pstmt, queries.get(index), params, closeables);
+				
+				logger.trace("Adding batch entry with params: {}", params);
+				pstmt.addBatch();
+			}
+			
+			long startTime = metricsStartTime();
+			int counts[] = pstmt.executeBatch();
+			recordExecution(templateName, startTime);
+			
+			for(int i = 0; i < counts.length && i < indexes.size(); i++)
+			{
+				//when driver does not provide count, consider the execution was successful
+				results[indexes.get(i)] = (counts[i] == Statement.SUCCESS_NO_INFO) ? 1 : Math.max(counts[i], 0);
+			}
+			
+			if(idsGenerated == null)
+			{
+				return;
+			}
+			
+			//not all drivers support keys for batches, if not available ids has to be fetched by caller
+			keysRs = pstmt.getGeneratedKeys();
+			List<Object> keys = new ArrayList<>();
+			
+			while(keysRs != null && keys.size() < indexes.size() && keysRs.next())
+			{
+				keys.add(keysRs.getObject(1));
+			}
+			
+			//as keys can not be mapped to queries otherwise, use keys only when key is returned for every query
+			if(keys.size() != indexes.size())
+			{
+				logger.debug("Driver returned {} generated keys for batch of size {}. Ignoring the keys", keys.size(), indexes.size());
+				return;
+			}
+			
+			for(int i = 0; i < keys.size(); i++)
+			{
+				idsGenerated.get(indexes.get(i)).setValue(keys.get(i));
+			}
+		}finally
+		{
+			for(Closeable closeable : closeables)
+			{
+				closeable.close();
+			}
+
+			closeResources(keysRs, pstmt);
+		}
+	}
+	
+	/**
+	 * Batch failures wrap the actual failure as next exception, which would have constraint details.
+	 * @param ex Exception to be unwrapped
+	 * @return Actual failure
+	 */
+	private Exception unwrapBatchException(Exception ex)
+	{
+		if((ex instanceof BatchUpdateException) && ((BatchUpdateException)ex).getNextException() != null)
+		{
+			return ((BatchUpdateException)ex).getNextException();
+		}
+		
+		return ex;
+	}
+	
+	@Override
+	public int[] saveAll(List<SaveQuery> saveQueries, EntityDetails entityDetails, List<ObjectWrapper<Object>> idsGenerated)
+	{
+		logger.trace("Started method: saveAll");
+		logger.debug("Trying to save {} entities to table '{}'", saveQueries.size(), entityDetails.getTableName());
+		
+		try
+		{
+			return executeBatch(RdbmsConfiguration.SAVE_QUERY, saveQueries, (pstmt, query, params, closeables) -> bindSaveParams(pstmt, query, params, closeables), idsGenerated);
+		}catch(Exception ex)
+		{
+			logger.debug("An error occurred while saving entities to table '{}'. Error - " + ex, entityDetails.getTableName());
+
+			SqlExceptionHandler.handleException("An error occurred while saving entities to table '" 
+					+ entityDetails.getTableName() + "'", unwrapBatchException(ex), entityDetailsFactory, false);
+			return null;
+		}
+	}
+	
+	@Override
+	public int[] updateAll(List<UpdateQuery> updateQueries, EntityDetails entityDetails)
+	{
+		logger.trace("Started method: updateAll");
+		logger.debug("Trying to update {} entities in table '{}'", updateQueries.size(), entityDetails.getTableName());
+		
+		try
+		{
+			return executeBatch(RdbmsConfiguration.UPDATE_QUERY, updateQueries, (pstmt, query, params, closeables) -> bindUpdateParams(pstmt, query, params, closeables), null);
+		}catch(Exception ex)
+		{
+			logger.error("An error occurred while updating entities in table '" + entityDetails.getTableName() + "'", ex);
+
+			SqlExceptionHandler.handleException("An error occurred while updating entities in table '" 
+					+ entityDetails.getTableName() + "'", unwrapBatchException(ex), entityDetailsFactory, false);
+			return null;
+		}
+	}
+	
+	@Override
+	public int[] deleteAll(List<DeleteQuery> deleteQueries, EntityDetails entityDetails)
+	{
+		logger.trace("Started method: deleteAll");
+		logger.debug("Trying to delete rows from table '{}' using {} queries", entityDetails.getTableName(), deleteQueries.size());
+		
+		try
+		{
+			return executeBatch(RdbmsConfiguration.DELETE_QUERY, deleteQueries, (pstmt, query, params, closeables) -> bindDeleteParams(pstmt, query, params), null);
+		}catch(Exception ex)
+		{
+			logger.error("An error occurred while deleting rows from table '" + entityDetails.getTableName() + "'", ex);
+
+			SqlExceptionHandler.handleException("An error occurred while deleting rows from table '" 
+					+ entityDetails.getTableName() + "'", unwrapBatchException(ex), entityDetailsFactory, true);
+			return null;
+		}
+	}
+	
 	protected PreparedStatement buildPreparedStatement(RdbmsTransaction transaction, String queryName, Object... params) throws SQLException
 	{
 		List<Object> paramValues = new ArrayList<>();
@@ -783,8 +1252,7 @@ public class RdbmsDataStore implements IDataStore
 		
 		logger.debug("Built query as: \n\t{}", query);
 		
-		Connection connection = transaction.getConnection();
-		PreparedStatement pstmt = connection.prepareStatement(query);
+		PreparedStatement pstmt = transaction.prepareStatement(query);
 		int index = 1;
 		
 		for(Object value: paramValues)
@@ -851,8 +1319,7 @@ public class RdbmsDataStore implements IDataStore
 		//for null based conditions templates should take care of nulls
 		if(condition.getValue() != null)
 		{
-			stmt.setObject(params.size() + 1, condition.getValue());
-			params.add(condition.getValue());
+			bindConditionValues(stmt, params.size() + 1, condition, params);
 		}
 		
 		if(condition.getGroupedConditions() == null)
@@ -877,13 +1344,12 @@ public class RdbmsDataStore implements IDataStore
 		
 		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
 		{
-			String query = rdbmsConfig.buildQuery(RdbmsConfiguration.FINDER_QUERY, "query", findQuery);
+			String query = renderQuery(RdbmsConfiguration.FINDER_QUERY, findQuery);
 			
 			logger.debug("Built find query as: \n\t{}", query);
 			List<Object> params = new ArrayList<>();
 			
-			Connection connection = transaction.getTransaction().getConnection();
-			pstmt = connection.prepareStatement(query);
+			pstmt = prepareStatement(transaction.getTransaction(), RdbmsConfiguration.FINDER_QUERY, query);
 			
 			for(QueryCondition condition: findQuery.getConditions())
 			{
@@ -892,14 +1358,15 @@ public class RdbmsDataStore implements IDataStore
 			
 			logger.debug("Executing using params: {}", params);
 			
+			long startTime = metricsStartTime();
 			rs = pstmt.executeQuery();
+			recordExecution(RdbmsConfiguration.FINDER_QUERY, startTime);
 			
 			List<Record> records = new ArrayList<>();
 			ResultSetMetaData metaData = rs.getMetaData();
 			Record  rec = null;
 			int colCount = metaData.getColumnCount();
 			String colNames[] = null;
-			Object cellValue = null;
 			long recordNo = -1;
 			IFinderRecordProcessor.Action action = null;
 			
@@ -919,24 +1386,7 @@ public class RdbmsDataStore implements IDataStore
 					}
 				}
 				
-				rec = new Record(colCount);
-				
-				//fetch column values for each record
-				for(int i = 0 ; i < colCount ; i++)
-				{
-					cellValue = rs.getObject(i + 1);
-					
-					if(cellValue instanceof Clob)
-					{
-						cellValue = convertClob((Clob)cellValue);
-					}
-					else if(cellValue instanceof Blob)
-					{
-						cellValue = convertBlob((Blob)cellValue);
-					}
-					
-					rec.set(i, colNames[i], cellValue);
-				}
+				rec = readRecord(rs, colNames);
 				
 				if(recordProcessor != null)
 				{
@@ -959,8 +1409,10 @@ public class RdbmsDataStore implements IDataStore
 				records.add(rec);
 			}
 			
-			logger.debug("Found " + records.size() + " records found from table: " + findQuery.getTableName());
+			persistenceMetrics.rowsFetched(RdbmsConfiguration.FINDER_QUERY, (int)(recordNo + 1));
+			logger.debug("Found {} records found from table: {}", records.size(), findQuery.getTableName());
 			
+			closeResources(rs, pstmt);
 			transaction.commit();
 			return records;
 		}catch(Exception ex)
@@ -976,6 +1428,106 @@ public class RdbmsDataStore implements IDataStore
 		}
 	}
 	
+	/**
+	 * Reads current row of specified result set as record. Lob values are read fully into arrays.
+	 * @param rs Result set to read
+	 * @param colNames Column names of the result set, shared across the records
+	 * @return Record representing current row
+	 */
+	Record readRecord(ResultSet rs, String colNames[]) throws SQLException
+	{
+		Record rec = new Record(colNames.length);
+		Object cellValue = null;
+		
+		//fetch column values for each record
+		for(int i = 0 ; i < colNames.length ; i++)
+		{
+			cellValue = rs.getObject(i + 1);
+			
+			if(cellValue instanceof Clob)
+			{
+				cellValue = convertClob((Clob)cellValue);
+			}
+			else if(cellValue instanceof Blob)
+			{
+				cellValue = convertBlob((Blob)cellValue);
+			}
+			
+			rec.set(i, colNames[i], cellValue);
+		}
+		
+		return rec;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.yukthi.persistence.IDataStore#streamFinder(com.yukthi.persistence.query.FinderQuery, com.yukthi.persistence.EntityDetails, com.yukthi.persistence.IFinderRecordProcessor)
+	 */
+	@Override
+	public ICloseableIterator<Record> streamFinder(FinderQuery findQuery, EntityDetails entityDetails, IFinderRecordProcessor recordProcessor)
+	{
+		logger.trace("Started method: streamFinder");
+		logger.debug("Streaming records from table '{}' using query: {}", findQuery.getTableName(), findQuery);
+		
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		TransactionWrapper<RdbmsTransaction> transaction = null;
+		
+		try
+		{
+			//cursor is kept open till the iterator is closed, so unless caller has active transaction, dedicated
+			//connection is used which is not bound to current thread
+			transaction = transactionManager.existingOrUnboundTransaction();
+			
+			String query = renderQuery(RdbmsConfiguration.FINDER_QUERY, findQuery);
+			
+			logger.debug("Built find query as: \n\t{}", query);
+			List<Object> params = new ArrayList<>();
+			
+			//as the statement is kept open till the iterator is closed, statement cache is not used
+			long startTime = metricsStartTime();
+			pstmt = transaction.getTransaction().getConnection().prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			
+			if(persistenceMetrics.isEnabled())
+			{
+				persistenceMetrics.statementPrepared(RdbmsConfiguration.FINDER_QUERY, System.nanoTime() - startTime);
+			}
+			
+			pstmt.setFetchSize(fetchSize);
+			
+			for(QueryCondition condition: findQuery.getConditions())
+			{
+				addParamsRecursively(condition, pstmt, params);
+			}
+			
+			logger.debug("Executing using params: {}", params);
+			
+			startTime = metricsStartTime();
+			rs = pstmt.executeQuery();
+			recordExecution(RdbmsConfiguration.FINDER_QUERY, startTime);
+			return new RecordIterator(this, transaction, pstmt, rs, recordProcessor);
+		}catch(Exception ex)
+		{
+			closeResources(rs, pstmt);
+			
+			if(transaction != null)
+			{
+				try
+				{
+					transaction.close();
+				}catch(Exception cex)
+				{
+					logger.error("An error occurred while closing streaming transaction", cex);
+				}
+			}
+			
+			logger.error("An error occurred while streaming rows from table '" 
+					+ findQuery.getTableName() + "' using query: " + findQuery, ex);
+			
+			throw new PersistenceException("An error occurred while streaming rows from table '" 
+						+ findQuery.getTableName() + "' using query: " + findQuery, ex);
+		}
+	}
+	
 	/* (non-Javadoc)
 	 * @see com.yukthi.persistence.IDataStore#executeNativeFinder(java.lang.String, java.lang.Object)
 	 */
@@ -989,13 +1541,14 @@ public class RdbmsDataStore implements IDataStore
 		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
 		{
 			List<Object> params = new ArrayList<>();
+			long startTime = metricsStartTime();
 			String query = nativeQueryFactory.buildQuery(queryName, params, context);
+			recordRender(queryName, startTime);
 			
 			logger.debug("Built native find query as: \n\t{}", query);
 			logger.debug("Executing using params: {}", params);
 			
-			Connection connection = transaction.getTransaction().getConnection();
-			pstmt = connection.prepareStatement(query);
+			pstmt = prepareStatement(transaction.getTransaction(), queryName, query);
 
 			int paramCount = params.size();
 			
@@ -1004,7 +1557,9 @@ public class RdbmsDataStore implements IDataStore
 				pstmt.setObject(i + 1, params.get(i));
 			}
 			
+			startTime = metricsStartTime();
 			rs = pstmt.executeQuery();
+			recordExecution(queryName, startTime);
 			
 			List<Record> records = new ArrayList<>();
 			ResultSetMetaData metaData = rs.getMetaData();
@@ -1049,8 +1604,10 @@ public class RdbmsDataStore implements IDataStore
 				records.add(rec);
 			}
 			
-			logger.debug("Found " + records.size() + " records found from table");
+			persistenceMetrics.rowsFetched(queryName, records.size());
+			logger.debug("Found {} records found from table", records.size());
 			
+			closeResources(rs, pstmt);
 			transaction.commit();
 			return records;
 		}catch(Exception ex)
@@ -1074,13 +1631,14 @@ public class RdbmsDataStore implements IDataStore
 		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
 		{
 			List<Object> params = new ArrayList<>();
+			long startTime = metricsStartTime();
 			String query = nativeQueryFactory.buildQuery(queryName, params, context);
+			recordRender(queryName, startTime);
 			
 			logger.debug("Built update query as: \n\t{}", query);
 			logger.debug("Executing using params: {}", params);
 			
-			Connection connection = transaction.getTransaction().getConnection();
-			pstmt = connection.prepareStatement(query);
+			pstmt = prepareStatement(transaction.getTransaction(), queryName, query);
 			int index = 1;
 			Object value = null;
 			List<Closeable> closeables = new ArrayList<>();
@@ -1114,7 +1672,9 @@ public class RdbmsDataStore implements IDataStore
 			}
 			
 			
+			startTime = metricsStartTime();
 			int count = pstmt.executeUpdate();
+			recordExecution(queryName, startTime);
 			
 			//close any open closeables (like blob streams)
 			for(Closeable closeable : closeables)
@@ -1124,6 +1684,7 @@ public class RdbmsDataStore implements IDataStore
 
 			logger.debug("Affected {} records by query - {}", count, queryName);
 			
+			closeResources(null, pstmt);
 			transaction.commit();
 			return count;
 		}catch(Exception ex)
@@ -1173,6 +1734,8 @@ public class RdbmsDataStore implements IDataStore
 			stmt = connection.createStatement();
 			
 			stmt.execute(query);
+			transaction.getTransaction().invalidateStatementCache();
+			
 			connection.commit();
 		}catch(Exception ex)
 		{
@@ -1,31 +1,71 @@
 package com.yukthi.persistence.rdbms;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.yukthi.persistence.ITransaction;
+import com.yukthi.persistence.ITransactionListener;
 import com.yukthi.persistence.TransactionException;
+import com.yukthi.persistence.metrics.IPersistenceMetrics;
+import com.yukthi.utils.pool.PooledConnection;
 
 public class RdbmsTransaction implements ITransaction
 {
 	private static Logger logger = LogManager.getLogger(RdbmsTransaction.class);
 	
-	private boolean closed = false;
-	private boolean committed = false;
-	private boolean rolledBack = false;
+	/**
+	 * Attribute of pooled connection, which holds statement cache of the connection
+	 */
+	private static final String ATTR_STATEMENT_CACHE = RdbmsTransaction.class.getName() + "#statementCache";
+	
+	private volatile boolean closed = false;
+	private volatile boolean committed = false;
+	private volatile boolean rolledBack = false;
 	
 	private RdbmsTransactionManager manager;
 	
 	
 	private Connection connection;
 	
+	/**
+	 * Cache of prepared statements of current connection
+	 */
+	private PreparedStatementCache statementCache;
+	
+	/**
+	 * Flag indicating statement cache is bound to pooled physical connection, and so survives this transaction
+	 */
+	private boolean connectionBoundCache;
+	
+	/**
+	 * Hit and miss counts of statement cache at the start of transaction
+	 */
+	private int startCacheHits, startCacheMisses;
+	
+	/**
+	 * Start time of the transaction, used for metrics
+	 */
+	private long startTime;
+	
+	/**
+	 * Listeners to be notified on completion of this transaction
+	 */
+	private List<ITransactionListener> transactionListeners;
+	
 	RdbmsTransaction(RdbmsTransactionManager manager, Connection connection)
 	{
 		this.manager = manager;
 		this.connection = connection;
+		this.startTime = manager.getPersistenceMetrics().isEnabled() ? System.nanoTime() : 0;
+		this.statementCache = getStatementCache(manager, connection);
+		this.startCacheHits = statementCache.getHitCount();
+		this.startCacheMisses = statementCache.getMissCount();
 		
 		try
 		{
@@ -36,6 +76,48 @@ public class RdbmsTransaction implements ITransaction
 		}
 	}
 
+	/**
+	 * Fetches statement cache for specified connection. For pooled connections, statement cache is bound to the 
+	 * physical connection so that statements are reused across transactions. For other connections new cache is
+	 * created, which lives till the end of this transaction.
+	 * @param manager Transaction manager
+	 * @param connection Connection of the transaction
+	 * @return Statement cache to be used
+	 */
+	private PreparedStatementCache getStatementCache(RdbmsTransactionManager manager, Connection connection)
+	{
+		long version = manager.getStatementCacheVersion();
+		
+		if(!(connection instanceof PooledConnection))
+		{
+			return new PreparedStatementCache(connection, manager.getStatementCacheSize());
+		}
+		
+		PooledConnection pooledConnection = (PooledConnection)connection;
+		PreparedStatementCache cache = (PreparedStatementCache)pooledConnection.getAttribute(ATTR_STATEMENT_CACHE);
+		connectionBoundCache = true;
+		
+		if(cache == null || cache.isClosed())
+		{
+			cache = new PreparedStatementCache(connection, manager.getStatementCacheSize());
+			cache.setVersion(version);
+			
+			pooledConnection.setAttribute(ATTR_STATEMENT_CACHE, cache);
+			return cache;
+		}
+		
+		cache.setConnection(connection);
+		
+		//db structure got changed after statements are cached
+		if(cache.getVersion() != version)
+		{
+			cache.invalidate();
+			cache.setVersion(version);
+		}
+		
+		return cache;
+	}
+
 	@Override
 	public void close() throws TransactionException
 	{
@@ -49,6 +131,20 @@ public class RdbmsTransaction implements ITransaction
 			}
 		}
 		
+		if(!closed)
+		{
+			if(connectionBoundCache)
+			{
+				statementCache.closeCheckedOutStatements();
+			}
+			else
+			{
+				statementCache.close();
+			}
+			
+			manager.recordStatementCacheUsage(statementCache.getHitCount() - startCacheHits, statementCache.getMissCount() - startCacheMisses);
+		}
+		
 		try
 		{
 			connection.close();
@@ -58,7 +154,7 @@ public class RdbmsTransaction implements ITransaction
 		}
 		
 		
-		manager.removeTransaction();
+		manager.removeTransaction(this);
 		closed =  true;
 		logger.trace("Closed transaction");
 	}
@@ -82,6 +178,7 @@ public class RdbmsTransaction implements ITransaction
 		{
 			connection.commit();
 			committed = true;
+			recordCompletion(true);
 			logger.trace("committed transaction");
 		}catch(SQLException ex)
 		{
@@ -90,6 +187,8 @@ public class RdbmsTransaction implements ITransaction
 		{
 			this.close();
 		}
+		
+		notifyListeners(true);
 	}
 
 	@Override
@@ -101,6 +200,7 @@ public class RdbmsTransaction implements ITransaction
 		{
 			rolledBack = true;
 			connection.rollback();
+			recordCompletion(false);
 			logger.trace("Rolling back transaction");
 		}catch(SQLException ex)
 		{
@@ -108,6 +208,59 @@ public class RdbmsTransaction implements ITransaction
 		}finally
 		{
 			this.close();
+			notifyListeners(false);
+		}
+	}
+	
+	@Override
+	public void addTransactionListener(ITransactionListener listener)
+	{
+		checkIfClosed();
+		
+		if(transactionListeners == null)
+		{
+			transactionListeners = new ArrayList<>();
+		}
+		
+		transactionListeners.add(listener);
+	}
+	
+	/**
+	 * Notifies transaction listeners, if any, about completion of this transaction. Listeners are notified only once.
+	 */
+	private void notifyListeners(boolean committed)
+	{
+		List<ITransactionListener> listeners = this.transactionListeners;
+		
+		if(listeners == null)
+		{
+			return;
+		}
+		
+		this.transactionListeners = null;
+		
+		for(ITransactionListener listener : listeners)
+		{
+			try
+			{
+				listener.transactionCompleted(committed);
+			}catch(RuntimeException ex)
+			{
+				logger.error("An error occurred while notifying transaction listener - " + listener, ex);
+			}
+		}
+	}
+	
+	/**
+	 * Reports duration of this transaction to metrics, if enabled.
+	 */
+	private void recordCompletion(boolean commit)
+	{
+		IPersistenceMetrics metrics = manager.getPersistenceMetrics();
+		
+		if(metrics.isEnabled())
+		{
+			metrics.transactionCompleted(commit, System.nanoTime() - startTime);
 		}
 	}
 	
@@ -115,4 +268,36 @@ public class RdbmsTransaction implements ITransaction
 	{
 		return connection;
 	}
+	
+	/**
+	 * Returns true if this transaction is already closed
+	 * @return
+	 */
+	public boolean isClosed()
+	{
+		return closed;
+	}
+	
+	/**
+	 * Fetches prepared statement for specified query from current connection's statement cache. On close, the 
+	 * returned statement will be returned to cache for reuse.
+	 * @param query Query for which statement is needed
+	 * @return Prepared statement for specified query
+	 * @throws SQLException If statement preparation fails
+	 */
+	public PreparedStatement prepareStatement(String query) throws SQLException
+	{
+		checkIfClosed();
+		return statementCache.prepareStatement(query);
+	}
+	
+	/**
+	 * Closes cached statements of current connection and marks the statement caches of other connections as stale, so
+	 * that they get invalidated on their next usage. Should be called after structural (DDL) changes.
+	 */
+	public void invalidateStatementCache()
+	{
+		statementCache.invalidate();
+		statementCache.setVersion(manager.invalidateStatementCaches());
+	}
 }
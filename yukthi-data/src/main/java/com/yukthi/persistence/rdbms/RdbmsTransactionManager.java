@@ -1,32 +1,185 @@
 package com.yukthi.persistence.rdbms;
 
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 import javax.sql.DataSource;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.yukthi.persistence.ITransactionContext;
 import com.yukthi.persistence.ITransactionManager;
+import com.yukthi.persistence.ThreadLocalTransactionContext;
 import com.yukthi.persistence.TransactionException;
 import com.yukthi.persistence.TransactionWrapper;
+import com.yukthi.persistence.metrics.IPersistenceMetrics;
+import com.yukthi.persistence.metrics.NoOpPersistenceMetrics;
 
 public class RdbmsTransactionManager implements ITransactionManager<RdbmsTransaction>
 {
 	private static Logger logger = LogManager.getLogger(RdbmsTransactionManager.class);
 	
-	private Map<Thread, RdbmsTransaction> threadToTransaction = new HashMap<>();
+	/**
+	 * Context which maintains transaction of current execution
+	 */
+	private ITransactionContext<RdbmsTransaction> transactionContext = new ThreadLocalTransactionContext<>();
 	
 	private DataSource dataSource;
 	
+	/**
+	 * Maximum number of prepared statements to be cached per connection
+	 */
+	private int statementCacheSize = 50;
+	
+	/**
+	 * Number of statement requests served from statement caches
+	 */
+	private AtomicLong statementCacheHits = new AtomicLong();
+	
+	/**
+	 * Number of statement requests which resulted in new statement preparation
+	 */
+	private AtomicLong statementCacheMisses = new AtomicLong();
+	
+	/**
+	 * Incremented whenever db structure changes, statement caches with older version are invalidated
+	 * before their usage
+	 */
+	private AtomicLong statementCacheVersion = new AtomicLong();
+	
+	/**
+	 * Metrics to which transaction durations are reported
+	 */
+	private IPersistenceMetrics persistenceMetrics = NoOpPersistenceMetrics.INSTANCE;
+	
 	public void setDataSource(DataSource dataSource)
 	{
 		this.dataSource = dataSource;
 	}
 	
-	private RdbmsTransaction createTransaction() throws TransactionException
+	/**
+	 * Gets the context which maintains transaction of current execution.
+	 *
+	 * @return the context which maintains transaction of current execution
+	 */
+	public ITransactionContext<RdbmsTransaction> getTransactionContext()
+	{
+		return transactionContext;
+	}
+	
+	/**
+	 * Sets the context which maintains transaction of current execution. Defaults to thread local context.
+	 *
+	 * @param transactionContext the new context which maintains transaction of current execution
+	 */
+	public void setTransactionContext(ITransactionContext<RdbmsTransaction> transactionContext)
+	{
+		if(transactionContext == null)
+		{
+			throw new NullPointerException("Transaction context can not be null");
+		}
+		
+		this.transactionContext = transactionContext;
+	}
+	
+	/**
+	 * Gets the metrics to which transaction durations are reported.
+	 *
+	 * @return the metrics to which transaction durations are reported
+	 */
+	public IPersistenceMetrics getPersistenceMetrics()
+	{
+		return persistenceMetrics;
+	}
+
+	/**
+	 * Sets the metrics to which transaction durations are reported.
+	 *
+	 * @param persistenceMetrics the new metrics to which transaction durations are reported
+	 */
+	public void setPersistenceMetrics(IPersistenceMetrics persistenceMetrics)
+	{
+		this.persistenceMetrics = persistenceMetrics;
+	}
+	
+	/**
+	 * Gets the maximum number of prepared statements to be cached per connection.
+	 *
+	 * @return the maximum number of prepared statements to be cached per connection
+	 */
+	public int getStatementCacheSize()
+	{
+		return statementCacheSize;
+	}
+
+	/**
+	 * Sets the maximum number of prepared statements to be cached per connection. Zero disables the caching.
+	 *
+	 * @param statementCacheSize the new maximum number of prepared statements to be cached per connection
+	 */
+	public void setStatementCacheSize(int statementCacheSize)
+	{
+		this.statementCacheSize = statementCacheSize;
+	}
+	
+	/**
+	 * Gets the number of statement requests served from statement caches.
+	 *
+	 * @return the number of statement requests served from statement caches
+	 */
+	public long getStatementCacheHits()
+	{
+		return statementCacheHits.get();
+	}
+	
+	/**
+	 * Gets the number of statement requests which resulted in new statement preparation.
+	 *
+	 * @return the number of statement requests which resulted in new statement preparation
+	 */
+	public long getStatementCacheMisses()
+	{
+		return statementCacheMisses.get();
+	}
+	
+	/**
+	 * Gets the current version of statement caches.
+	 *
+	 * @return the current version of statement caches
+	 */
+	long getStatementCacheVersion()
+	{
+		return statementCacheVersion.get();
+	}
+	
+	/**
+	 * Marks statement caches of all connections as stale, so that they get invalidated before their next usage.
+	 * @return New version of statement caches
+	 */
+	long invalidateStatementCaches()
+	{
+		return statementCacheVersion.incrementAndGet();
+	}
+	
+	/**
+	 * Adds specified statement cache usage of a closed transaction to overall counts.
+	 * @param hits Requests served from cache
+	 * @param misses Requests which needed new statements
+	 */
+	void recordStatementCacheUsage(int hits, int misses)
+	{
+		statementCacheHits.addAndGet(hits);
+		statementCacheMisses.addAndGet(misses);
+	}
+	
+	/**
+	 * Opens new transaction on new connection, without binding it to current execution.
+	 */
+	private RdbmsTransaction openTransaction() throws TransactionException
 	{
 		RdbmsTransaction transaction = null;
 		
@@ -39,14 +192,39 @@ public class RdbmsTransactionManager implements ITransactionManager<RdbmsTransac
 			throw new TransactionException("An error occurred while opnening new DB connection", ex);
 		}
 		
-		threadToTransaction.put(Thread.currentThread(), transaction);
+		return transaction;
+	}
+	
+	private RdbmsTransaction createTransaction() throws TransactionException
+	{
+		RdbmsTransaction transaction = openTransaction();
+		
+		transactionContext.setTransaction(transaction);
+		return transaction;
+	}
+	
+	/**
+	 * Fetches the active transaction of current execution. If the bound transaction is already closed (for example
+	 * by a thread to which it was propagated), the binding is removed.
+	 * @return Active transaction, null if none
+	 */
+	private RdbmsTransaction getActiveTransaction()
+	{
+		RdbmsTransaction transaction = transactionContext.getTransaction();
+		
+		if(transaction != null && transaction.isClosed())
+		{
+			transactionContext.clearTransaction();
+			return null;
+		}
+		
 		return transaction;
 	}
 	
 	@Override
 	public RdbmsTransaction newTransaction() throws TransactionException
 	{
-		RdbmsTransaction transaction = threadToTransaction.get(Thread.currentThread());
+		RdbmsTransaction transaction = getActiveTransaction();
 		
 		if(transaction != null)
 		{
@@ -60,7 +238,7 @@ public class RdbmsTransactionManager implements ITransactionManager<RdbmsTransac
 	@Override
 	public TransactionWrapper<RdbmsTransaction> currentTransaction() throws TransactionException
 	{
-		RdbmsTransaction transaction = threadToTransaction.get(Thread.currentThread());
+		RdbmsTransaction transaction = getActiveTransaction();
 		
 		if(transaction != null)
 		{
@@ -73,7 +251,7 @@ public class RdbmsTransactionManager implements ITransactionManager<RdbmsTransac
 	@Override
 	public TransactionWrapper<RdbmsTransaction> newOrExistingTransaction() throws TransactionException
 	{
-		RdbmsTransaction transaction = threadToTransaction.get(Thread.currentThread());
+		RdbmsTransaction transaction = getActiveTransaction();
 		
 		if(transaction != null)
 		{
@@ -83,10 +261,126 @@ public class RdbmsTransactionManager implements ITransactionManager<RdbmsTransac
 		
 		return new TransactionWrapper<RdbmsTransaction>(createTransaction(), false);
 	}
+	
+	/**
+	 * Returns the active transaction of current execution, if any. Otherwise opens new transaction which is not 
+	 * bound to current execution, so that other operations of current execution neither join it nor get blocked
+	 * by it. Useful for transactions which outlive the calling method, like the ones backing streaming cursors.
+	 * @return Existing transaction or new unbound transaction
+	 */
+	public TransactionWrapper<RdbmsTransaction> existingOrUnboundTransaction() throws TransactionException
+	{
+		RdbmsTransaction transaction = getActiveTransaction();
+		
+		if(transaction != null)
+		{
+			logger.trace("Using existing transaction: {}", transaction);
+			return new TransactionWrapper<RdbmsTransaction>(transaction, true);
+		}
+		
+		return new TransactionWrapper<RdbmsTransaction>(openTransaction(), false);
+	}
 
-	void removeTransaction()
+	/**
+	 * Removes specified transaction from current execution, if it is bound to current execution.
+	 * @param transaction Transaction being closed
+	 */
+	void removeTransaction(RdbmsTransaction transaction)
+	{
+		if(transactionContext.getTransaction() == transaction)
+		{
+			transactionContext.clearTransaction();
+		}
+	}
+	
+	/**
+	 * Binds specified transaction to current execution and returns the transaction which was bound earlier.
+	 */
+	private RdbmsTransaction bind(RdbmsTransaction transaction)
+	{
+		RdbmsTransaction previous = transactionContext.getTransaction();
+		
+		if(transaction != null)
+		{
+			transactionContext.setTransaction(transaction);
+		}
+		
+		return previous;
+	}
+	
+	/**
+	 * Restores the binding of current execution to specified transaction, which was bound before propagated task execution.
+	 */
+	private void restore(RdbmsTransaction previous)
+	{
+		if(previous != null)
+		{
+			transactionContext.setTransaction(previous);
+		}
+		else
+		{
+			transactionContext.clearTransaction();
+		}
+	}
+	
+	@Override
+	public Runnable propagate(Runnable task)
+	{
+		RdbmsTransaction transaction = getActiveTransaction();
+		
+		return () -> {
+			RdbmsTransaction previous = bind(transaction);
+			
+			try
+			{
+				task.run();
+			}finally
+			{
+				restore(previous);
+			}
+		};
+	}
+	
+	@Override
+	public <V> Callable<V> propagate(Callable<V> task)
+	{
+		RdbmsTransaction transaction = getActiveTransaction();
+		
+		return () -> {
+			RdbmsTransaction previous = bind(transaction);
+			
+			try
+			{
+				return task.call();
+			}finally
+			{
+				restore(previous);
+			}
+		};
+	}
+	
+	@Override
+	public <V> Supplier<V> propagateSupplier(Supplier<V> task)
+	{
+		RdbmsTransaction transaction = getActiveTransaction();
+		
+		return () -> {
+			RdbmsTransaction previous = bind(transaction);
+			
+			try
+			{
+				return task.get();
+			}finally
+			{
+				restore(previous);
+			}
+		};
+	}
+	
+	@Override
+	public Executor propagatingExecutor(Executor executor)
 	{
-		threadToTransaction.remove(Thread.currentThread());
+		return task -> executor.execute(propagate(task));
 	}
 
 }
@@ -0,0 +1,180 @@
+package com.yukthi.persistence.rdbms;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.NoSuchElementException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.yukthi.persistence.ICloseableIterator;
+import com.yukthi.persistence.IFinderRecordProcessor;
+import com.yukthi.persistence.IFinderRecordProcessor.Action;
+import com.yukthi.persistence.PersistenceException;
+import com.yukthi.persistence.Record;
+import com.yukthi.persistence.TransactionWrapper;
+
+/**
+ * Iterator which reads records lazily from live result set. The result set, statement and the transaction
+ * are closed once the records are exhausted or when the iterator is closed explicitly.
+ * @author akiran
+ */
+class RecordIterator implements ICloseableIterator<Record>
+{
+	private static Logger logger = LogManager.getLogger(RecordIterator.class);
+	
+	private RdbmsDataStore dataStore;
+	
+	private TransactionWrapper<RdbmsTransaction> transaction;
+	
+	private PreparedStatement statement;
+	
+	private ResultSet resultSet;
+	
+	/**
+	 * Optional processor to filter the records
+	 */
+	private IFinderRecordProcessor recordProcessor;
+	
+	/**
+	 * Column names shared across the records
+	 */
+	private String colNames[];
+	
+	private long recordNo = -1;
+	
+	/**
+	 * Record fetched by hasNext() and which is yet to be returned by next()
+	 */
+	private Record nextRecord;
+	
+	private boolean closed = false;
+	
+	RecordIterator(RdbmsDataStore dataStore, TransactionWrapper<RdbmsTransaction> transaction, PreparedStatement statement,
+			ResultSet resultSet, IFinderRecordProcessor recordProcessor) throws SQLException
+	{
+		this.dataStore = dataStore;
+		this.transaction = transaction;
+		this.statement = statement;
+		this.resultSet = resultSet;
+		this.recordProcessor = recordProcessor;
+		
+		ResultSetMetaData metaData = resultSet.getMetaData();
+		colNames = new String[metaData.getColumnCount()];
+		
+		for(int i = 0 ; i < colNames.length ; i++)
+		{
+			colNames[i] = metaData.getColumnLabel(i + 1);
+		}
+	}
+	
+	/**
+	 * Fetches next record which needs to be processed.
+	 * @return Next record, null if no more records are available
+	 */
+	private Record fetchNext() throws SQLException
+	{
+		Record rec = null;
+		Action action = null;
+		
+		while(resultSet.next())
+		{
+			recordNo++;
+			rec = dataStore.readRecord(resultSet, colNames);
+			
+			if(recordProcessor == null)
+			{
+				return rec;
+			}
+			
+			//check the action to be performed
+			action = recordProcessor.process(recordNo, rec);
+			
+			if(action == Action.STOP)
+			{
+				return null;
+			}
+			
+			if(action == Action.IGNORE)
+			{
+				continue;
+			}
+			
+			return rec;
+		}
+		
+		return null;
+	}
+
+	@Override
+	public boolean hasNext()
+	{
+		if(nextRecord != null)
+		{
+			return true;
+		}
+		
+		if(closed)
+		{
+			return false;
+		}
+		
+		try
+		{
+			nextRecord = fetchNext();
+		}catch(SQLException ex)
+		{
+			close();
+			throw new PersistenceException("An error occurred while fetching next record", ex);
+		}
+		
+		//release the resources as soon as records are exhausted
+		if(nextRecord == null)
+		{
+			close();
+			return false;
+		}
+		
+		return true;
+	}
+
+	@Override
+	public Record next()
+	{
+		if(!hasNext())
+		{
+			throw new NoSuchElementException("No more records are available");
+		}
+		
+		Record rec = nextRecord;
+		nextRecord = null;
+		
+		return rec;
+	}
+
+	@Override
+	public void close()
+	{
+		if(closed)
+		{
+			return;
+		}
+		
+		closed = true;
+		dataStore.closeResources(resultSet, statement);
+		dataStore.getPersistenceMetrics().rowsFetched(RdbmsConfiguration.FINDER_QUERY, (int)(recordNo + 1));
+		
+		try
+		{
+			//read only transaction, commit would simply release the connection (if not existing transaction)
+			transaction.commit();
+		}catch(Exception ex)
+		{
+			logger.error("An error occurred while closing streaming transaction", ex);
+		}
+		
+		logger.trace("Closed record iterator after reading {} records", recordNo + 1);
+	}
+}
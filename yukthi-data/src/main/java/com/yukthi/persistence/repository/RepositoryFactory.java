@@ -107,6 +107,32 @@ public class RepositoryFactory
 		return null;
 	}
 	
+	/**
+	 * Eagerly loads entity details of specified entity types, so that metadata is built during initialization
+	 * instead of during first repository usage.
+	 * @param entityTypes Entity types to be loaded
+	 */
+	public void warmUp(Class<?>... entityTypes)
+	{
+		for(Class<?> entityType : entityTypes)
+		{
+			entityDetailsFactory.getEntityDetails(entityType, dataStore, createTables);
+		}
+	}
+	
+	/**
+	 * Eagerly loads entity details of entities managed by specified repository types.
+	 * @param repositoryTypes Repository types whose entities needs to be loaded
+	 */
+	@SafeVarargs
+	public final void warmUpRepositories(Class<? extends ICrudRepository<?>>... repositoryTypes)
+	{
+		for(Class<? extends ICrudRepository<?>> repositoryType : repositoryTypes)
+		{
+			fetchEntityDetails(repositoryType);
+		}
+	}
+	
 	@SuppressWarnings({"rawtypes"})
 	private EntityDetails fetchEntityDetails(Class<?> repositoryType)
 	{
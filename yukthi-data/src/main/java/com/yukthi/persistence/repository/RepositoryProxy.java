@@ -3,10 +3,9 @@ package com.yukthi.persistence.repository;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 import java.util.function.Function;
 
 import org.apache.logging.log4j.LogManager;
@@ -16,8 +15,10 @@ import com.yukthi.persistence.EntityDetails;
 import com.yukthi.persistence.ForeignConstraintDetails;
 import com.yukthi.persistence.ICrudRepository;
 import com.yukthi.persistence.IDataStore;
+import com.yukthi.persistence.IInternalRepository;
 import com.yukthi.persistence.JoinTableDetails;
 import com.yukthi.persistence.TransactionException;
+import com.yukthi.persistence.metrics.IPersistenceMetrics;
 import com.yukthi.persistence.query.DropTableQuery;
 import com.yukthi.persistence.repository.annotations.NotExecutableMethod;
 import com.yukthi.persistence.repository.executors.QueryExecutionContext;
@@ -31,19 +32,58 @@ class RepositoryProxy implements InvocationHandler
 
 	private static RecursiveAnnotationFactory recursiveAnnotationFactory = new RecursiveAnnotationFactory();
 	
+	/**
+	 * Dispatch details of a repository method, resolved when repository is created.
+	 * @author akiran
+	 */
+	private static class MethodHandler
+	{
+		/**
+		 * Name of the method, used for logging and metrics
+		 */
+		private final String name;
+		
+		/**
+		 * Function to be used for defaulted methods
+		 */
+		private final Function<Object[], Object> defaultedMethod;
+		
+		/**
+		 * Query executor for query methods
+		 */
+		private final QueryExecutor queryExecutor;
+		
+		/**
+		 * Flag indicating method is marked with @NotExecutableMethod
+		 */
+		private final boolean nonExecutable;
+
+		public MethodHandler(String name, Function<Object[], Object> defaultedMethod, QueryExecutor queryExecutor, boolean nonExecutable)
+		{
+			this.name = name;
+			this.defaultedMethod = defaultedMethod;
+			this.queryExecutor = queryExecutor;
+			this.nonExecutable = nonExecutable;
+		}
+	}
+	
 	private IDataStore dataStore;
-	private Map<String, QueryExecutor> methodToExecutor = new HashMap<>();
 	private EntityDetails entityDetails;
 
-	private Map<String, Function<Object[], Object>> defaultedMethods = new HashMap<>();
 	private Class<? extends ICrudRepository<?>> repositoryType;
 	
-	private Set<Method> nonExecutableMethods = new HashSet<>();
+	/**
+	 * Method dispatch table, keyed by repository method. Built once during construction, so that overloaded
+	 * methods get their own handlers and invocation needs single lookup.
+	 */
+	private final Map<Method, MethodHandler> methodHandlers;
 	
 	private QueryExecutionContext queryExecutionContext = new QueryExecutionContext();
 	
 	public RepositoryProxy(IDataStore dataStore, Class<? extends ICrudRepository<?>> repositoryType, EntityDetails entityDetails, ExecutorFactory executorFactory)
 	{
+		Map<String, Function<Object[], Object>> defaultedMethods = new HashMap<>();
+		
 		defaultedMethods.put("getEntityDetails", this::getEntityDetails);
 		defaultedMethods.put("newTransaction", this::newTransaction);
 		defaultedMethods.put("currentTransaction", this::currentTransaction);
@@ -56,27 +96,33 @@ class RepositoryProxy implements InvocationHandler
 		this.entityDetails = entityDetails;
 		this.repositoryType = repositoryType;
 		
+		Map<Method, MethodHandler> handlers = new HashMap<>();
+		
+		//internal methods are served by defaulted methods
+		for(Method method : IInternalRepository.class.getMethods())
+		{
+			handlers.put(method, new MethodHandler(method.getName(), defaultedMethods.get(method.getName()), null, false));
+		}
+		
 		Method methods[] = repositoryType.getMethods();
 		String methodName = null;
+		Function<Object[], Object> defaultedMethod = null;
 		QueryExecutor queryExecutor = null;
 		
 		for(Method method: methods)
 		{
 			methodName = method.getName();
+			defaultedMethod = defaultedMethods.get(methodName);
 			
-			if(defaultedMethods.containsKey(methodName))
+			if(defaultedMethod != null)
 			{
+				handlers.put(method, new MethodHandler(methodName, defaultedMethod, null, false));
 				continue;
 			}
 			
-			if(methodToExecutor.containsKey(method.getName()))
-			{
-				throw new InvalidRepositoryException("Duplicate method '" + method.getName() + "' encouneted in repository: " + repositoryType.getName());
-			}
-			
 			if(recursiveAnnotationFactory.findAnnotationRecursively(method, NotExecutableMethod.class) != null)
 			{
-				nonExecutableMethods.add(method);
+				handlers.put(method, new MethodHandler(methodName, null, null, true));
 				continue;
 			}
 
@@ -84,44 +130,69 @@ class RepositoryProxy implements InvocationHandler
 			
 			if(queryExecutor != null)
 			{
-				methodToExecutor.put(methodName, queryExecutor);
+				handlers.put(method, new MethodHandler(methodName, null, queryExecutor, false));
 				continue;
 			}
 			
 			throw new InvalidRepositoryException("Invalid CRUD method '" + methodName + "' is specified for entity - " + entityDetails.getEntityType().getName());
 		}
 		
+		this.methodHandlers = Collections.unmodifiableMap(handlers);
 	}
 	
 	@Override
 	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
 	{
+		MethodHandler handler = methodHandlers.get(method);
+		
+		if(handler == null)
+		{
+			throw new UnsupportedOperationException("Method {}.{}() is not supported by repository: {}", 
+					method.getDeclaringClass().getName(), method.getName(), repositoryType.getName());
+		}
+		
 		//if current method is non-executable then throw exception
-		if(nonExecutableMethods.contains(method))
+		if(handler.nonExecutable)
 		{
 			throw new UnsupportedOperationException("Repository method {}.{}() is marked with @{}. This method can not be executed directly.", 
-					repositoryType.getName(), method.getName(), NotExecutableMethod.class.getName());
+					repositoryType.getName(), handler.name, NotExecutableMethod.class.getName());
 		}
 		
-		String methodName = method.getName();
-				
-		if(defaultedMethods.containsKey(methodName))
+		if(handler.defaultedMethod != null)
 		{
-			logger.debug("Executing default-method '" + method.getName() + "' with arguments: " + Arrays.toString(args));
+			if(logger.isDebugEnabled())
+			{
+				logger.debug("Executing default-method '{}' with arguments: {}", handler.name, Arrays.toString(args));
+			}
 			
-			return defaultedMethods.get(methodName).apply(args);
+			return handler.defaultedMethod.apply(args);
+		}
+		
+		if(logger.isDebugEnabled())
+		{
+			logger.debug("Executing method '{}' with arguments: {}", handler.name, Arrays.toString(args));
 		}
 		
-		logger.debug("Executing method '" + method.getName() + "' with arguments: " + Arrays.toString(args));
+		IPersistenceMetrics persistenceMetrics = dataStore.getPersistenceMetrics();
+		long startTime = persistenceMetrics.isEnabled() ? System.nanoTime() : 0;
+		boolean failed = true;
 		
 		try
 		{
-			QueryExecutor queryExecutor = methodToExecutor.get(method.getName());
-			return queryExecutor.execute(queryExecutionContext, dataStore, dataStore.getConversionService(), args);
+			Object result = handler.queryExecutor.execute(queryExecutionContext, dataStore, dataStore.getConversionService(), args);
+			
+			failed = false;
+			return result;
 		}catch(RuntimeException ex)
 		{
-			logger.debug("An error occurred while executing method: " + method.getName() + "\nError: " + ex);
+			logger.debug("An error occurred while executing method: {}\nError: {}", handler.name, ex);
 			throw ex;
+		}finally
+		{
+			if(persistenceMetrics.isEnabled())
+			{
+				persistenceMetrics.repositoryMethodExecuted(repositoryType, handler.name, System.nanoTime() - startTime, failed);
+			}
 		}
 	}
 
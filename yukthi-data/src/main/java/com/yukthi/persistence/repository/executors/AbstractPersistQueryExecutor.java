@@ -1,8 +1,12 @@
 package com.yukthi.persistence.repository.executors;
 
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.commons.lang3.reflect.TypeUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -34,6 +38,31 @@ public abstract class AbstractPersistQueryExecutor extends QueryExecutor
 		return StringUtil.getPatternString(messageTemplate, context);
 	}
 	
+	/**
+	 * Fetches element type of the collection parameter of specified method. Type variables are resolved
+	 * using repository type.
+	 * @param method Method whose first parameter is collection
+	 * @return Element type, null if cannot be determined
+	 */
+	protected Class<?> getCollectionElementType(Method method)
+	{
+		Type paramType = method.getGenericParameterTypes()[0];
+		
+		if(!(paramType instanceof ParameterizedType))
+		{
+			return null;
+		}
+		
+		Type typeArgs[] = ((ParameterizedType)paramType).getActualTypeArguments();
+		
+		if(typeArgs.length != 1)
+		{
+			return null;
+		}
+		
+		return TypeUtils.getRawType(typeArgs[0], repositoryType);
+	}
+	
 	protected void checkForUniqueConstraints(IDataStore dataStore, ConversionService conversionService, Object entity, boolean excludeId)
 	{
 		logger.trace("Started method: checkForUniqueConstraints");
@@ -112,10 +141,15 @@ public abstract class AbstractPersistQueryExecutor extends QueryExecutor
 			existenceQuery = new CountQuery(foreignConstraint.getTargetEntityDetails());
 
 			foreignEntityDetails = foreignConstraint.getTargetEntityDetails();
-			ownerFieldDetails = foreignEntityDetails.getFieldDetailsByField(foreignConstraint.getOwnerField().getName());
+			ownerFieldDetails = entityDetails.getFieldDetailsByField(foreignConstraint.getOwnerField().getName());
 
+			//relations maintained via join tables are not part of current table
+			if(!ownerFieldDetails.isTableOwned())
+			{
+				continue;
+			}
+			
 			value = ownerFieldDetails.getValue(entity);
-			value = conversionService.convertToDBType(value, ownerFieldDetails);
 
 			//if no value is defined for relationship
 			if(value == null)
@@ -123,6 +157,10 @@ public abstract class AbstractPersistQueryExecutor extends QueryExecutor
 				continue;
 			}
 			
+			//use the id of related entity for existence check
+			value = foreignEntityDetails.getIdField().getValue(value);
+			value = conversionService.convertToDBType(value, foreignEntityDetails.getIdField());
+			
 			existenceQuery.addCondition(new QueryCondition(null, foreignEntityDetails.getIdField().getDbColumnName(), Operator.EQ, value, JoinOperator.AND, false));
 			
 			if(dataStore.getCount(existenceQuery, foreignEntityDetails) <= 0)
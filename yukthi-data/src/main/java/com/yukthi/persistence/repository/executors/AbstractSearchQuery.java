@@ -8,6 +8,11 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.commons.lang3.reflect.TypeUtils;
@@ -15,8 +20,11 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.yukthi.persistence.FieldDetails;
+import com.yukthi.persistence.ICloseableIterator;
 import com.yukthi.persistence.ICrudRepository;
 import com.yukthi.persistence.InvalidMappingException;
+import com.yukthi.persistence.Record;
+import com.yukthi.persistence.conversion.ConversionService;
 import com.yukthi.persistence.repository.InvalidRepositoryException;
 import com.yukthi.persistence.repository.annotations.ExtendedFieldNames;
 import com.yukthi.persistence.repository.annotations.Field;
@@ -41,6 +49,11 @@ public abstract class AbstractSearchQuery extends QueryExecutor
 	
 	protected Class<?> returnType;
 	protected Class<?> collectionReturnType = null;
+	
+	/**
+	 * Stream or iterator type, if results are expected to be fetched lazily
+	 */
+	protected Class<?> streamReturnType = null;
 
 	/**
 	 * Keeps track of different parts required by query
@@ -123,8 +136,13 @@ public abstract class AbstractSearchQuery extends QueryExecutor
 			throw new InvalidRepositoryException("Found void finder method '" + method.getName() + "' in repository: " + repositoryType.getName());
 		}
 		
+		//if results are expected to be fetched lazily
+		if(Stream.class.equals(returnType) || Iterator.class.equals(returnType) || ICloseableIterator.class.equals(returnType))
+		{
+			this.streamReturnType = returnType;
+		}
 		//TODO: Support map types
-		if(Collection.class.isAssignableFrom(returnType))
+		else if(Collection.class.isAssignableFrom(returnType))
 		{
 			if(returnType.isAssignableFrom(ArrayList.class))
 			{
@@ -146,7 +164,10 @@ public abstract class AbstractSearchQuery extends QueryExecutor
 								+ method.getName() + "' of repository: " + repositoryType.getName());
 				}
 			}
-			
+		}
+		
+		if(collectionReturnType != null || streamReturnType != null)
+		{
 			ParameterizedType type = (ParameterizedType)method.getGenericReturnType();
 			Type typeArgs[] = type.getActualTypeArguments();
 			
@@ -210,6 +231,52 @@ public abstract class AbstractSearchQuery extends QueryExecutor
 		}
 	}
 	
+	/**
+	 * Wraps specified records iterator into stream return type of the method. The records are converted into
+	 * result type lazily, as and when they are consumed.
+	 * @param records Records to wrap
+	 * @param conditionQueryBuilder Builder to be used to convert records
+	 * @param conversionService Conversion service to be used
+	 * @return Stream or iterator as per method return type
+	 */
+	protected Object toStreamResult(ICloseableIterator<Record> records, ConditionQueryBuilder conditionQueryBuilder, ConversionService conversionService)
+	{
+		ICloseableIterator<Object> resultIterator = new ICloseableIterator<Object>()
+		{
+			@Override
+			public boolean hasNext()
+			{
+				return records.hasNext();
+			}
+			
+			@Override
+			public Object next()
+			{
+				try
+				{
+					return conditionQueryBuilder.parseRecord(records.next(), returnType, conversionService, persistenceExecutionContext);
+				}catch(RuntimeException ex)
+				{
+					records.close();
+					throw ex;
+				}
+			}
+			
+			@Override
+			public void close()
+			{
+				records.close();
+			}
+		};
+		
+		if(Stream.class.equals(streamReturnType))
+		{
+			return StreamSupport.stream(Spliterators.spliteratorUnknownSize(resultIterator, Spliterator.ORDERED), false).onClose(resultIterator::close);
+		}
+		
+		return resultIterator;
+	}
+	
 	protected void fetchOrderDetails(Method method)
 	{
 		OrderBy orderBy = recursiveAnnotationFactory.findAnnotationRecursively(method, OrderBy.class);
@@ -22,7 +22,9 @@ import com.yukthi.persistence.ForeignConstraintDetails;
 import com.yukthi.persistence.InvalidMappingException;
 import com.yukthi.persistence.JoinTableDetails;
 import com.yukthi.persistence.Record;
+import com.yukthi.persistence.accessor.BeanAccessor;
 import com.yukthi.persistence.conversion.ConversionService;
+import com.yukthi.persistence.metrics.IPersistenceMetrics;
 import com.yukthi.persistence.query.FinderQuery;
 import com.yukthi.persistence.query.IConditionalQuery;
 import com.yukthi.persistence.query.QueryCondition;
@@ -35,6 +37,7 @@ import com.yukthi.persistence.repository.annotations.JoinOperator;
 import com.yukthi.persistence.repository.annotations.Operator;
 import com.yukthi.persistence.repository.annotations.OrderByType;
 import com.yukthi.persistence.repository.executors.proxy.ProxyEntityCreator;
+import com.yukthi.persistence.repository.executors.proxy.ProxyLoadGroup;
 import com.yukthi.persistence.repository.search.DynamicResultField;
 import com.yukthi.persistence.repository.search.IDynamicSearchResult;
 import com.yukthi.utils.CommonUtils;
@@ -46,7 +49,11 @@ import com.yukthi.utils.exceptions.InvalidStateException;
 /**
  * Builder that can be used to keep track of conditions/columns involved and
  * their dependencies. And finally build the required query.
- * 
+ *
+ * Once built, the builder is only read while loading queries and parsing results. So a single
+ * builder can be shared by concurrent calls and executors needing per-call changes should
+ * work on a {@link #clone()}.
+ *
  * @author akiran
  */
 public class ConditionQueryBuilder implements Cloneable
@@ -285,6 +292,22 @@ public class ConditionQueryBuilder implements Cloneable
 			this.code = code;
 			this.fieldType = fieldType;
 		}
+		
+		/**
+		 * Creates a copy of this result field with specified order type. Result fields
+		 * are shared between builder clones, so order type is never set on shared instances.
+		 * @param orderType Order type to be set on copy
+		 * @return Copy of this field with specified order type
+		 */
+		private ResultField withOrderType(OrderByType orderType)
+		{
+			ResultField copy = new ResultField(property, code, fieldType);
+			copy.table = table;
+			copy.fieldDetails = fieldDetails;
+			copy.orderType = orderType;
+			
+			return copy;
+		}
 	}
 
 	/**
@@ -1094,6 +1117,7 @@ public class ConditionQueryBuilder implements Cloneable
 	 * @param resultType
 	 * @param conversionService
 	 * @param persistenceExecutionContext
+	 * @param loadGroups Proxy load groups (by entity type) shared by records of same result, so that lazy relations are loaded together
 	 * @return
 	 * @throws IllegalAccessException
 	 * @throws InstantiationException
@@ -1101,7 +1125,7 @@ public class ConditionQueryBuilder implements Cloneable
 	 * @throws InvocationTargetException
 	 */
 	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private <T> T parseResult(Record record, Class<T> resultType, ConversionService conversionService, PersistenceExecutionContext persistenceExecutionContext) throws IllegalAccessException, InstantiationException, InvocationTargetException, NoSuchMethodException
+	private <T> T parseResult(Record record, Class<T> resultType, ConversionService conversionService, PersistenceExecutionContext persistenceExecutionContext, Map<EntityDetails, ProxyLoadGroup> loadGroups) throws IllegalAccessException, InstantiationException, InvocationTargetException, NoSuchMethodException
 	{
 		if(isSingleFieldReturn)
 		{
@@ -1111,11 +1135,13 @@ public class ConditionQueryBuilder implements Cloneable
 			return (T) ConvertUtils.convert(res, resField.fieldType);
 		}
 
-		T result = resultType.newInstance();
+		BeanAccessor beanAccessor = resultType.equals(entityDetails.getEntityType()) ? entityDetails.getBeanAccessor() : BeanAccessor.getAccessor(resultType);
+		T result = (T) beanAccessor.newInstance();
 		Object value = null;
 		ProxyEntityCreator proxyEntityCreator = null;
 		ForeignConstraintDetails foreignConstraint = null;
 		EntityDetails foreignEntityDetails = null;
+		ProxyLoadGroup loadGroup = null;
 
 		RepositoryFactory repositoryFactory = persistenceExecutionContext.getRepositoryFactory();
 
@@ -1139,7 +1165,16 @@ public class ConditionQueryBuilder implements Cloneable
 					foreignConstraint = resultField.fieldDetails.getForeignConstraintDetails();
 					foreignEntityDetails = foreignConstraint.getTargetEntityDetails();
 
-					proxyEntityCreator = new ProxyEntityCreator(foreignEntityDetails, repositoryFactory.getRepositoryForEntity((Class) foreignEntityDetails.getEntityType()), value);
+					loadGroup = loadGroups.get(foreignEntityDetails);
+					
+					if(loadGroup == null)
+					{
+						loadGroup = new ProxyLoadGroup(foreignEntityDetails, repositoryFactory.getRepositoryForEntity((Class) foreignEntityDetails.getEntityType()), 
+								repositoryFactory.getDataStore().getPersistenceMetrics());
+						loadGroups.put(foreignEntityDetails, loadGroup);
+					}
+
+					proxyEntityCreator = new ProxyEntityCreator(foreignEntityDetails, loadGroup, value);
 					value = proxyEntityCreator.getProxyEntity();
 				}
 				//if this is extension field
@@ -1191,7 +1226,7 @@ public class ConditionQueryBuilder implements Cloneable
 				continue;
 			}
 
-			PropertyUtils.setProperty(result, resultField.property, value);
+			beanAccessor.setProperty(result, resultField.property, value);
 		}
 
 		return result;
@@ -1208,15 +1243,55 @@ public class ConditionQueryBuilder implements Cloneable
 	 */
 	public <T> void parseResults(List<Record> records, Class<T> returnType, Collection<T> resultCollection, ConversionService conversionService, PersistenceExecutionContext persistenceExecutionContext)
 	{
+		//lazy relations of all the records are grouped, so that they get loaded together on first access
+		Map<EntityDetails, ProxyLoadGroup> loadGroups = new HashMap<>();
+		IPersistenceMetrics persistenceMetrics = persistenceExecutionContext.getRepositoryFactory().getDataStore().getPersistenceMetrics();
+		long startTime = persistenceMetrics.isEnabled() ? System.nanoTime() : 0;
+		
 		for(Record record : records)
 		{
-			try
-			{
-				resultCollection.add(parseResult(record, returnType, conversionService, persistenceExecutionContext));
-			} catch(Exception ex)
-			{
-				throw new IllegalArgumentException("An error occurred while parsing record - " + record, ex);
-			}
+			resultCollection.add(parseRecord(record, returnType, conversionService, persistenceExecutionContext, loadGroups));
+		}
+		
+		if(persistenceMetrics.isEnabled())
+		{
+			persistenceMetrics.rowsMapped(returnType, records.size(), System.nanoTime() - startTime);
+		}
+	}
+
+	/**
+	 * Converts specified record into specified return type bean
+	 * 
+	 * @param record
+	 * @param returnType
+	 * @param conversionService
+	 * @param persistenceExecutionContext
+	 * @return Converted bean
+	 */
+	public <T> T parseRecord(Record record, Class<T> returnType, ConversionService conversionService, PersistenceExecutionContext persistenceExecutionContext)
+	{
+		IPersistenceMetrics persistenceMetrics = persistenceExecutionContext.getRepositoryFactory().getDataStore().getPersistenceMetrics();
+		
+		if(!persistenceMetrics.isEnabled())
+		{
+			return parseRecord(record, returnType, conversionService, persistenceExecutionContext, new HashMap<EntityDetails, ProxyLoadGroup>());
+		}
+		
+		long startTime = System.nanoTime();
+		T result = parseRecord(record, returnType, conversionService, persistenceExecutionContext, new HashMap<EntityDetails, ProxyLoadGroup>());
+		
+		persistenceMetrics.rowsMapped(returnType, 1, System.nanoTime() - startTime);
+		return result;
+	}
+	
+	private <T> T parseRecord(Record record, Class<T> returnType, ConversionService conversionService, PersistenceExecutionContext persistenceExecutionContext, Map<EntityDetails, ProxyLoadGroup> loadGroups)
+	{
+		try
+		{
+			return parseResult(record, returnType, conversionService, persistenceExecutionContext, loadGroups);
+		} catch(Exception ex)
+		{
+			throw new IllegalArgumentException("An error occurred while parsing record - " + record, ex);
 		}
 	}
 
@@ -1243,8 +1318,7 @@ public class ConditionQueryBuilder implements Cloneable
 			orderByType = OrderByType.ASC;
 		}
 			
-		resultField.orderType = orderByType;
-		this.orderByFields.add(resultField);
+		this.orderByFields.add(resultField.withOrderType(orderByType));
 	}
 
 	/**
@@ -1279,6 +1353,9 @@ public class ConditionQueryBuilder implements Cloneable
 			newBuilder.propToTable = new HashMap<>(propToTable);
 			newBuilder.resultFields = new ArrayList<>(resultFields);
 
+			//clones get their own table counter, so that per-call changes on clone do not affect source builder
+			newBuilder.nextTableId = new AtomicInteger(nextTableId.get());
+
 			return newBuilder;
 		} catch(CloneNotSupportedException ex)
 		{
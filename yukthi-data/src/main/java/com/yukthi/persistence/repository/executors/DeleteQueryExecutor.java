@@ -2,8 +2,15 @@ package com.yukthi.persistence.repository.executors;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -12,18 +19,22 @@ import com.yukthi.persistence.ChildConstraintViolationException;
 import com.yukthi.persistence.EntityDetails;
 import com.yukthi.persistence.FieldDetails;
 import com.yukthi.persistence.ForeignConstraintDetails;
-import com.yukthi.persistence.ICrudRepository;
 import com.yukthi.persistence.IDataStore;
 import com.yukthi.persistence.ITransaction;
 import com.yukthi.persistence.PersistenceException;
+import com.yukthi.persistence.Record;
 import com.yukthi.persistence.conversion.ConversionService;
 import com.yukthi.persistence.listeners.EntityEventType;
+import com.yukthi.persistence.query.AbstractChildQuery;
 import com.yukthi.persistence.query.ChildrenExistenceQuery;
+import com.yukthi.persistence.query.DeleteChildrenQuery;
 import com.yukthi.persistence.query.DeleteQuery;
 import com.yukthi.persistence.query.FetchChildrenIdsQuery;
-import com.yukthi.persistence.query.IChildQuery;
+import com.yukthi.persistence.query.FinderQuery;
 import com.yukthi.persistence.query.QueryCondition;
 import com.yukthi.persistence.repository.InvalidRepositoryException;
+import com.yukthi.persistence.repository.annotations.JoinOperator;
+import com.yukthi.persistence.repository.annotations.Operator;
 
 /**
  * Conditions are not mandatory for delete query
@@ -35,11 +46,61 @@ public class DeleteQueryExecutor extends AbstractPersistQueryExecutor
 {
 	private static Logger logger = LogManager.getLogger(DeleteQueryExecutor.class);
 	
+	/**
+	 * Maximum number of values used in single IN condition. Bigger value collections are processed in chunks.
+	 */
+	private static final int MAX_IN_LIST_SIZE = 500;
+	
+	/**
+	 * State of child constraints processing of single delete.
+	 * @author akiran
+	 */
+	private static class ChildDeleteContext
+	{
+		private IDataStore dataStore;
+		
+		private ConversionService conversionService;
+		
+		/**
+		 * Delete queries of cascaded child tables, queries of descendant tables are added before their parent tables
+		 */
+		private List<DeleteChildrenQuery> deleteChildrenQueries = new ArrayList<>();
+		
+		/**
+		 * Ids of child rows of cyclic references, which are already processed. Used to avoid infinite recursion on data cycles.
+		 */
+		private Map<Class<?>, Set<Object>> processedIds = new HashMap<>();
+		
+		/**
+		 * Cascaded child entities being deleted (mapped by type and id), to be passed to delete listeners
+		 */
+		private Map<Class<?>, Map<Object, Object>> deletingChildren = new LinkedHashMap<>();
+		
+		public ChildDeleteContext(IDataStore dataStore, ConversionService conversionService)
+		{
+			this.dataStore = dataStore;
+			this.conversionService = conversionService;
+		}
+	}
+	
 	private Class<?> returnType;
-	private ReentrantLock queryLock = new ReentrantLock();
 	private ConditionQueryBuilder conditionQueryBuilder;
+	
+	/**
+	 * Query builder with delete conditions and entity fields as result fields. Used to fetch entities being deleted for listeners.
+	 */
+	private ConditionQueryBuilder entityQueryBuilder;
 	private String methodDesc;
 	
+	/**
+	 * Indicates the method accepts collection of keys, entities matching with any of the keys should be deleted
+	 */
+	private boolean batchDelete = false;
+	
+	/**
+	 * Query builders to fetch cascaded child entities by ids, for delete listeners of child entities
+	 */
+	private Map<Class<?>, ConditionQueryBuilder> childEntityQueryBuilders = new ConcurrentHashMap<>();
 	
 	public DeleteQueryExecutor(Class<?> repositoryType, Method method, EntityDetails entityDetails)
 	{
@@ -53,11 +114,24 @@ public class DeleteQueryExecutor extends AbstractPersistQueryExecutor
 		if(!super.fetchConditonsByAnnotations(method, true, conditionQueryBuilder, methodDesc, false))
 		{
 			//if conditions are not found based on annotations, try to find based on method name
-			super.fetchConditionsByName(method, conditionQueryBuilder, methodDesc);
+			//if single collection param is used for name based condition, delete is done for each key as batch
+			batchDelete = super.fetchConditionsByName(method, conditionQueryBuilder, methodDesc)
+					&& method.getParameterTypes().length == 1 && Collection.class.isAssignableFrom(method.getParameterTypes()[0]);
 		}
 		
 		super.fetchMethodLevelConditions(method, conditionQueryBuilder, methodDesc, false);
 		
+		//build query to fetch entities being deleted, for delete listeners
+		entityQueryBuilder = conditionQueryBuilder.clone();
+		
+		for(FieldDetails field: entityDetails.getFieldDetails())
+		{
+			if(field.isTableOwned())
+			{
+				entityQueryBuilder.addResultField(field.getName(), field.getField().getType(), field.getName(), methodDesc);
+			}
+		}
+		
 		returnType = method.getReturnType();
 		
 		if(!boolean.class.equals(returnType) && !void.class.equals(returnType) && !int.class.equals(returnType))
@@ -66,13 +140,25 @@ public class DeleteQueryExecutor extends AbstractPersistQueryExecutor
 		}
 	}
 	
-	private void populateChildQuery(ForeignConstraintDetails childConstraint, DeleteQuery deleteQuery, IChildQuery childQuery, 
-			IDataStore dataStore, ConversionService conversionService, Object... params)
+	/**
+	 * Populates parent details of specified child query. For first level children, conditions of main delete query are
+	 * used as parent conditions. For deeper levels, child query is linked to the query of its parent table.
+	 * @param childConstraint Constraint of child table
+	 * @param parentQuery Query of the parent table, null for first level children
+	 * @param deleteQuery Main delete query
+	 * @param childQuery Child query to populate
+	 */
+	private void populateChildQuery(ForeignConstraintDetails childConstraint, AbstractChildQuery parentQuery, DeleteQuery deleteQuery, AbstractChildQuery childQuery)
 	{
 		logger.trace("Started method: populateChildQuery");
 		
+		//if parent table is a child table itself, link to the parent query
+		if(parentQuery != null)
+		{
+			childQuery.linkToParentQuery(parentQuery);
+		}
 		//add conditions from main delete query as parent conditions
-		if(deleteQuery.getConditions() != null)
+		else if(deleteQuery.getConditions() != null)
 		{
 			for(QueryCondition condition: deleteQuery.getConditions())
 			{
@@ -88,19 +174,76 @@ public class DeleteQueryExecutor extends AbstractPersistQueryExecutor
 		childQuery.addMapping( ownerFieldDetails.getDbColumnName(), childTargetEntity.getIdField().getDbColumnName());
 	}
 	
+	/**
+	 * Splits specified list into sub lists of size {@link #MAX_IN_LIST_SIZE} (or less), so that each of them
+	 * can be used in single IN condition.
+	 * @param values Values to split
+	 * @return Sub lists of values
+	 */
+	private static List<List<Object>> toInLists(List<Object> values)
+	{
+		List<List<Object>> inLists = new ArrayList<>();
+		
+		for(int from = 0; from < values.size(); from += MAX_IN_LIST_SIZE)
+		{
+			inLists.add(new ArrayList<>(values.subList(from, Math.min(from + MAX_IN_LIST_SIZE, values.size()))));
+		}
+		
+		return inLists;
+	}
+	
 	/**
 	 * Based on the "deleteCascade" enabled on child tables, child entities will be deleted recursively. 
 	 * If deleteCascade is false, then this method ensures no child entities are refering the entity being deleted. If not an error will be thrown.
 	 * Note - This functionality is mainly required for NO SQL DBs.
-	 * @param dataStore
-	 * @param conversionService
-	 * @param params
+	 * 
+	 * Instead of deleting children one by one, single set-based delete query is built for each child table, which
+	 * deletes the child rows referring (directly or via intermediate tables) to the rows matching with delete query. Child
+	 * existence checks are done before any deletion and deletes of descendant tables are executed before their parent tables.
+	 * 
+	 * If delete listeners are registered for cascaded child entities, the child entities are fetched before deletion
+	 * and pre and post delete events are raised for them.
+	 * @param dataStore Data store to use
+	 * @param conversionService Conversion service to use
+	 * @param deleteQuery Main delete query
 	 */
-	private void processChildConstraints(IDataStore dataStore, DeleteQuery deleteQuery, ConversionService conversionService, Object... params)
+	private void processChildConstraints(IDataStore dataStore, ConversionService conversionService, DeleteQuery deleteQuery)
 	{
 		logger.trace("Started method: processChildConstraints");
 		
-		List<ForeignConstraintDetails> childConstraints = entityDetails.getChildConstraints();
+		ChildDeleteContext deleteContext = new ChildDeleteContext(dataStore, conversionService);
+		Set<Class<?>> entityPath = new HashSet<>();
+		entityPath.add(entityDetails.getEntityType());
+		
+		buildChildQueries(deleteContext, entityDetails, null, deleteQuery, entityPath);
+		
+		if(deleteContext.deleteChildrenQueries.isEmpty())
+		{
+			return;
+		}
+		
+		notifyChildDeleteEvents(deleteContext, EntityEventType.PRE_DELETE);
+		dataStore.deleteChildren(deleteContext.deleteChildrenQueries);
+		notifyChildDeleteEvents(deleteContext, EntityEventType.POST_DELETE);
+	}
+	
+	/**
+	 * Builds delete queries for cascaded child tables of specified parent entity (recursively) and checks existence of
+	 * non-cascaded children. Queries of descendant tables are added before the query of their parent table.
+	 * 
+	 * Cyclic references (like self references) can not be followed by linking tables, as the depth is data dependent. So
+	 * for cyclic references, ids of the child rows are fetched and their children are processed as delete of child rows
+	 * by ids, which in turn processes next level of cyclic children. 
+	 * @param deleteContext Context of current delete
+	 * @param parentEntityDetails Parent entity whose child constraints needs to be processed
+	 * @param parentQuery Delete query of parent entity, null if parent entity is the main entity
+	 * @param deleteQuery Main delete query
+	 * @param entityPath Entity types in current path, used to detect cyclic references
+	 */
+	private void buildChildQueries(ChildDeleteContext deleteContext, EntityDetails parentEntityDetails, AbstractChildQuery parentQuery, 
+			DeleteQuery deleteQuery, Set<Class<?>> entityPath)
+	{
+		List<ForeignConstraintDetails> childConstraints = parentEntityDetails.getChildConstraints();
 		
 		//if no child constraints are defined
 		if(childConstraints == null || childConstraints.isEmpty())
@@ -108,103 +251,402 @@ public class DeleteQueryExecutor extends AbstractPersistQueryExecutor
 			return;
 		}
 		
-		//DeleteChildrenQuery deleteChildQuery = null;
-		ChildrenExistenceQuery childrenExistenceQuery = null;
+		EntityDetails childEntityDetails = null;
 		
 		//loop through child constraints
 		for(ForeignConstraintDetails childConstraint: childConstraints)
 		{
-			//if delete cascade is enabled
-			if(childConstraint.isDeleteCascaded())
+			childEntityDetails = childConstraint.getOwnerEntityDetails();
+			
+			//if delete cascade is not enabled
+			if(!childConstraint.isDeleteCascaded())
 			{
-				//fetch child entity ids referring to current entity
-				//  This is needed to perform delete recursively
-				FetchChildrenIdsQuery fetchChildrenIdsQuery = new FetchChildrenIdsQuery(childConstraint.getOwnerEntityDetails(), entityDetails);
-				populateChildQuery(childConstraint, deleteQuery, fetchChildrenIdsQuery, dataStore, conversionService, params);
-				
-				List<Object> childrenIds = dataStore.fetchChildrenIds(fetchChildrenIdsQuery);
+				//check if any child entities are referring to current entity
+				ChildrenExistenceQuery childrenExistenceQuery = new ChildrenExistenceQuery(childEntityDetails, parentEntityDetails);
+				populateChildQuery(childConstraint, parentQuery, deleteQuery, childrenExistenceQuery);
 				
-				//if child entities are present
-				if(childrenIds != null)
+				if(deleteContext.dataStore.checkChildrenExistence(childrenExistenceQuery) > 0)
 				{
-					//execute delete on child entities recursively 
-					ICrudRepository<?> childRepository = super.getCrudRepository(childConstraint.getOwnerEntityDetails().getEntityType());
-					
-					for(Object childId: childrenIds)
-					{
-						childRepository.deleteById(childId);
-					}
+					throw new ChildConstraintViolationException(childConstraint.getConstraintName(), "Found child items of type '" 
+									+ childEntityDetails.getEntityType().getName() + "'");
 				}
+				
+				continue;
 			}
-			//if delete cascade is not enabled
-			else
+			
+			DeleteChildrenQuery deleteChildrenQuery = new DeleteChildrenQuery(childEntityDetails, parentEntityDetails);
+			populateChildQuery(childConstraint, parentQuery, deleteQuery, deleteChildrenQuery);
+			
+			//process grand children before current children, so that they get deleted first
+			if(entityPath.add(childEntityDetails.getEntityType()))
 			{
-				//check if any child entities are referring to current entity
-				childrenExistenceQuery = new ChildrenExistenceQuery(childConstraint.getOwnerEntityDetails(), entityDetails);
-				
-				populateChildQuery(childConstraint, deleteQuery, childrenExistenceQuery, dataStore, conversionService, params);
-				
-				if(dataStore.checkChildrenExistence(childrenExistenceQuery) > 0)
+				if(isDeleteListenerAvailable(childEntityDetails.getEntityType()))
 				{
-					throw new ChildConstraintViolationException(childConstraint.getConstraintName(), "Found child items of type '" 
-									+ childConstraint.getOwnerEntityDetails().getEntityType().getName() + "'");
+					addDeletingChildren(deleteContext, childEntityDetails, fetchChildrenIds(deleteContext, childConstraint, parentQuery, deleteQuery));
 				}
+				
+				buildChildQueries(deleteContext, childEntityDetails, deleteChildrenQuery, deleteQuery, entityPath);
+				entityPath.remove(childEntityDetails.getEntityType());
 			}
+			else
+			{
+				buildCyclicChildQueries(deleteContext, childConstraint, parentQuery, deleteQuery);
+			}
+			
+			deleteContext.deleteChildrenQueries.add(deleteChildrenQuery);
 		}
 	}
 	
-	/* (non-Javadoc)
-	 * @see com.yukthi.persistence.repository.executors.QueryExecutor#execute(com.yukthi.persistence.repository.executors.QueryExecutionContext, com.yukthi.persistence.IDataStore, com.yukthi.persistence.conversion.ConversionService, java.lang.Object[])
+	/**
+	 * Processes children of the child rows of specified cyclic constraint, by fetching the ids of child rows and
+	 * processing them as delete of child rows by ids. Child rows already processed as part of current delete are skipped,
+	 * so that cycles in data does not result in infinite recursion.
+	 * @param deleteContext Context of current delete
+	 * @param childConstraint Cyclic child constraint
+	 * @param parentQuery Delete query of parent entity, null if parent entity is the main entity
+	 * @param deleteQuery Main delete query
 	 */
-	@Override
-	public Object execute(QueryExecutionContext context, IDataStore dataStore, ConversionService conversionService, Object... params)
+	private void buildCyclicChildQueries(ChildDeleteContext deleteContext, ForeignConstraintDetails childConstraint, AbstractChildQuery parentQuery, DeleteQuery deleteQuery)
 	{
-		logger.trace("Started method: execute");
-		
-		queryLock.lock();
+		EntityDetails childEntityDetails = childConstraint.getOwnerEntityDetails();
+		Set<Object> processedIds = deleteContext.processedIds.computeIfAbsent(childEntityDetails.getEntityType(), type -> new HashSet<>());
+		List<Object> childIds = new ArrayList<>();
 		
-		try(ITransaction transaction = dataStore.getTransactionManager().newOrExistingTransaction())
+		for(Object id : fetchChildrenIds(deleteContext, childConstraint, parentQuery, deleteQuery))
 		{
-			if(super.isListenerAvailable(EntityEventType.PRE_DELETE))
+			if(processedIds.add(id))
 			{
-				//TODO: If listeners are available use delete query conditions to fetch entity ids
-					// and for each entity id invoke listeners
+				childIds.add(id);
 			}
+		}
+		
+		if(childIds.isEmpty())
+		{
+			return;
+		}
+		
+		if(isDeleteListenerAvailable(childEntityDetails.getEntityType()))
+		{
+			addDeletingChildren(deleteContext, childEntityDetails, childIds);
+		}
+		
+		String idColumn = childEntityDetails.getIdField().getDbColumnName();
+		
+		for(List<Object> ids : toInLists(childIds))
+		{
+			DeleteQuery idDeleteQuery = new DeleteQuery(childEntityDetails);
+			idDeleteQuery.addCondition(new QueryCondition(null, idColumn, Operator.IN, ids, JoinOperator.AND, false));
 			
-			DeleteQuery deleteQuery = new DeleteQuery(entityDetails);
-			conditionQueryBuilder.loadConditionalQuery(context.getRepositoryExecutionContext(), deleteQuery, params);
+			Set<Class<?>> entityPath = new HashSet<>();
+			entityPath.add(childEntityDetails.getEntityType());
 			
-			//if datastore requires explicit child delete handling (like NOSQL DBs)
-			if(dataStore.isExplicitForeignCheckRequired())
+			buildChildQueries(deleteContext, childEntityDetails, null, idDeleteQuery, entityPath);
+		}
+	}
+	
+	/**
+	 * Fetches ids of the child rows of specified constraint, referring to the rows being deleted.
+	 * @param deleteContext Context of current delete
+	 * @param childConstraint Child constraint
+	 * @param parentQuery Delete query of parent entity, null if parent entity is the main entity
+	 * @param deleteQuery Main delete query
+	 * @return Ids of matching child rows
+	 */
+	private List<Object> fetchChildrenIds(ChildDeleteContext deleteContext, ForeignConstraintDetails childConstraint, AbstractChildQuery parentQuery, DeleteQuery deleteQuery)
+	{
+		FetchChildrenIdsQuery fetchChildrenIdsQuery = new FetchChildrenIdsQuery(childConstraint.getOwnerEntityDetails(), childConstraint.getTargetEntityDetails());
+		populateChildQuery(childConstraint, parentQuery, deleteQuery, fetchChildrenIdsQuery);
+		
+		return deleteContext.dataStore.fetchChildrenIds(fetchChildrenIdsQuery);
+	}
+	
+	/**
+	 * Fetches the child entities with specified ids (which are not already fetched) and adds them to specified context,
+	 * so that they can be passed to delete listeners.
+	 * @param deleteContext Context of current delete
+	 * @param childEntityDetails Child entity details
+	 * @param ids Ids of the child entities
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void addDeletingChildren(ChildDeleteContext deleteContext, EntityDetails childEntityDetails, List<Object> ids)
+	{
+		Map<Object, Object> deletingChildren = deleteContext.deletingChildren.computeIfAbsent(childEntityDetails.getEntityType(), type -> new LinkedHashMap<>());
+		List<Object> newIds = new ArrayList<>();
+		
+		for(Object id : ids)
+		{
+			if(!deletingChildren.containsKey(id))
 			{
-				processChildConstraints(dataStore, deleteQuery, conversionService, params);
+				newIds.add(id);
 			}
-
-			int res = dataStore.delete(deleteQuery, entityDetails);
+		}
+		
+		ConditionQueryBuilder queryBuilder = childEntityQueryBuilders.computeIfAbsent(childEntityDetails.getEntityType(), type -> newEntityByIdsQueryBuilder(childEntityDetails));
+		FieldDetails idField = childEntityDetails.getIdField();
+		
+		for(List<Object> inList : toInLists(newIds))
+		{
+			FinderQuery finderQuery = new FinderQuery(childEntityDetails);
+			queryBuilder.loadConditionalQuery(null, finderQuery, new Object[] {inList});
+			
+			List<Record> records = deleteContext.dataStore.executeFinder(finderQuery, childEntityDetails, null);
+			List<Object> entities = new ArrayList<>();
 			
-			if(res > 0 && super.isListenerAvailable(EntityEventType.POST_DELETE))
+			if(records != null && !records.isEmpty())
 			{
-				//TODO: If listeners are available use delete query conditions to fetch entity ids
-					// and for each entity id invoke listeners
+				queryBuilder.parseResults(records, (Class)childEntityDetails.getEntityType(), entities, deleteContext.conversionService, persistenceExecutionContext);
 			}
-
-			transaction.commit();
 			
-			if(int.class.equals(returnType))
+			for(Object entity : entities)
+			{
+				deletingChildren.put(idField.getValue(entity), entity);
+			}
+		}
+	}
+	
+	/**
+	 * Creates query builder to fetch entities of specified type, whose ids are present in the id collection passed as 
+	 * first parameter.
+	 * @param childEntityDetails Entity to be fetched
+	 * @return Query builder
+	 */
+	private ConditionQueryBuilder newEntityByIdsQueryBuilder(EntityDetails childEntityDetails)
+	{
+		ConditionQueryBuilder queryBuilder = new ConditionQueryBuilder(childEntityDetails);
+		
+		for(FieldDetails field: childEntityDetails.getFieldDetails())
+		{
+			if(field.isTableOwned())
+			{
+				queryBuilder.addResultField(field.getName(), field.getField().getType(), field.getName(), methodDesc);
+			}
+		}
+		
+		queryBuilder.addCondition(null, Operator.IN, 0, null, childEntityDetails.getIdField().getName(), JoinOperator.AND, methodDesc, false, false, null);
+		return queryBuilder;
+	}
+	
+	/**
+	 * Notifies specified delete event for the cascaded child entities of specified context.
+	 * @param deleteContext Context of current delete
+	 * @param eventType Event type to notify
+	 */
+	private void notifyChildDeleteEvents(ChildDeleteContext deleteContext, EntityEventType eventType)
+	{
+		for(Map.Entry<Class<?>, Map<Object, Object>> entry : deleteContext.deletingChildren.entrySet())
+		{
+			notifyDeleteEvents(entry.getKey(), entry.getValue().values(), eventType);
+		}
+	}
+	
+	/**
+	 * Fetches the entities matching with delete conditions, so that they can be passed to delete listeners.
+	 * @param context Query execution context
+	 * @param dataStore Data store to use
+	 * @param conversionService Conversion service to use
+	 * @param params Delete method params
+	 * @return Matching entities
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private List<Object> fetchMatchingEntities(QueryExecutionContext context, IDataStore dataStore, ConversionService conversionService, Object params[])
+	{
+		FinderQuery finderQuery = new FinderQuery(entityDetails);
+		entityQueryBuilder.loadConditionalQuery(context.getRepositoryExecutionContext(), finderQuery, params);
+		
+		if(batchDelete)
+		{
+			useInOperator(finderQuery.getConditions());
+		}
+		
+		List<Record> records = dataStore.executeFinder(finderQuery, entityDetails, null);
+		List<Object> entities = new ArrayList<>();
+		
+		if(records != null && !records.isEmpty())
+		{
+			entityQueryBuilder.parseResults(records, (Class)entityDetails.getEntityType(), entities, conversionService, persistenceExecutionContext);
+		}
+		
+		return entities;
+	}
+	
+	/**
+	 * For batch delete, the key collection is passed as value of key condition. This method converts such multi valued
+	 * conditions to use IN operator, so that all the keys are matched with single condition.
+	 * @param conditions Conditions to convert
+	 */
+	private void useInOperator(List<QueryCondition> conditions)
+	{
+		if(conditions == null)
+		{
+			return;
+		}
+		
+		for(QueryCondition condition : conditions)
+		{
+			if(condition.isMultiValued())
 			{
-				return res;
+				condition.setOperator(Operator.IN);
 			}
+		}
+	}
+	
+	/**
+	 * Notifies specified delete event for each of specified entities.
+	 * @param entityType Type of the entities
+	 * @param entities Entities being deleted
+	 * @param eventType Event type to notify
+	 */
+	private void notifyDeleteEvents(Class<?> entityType, Collection<Object> entities, EntityEventType eventType)
+	{
+		for(Object entity : entities)
+		{
+			super.notifyEntityEvent(entityType, null, entity, eventType);
+		}
+	}
+	
+	/**
+	 * Checks if delete listeners are present for specified entity type.
+	 * @param entityType Entity type to check
+	 * @return true if pre or post delete listeners are present
+	 */
+	private boolean isDeleteListenerAvailable(Class<?> entityType)
+	{
+		return super.isListenerAvailable(entityType, EntityEventType.PRE_DELETE) || super.isListenerAvailable(entityType, EntityEventType.POST_DELETE);
+	}
+	
+	/**
+	 * Converts specified deleted row count into method return type.
+	 * @param count Number of rows deleted
+	 * @return Converted value
+	 */
+	private Object toReturnValue(int count)
+	{
+		if(int.class.equals(returnType))
+		{
+			return count;
+		}
+		
+		return (boolean.class.equals(returnType)) ? (count > 0) : null;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.yukthi.persistence.repository.executors.QueryExecutor#execute(com.yukthi.persistence.repository.executors.QueryExecutionContext, com.yukthi.persistence.IDataStore, com.yukthi.persistence.conversion.ConversionService, java.lang.Object[])
+	 */
+	@Override
+	public Object execute(QueryExecutionContext context, IDataStore dataStore, ConversionService conversionService, Object... params)
+	{
+		logger.trace("Started method: execute");
+		
+		if(batchDelete)
+		{
+			return deleteAll(context, dataStore, conversionService, (Collection<?>)params[0]);
+		}
+		
+		try(ITransaction transaction = dataStore.getTransactionManager().newOrExistingTransaction())
+		{
+			int res = delete(context, dataStore, conversionService, params);
+			transaction.commit();
 			
-			return (boolean.class.equals(returnType)) ? (res > 0) : null;
+			return toReturnValue(res);
 		}catch(PersistenceException ex){
 			throw ex;
 		}catch(Exception ex)
 		{
 			throw new PersistenceException("An error occured while deleting entity", ex);
-		}finally
+		}
+		
+	}
+	
+	/**
+	 * Deletes the entities matching with delete conditions and specified params, along with cascaded children. Expected
+	 * to be called within a transaction.
+	 * @param context Query execution context
+	 * @param dataStore Data store to use
+	 * @param conversionService Conversion service to use
+	 * @param params Params for delete conditions
+	 * @return Number of rows deleted
+	 */
+	private int delete(QueryExecutionContext context, IDataStore dataStore, ConversionService conversionService, Object params[])
+	{
+		List<Object> deletingEntities = null;
+		
+		//if listeners are available, fetch the entities being deleted once and use them for both pre and post events
+		if(isDeleteListenerAvailable(entityDetails.getEntityType()))
+		{
+			deletingEntities = fetchMatchingEntities(context, dataStore, conversionService, params);
+			notifyDeleteEvents(entityDetails.getEntityType(), deletingEntities, EntityEventType.PRE_DELETE);
+		}
+		
+		DeleteQuery deleteQuery = new DeleteQuery(entityDetails);
+		conditionQueryBuilder.loadConditionalQuery(context.getRepositoryExecutionContext(), deleteQuery, params);
+		
+		if(batchDelete)
+		{
+			useInOperator(deleteQuery.getConditions());
+		}
+		
+		//if datastore requires explicit child delete handling (like NOSQL DBs)
+		if(dataStore.isExplicitForeignCheckRequired())
+		{
+			processChildConstraints(dataStore, conversionService, deleteQuery);
+		}
+
+		int res = dataStore.delete(deleteQuery, entityDetails);
+		
+		if(res > 0 && deletingEntities != null)
+		{
+			notifyDeleteEvents(entityDetails.getEntityType(), deletingEntities, EntityEventType.POST_DELETE);
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * Deletes entities matching with specified keys. Instead of executing delete for each key, keys are matched using
+	 * IN condition, so that entities (and their children) are deleted with single query per table. Key collections
+	 * bigger than {@link #MAX_IN_LIST_SIZE} are deleted in chunks.
+	 * @param context Query execution context
+	 * @param dataStore Data store to use
+	 * @param conversionService Conversion service to use
+	 * @param keys Keys for which delete has to be done
+	 * @return Number of rows deleted, in the form of method return type
+	 */
+	private Object deleteAll(QueryExecutionContext context, IDataStore dataStore, ConversionService conversionService, Collection<?> keys)
+	{
+		logger.trace("Started method: deleteAll");
+		
+		if(keys == null)
+		{
+			throw new NullPointerException("Keys can not be null");
+		}
+		
+		//null keys can not match any entity, so they are ignored
+		List<Object> keyList = new ArrayList<>(keys.size());
+		
+		for(Object key : keys)
 		{
-			queryLock.unlock();
+			if(key != null)
+			{
+				keyList.add(key);
+			}
 		}
 		
+		try(ITransaction transaction = dataStore.getTransactionManager().newOrExistingTransaction())
+		{
+			int res = 0;
+			
+			for(List<Object> inList : toInLists(keyList))
+			{
+				res += delete(context, dataStore, conversionService, new Object[] {inList});
+			}
+			
+			transaction.commit();
+			return toReturnValue(res);
+		}catch(PersistenceException ex){
+			throw ex;
+		}catch(Exception ex)
+		{
+			throw new PersistenceException("An error occured while deleting entities", ex);
+		}
 	}
 }
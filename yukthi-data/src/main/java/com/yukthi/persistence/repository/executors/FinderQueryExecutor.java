@@ -5,7 +5,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -23,8 +22,6 @@ public class FinderQueryExecutor extends AbstractSearchQuery
 {
 	private static Logger logger = LogManager.getLogger(FinderQueryExecutor.class);
 	
-	private ReentrantLock queryLock = new ReentrantLock();
-	
 	private int customFieldsIndex = -1;
 	
 	public FinderQueryExecutor(Class<?> repositoryType, Method method, EntityDetails entityDetails)
@@ -59,89 +56,87 @@ public class FinderQueryExecutor extends AbstractSearchQuery
 	{
 		logger.trace("Started method: execute");
 		
-		queryLock.lock();
+		ConditionQueryBuilder conditionQueryBuilder = this.conditionQueryBuilder;
 		
-		try
+		if(this.customFieldsIndex >= 0)
 		{
-			ConditionQueryBuilder conditionQueryBuilder = this.conditionQueryBuilder;
+			Collection<String> customFieldNames = (Collection<String>) params[customFieldsIndex];
 			
-			if(this.customFieldsIndex >= 0)
+			if(customFieldNames != null && !customFieldNames.isEmpty())
 			{
-				Collection<String> customFieldNames = (Collection<String>) params[customFieldsIndex];
+				conditionQueryBuilder = this.conditionQueryBuilder.clone();
+				String prefix = entityDetails.getExtendedTableDetails().getEntityField().getName();
 				
-				if(customFieldNames != null && !customFieldNames.isEmpty())
-				{
-					conditionQueryBuilder = this.conditionQueryBuilder.clone();
-					String prefix = entityDetails.getExtendedTableDetails().getEntityField().getName();
-					
-					for(String custFld : customFieldNames)
-					{
-						conditionQueryBuilder.addResultField("@" + custFld, String.class, prefix + "." + custFld, super.methodDesc);
-					}
-				}
-			}
-			
-			FinderQuery finderQuery = new FinderQuery(entityDetails);
-
-			//set the result fields, conditions and tables details on finder query
-			conditionQueryBuilder.loadConditionalQuery(context.getRepositoryExecutionContext(), finderQuery, params);
-			
-			//add order-by fields
-			conditionQueryBuilder.loadOrderByFields(finderQuery);
-			
-			//execute the query and fetch records
-			List<Record> records = dataStore.executeFinder(finderQuery, entityDetails, null);
-			
-			//if no results found
-			if(records == null || records.isEmpty())
-			{
-				//if primitive return type is expected simply return default value
-				if(collectionReturnType == null)
+				for(String custFld : customFieldNames)
 				{
-					return returnType.isPrimitive() ? CCGUtility.getDefaultPrimitiveValue(returnType) : null;
-				}
-
-				try
-				{
-					return collectionReturnType.newInstance();
-				}catch(Exception ex)
-				{
-					throw new IllegalStateException("An error occurred while creating return collection: " + collectionReturnType.getName(), ex);
+					conditionQueryBuilder.addResultField("@" + custFld, String.class, prefix + "." + custFld, super.methodDesc);
 				}
 			}
+		}
+		
+		FinderQuery finderQuery = new FinderQuery(entityDetails);
 
-			//if single element is expected as result
+		//set the result fields, conditions and tables details on finder query
+		conditionQueryBuilder.loadConditionalQuery(context.getRepositoryExecutionContext(), finderQuery, params);
+		
+		//add order-by fields
+		conditionQueryBuilder.loadOrderByFields(finderQuery);
+		
+		//if results are expected to be fetched lazily
+		if(streamReturnType != null)
+		{
+			return super.toStreamResult(dataStore.streamFinder(finderQuery, entityDetails, null), conditionQueryBuilder, conversionService);
+		}
+		
+		//execute the query and fetch records
+		List<Record> records = dataStore.executeFinder(finderQuery, entityDetails, null);
+		
+		//if no results found
+		if(records == null || records.isEmpty())
+		{
+			//if primitive return type is expected simply return default value
 			if(collectionReturnType == null)
 			{
-				if(records.size() > 1)
-				{
-					throw new RecordCountMistmatchException("Multiple records found when single record is expected.");
-				}
-				
-				ArrayList<Object> resLst = new ArrayList<>();
-				conditionQueryBuilder.parseResults(Arrays.asList(records.get(0)), (Class)returnType, resLst, conversionService, persistenceExecutionContext);
-				return resLst.get(0);
+				return returnType.isPrimitive() ? CCGUtility.getDefaultPrimitiveValue(returnType) : null;
 			}
-	
-			//if collection of objects are expected as result
-			Collection<Object> lst = null;
-			
+
 			try
 			{
-				lst = (Collection)collectionReturnType.newInstance();
+				return collectionReturnType.newInstance();
 			}catch(Exception ex)
 			{
 				throw new IllegalStateException("An error occurred while creating return collection: " + collectionReturnType.getName(), ex);
 			}
+		}
+
+		//if single element is expected as result
+		if(collectionReturnType == null)
+		{
+			if(records.size() > 1)
+			{
+				throw new RecordCountMistmatchException("Multiple records found when single record is expected.");
+			}
 			
-			//parse records into required types
-			conditionQueryBuilder.parseResults(records, (Class)returnType, lst, conversionService, persistenceExecutionContext);
-			
-			return lst;
-		}finally
+			ArrayList<Object> resLst = new ArrayList<>();
+			conditionQueryBuilder.parseResults(Arrays.asList(records.get(0)), (Class)returnType, resLst, conversionService, persistenceExecutionContext);
+			return resLst.get(0);
+		}
+
+		//if collection of objects are expected as result
+		Collection<Object> lst = null;
+		
+		try
+		{
+			lst = (Collection)collectionReturnType.newInstance();
+		}catch(Exception ex)
 		{
-			queryLock.unlock();
+			throw new IllegalStateException("An error occurred while creating return collection: " + collectionReturnType.getName(), ex);
 		}
+		
+		//parse records into required types
+		conditionQueryBuilder.parseResults(records, (Class)returnType, lst, conversionService, persistenceExecutionContext);
+		
+		return lst;
 	}
 	
 	
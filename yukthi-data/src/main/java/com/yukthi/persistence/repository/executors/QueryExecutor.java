@@ -55,9 +55,22 @@ public abstract class QueryExecutor
 	 * @param eventType
 	 */
 	protected void notifyEntityEvent(Object key, Object entity, EntityEventType eventType)
+	{
+		notifyEntityEvent(entityDetails.getEntityType(), key, entity, eventType);
+	}
+	
+	/**
+	 * Notifies entity listeners of specified entity type (which can be other than the entity of this executor, like
+	 * cascaded child entities), if any, about the specified event.
+	 * @param entityType Entity type whose listeners needs to be notified
+	 * @param key Key of the entity
+	 * @param entity Entity on which event occurred
+	 * @param eventType Event type
+	 */
+	protected void notifyEntityEvent(Class<?> entityType, Object key, Object entity, EntityEventType eventType)
 	{
 		RepositoryFactory factory = persistenceExecutionContext.getRepositoryFactory();
-		factory.getEntityListenerManager().handleEventType(entityDetails.getEntityType(), factory, key, entity, eventType);
+		factory.getEntityListenerManager().handleEventType(entityType, factory, key, entity, eventType);
 	}
 	
 	/**
@@ -66,9 +79,20 @@ public abstract class QueryExecutor
 	 * @return
 	 */
 	protected boolean isListenerAvailable(EntityEventType eventType)
+	{
+		return isListenerAvailable(entityDetails.getEntityType(), eventType);
+	}
+	
+	/**
+	 * Checks if listener is available for specified event of specified entity type.
+	 * @param entityType Entity type to check
+	 * @param eventType Event type to check
+	 * @return true if listener is present
+	 */
+	protected boolean isListenerAvailable(Class<?> entityType, EntityEventType eventType)
 	{
 		RepositoryFactory factory = persistenceExecutionContext.getRepositoryFactory();
-		return factory.getEntityListenerManager().isListenerPresent(entityDetails.getEntityType(), eventType);
+		return factory.getEntityListenerManager().isListenerPresent(entityType, eventType);
 	}
 	
 	public abstract Object execute(QueryExecutionContext context, IDataStore dataStore, ConversionService conversionService, Object... params);
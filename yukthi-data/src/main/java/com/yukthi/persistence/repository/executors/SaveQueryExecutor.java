@@ -2,9 +2,11 @@ package com.yukthi.persistence.repository.executors;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -35,6 +37,7 @@ import com.yukthi.persistence.query.SaveQuery;
 import com.yukthi.persistence.repository.InvalidRepositoryException;
 import com.yukthi.persistence.repository.annotations.JoinOperator;
 import com.yukthi.persistence.repository.annotations.Operator;
+import com.yukthi.utils.ConvertUtils;
 import com.yukthi.utils.ObjectWrapper;
 import com.yukthi.utils.exceptions.InvalidStateException;
 
@@ -44,29 +47,77 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 	private static Logger logger = LogManager.getLogger(SaveQueryExecutor.class);
 	private static final String COL_UQ_ENTITY_ID = "UQ_ENTITY_ID";
 	
+	/**
+	 * Details of single entity being saved, which are needed after main entity is saved
+	 * @author akiran
+	 */
+	private static class EntitySaveDetails
+	{
+		private Object entity;
+		
+		private SaveQuery query;
+		
+		/**
+		 * Wrapper object to hold id value
+		 */
+		private ObjectWrapper<Object> idWrapper = new ObjectWrapper<>();
+		
+		/**
+		 * Random unique id used while persisting entity, which in turn can be used to fetch primary key value
+		 */
+		private String entityUid;
+		
+		/**
+		 * Fields that needs to be added after main entity is saved
+		 */
+		private Map<FieldDetails, Object> tableJoinedFields = new HashMap<>();
+		private Map<FieldDetails, Object> childFields = new HashMap<>();
+	}
+	
 	private Class<?> returnType;
 	
+	/**
+	 * Indicates the method accepts collection of entities, which should be saved as batch
+	 */
+	private boolean batchSave;
+	
 	public SaveQueryExecutor(Class<?> repositoryType, Method method, EntityDetails entityDetails)
 	{
 		super.entityDetails = entityDetails;
 		super.repositoryType = repositoryType;
-
+		
 		Class<?> paramTypes[] = method.getParameterTypes();
 		boolean isCoreInterface = ICrudRepository.class.equals(method.getDeclaringClass());
-
+		
 		if(paramTypes.length != 1)
 		{
 			throw new InvalidRepositoryException("Non-single parameter save method '" + method.getName() + "' in repository: " + repositoryType.getName());
 		}
 		
-		if(!entityDetails.getEntityType().equals(paramTypes[0]) && !isCoreInterface)
+		batchSave = Collection.class.isAssignableFrom(paramTypes[0]);
+		
+		if(batchSave)
+		{
+			if(!isCoreInterface && !entityDetails.getEntityType().equals(getCollectionElementType(method)))
+			{
+				throw new InvalidRepositoryException("Save method '" + method.getName() + "' found with non-entity collection parameter in repository: " + repositoryType.getName());
+			}
+		}
+		else if(!entityDetails.getEntityType().equals(paramTypes[0]) && !isCoreInterface)
 		{
 			throw new InvalidRepositoryException("Save method '" + method.getName() + "' found with non-entity parameter in repository: " + repositoryType.getName());
 		}
 		
 		returnType = method.getReturnType();
 		
-		if(!boolean.class.equals(returnType) && !void.class.equals(returnType))
+		if(batchSave)
+		{
+			if(!int.class.equals(returnType) && !boolean.class.equals(returnType) && !void.class.equals(returnType))
+			{
+				throw new InvalidRepositoryException("Batch save method '" + method.getName() + "' found with non-int, non-boolean and non-void return type in repository: " + repositoryType.getName());
+			}
+		}
+		else if(!boolean.class.equals(returnType) && !void.class.equals(returnType))
 		{
 			throw new InvalidRepositoryException("Save method '" + method.getName() + "' found with non-boolean and non-void return type in repository: " + repositoryType.getName());
 		}
@@ -80,13 +131,118 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 	{
 		logger.trace("Started method: execute");
 		
+		if(batchSave)
+		{
+			return saveAll((Collection<?>)params[0], dataStore, conversionService);
+		}
+		
 		Object entity = params[0];
-
+		
 		if(entity == null)
 		{
 			throw new NullPointerException("Entity can not be null");
 		}
 		
+		EntitySaveDetails saveDetails = buildSaveDetails(entity, newEntityUid(), dataStore, conversionService);
+		ObjectWrapper<Object> idWrapper = saveDetails.idWrapper;
+		
+		//save the entity
+		try(ITransaction transaction = dataStore.getTransactionManager().newOrExistingTransaction())
+		{
+			super.notifyEntityEvent(null, entity, EntityEventType.PRE_SAVE);
+			
+			int res = dataStore.save(saveDetails.query, entityDetails, idWrapper);
+			
+			//if insertion was successful
+			if(res > 0)
+			{
+				//if id value is found from statement or was explicitly specified
+				if(idWrapper.getValue() == null)
+				{
+					//fetch the newly save entry id and populate it to entity
+					idWrapper.setValue( fetchId(entity, dataStore, saveDetails.entityUid, conversionService) );
+				}
+				else
+				{
+					//set the id value on entity
+					entityDetails.getIdField().setValue(entity, idWrapper.getValue());
+				}
+				
+				saveExtensionFields((Long)idWrapper.getValue(), entity, entityDetails, conversionService, dataStore);
+				
+				//save child entities, if any
+				Map<EntityDetails, List<Object>> childEntities = new LinkedHashMap<>();
+				
+				for(FieldDetails field : saveDetails.childFields.keySet())
+				{
+					/*
+					 * Child fields are fields with mapped relation under current entity.
+					 * Saving child entity with inverse relation will take care of populating join
+					 * table update, if required
+					 */
+					collectChildEntities(field, saveDetails.childFields.get(field), entity, childEntities);
+				}
+				
+				saveChildEntities(childEntities);
+				
+				//save join table entries if any
+				for(FieldDetails field : saveDetails.tableJoinedFields.keySet())
+				{
+					saveJoinTableEntry(field, entity, saveDetails.tableJoinedFields.get(field), conversionService, dataStore);
+				}
+				
+				super.notifyEntityEvent(null, entity, EntityEventType.POST_SAVE);
+			}
+			
+			transaction.commit();
+			return (boolean.class.equals(returnType)) ? (res > 0) : null;
+		}catch(Exception ex)
+		{
+			//rethrow the catched exception
+			if(ex instanceof RuntimeException)
+			{
+				throw (RuntimeException)ex;
+			}
+			
+			throw new IllegalStateException(ex);
+		}
+	}
+	
+	/**
+	 * Generates unique id for {@link #COL_UQ_ENTITY_ID} column. Current time is used as prefix, so that consecutive
+	 * inserts are placed next to each other in the unique index, instead of random positions.
+	 * @return New unique id
+	 */
+	private static String newEntityUid()
+	{
+		return Long.toHexString(System.currentTimeMillis()) + "-" + UUID.randomUUID();
+	}
+	
+	/**
+	 * Checks if specified id value is not set explicitly.
+	 * @param value Id value to check
+	 * @return true if value is null or zero
+	 */
+	private static boolean isIdMissing(Object value)
+	{
+		if(value == null)
+		{
+			return true;
+		}
+		
+		return (value instanceof Number) && ((Number)value).longValue() == 0;
+	}
+	
+	/**
+	 * Validates specified entity and builds the save query and related details for the same.
+	 * @param entity Entity to be saved
+	 * @param entityUid Unique id to be used for the entity
+	 * @param dataStore Data store to be used
+	 * @param conversionService Conversion service to convert values
+	 * @return Save details of the entity
+	 */
+	private EntitySaveDetails buildSaveDetails(Object entity, String entityUid, IDataStore dataStore, ConversionService conversionService)
+	{
 		if(dataStore.isExplicitUniqueCheckRequired())
 		{
 			//check if unique constraints are getting violated
@@ -98,22 +254,37 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 			//check if all foreign parent keys are available
 			checkForForeignConstraints(dataStore, conversionService, entity);
 		}
-
+		
+		EntitySaveDetails saveDetails = new EntitySaveDetails();
+		saveDetails.entity = entity;
+		saveDetails.entityUid = entityUid;
+		
 		SaveQuery query = new SaveQuery(entityDetails);
 		Object value = null;
 		
-		//wrapper object to hold id value
-		ObjectWrapper<Object> idWrapper = new ObjectWrapper<>();
 		ForeignConstraintDetails foreignConstraint = null;
 		
-		//keep track of the fields that needs to be added after main entity is saved
-		Map<FieldDetails, Object> tableJoinedFields = new HashMap<>();
-		Map<FieldDetails, Object> childFields = new HashMap<>();
-		
 		for(FieldDetails field: entityDetails.getFieldDetails())
 		{
 			if(field.isIdField())
 			{
+				//if id is generated on client side, add id value to insert, so that it need not be fetched after insert
+				if(field.getIdGenerator() != null)
+				{
+					value = field.getValue(entity);
+					
+					if(isIdMissing(value))
+					{
+						value = ConvertUtils.convert(field.getIdGenerator().generateId(entityDetails, dataStore), field.getField().getType());
+					}
+					
+					value = conversionService.convertToDBType(value, field);
+					
+					query.addColumn(new ColumnParam(field.getDbColumnName(), value, -1));
+					saveDetails.idWrapper.setValue(value);
+					continue;
+				}
+				
 				if(field.getGenerationType() == GenerationType.IDENTITY)
 				{
 					continue;
@@ -128,7 +299,7 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 			
 			//get the value of the field
 			value = field.getValue(entity);
-
+			
 			//current field is relation field
 			if(field.isRelationField())
 			{
@@ -149,7 +320,7 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 				//if the relation is maintained by using intermediate table
 				else if(field.isTableJoined())
 				{
-					tableJoinedFields.put(field, value);
+					saveDetails.tableJoinedFields.put(field, value);
 					continue;
 				}
 				//if the relation is mapped relation
@@ -161,7 +332,7 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 						//this should never be the case. As the relation is not owned by this table and is not table joined
 						//		it should be mapped relation by parent entity
 						
-						throw new IllegalStateException( String.format("Non mapped-by relation encountered when expecting mapped relation - %s.%s", 
+						throw new IllegalStateException( String.format("Non mapped-by relation encountered when expecting mapped relation - %s.%s",
 								entityDetails.getEntityType().getName(), field.getName()) );
 					}
 					//if save is not cascaded to child entities
@@ -171,11 +342,11 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 						continue;
 					}
 					
-					childFields.put(field, value);
+					saveDetails.childFields.put(field, value);
 					continue;
 				}
 			}
-
+			
 			//convert to db data type
 			value = conversionService.convertToDBType(value, field);
 			
@@ -184,60 +355,126 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 			//if field is id field and value was set manually
 			if(field.isIdField())
 			{
-				idWrapper.setValue(value);
+				saveDetails.idWrapper.setValue(value);
 			}
 		}
 		
 		//add random unique id while persisting entity, which in turn can be used to fetch primary key value
-		String entityUid = UUID.randomUUID().toString();
 		query.addColumn(new ColumnParam(COL_UQ_ENTITY_ID, entityUid, -1));
 		
-		//save the entity
+		saveDetails.query = query;
+		return saveDetails;
+	}
+	
+	/**
+	 * Saves specified entities using batch statements. Entities with same structure are saved using single
+	 * jdbc batch and extension, child and join table entries of all the entities are saved together.
+	 * @param entities Entities to be saved
+	 * @param dataStore Data store to use
+	 * @param conversionService Conversion service to convert values
+	 * @return Number of entities saved, in the form of method return type
+	 */
+	private Object saveAll(Collection<?> entities, IDataStore dataStore, ConversionService conversionService)
+	{
+		if(entities == null)
+		{
+			throw new NullPointerException("Entities can not be null");
+		}
+		
+		if(entities.isEmpty())
+		{
+			return toBatchResult(0);
+		}
+		
+		//all entities of the batch share same uid prefix, so that ids can be fetched by single query
+		String batchUid = newEntityUid();
+		List<EntitySaveDetails> saveDetailsLst = new ArrayList<>(entities.size());
+		int index = 0;
+		
+		for(Object entity : entities)
+		{
+			if(entity == null)
+			{
+				throw new NullPointerException("Entity can not be null");
+			}
+			
+			saveDetailsLst.add(buildSaveDetails(entity, batchUid + "-" + index, dataStore, conversionService));
+			index++;
+		}
+		
 		try(ITransaction transaction = dataStore.getTransactionManager().newOrExistingTransaction())
 		{
-			super.notifyEntityEvent(null, entity, EntityEventType.PRE_SAVE);
-
-			int res = dataStore.save(query, entityDetails, idWrapper);
+			List<SaveQuery> queries = new ArrayList<>(saveDetailsLst.size());
+			List<ObjectWrapper<Object>> idWrappers = new ArrayList<>(saveDetailsLst.size());
 			
-			//if insertion was successful
-			if(res > 0)
+			for(EntitySaveDetails saveDetails : saveDetailsLst)
 			{
-				//if id value is found from statement or was explicitly specified
-				if(idWrapper.getValue() == null)
-				{
-					//fetch the newly save entry id and populate it to entity
-					idWrapper.setValue( fetchId(entity, dataStore, entityUid, conversionService) );
-				}
-				else
+				super.notifyEntityEvent(null, saveDetails.entity, EntityEventType.PRE_SAVE);
+				
+				queries.add(saveDetails.query);
+				idWrappers.add(saveDetails.idWrapper);
+			}
+			
+			int res[] = dataStore.saveAll(queries, entityDetails, idWrappers);
+			
+			populateIds(saveDetailsLst, res, dataStore, batchUid, conversionService);
+			
+			List<SaveQuery> extensionQueries = new ArrayList<>();
+			List<SaveQuery> joinTableQueries = new ArrayList<>();
+			Map<EntityDetails, List<Object>> childEntities = new LinkedHashMap<>();
+			SaveQuery extensionQuery = null;
+			int savedCount = 0;
+			
+			for(int i = 0; i < res.length; i++)
+			{
+				if(res[i] <= 0)
 				{
-					//set the id value on entity
-					entityDetails.getIdField().setValue(entity, idWrapper.getValue());
+					continue;
 				}
 				
-				saveExtensionFields((Long)idWrapper.getValue(), entity, entityDetails, conversionService, dataStore);
+				EntitySaveDetails saveDetails = saveDetailsLst.get(i);
+				savedCount++;
 				
-				//save child entities, if any
-				for(FieldDetails field : childFields.keySet())
+				extensionQuery = buildExtensionFieldsQuery((Long)saveDetails.idWrapper.getValue(), saveDetails.entity, entityDetails);
+				
+				if(extensionQuery != null)
 				{
-					/*
-					 * Child fields are fields with mapped relation under current entity.
-					 * Saving child entity with inverse relation will take care of populating join 
-					 * table update, if required
-					 */
-					saveChildEntities(field, childFields.get(field), entity);
+					extensionQueries.add(extensionQuery);
 				}
 				
-				//save join table entries if any
-				for(FieldDetails field : tableJoinedFields.keySet())
+				for(FieldDetails field : saveDetails.childFields.keySet())
 				{
-					saveJoinTableEntry(field, entity, tableJoinedFields.get(field), conversionService, dataStore);
+					collectChildEntities(field, saveDetails.childFields.get(field), saveDetails.entity, childEntities);
 				}
 				
-				super.notifyEntityEvent(null, entity, EntityEventType.POST_SAVE);
+				for(FieldDetails field : saveDetails.tableJoinedFields.keySet())
+				{
+					joinTableQueries.addAll(buildJoinTableQueries(field, saveDetails.entity, saveDetails.tableJoinedFields.get(field), conversionService));
+				}
+			}
+			
+			if(!extensionQueries.isEmpty())
+			{
+				checkBatchResult(dataStore.saveAll(extensionQueries, entityDetails, null), "Failed to save extended fields");
+			}
+			
+			saveChildEntities(childEntities);
+			
+			if(!joinTableQueries.isEmpty())
+			{
+				checkBatchResult(dataStore.saveAll(joinTableQueries, entityDetails, null), "Failed to save join table entry");
+			}
+			
+			for(int i = 0; i < res.length; i++)
+			{
+				if(res[i] > 0)
+				{
+					super.notifyEntityEvent(null, saveDetailsLst.get(i).entity, EntityEventType.POST_SAVE);
+				}
 			}
 			
 			transaction.commit();
-			return (boolean.class.equals(returnType)) ? (res > 0) : null;
+			return toBatchResult(savedCount);
 		}catch(Exception ex)
 		{
 			//rethrow the catched exception
@@ -250,14 +487,131 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 		}
 	}
 	
-	@SuppressWarnings({ "unchecked", "rawtypes" })
+	/**
+	 * Converts specified saved count into method return type
+	 */
+	private Object toBatchResult(int savedCount)
+	{
+		if(int.class.equals(returnType))
+		{
+			return savedCount;
+		}
+		
+		return (boolean.class.equals(returnType)) ? (savedCount > 0) : null;
+	}
+	
+	/**
+	 * Ensures all the entries of batch are executed successfully
+	 */
+	private void checkBatchResult(int res[], String errorMessage)
+	{
+		for(int count : res)
+		{
+			if(count <= 0)
+			{
+				throw new IllegalStateException(errorMessage);
+			}
+		}
+	}
+	
+	/**
+	 * Populates ids on the successfully saved entities. If data store did not provide generated ids,
+	 * the ids are fetched using single query based on batch uid.
+	 */
+	private void populateIds(List<EntitySaveDetails> saveDetailsLst, int res[], IDataStore dataStore, String batchUid, ConversionService conversionService)
+	{
+		FieldDetails idFieldDetails = entityDetails.getIdField();
+		boolean idsMissing = false;
+		
+		for(int i = 0; i < res.length; i++)
+		{
+			EntitySaveDetails saveDetails = saveDetailsLst.get(i);
+			
+			if(res[i] <= 0)
+			{
+				continue;
+			}
+			
+			if(saveDetails.idWrapper.getValue() == null)
+			{
+				idsMissing = true;
+				continue;
+			}
+			
+			idFieldDetails.setValue(saveDetails.entity, saveDetails.idWrapper.getValue());
+		}
+		
+		if(!idsMissing)
+		{
+			return;
+		}
+		
+		//build finder query to fetch ids of current batch
+		FinderQuery findQuery = new FinderQuery(entityDetails);
+		findQuery.addResultField(new QueryResultField(null, idFieldDetails.getDbColumnName(), null));
+		findQuery.addResultField(new QueryResultField(null, COL_UQ_ENTITY_ID, null));
+		
+		findQuery.addCondition(new QueryCondition(null, COL_UQ_ENTITY_ID, Operator.LIKE, batchUid + "-%", JoinOperator.AND, false));
+		
+		List<Record> records = dataStore.executeFinder(findQuery, entityDetails, null);
+		Map<Object, Object> uidToId = new HashMap<>();
+		
+		for(Record record : records)
+		{
+			uidToId.put(record.getObject(1), record.getObject(0));
+		}
+		
+		Object idValue = null;
+		
+		for(int i = 0; i < res.length; i++)
+		{
+			EntitySaveDetails saveDetails = saveDetailsLst.get(i);
+			
+			if(res[i] <= 0 || saveDetails.idWrapper.getValue() != null)
+			{
+				continue;
+			}
+			
+			idValue = conversionService.convertToJavaType(uidToId.get(saveDetails.entityUid), idFieldDetails);
+			
+			saveDetails.idWrapper.setValue(idValue);
+			idFieldDetails.setValue(saveDetails.entity, idValue);
+		}
+		
+		logger.debug("Fetched {} ids for batch - {}", uidToId.size(), batchUid);
+	}
+	
 	private void saveExtensionFields(long id, Object entity, EntityDetails entityDetails, ConversionService conversionService, IDataStore dataStore)
+	{
+		SaveQuery query = buildExtensionFieldsQuery(id, entity, entityDetails);
+		
+		if(query == null)
+		{
+			return;
+		}
+		
+		//save the entity
+		int res = dataStore.save(query, entityDetails, new ObjectWrapper<>());
+		
+		//if insert failed
+		if(res <= 0)
+		{
+			throw new IllegalStateException("Failed to save extended fields");
+		}
+	}
+	
+	/**
+	 * Builds save query for extension fields of specified entity.
+	 * @return Save query, null if no extension fields are present
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private SaveQuery buildExtensionFieldsQuery(long id, Object entity, EntityDetails entityDetails)
 	{
 		ExtendedTableDetails extendedTableDetails = entityDetails.getExtendedTableDetails();
 		
 		if(extendedTableDetails == null)
 		{
-			return;
+			return null;
 		}
 		
 		Field extFieldsHolder = entityDetails.getExtendedTableDetails().getEntityField();
@@ -274,7 +628,7 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 		
 		if(extendedFields == null || extendedFields.isEmpty())
 		{
-			return;
+			return null;
 		}
 		
 		
@@ -285,25 +639,56 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 		{
 			query.addColumn(new ColumnParam(field.toUpperCase(), extendedFields.get(field), -1));
 		}
-
-		//save the entity
-		int res = dataStore.save(query, entityDetails, new ObjectWrapper<>());
-
-		//if insert failed
-		if(res <= 0)
+		
+		return query;
+	}
+	
+	/**
+	 * Saves entry in join table with specified entity and inverse entity (parent entity)
+	 * @param field
+	 * @param entity
+	 * @param targetEntity
+	 */
+	private void saveJoinTableEntry(FieldDetails field, Object entity, Object targetEntity, ConversionService conversionService, IDataStore dataStore)
+	{
+		List<SaveQuery> queries = buildJoinTableQueries(field, entity, targetEntity, conversionService);
+		
+		try(ITransaction transaction = dataStore.getTransactionManager().newOrExistingTransaction())
 		{
-			throw new IllegalStateException("Failed to save extended fields");
+			//save the entries
+			for(SaveQuery query : queries)
+			{
+				int res = dataStore.save(query, entityDetails, new ObjectWrapper<>());
+				
+				//if insert failed
+				if(res <= 0)
+				{
+					throw new IllegalStateException("Failed to save join table entry");
+				}
+			}
+			
+			transaction.commit();
+		}catch(Exception ex)
+		{
+			//rethrow the catched exception
+			if(ex instanceof RuntimeException)
+			{
+				throw (RuntimeException)ex;
+			}
+			
+			throw new IllegalStateException(ex);
 		}
 	}
 	
 	/**
-	 * Saves entry in join table with specified entity and inverse entity (parent entity)
+	 * Builds save queries for join table entries with specified entity and inverse entity (parent entity)
 	 * @param field
 	 * @param entity
 	 * @param targetEntity
+	 * @return Save queries for join table entries
 	 */
 	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private void saveJoinTableEntry(FieldDetails field, Object entity, Object targetEntity, ConversionService conversionService, IDataStore dataStore)
+	private List<SaveQuery> buildJoinTableQueries(FieldDetails field, Object entity, Object targetEntity, ConversionService conversionService)
 	{
 		JoinTableDetails joinTableDetails = field.getForeignConstraintDetails().getJoinTableDetails();
 		EntityDetails joinEntityDetails = joinTableDetails.toEntityDetails();
@@ -326,84 +711,98 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 		}
 		
 		Object targetId = null;
+		List<SaveQuery> queries = new ArrayList<>(targetEntityList.size());
 		
-		try(ITransaction transaction = dataStore.getTransactionManager().newOrExistingTransaction())
+		//loop through the targets
+		for(Object target : targetEntityList)
 		{
-			//loop through the targets
-			for(Object target : targetEntityList)
-			{
-				//fetch target id
-				targetId = targetIdFieldDetails.getValue(target);
-				
-				ownerId = conversionService.convertToDBType(ownerId, joinEntityDetails.getFieldDetailsByField(JoinTableEntity.FIELD_JOIN_COLUMN));
-				targetId = conversionService.convertToDBType(targetId, joinEntityDetails.getFieldDetailsByField(JoinTableEntity.FIELD_INV_JOIN_COLUMN));
-				
-				//build save query
-				SaveQuery query = new SaveQuery(joinEntityDetails);
-				query.addColumn(new ColumnParam(joinTableDetails.getJoinColumn(), ownerId, -1));
-				query.addColumn(new ColumnParam(joinTableDetails.getInverseJoinColumn(), targetId, -1));
-		
-				//save the entity
-				int res = dataStore.save(query, entityDetails, new ObjectWrapper<>());
-	
-				//if insert failed
-				if(res <= 0)
-				{
-					throw new IllegalStateException("Failed to save join table entry");
-				}
-			}
+			//fetch target id
+			targetId = targetIdFieldDetails.getValue(target);
 			
-			transaction.commit();
-		}catch(Exception ex)
-		{
-			//rethrow the catched exception
-			if(ex instanceof RuntimeException)
-			{
-				throw (RuntimeException)ex;
-			}
+			ownerId = conversionService.convertToDBType(ownerId, joinEntityDetails.getFieldDetailsByField(JoinTableEntity.FIELD_JOIN_COLUMN));
+			targetId = conversionService.convertToDBType(targetId, joinEntityDetails.getFieldDetailsByField(JoinTableEntity.FIELD_INV_JOIN_COLUMN));
 			
-			throw new IllegalStateException(ex);
+			//build save query
+			SaveQuery query = new SaveQuery(joinEntityDetails);
+			query.addColumn(new ColumnParam(joinTableDetails.getJoinColumn(), ownerId, -1));
+			query.addColumn(new ColumnParam(joinTableDetails.getInverseJoinColumn(), targetId, -1));
+			
+			queries.add(query);
 		}
+		
+		return queries;
 	}
 	
 	/**
-	 * Saves the child entities represented by "value" using specified field details relation
+	 * Sets inverse relation on the child entities represented by "value" using specified field details relation
+	 * and adds them to specified map grouped by child entity type
 	 * @param field
 	 * @param value
+	 * @param parentEntity
+	 * @param childEntities Map to which child entities should be added
 	 */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private void saveChildEntities(FieldDetails field, Object value, Object parentEntity)
+	private void collectChildEntities(FieldDetails field, Object value, Object parentEntity, Map<EntityDetails, List<Object>> childEntities)
 	{
 		//get child entity details
 		ForeignConstraintDetails foreignConstraint = field.getForeignConstraintDetails();
 		
 		//fetch child entity details
 		EntityDetails childEntityDetails = foreignConstraint.getTargetEntityDetails();
-
-		ICrudRepository childRepository = super.getCrudRepository(childEntityDetails.getEntityType());
-		
 		FieldDetails childFieldDetails = childEntityDetails.getFieldDetailsByField(foreignConstraint.getMappedBy());
 		
+		List<Object> entities = childEntities.get(childEntityDetails);
+		
+		if(entities == null)
+		{
+			entities = new ArrayList<>();
+			childEntities.put(childEntityDetails, entities);
+		}
+		
 		//if value is collection of entities
 		if(value instanceof Collection)
 		{
-			Collection<?> childEntities = (Collection<?>)value;
-			
-			//save all child entities
-			for(Object childEntity : childEntities)
+			for(Object childEntity : (Collection<?>)value)
 			{
 				//set inverse relation on child to parent
 				childFieldDetails.setValue(childEntity, parentEntity);
-				
-				childRepository.save(childEntity);
+				entities.add(childEntity);
 			}
 		}
 		else
 		{
 			//set inverse relation on child to parent
-			childEntityDetails.getFieldDetailsByField(foreignConstraint.getMappedBy()).setValue(value, parentEntity);
-
-			childRepository.save(value);
+			childFieldDetails.setValue(value, parentEntity);
+			entities.add(value);
+		}
+	}
+	
+	/**
+	 * Saves the specified child entities, by saving children of same type as single batch
+	 * @param childEntities Child entities grouped by entity type
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void saveChildEntities(Map<EntityDetails, List<Object>> childEntities)
+	{
+		ICrudRepository childRepository = null;
+		
+		for(EntityDetails childEntityDetails : childEntities.keySet())
+		{
+			List<Object> entities = childEntities.get(childEntityDetails);
+			
+			if(entities.isEmpty())
+			{
+				continue;
+			}
+			
+			childRepository = super.getCrudRepository(childEntityDetails.getEntityType());
+			
+			if(entities.size() == 1)
+			{
+				childRepository.save(entities.get(0));
+				continue;
+			}
+			
+			childRepository.saveAll(entities);
 		}
 	}
 	
@@ -427,7 +826,7 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 		
 		findQuery.addCondition(new QueryCondition(null, COL_UQ_ENTITY_ID, Operator.EQ, uuid, JoinOperator.AND, false));
 		
-		//execute finder query 
+		//execute finder query
 		List<Record> records = dataStore.executeFinder(findQuery, entityDetails, null);
 		
 		//if no records are found return null
@@ -444,5 +843,5 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 		
 		return idValue;
 	}
-
+	
 }
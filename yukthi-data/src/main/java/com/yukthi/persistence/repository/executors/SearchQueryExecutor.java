@@ -5,7 +5,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.logging.log4j.LogManager;
@@ -33,8 +32,6 @@ public class SearchQueryExecutor extends AbstractSearchQuery
 {
 	private static Logger logger = LogManager.getLogger(SearchQueryExecutor.class);
 	
-	private ReentrantLock queryLock = new ReentrantLock();
-	
 	private Class<?> countReturnType;
 	
 	public SearchQueryExecutor(Class<?> repositoryType, Method method, EntityDetails entityDetails)
@@ -130,165 +127,163 @@ public class SearchQueryExecutor extends AbstractSearchQuery
 	{
 		logger.trace("Started method: execute");
 		
-		queryLock.lock();
+		if(countReturnType != null)
+		{
+			Long count = findCount(context, dataStore, conversionService, params);
+			return ConvertUtils.convert(count, countReturnType);
+		}
+
+		final FinderQuery finderQuery = new FinderQuery(entityDetails);
+		SearchQuery searchQuery = (SearchQuery)params[0];
 		
-		try
+		//create a clone so that every time dynamic conditions can be added freshly
+		ConditionQueryBuilder conditionQueryBuilder = this.conditionQueryBuilder.clone();
+		
+		//remove result fields, which are excluded explicitly
+		if(CollectionUtils.isNotEmpty(searchQuery.getExcludeFields()))
 		{
-			if(countReturnType != null)
+			for(String excludedProperty : searchQuery.getExcludeFields())
 			{
-				Long count = findCount(context, dataStore, conversionService, params);
-				return ConvertUtils.convert(count, countReturnType);
+				conditionQueryBuilder.removeResultField(excludedProperty);
 			}
-
-			final FinderQuery finderQuery = new FinderQuery(entityDetails);
-			SearchQuery searchQuery = (SearchQuery)params[0];
-			
-			//create a clone so that every time dynamic conditions can be added freshly
-			ConditionQueryBuilder conditionQueryBuilder = this.conditionQueryBuilder.clone();
-			
-			//remove result fields, which are excluded explicitly
-			if(CollectionUtils.isNotEmpty(searchQuery.getExcludeFields()))
+		}
+		
+		//if return type dynamic field data
+		if(IDynamicSearchResult.class.isAssignableFrom(returnType))
+		{
+			//if search query has additional field details to fetch
+			if(CollectionUtils.isNotEmpty(searchQuery.getAdditionalEntityFields()))
 			{
-				for(String excludedProperty : searchQuery.getExcludeFields())
+				//add dynamic fields to condition builder
+				for(String additionalProp : searchQuery.getAdditionalEntityFields())
 				{
-					conditionQueryBuilder.removeResultField(excludedProperty);
+					conditionQueryBuilder.addResultField("#" + additionalProp, Object.class, additionalProp, "<Addidional Property> - " + additionalProp);
 				}
 			}
+		}
+		
+		//set the result fields, conditions and tables details on finder query
+		List<Object> conditionParams = new ArrayList<>();
+
+		//add conditions to query builder so that they will be validated
+		for(SearchCondition condition : searchQuery.getConditions())
+		{
+			addConditionsRecursively(condition, conditionQueryBuilder, conditionParams, null);
+		}
+		
+		logger.debug("Executing search query with params - {}", conditionParams);
+		
+		//add order-by fields
+		if(searchQuery.getOrderByFields() != null)
+		{
+			conditionQueryBuilder.clearOrderByFields();
 			
-			//if return type dynamic field data
-			if(IDynamicSearchResult.class.isAssignableFrom(returnType))
+			for(OrderByField field : searchQuery.getOrderByFields())
 			{
-				//if search query has additional field details to fetch
-				if(CollectionUtils.isNotEmpty(searchQuery.getAdditionalEntityFields()))
-				{
-					//add dynamic fields to condition builder
-					for(String additionalProp : searchQuery.getAdditionalEntityFields())
-					{
-						conditionQueryBuilder.addResultField("#" + additionalProp, Object.class, additionalProp, "<Addidional Property> - " + additionalProp);
-					}
-				}
+				conditionQueryBuilder.addOrderByField(field.getName(), field.getOrderByType(), methodDesc);
 			}
-			
-			//set the result fields, conditions and tables details on finder query
-			List<Object> conditionParams = new ArrayList<>();
+		}
 
-			//add conditions to query builder so that they will be validated
-			for(SearchCondition condition : searchQuery.getConditions())
-			{
-				addConditionsRecursively(condition, conditionQueryBuilder, conditionParams, null);
-			}
+		//load condition values
+		conditionQueryBuilder.loadConditionalQuery(context.getRepositoryExecutionContext(), finderQuery, conditionParams.toArray());
+		conditionQueryBuilder.loadOrderByFields(finderQuery);
+		
+		IFinderRecordProcessor recordCountLimiter = null;
+
+		//if results needs to be limited
+		if(searchQuery.getResultsLimit() > 0 || searchQuery.getResultsOffset() > 0)
+		{
+			int start = searchQuery.getResultsOffset();
+			int countLimit = searchQuery.getResultsLimit();
 			
-			logger.debug("Executing search query with params - {}", conditionParams);
+			start = (start <= 0) ? 0 : start;
+			countLimit = (countLimit <= 0) ? Integer.MAX_VALUE : countLimit;
 			
-			//add order-by fields
-			if(searchQuery.getOrderByFields() != null)
-			{
-				conditionQueryBuilder.clearOrderByFields();
-				
-				for(OrderByField field : searchQuery.getOrderByFields())
-				{
-					conditionQueryBuilder.addOrderByField(field.getName(), field.getOrderByType(), methodDesc);
-				}
-			}
-
-			//load condition values
-			conditionQueryBuilder.loadConditionalQuery(context.getRepositoryExecutionContext(), finderQuery, conditionParams.toArray());
-			conditionQueryBuilder.loadOrderByFields(finderQuery);
 			
-			IFinderRecordProcessor recordCountLimiter = null;
-
-			//if results needs to be limited
-			if(searchQuery.getResultsLimit() > 0 || searchQuery.getResultsOffset() > 0)
+			finderQuery.setResultsOffset(start);
+			finderQuery.setResultsLimit(countLimit);
+			
+			//As some of the DB's like Derby does not support limit, explicit processor 
+			//	is added to stop records fetching after the limit
+			if(!dataStore.isPagingSupported())
 			{
-				int start = searchQuery.getResultsOffset();
-				int countLimit = searchQuery.getResultsLimit();
-				
-				start = (start <= 0) ? 0 : start;
-				countLimit = (countLimit <= 0) ? Integer.MAX_VALUE : countLimit;
-				
-				
-				finderQuery.setResultsOffset(start);
-				finderQuery.setResultsLimit(countLimit);
-				
-				//As some of the DB's like Derby does not support limit, explicit processor 
-				//	is added to stop records fetching after the limit
-				if(!dataStore.isPagingSupported())
+				recordCountLimiter = new IFinderRecordProcessor()
 				{
-					recordCountLimiter = new IFinderRecordProcessor()
+					int recStart = finderQuery.getResultsOffset();
+					int count = 0;
+					int recLimit = finderQuery.getResultsLimit();
+					
+					@Override
+					public Action process(long recordNo, Record record)
 					{
-						int recStart = finderQuery.getResultsOffset();
-						int count = 0;
-						int recLimit = finderQuery.getResultsLimit();
-						
-						@Override
-						public Action process(long recordNo, Record record)
+						if(recordNo < recStart)
 						{
-							if(recordNo < recStart)
-							{
-								return Action.IGNORE;
-							}
-							
-							count++;
-							
-							return (count <= recLimit) ? Action.PROCESS : Action.STOP;
+							return Action.IGNORE;
 						}
-					};
-				}
-			}
-			
-			//execute the query and fetch records
-			List<Record> records = dataStore.executeFinder(finderQuery, entityDetails, recordCountLimiter);
-			
-			//if no results found
-			if(records == null || records.isEmpty())
-			{
-				//if primitive return type is expected simply return default value
-				if(collectionReturnType == null)
-				{
-					return returnType.isPrimitive() ? CCGUtility.getDefaultPrimitiveValue(returnType) : null;
-				}
-				
-				try
-				{
-					return (Collection)collectionReturnType.newInstance();
-				}catch(Exception ex)
-				{
-					throw new IllegalStateException("An error occurred while creating return collection: " + collectionReturnType.getName(), ex);
-				}
+						
+						count++;
+						
+						return (count <= recLimit) ? Action.PROCESS : Action.STOP;
+					}
+				};
 			}
-
-			//if single element is expected as result
+		}
+		
+		//if results are expected to be fetched lazily
+		if(streamReturnType != null)
+		{
+			return super.toStreamResult(dataStore.streamFinder(finderQuery, entityDetails, recordCountLimiter), conditionQueryBuilder, conversionService);
+		}
+		
+		//execute the query and fetch records
+		List<Record> records = dataStore.executeFinder(finderQuery, entityDetails, recordCountLimiter);
+		
+		//if no results found
+		if(records == null || records.isEmpty())
+		{
+			//if primitive return type is expected simply return default value
 			if(collectionReturnType == null)
 			{
-				if(records.size() > 1)
-				{
-					throw new RecordCountMistmatchException("Multiple records found when single record is expected.");
-				}
-				
-				ArrayList<Object> resLst = new ArrayList<>();
-				conditionQueryBuilder.parseResults(Arrays.asList(records.get(0)), (Class)returnType, resLst, conversionService, persistenceExecutionContext);
-				return resLst.get(0);
+				return returnType.isPrimitive() ? CCGUtility.getDefaultPrimitiveValue(returnType) : null;
 			}
-	
-			//if collection of objects are expected as result
-			Collection<Object> lst = null;
 			
 			try
 			{
-				lst = (Collection)collectionReturnType.newInstance();
+				return (Collection)collectionReturnType.newInstance();
 			}catch(Exception ex)
 			{
 				throw new IllegalStateException("An error occurred while creating return collection: " + collectionReturnType.getName(), ex);
 			}
+		}
+
+		//if single element is expected as result
+		if(collectionReturnType == null)
+		{
+			if(records.size() > 1)
+			{
+				throw new RecordCountMistmatchException("Multiple records found when single record is expected.");
+			}
 			
-			//parse records into required types
-			conditionQueryBuilder.parseResults(records, (Class)returnType, lst, conversionService, persistenceExecutionContext);
-			
-			return lst;
-		}finally
+			ArrayList<Object> resLst = new ArrayList<>();
+			conditionQueryBuilder.parseResults(Arrays.asList(records.get(0)), (Class)returnType, resLst, conversionService, persistenceExecutionContext);
+			return resLst.get(0);
+		}
+
+		//if collection of objects are expected as result
+		Collection<Object> lst = null;
+		
+		try
+		{
+			lst = (Collection)collectionReturnType.newInstance();
+		}catch(Exception ex)
 		{
-			queryLock.unlock();
+			throw new IllegalStateException("An error occurred while creating return collection: " + collectionReturnType.getName(), ex);
 		}
+		
+		//parse records into required types
+		conditionQueryBuilder.parseResults(records, (Class)returnType, lst, conversionService, persistenceExecutionContext);
+		
+		return lst;
 	}
 	
 	
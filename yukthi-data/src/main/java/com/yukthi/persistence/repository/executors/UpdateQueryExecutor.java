@@ -2,8 +2,11 @@ package com.yukthi.persistence.repository.executors;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.commons.lang3.reflect.TypeUtils;
 import org.apache.logging.log4j.LogManager;
@@ -18,7 +21,6 @@ import com.yukthi.persistence.IDataStore;
 import com.yukthi.persistence.ITransaction;
 import com.yukthi.persistence.conversion.ConversionService;
 import com.yukthi.persistence.listeners.EntityEventType;
-import com.yukthi.persistence.query.ColumnParam;
 import com.yukthi.persistence.query.QueryCondition;
 import com.yukthi.persistence.query.UpdateColumnParam;
 import com.yukthi.persistence.query.UpdateQuery;
@@ -36,12 +38,20 @@ public class UpdateQueryExecutor extends AbstractPersistQueryExecutor
 	private static Logger logger = LogManager.getLogger(UpdateQueryExecutor.class);
 
 	private Class<?> returnType;
-	private ReentrantLock queryLock = new ReentrantLock();
 	private boolean entityUpdate = false;
+	
+	/**
+	 * Indicates the method accepts collection of entities, which should be updated as batch
+	 */
+	private boolean batchUpdate = false;
 	private ConditionQueryBuilder conditionQueryBuilder;
 	private String methodDesc;
 	
-	private UpdateQuery updateQuery;
+	/**
+	 * Columns to be updated by non-entity update method. These act as templates for
+	 * per-call update queries and are never modified after construction.
+	 */
+	private List<UpdateColumnParam> updateColumns;
 	
 	public UpdateQueryExecutor(Class<?> repositoryType, Method method, EntityDetails entityDetails)
 	{
@@ -62,7 +72,15 @@ public class UpdateQueryExecutor extends AbstractPersistQueryExecutor
 		boolean isCoreInterface = ICrudRepository.class.equals(method.getDeclaringClass());
 		Class<?> firstParamType = TypeUtils.getRawType(method.getGenericParameterTypes()[0], repositoryType);
 		
-		if( ( paramTypes.length >= 1 && entityDetails.getEntityType().equals(firstParamType) ) || isCoreInterface)
+		if( Collection.class.isAssignableFrom(paramTypes[0]) && (isCoreInterface || entityDetails.getEntityType().equals(getCollectionElementType(method))) )
+		{
+			entityUpdate = true;
+			batchUpdate = true;
+			
+			super.fetchConditonsByAnnotations(method, false, conditionQueryBuilder, methodDesc, false);
+			super.fetchMethodLevelConditions(method, conditionQueryBuilder, methodDesc, false);
+		}
+		else if( ( paramTypes.length >= 1 && entityDetails.getEntityType().equals(firstParamType) ) || isCoreInterface)
 		{
 			entityUpdate = true;
 			
@@ -71,7 +89,7 @@ public class UpdateQueryExecutor extends AbstractPersistQueryExecutor
 		}
 		else
 		{
-			updateQuery = new UpdateQuery(entityDetails);
+			updateColumns = new ArrayList<>();
 			
 			if(!super.fetchConditonsByAnnotations(method, false, conditionQueryBuilder, methodDesc, false))
 			{
@@ -84,6 +102,8 @@ public class UpdateQueryExecutor extends AbstractPersistQueryExecutor
 			{
 				throw new InvalidRepositoryException("For non-entity update method '" + method.getName() + "' no columns are specified, in repository: " + repositoryType.getName());
 			}
+			
+			updateColumns = Collections.unmodifiableList(updateColumns);
 		}
 		
 		returnType = method.getReturnType();
@@ -129,27 +149,47 @@ public class UpdateQueryExecutor extends AbstractPersistQueryExecutor
 						field.value(), repositoryType.getName(), method.getName());
 			}
 			
-			updateQuery.addColumn(new UpdateColumnParam(fieldDetails.getDbColumnName(), null, i, field.updateOp()));
+			updateColumns.add(new UpdateColumnParam(fieldDetails.getDbColumnName(), null, i, field.updateOp()));
 			found = true;
 		}
 		
 		//add implicit version update instructions
 		if(entityDetails.hasVersionField())
 		{
-			updateQuery.addColumn(new UpdateColumnParam(entityDetails.getVersionField().getDbColumnName(), 1, -1, UpdateOperator.ADD));
+			updateColumns.add(new UpdateColumnParam(entityDetails.getVersionField().getDbColumnName(), 1, -1, UpdateOperator.ADD));
 		}
 
 		return found;
 	}
 	
-	@SuppressWarnings({ "unchecked", "rawtypes" })
 	private void updateExtensionFields(IDataStore dataStore, ConversionService conversionService, Object entity)
+	{
+		UpdateQuery updateQuery = buildExtensionFieldsQuery(entity);
+		
+		if(updateQuery == null)
+		{
+			return;
+		}
+		
+		if( dataStore.update(updateQuery, entityDetails.getExtendedTableDetails().toEntityDetails(entityDetails)) <= 0)
+		{
+			throw new InvalidStateException("An error occurred while updating extension fields");
+		}
+	}
+	
+	/**
+	 * Builds update query for extension fields of specified entity.
+	 * @param entity Entity whose extension fields needs to be updated
+	 * @return Update query, null if no extension fields are present
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private UpdateQuery buildExtensionFieldsQuery(Object entity)
 	{
 		ExtendedTableDetails extendedTableDetails = entityDetails.getExtendedTableDetails();
 		
 		if(extendedTableDetails == null)
 		{
-			return;
+			return null;
 		}
 		
 		java.lang.reflect.Field extDataHolder = extendedTableDetails.getEntityField();
@@ -167,7 +207,7 @@ public class UpdateQueryExecutor extends AbstractPersistQueryExecutor
 		
 		if(extendedValues == null || extendedValues.isEmpty())
 		{
-			return;
+			return null;
 		}
 		
 		Object id = entityDetails.getIdField().getValue(entity);
@@ -180,11 +220,7 @@ public class UpdateQueryExecutor extends AbstractPersistQueryExecutor
 		}
 		
 		updateQuery.addCondition(new QueryCondition(null, ExtendedTableEntity.COLUMN_ENTITY_ID, Operator.EQ, id, null, false));
-		
-		if( dataStore.update(updateQuery, extendedTableDetails.toEntityDetails(entityDetails)) <= 0)
-		{
-			throw new InvalidStateException("An error occurred while updating extension fields");
-		}
+		return updateQuery;
 	}
 	
 	private Object updateFullEntity(QueryExecutionContext context, IDataStore dataStore, ConversionService conversionService, Object... params)
@@ -192,7 +228,134 @@ public class UpdateQueryExecutor extends AbstractPersistQueryExecutor
 		logger.trace("Started method: updateFullEntity");
 		
 		Object entity = params[0];
+		UpdateQuery query = buildEntityUpdateQuery(context, dataStore, conversionService, entity, params);
 		
+		try(ITransaction transaction = dataStore.getTransactionManager().newOrExistingTransaction())
+		{
+			super.notifyEntityEvent(null, entity, EntityEventType.PRE_UPDATE);
+			
+			int res = dataStore.update(query, entityDetails);
+			
+			updateExtensionFields(dataStore, conversionService, entity);
+			
+			if(res > 0)
+			{
+				super.notifyEntityEvent(null, entity, EntityEventType.POST_UPDATE);
+			}
+			
+			transaction.commit();
+
+			if(boolean.class.equals(returnType))
+			{
+				return (res > 0);
+			}
+			
+			return (int.class.equals(returnType)) ? res : null;
+		}catch(Exception ex)
+		{
+			//rethrow the catched exception
+			if(ex instanceof RuntimeException)
+			{
+				throw (RuntimeException)ex;
+			}
+			
+			throw new IllegalStateException(ex);
+		}
+	}
+	
+	/**
+	 * Updates specified entities using batch statements. Entities with same structure are updated
+	 * using single jdbc batch.
+	 */
+	private Object updateAll(QueryExecutionContext context, IDataStore dataStore, ConversionService conversionService, Object... params)
+	{
+		logger.trace("Started method: updateAll");
+		
+		Collection<?> entities = (Collection<?>)params[0];
+		
+		if(entities == null)
+		{
+			throw new NullPointerException("Entities can not be null");
+		}
+		
+		List<Object> entityLst = new ArrayList<>(entities);
+		List<UpdateQuery> queries = new ArrayList<>(entityLst.size());
+		List<UpdateQuery> extensionQueries = new ArrayList<>();
+		Object entityParams[] = params.clone();
+		UpdateQuery extensionQuery = null;
+		
+		for(Object entity : entityLst)
+		{
+			entityParams[0] = entity;
+			queries.add(buildEntityUpdateQuery(context, dataStore, conversionService, entity, entityParams));
+			
+			extensionQuery = buildExtensionFieldsQuery(entity);
+			
+			if(extensionQuery != null)
+			{
+				extensionQueries.add(extensionQuery);
+			}
+		}
+		
+		int updatedCount = 0;
+		
+		if(!queries.isEmpty())
+		{
+			try(ITransaction transaction = dataStore.getTransactionManager().newOrExistingTransaction())
+			{
+				for(Object entity : entityLst)
+				{
+					super.notifyEntityEvent(null, entity, EntityEventType.PRE_UPDATE);
+				}
+				
+				int res[] = dataStore.updateAll(queries, entityDetails);
+				
+				if(!extensionQueries.isEmpty())
+				{
+					for(int count : dataStore.updateAll(extensionQueries, entityDetails.getExtendedTableDetails().toEntityDetails(entityDetails)))
+					{
+						if(count <= 0)
+						{
+							throw new InvalidStateException("An error occurred while updating extension fields");
+						}
+					}
+				}
+				
+				for(int i = 0; i < res.length; i++)
+				{
+					if(res[i] > 0)
+					{
+						updatedCount++;
+						super.notifyEntityEvent(null, entityLst.get(i), EntityEventType.POST_UPDATE);
+					}
+				}
+				
+				transaction.commit();
+			}catch(Exception ex)
+			{
+				//rethrow the catched exception
+				if(ex instanceof RuntimeException)
+				{
+					throw (RuntimeException)ex;
+				}
+				
+				throw new IllegalStateException(ex);
+			}
+		}
+		
+		if(boolean.class.equals(returnType))
+		{
+			return (updatedCount > 0);
+		}
+		
+		return (int.class.equals(returnType)) ? updatedCount : null;
+	}
+	
+	/**
+	 * Builds update query to update specified entity fully.
+	 */
+	private UpdateQuery buildEntityUpdateQuery(QueryExecutionContext context, IDataStore dataStore, ConversionService conversionService, Object entity, Object... params)
+	{
 		if(entity == null)
 		{
 			throw new NullPointerException("Entity can not be null");
@@ -266,38 +429,7 @@ public class UpdateQueryExecutor extends AbstractPersistQueryExecutor
 		}
 		
 		conditionQueryBuilder.loadConditionalQuery(context.getRepositoryExecutionContext(), query, params);
-		
-		try(ITransaction transaction = dataStore.getTransactionManager().newOrExistingTransaction())
-		{
-			super.notifyEntityEvent(null, entity, EntityEventType.PRE_UPDATE);
-			
-			int res = dataStore.update(query, entityDetails);
-			
-			updateExtensionFields(dataStore, conversionService, entity);
-			
-			if(res > 0)
-			{
-				super.notifyEntityEvent(null, entity, EntityEventType.POST_UPDATE);
-			}
-			
-			transaction.commit();
-
-			if(boolean.class.equals(returnType))
-			{
-				return (res > 0);
-			}
-			
-			return (int.class.equals(returnType)) ? res : null;
-		}catch(Exception ex)
-		{
-			//rethrow the catched exception
-			if(ex instanceof RuntimeException)
-			{
-				throw (RuntimeException)ex;
-			}
-			
-			throw new IllegalStateException(ex);
-		}
+		return query;
 	}
 
 	
@@ -309,86 +441,85 @@ public class UpdateQueryExecutor extends AbstractPersistQueryExecutor
 	{
 		logger.trace("Started method: execute");
 		
+		if(batchUpdate)
+		{
+			return updateAll(context, dataStore, conversionService, params);
+		}
+		
 		if(entityUpdate)
 		{
 			return updateFullEntity(context, dataStore, conversionService, params);
 		}
 		
-		queryLock.lock();
+		Object value = null;
 		
-		try
+		//build fresh query for every call, so that concurrent calls do not share conditions or values
+		UpdateQuery updateQuery = new UpdateQuery(entityDetails);
+		conditionQueryBuilder.loadConditionalQuery(context.getRepositoryExecutionContext(), updateQuery, params);
+		
+		//TODO: When unique fields are getting updated, make sure unique constraints are not violated
+			//during unique field update might be we have to mandate id is provided as condition
+		
+		
+		//TODO: Extension field update using annotaionts
+		FieldDetails field = null;
+		
+		for(UpdateColumnParam column: updateColumns)
 		{
-			Object value = null;
-			
-			updateQuery.clearConditions();
-			conditionQueryBuilder.loadConditionalQuery(context.getRepositoryExecutionContext(), updateQuery, params);
-			
-			//TODO: When unique fields are getting updated, make sure unique constraints are not violated
-				//during unique field update might be we have to mandate id is provided as condition
-			
+			//index would be less than internal fields like version
+			if(column.getIndex() < 0)
+			{
+				updateQuery.addColumn(new UpdateColumnParam(column.getName(), column.getValue(), column.getIndex(), column.getUpdateOperator()));
+				continue; 
+			}
 			
-			//TODO: Extension field update using annotaionts
-			FieldDetails field = null;
+			field = entityDetails.getFieldDetailsByColumn(column.getName());
+			value = params[column.getIndex()];
 			
-			for(ColumnParam column: updateQuery.getColumns())
+			//if current field is relation field
+			if(field.isRelationField())
 			{
-				field = entityDetails.getFieldDetailsByColumn(column.getName());
-				
-				//index would be less than internal fields like version
-				if(column.getIndex() < 0)
+				//if current table does not own relation, ignore current field value
+				if(!field.isTableOwned())
 				{
-					continue; 
+					//TODO: Take care of cases where join table is involved
+					updateQuery.addColumn(new UpdateColumnParam(column.getName(), null, column.getIndex(), column.getUpdateOperator()));
+					continue;
 				}
 				
-				value = params[column.getIndex()];
-				
-				//if current field is relation field
-				if(field.isRelationField())
+				if(value != null)
 				{
-					//if current table does not own relation, ignore current field
-					if(!field.isTableOwned())
-					{
-						//TODO: Take care of cases where join table is involved
-						continue;
-					}
-					
-					if(value != null)
-					{
-						//if current table owns the relation in same table, replace the entity value with foreign entity id value
-						value = field.getForeignConstraintDetails().getTargetEntityDetails().getIdField().getValue(value);
-					}
+					//if current table owns the relation in same table, replace the entity value with foreign entity id value
+					value = field.getForeignConstraintDetails().getTargetEntityDetails().getIdField().getValue(value);
 				}
+			}
 
-				value = conversionService.convertToDBType(value, field);
+			value = conversionService.convertToDBType(value, field);
 
-				column.setValue(value);
-			}
-			
-			try(ITransaction transaction = dataStore.getTransactionManager().newOrExistingTransaction())
-			{
-				int res = dataStore.update(updateQuery, entityDetails);
+			updateQuery.addColumn(new UpdateColumnParam(column.getName(), value, column.getIndex(), column.getUpdateOperator()));
+		}
+		
+		try(ITransaction transaction = dataStore.getTransactionManager().newOrExistingTransaction())
+		{
+			int res = dataStore.update(updateQuery, entityDetails);
 
-				transaction.commit();
-				
-				if(int.class.equals(returnType))
-				{
-					return res;
-				}
-				
-				return (boolean.class.equals(returnType)) ? (res > 0) : null;
-			}catch(Exception ex)
+			transaction.commit();
+			
+			if(int.class.equals(returnType))
 			{
-				//rethrow the catched exception
-				if(ex instanceof RuntimeException)
-				{
-					throw (RuntimeException)ex;
-				}
-				
-				throw new IllegalStateException(ex);
+				return res;
 			}
-		}finally
+			
+			return (boolean.class.equals(returnType)) ? (res > 0) : null;
+		}catch(Exception ex)
 		{
-			queryLock.unlock();
+			//rethrow the catched exception
+			if(ex instanceof RuntimeException)
+			{
+				throw (RuntimeException)ex;
+			}
+			
+			throw new IllegalStateException(ex);
 		}
 		
 	}
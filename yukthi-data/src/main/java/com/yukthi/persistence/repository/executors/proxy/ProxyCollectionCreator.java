@@ -3,6 +3,7 @@ package com.yukthi.persistence.repository.executors.proxy;
 import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.yukthi.persistence.EntityDetails;
 import com.yukthi.persistence.ICrudRepository;
@@ -43,6 +44,11 @@ public class ProxyCollectionCreator
 	 */
 	private Object proxyCollection;
 	
+	/**
+	 * Lock used to load collection. Explicit lock is used, as loading involves db calls.
+	 */
+	private ReentrantLock loadLock = new ReentrantLock();
+	
 	/**
 	 * Creates a proxy for specified entity type
 	 * @param entityDetails
@@ -95,23 +101,31 @@ public class ProxyCollectionCreator
 	 * @return
 	 * @throws Throwable
 	 */
-	private synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+	private Object invoke(Object proxy, Method method, Object[] args) throws Throwable
 	{
-		if(collectionLoaded)
+		loadLock.lock();
+		
+		try
 		{
+			if(collectionLoaded)
+			{
+				return method.invoke(actualCollection, args);
+			}
+			
+			@SuppressWarnings({ "unchecked", "rawtypes" })
+			List<Object> entities = (List)repository.search(new SearchQuery(this.searchCondition));
+			
+			if(entities != null)
+			{
+				this.actualCollection.addAll(entities);
+			}
+			
+			collectionLoaded = true;
 			return method.invoke(actualCollection, args);
-		}
-		
-		@SuppressWarnings({ "unchecked", "rawtypes" })
-		List<Object> entities = (List)repository.search(new SearchQuery(this.searchCondition));
-		
-		if(entities != null)
+		}finally
 		{
-			this.actualCollection.addAll(entities);
+			loadLock.unlock();
 		}
-		
-		collectionLoaded = true;
-		return method.invoke(actualCollection, args);
 	}
 	
 }
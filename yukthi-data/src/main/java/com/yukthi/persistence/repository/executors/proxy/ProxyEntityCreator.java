@@ -1,18 +1,20 @@
 package com.yukthi.persistence.repository.executors.proxy;
 
-import java.beans.PropertyDescriptor;
 import java.lang.reflect.Method;
 import java.util.List;
-
-import org.apache.commons.beanutils.PropertyUtils;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.yukthi.persistence.EntityDetails;
 import com.yukthi.persistence.ICrudRepository;
 import com.yukthi.persistence.NoSuchEntityException;
+import com.yukthi.persistence.accessor.PropertyAccessor;
 import com.yukthi.persistence.repository.search.SearchCondition;
 import com.yukthi.persistence.repository.search.SearchQuery;
 
 import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.Factory;
 import net.sf.cglib.proxy.InvocationHandler;
 
 /**
@@ -21,6 +23,28 @@ import net.sf.cglib.proxy.InvocationHandler;
  */
 public class ProxyEntityCreator
 {
+	/**
+	 * Proxy class details of an entity type, which are computed once and shared by all proxies of the type
+	 * @author akiran
+	 */
+	private static class ProxyType
+	{
+		/**
+		 * Factory (prototype proxy instance) used to create new proxies of the generated class
+		 */
+		private Factory factory;
+		
+		/**
+		 * Id getter method of entity
+		 */
+		private Method idGetter;
+	}
+	
+	/**
+	 * Cache of proxy types by entity type
+	 */
+	private static Map<Class<?>, ProxyType> proxyTypes = new ConcurrentHashMap<>();
+	
 	/**
 	 * The actual entity which would be loaded lazily on need basis 
 	 */
@@ -51,6 +75,16 @@ public class ProxyEntityCreator
 	 */
 	private SearchCondition searchCondition;
 	
+	/**
+	 * Group to which this proxy belongs, if any, using which entity will be loaded along with other proxies of the group
+	 */
+	private ProxyLoadGroup loadGroup;
+	
+	/**
+	 * Lock used to load actual entity. Explicit lock is used, as loading involves db calls.
+	 */
+	private ReentrantLock loadLock = new ReentrantLock();
+	
 	/**
 	 * Proxy object that will be exposed to outside world
 	 */
@@ -58,12 +92,30 @@ public class ProxyEntityCreator
 	
 	public ProxyEntityCreator(EntityDetails entityDetails, ICrudRepository<?> repository, Object entityId)
 	{
-		this(entityDetails, repository, entityId, null);
+		this(entityDetails, repository, entityId, null, null);
 	}
 
 	public ProxyEntityCreator(EntityDetails entityDetails, ICrudRepository<?> repository, SearchCondition condition)
 	{
-		this(entityDetails, repository, null, condition);
+		this(entityDetails, repository, null, condition, null);
+	}
+	
+	/**
+	 * Creates a proxy whose entity will be loaded along with other proxies of specified group
+	 * @param entityDetails
+	 * @param loadGroup
+	 * @param entityId
+	 */
+	public ProxyEntityCreator(EntityDetails entityDetails, ProxyLoadGroup loadGroup, Object entityId)
+	{
+		this(entityDetails, null, entityId, null, loadGroup);
+		
+		if(entityId == null)
+		{
+			throw new NullPointerException("Entity id can not be null");
+		}
+		
+		loadGroup.register(entityId);
 	}
 
 	/**
@@ -72,7 +124,7 @@ public class ProxyEntityCreator
 	 * @param repository
 	 * @param entityType
 	 */
-	private ProxyEntityCreator(EntityDetails entityDetails, ICrudRepository<?> repository, Object entityId, SearchCondition condition)
+	private ProxyEntityCreator(EntityDetails entityDetails, ICrudRepository<?> repository, Object entityId, SearchCondition condition, ProxyLoadGroup loadGroup)
 	{
 		if(entityId ==  null && condition == null)
 		{
@@ -82,14 +134,17 @@ public class ProxyEntityCreator
 		this.repository = repository;
 		this.entityId = entityId;
 		this.searchCondition = condition;
+		this.loadGroup = loadGroup;
 		
-		Class<?> entityType = entityDetails.getEntityType();
+		ProxyType proxyType = getProxyType(entityDetails);
 		
-		//create ccg lib handler which will handle method calls on proxy
-		Enhancer enhancer = new Enhancer();
-		enhancer.setSuperclass(entityType);
+		if(entityId != null)
+		{
+			this.idGetter = proxyType.idGetter;
+		}
 		
-		enhancer.setCallback(new InvocationHandler()
+		//create new proxy instance of cached proxy class with handler which will handle method calls on proxy
+		this.proxyEntity = proxyType.factory.newInstance(new InvocationHandler()
 		{
 			@Override
 			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
@@ -97,29 +152,53 @@ public class ProxyEntityCreator
 				return ProxyEntityCreator.this.invoke(proxy, method, args);
 			}
 		});
+	}
+	
+	/**
+	 * Fetches proxy type details of specified entity. Proxy class is generated only once per entity type.
+	 * @param entityDetails Entity details for which proxy type is needed
+	 * @return Proxy type details
+	 */
+	private static ProxyType getProxyType(EntityDetails entityDetails)
+	{
+		Class<?> entityType = entityDetails.getEntityType();
+		ProxyType proxyType = proxyTypes.get(entityType);
 		
-		if(entityId != null)
+		if(proxyType != null)
 		{
-			//fetch the id getter method
-			try
-			{
-				String idFieldName = entityDetails.getIdField().getName();
-				PropertyDescriptor propertyDesc = PropertyUtils.getPropertyDescriptor(entityType.newInstance(), idFieldName);
-				
-				this.idGetter = propertyDesc != null ? propertyDesc.getReadMethod() : null;
-			}catch(Exception ex)
-			{
-				throw new IllegalStateException("An error occurred while fetch id getter for entity type - " + entityType.getName(), ex);
-			}
-			
-			//if unable to find id getter throw error
-			if(this.idGetter == null)
+			return proxyType;
+		}
+		
+		proxyType = new ProxyType();
+		
+		//fetch the id getter method
+		PropertyAccessor idProperty = entityDetails.getBeanAccessor().getProperty(entityDetails.getIdField().getName());
+		proxyType.idGetter = (idProperty != null) ? idProperty.getReadMethod() : null;
+		
+		//if unable to find id getter throw error
+		if(proxyType.idGetter == null)
+		{
+			throw new IllegalStateException("Failed to fetch id getter for entity type - " + entityType.getName());
+		}
+		
+		//create ccg lib proxy class, prototype instance would act as factory for further instances
+		Enhancer enhancer = new Enhancer();
+		enhancer.setSuperclass(entityType);
+		
+		enhancer.setCallback(new InvocationHandler()
+		{
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
 			{
-				throw new IllegalStateException("Failed to fetch id getter for entity type - " + entityType.getName());
+				throw new IllegalStateException("Prototype proxy is not expected to be used");
 			}
-		}
+		});
+		
+		proxyType.factory = (Factory)enhancer.create();
 		
-		this.proxyEntity = enhancer.create();
+		//if some other thread has created the proxy type meanwhile, use that
+		ProxyType existingType = proxyTypes.putIfAbsent(entityType, proxyType);
+		return (existingType != null) ? existingType : proxyType;
 	}
 	
 	/**
@@ -146,7 +225,9 @@ public class ProxyEntityCreator
 			return entityId;
 		}
 
-		synchronized(this)
+		loadLock.lock();
+		
+		try
 		{
 			if(actualEntityLoaded)
 			{
@@ -158,8 +239,13 @@ public class ProxyEntityCreator
 				return method.invoke(actualEntity, args);
 			}
 			
+			//if load group is present, load entity along with other entities of the group
+			if(loadGroup != null)
+			{
+				actualEntity = loadGroup.load(entityId);
+			}
 			//if enity id is present use it for fetching entity
-			if(entityId != null)
+			else if(entityId != null)
 			{
 				actualEntity = repository.findById(entityId);
 			}
@@ -180,6 +266,9 @@ public class ProxyEntityCreator
 			}
 			
 			return method.invoke(actualEntity, args);
+		}finally
+		{
+			loadLock.unlock();
 		}
 	}
 	
@@ -0,0 +1,195 @@
+package com.yukthi.persistence.repository.executors.proxy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.yukthi.persistence.EntityDetails;
+import com.yukthi.persistence.FieldDetails;
+import com.yukthi.persistence.ICrudRepository;
+import com.yukthi.persistence.metrics.IPersistenceMetrics;
+import com.yukthi.persistence.metrics.NoOpPersistenceMetrics;
+import com.yukthi.persistence.repository.annotations.JoinOperator;
+import com.yukthi.persistence.repository.annotations.Operator;
+import com.yukthi.persistence.repository.search.SearchCondition;
+import com.yukthi.persistence.repository.search.SearchQuery;
+import com.yukthi.utils.ConvertUtils;
+
+/**
+ * Group of lazy proxies of same entity type, created as part of single result set. When one of the proxies is
+ * accessed, entities of all the pending proxies of the group are fetched using single query, instead of
+ * fetching them one by one.
+ * @author akiran
+ */
+public class ProxyLoadGroup
+{
+	private static Logger logger = LogManager.getLogger(ProxyLoadGroup.class);
+	
+	/**
+	 * Maximum number of entities to be fetched by single query
+	 */
+	private static final int MAX_BATCH_SIZE = 100;
+	
+	/**
+	 * CRUD repository for the entity
+	 */
+	private ICrudRepository<?> repository;
+	
+	/**
+	 * Type of the entity
+	 */
+	private Class<?> entityType;
+	
+	/**
+	 * Id field of the entity
+	 */
+	private FieldDetails idFieldDetails;
+	
+	/**
+	 * Ids of the proxies whose entities are not loaded yet
+	 */
+	private Set<Object> pendingIds = new LinkedHashSet<>();
+	
+	/**
+	 * Loaded entities mapped by id. Ids with no matching entities will be mapped to null.
+	 */
+	private Map<Object, Object> loadedEntities = new HashMap<>();
+	
+	/**
+	 * Lock used to load entities. Explicit lock is used, as loading involves db calls.
+	 */
+	private ReentrantLock lock = new ReentrantLock();
+	
+	/**
+	 * Metrics to which loads are reported
+	 */
+	private IPersistenceMetrics persistenceMetrics;
+	
+	public ProxyLoadGroup(EntityDetails entityDetails, ICrudRepository<?> repository)
+	{
+		this(entityDetails, repository, NoOpPersistenceMetrics.INSTANCE);
+	}
+	
+	public ProxyLoadGroup(EntityDetails entityDetails, ICrudRepository<?> repository, IPersistenceMetrics persistenceMetrics)
+	{
+		this.repository = repository;
+		this.persistenceMetrics = persistenceMetrics;
+		this.entityType = entityDetails.getEntityType();
+		this.idFieldDetails = entityDetails.getIdField();
+	}
+	
+	/**
+	 * Converts specified id into id field type, so that db values and entity values can be matched.
+	 */
+	private Object toKey(Object id)
+	{
+		return ConvertUtils.convert(id, idFieldDetails.getField().getType());
+	}
+	
+	/**
+	 * Registers specified id, so that it can be fetched along with other pending ids.
+	 * @param id Id to register
+	 */
+	public void register(Object id)
+	{
+		Object key = toKey(id);
+		lock.lock();
+		
+		try
+		{
+			if(!loadedEntities.containsKey(key))
+			{
+				pendingIds.add(key);
+			}
+		}finally
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Fetches entity with specified id. If the entity is not loaded yet, the entity will be fetched along with
+	 * other pending entities of this group.
+	 * @param id Id of the entity to fetch
+	 * @return Matching entity, null if no entity exists with specified id
+	 */
+	public Object load(Object id)
+	{
+		Object key = toKey(id);
+		lock.lock();
+		
+		try
+		{
+			return loadEntity(key);
+		}finally
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Loads entity with specified key along with other pending entities. Expected to be called with lock held.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private Object loadEntity(Object key)
+	{
+		if(loadedEntities.containsKey(key))
+		{
+			return loadedEntities.get(key);
+		}
+		
+		//fetch required id along with other pending ids
+		List<Object> ids = new ArrayList<>();
+		ids.add(key);
+		pendingIds.remove(key);
+		
+		Iterator<Object> it = pendingIds.iterator();
+		
+		while(it.hasNext() && ids.size() < MAX_BATCH_SIZE)
+		{
+			ids.add(it.next());
+			it.remove();
+		}
+		
+		String idField = idFieldDetails.getName();
+		SearchCondition condition = new SearchCondition(idField, Operator.EQ, ids.get(0));
+		
+		for(int i = 1; i < ids.size(); i++)
+		{
+			condition.addCondition(new SearchCondition(JoinOperator.OR, idField, Operator.EQ, ids.get(i)));
+		}
+		
+		logger.debug("Loading {} entities of type {} using single query", ids.size(), entityType.getName());
+		
+		long startTime = persistenceMetrics.isEnabled() ? System.nanoTime() : 0;
+		List<Object> entities = (List)repository.search(new SearchQuery(condition));
+		
+		if(persistenceMetrics.isEnabled())
+		{
+			persistenceMetrics.lazyLoaded(entityType, ids.size(), System.nanoTime() - startTime);
+		}
+		
+		for(Object entityId : ids)
+		{
+			loadedEntities.put(entityId, null);
+		}
+		
+		if(entities != null)
+		{
+			for(Object entity : entities)
+			{
+				loadedEntities.put(toKey(idFieldDetails.getValue(entity)), entity);
+			}
+		}
+		
+		return loadedEntities.get(key);
+	}
+}
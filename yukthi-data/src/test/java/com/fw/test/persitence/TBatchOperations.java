@@ -0,0 +1,150 @@
+package com.fw.test.persitence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import com.fw.test.persitence.entity.Customer;
+import com.fw.test.persitence.entity.CustomerGroup;
+import com.fw.test.persitence.entity.Employee;
+import com.fw.test.persitence.entity.IEmployeeRepository;
+import com.fw.test.persitence.entity.IOrderRepository;
+import com.fw.test.persitence.entity.Order;
+import com.fw.test.persitence.entity.OrderItem;
+import com.yukthi.persistence.repository.RepositoryFactory;
+
+/**
+ * Ensures batch save, update and delete operations of repositories.
+ * @author akiran
+ */
+public class TBatchOperations extends TestSuiteBase
+{
+	private static final int EMP_COUNT = 25;
+	
+	@AfterMethod
+	public void cleanup(ITestResult result)
+	{
+		Object params[] = result.getParameters();
+		RepositoryFactory factory = (RepositoryFactory)params[0];
+		
+		factory.dropRepository(Employee.class);
+		factory.dropRepository(OrderItem.class);
+		factory.dropRepository(Order.class);
+		factory.dropRepository(Customer.class);
+		factory.dropRepository(CustomerGroup.class);
+	}
+	
+	private List<Employee> saveEmployees(IEmployeeRepository repo)
+	{
+		List<Employee> employees = new ArrayList<>();
+		
+		for(int i = 0; i < EMP_COUNT; i++)
+		{
+			employees.add(new Employee("B" + i, "buser" + i + "@test.com", "buser" + i, "1234" + i, 30 + i));
+		}
+		
+		Assert.assertEquals(repo.saveAll(employees), EMP_COUNT);
+		return employees;
+	}
+	
+	/**
+	 * Ensures all entities are saved and generated ids are populated on the entities.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testSaveAll(RepositoryFactory factory)
+	{
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+		List<Employee> employees = saveEmployees(repo);
+		Set<Long> ids = new HashSet<>();
+		
+		for(Employee emp : employees)
+		{
+			Assert.assertTrue(emp.getId() > 0);
+			ids.add(emp.getId());
+			
+			Employee dbEmp = repo.findById(emp.getId());
+			Assert.assertEquals(dbEmp.getEmployeeNo(), emp.getEmployeeNo());
+			Assert.assertEquals(dbEmp.getEmailId(), emp.getEmailId());
+		}
+		
+		Assert.assertEquals(ids.size(), EMP_COUNT);
+		Assert.assertEquals(repo.saveAll(new ArrayList<Employee>()), 0);
+	}
+	
+	/**
+	 * Ensures child entities of all the entities are saved as part of batch save.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testSaveAllWithChildren(RepositoryFactory factory)
+	{
+		IOrderRepository repo = factory.getRepository(IOrderRepository.class);
+		
+		OrderItem item11 = new OrderItem("soap", 10, null);
+		OrderItem item12 = new OrderItem("box", 20, null);
+		OrderItem item21 = new OrderItem("brush", 3, null);
+		
+		Order order1 = new Order("order1", 1, null, Arrays.asList(item11, item12));
+		Order order2 = new Order("order2", 2, null, Arrays.asList(item21));
+		
+		Assert.assertEquals(repo.saveAll(Arrays.asList(order1, order2)), 2);
+		
+		for(OrderItem item : Arrays.asList(item11, item12, item21))
+		{
+			Assert.assertTrue(item.getId() > 0);
+		}
+		
+		Assert.assertEquals(repo.findOrdersWithItem("soap").get(0).getId(), order1.getId());
+		Assert.assertEquals(repo.findOrdersWithItem("brush").get(0).getId(), order2.getId());
+	}
+	
+	/**
+	 * Ensures batch update modifies all the specified entities.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testUpdateAll(RepositoryFactory factory)
+	{
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+		List<Employee> employees = saveEmployees(repo);
+		
+		for(Employee emp : employees)
+		{
+			emp.setPhoneNo("U-" + emp.getEmployeeNo());
+		}
+		
+		Assert.assertEquals(repo.updateAll(employees), EMP_COUNT);
+		
+		for(Employee emp : employees)
+		{
+			Assert.assertEquals(repo.findById(emp.getId()).getPhoneNo(), "U-" + emp.getEmployeeNo());
+		}
+	}
+	
+	/**
+	 * Ensures batch delete removes only the entities with specified ids.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testDeleteAllById(RepositoryFactory factory)
+	{
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+		List<Employee> employees = saveEmployees(repo);
+		List<Long> ids = new ArrayList<>();
+		
+		for(int i = 0; i < 10; i++)
+		{
+			ids.add(employees.get(i).getId());
+		}
+		
+		Assert.assertEquals(repo.deleteAllById(ids), 10);
+		Assert.assertEquals(repo.getCount(), EMP_COUNT - 10);
+		
+		Assert.assertNull(repo.findById(employees.get(0).getId()));
+		Assert.assertNotNull(repo.findById(employees.get(10).getId()));
+	}
+}
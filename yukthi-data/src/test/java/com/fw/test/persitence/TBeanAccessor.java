@@ -0,0 +1,154 @@
+package com.fw.test.persitence;
+
+import java.util.function.BiConsumer;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.fw.test.persitence.entity.Customer;
+import com.fw.test.persitence.entity.Employee;
+import com.fw.test.persitence.entity.Order;
+import com.yukthi.persistence.FieldDetails;
+import com.yukthi.persistence.accessor.BeanAccessor;
+import com.yukthi.persistence.accessor.PropertyAccessor;
+import com.yukthi.persistence.annotations.DataType;
+import com.yukthi.utils.beans.AccessorFactory;
+
+/**
+ * Ensures generated accessors create and populate beans same as reflection.
+ * @author akiran
+ */
+public class TBeanAccessor
+{
+	/**
+	 * Ensures bean creation and property access using generated accessors.
+	 */
+	@Test
+	public void testPropertyAccess()
+	{
+		BeanAccessor accessor = BeanAccessor.getAccessor(Employee.class);
+		Assert.assertSame(BeanAccessor.getAccessor(Employee.class), accessor);
+		
+		Employee emp = (Employee)accessor.newInstance();
+		
+		accessor.setProperty(emp, "name", "emp1");
+		accessor.setProperty(emp, "age", 30);
+		
+		//value of different type should be converted for primitive properties
+		accessor.setProperty(emp, "id", 10);
+		
+		Assert.assertEquals(emp.getName(), "emp1");
+		Assert.assertEquals(emp.getAge(), 30);
+		Assert.assertEquals(emp.getId(), 10L);
+		
+		Assert.assertEquals(accessor.getProperty(emp, "name"), "emp1");
+		Assert.assertEquals(accessor.getProperty(emp, "id"), 10L);
+		
+		PropertyAccessor timeProperty = accessor.getProperty("time");
+		Assert.assertTrue(timeProperty.isReadable());
+		Assert.assertFalse(timeProperty.isWriteable());
+	}
+	
+	/**
+	 * Ensures nested properties are handled.
+	 */
+	@Test
+	public void testNestedProperty()
+	{
+		BeanAccessor accessor = BeanAccessor.getAccessor(Order.class);
+		Order order = new Order("order", 1, new Customer("cust", null, null), null);
+		
+		accessor.setProperty(order, "customer.name", "newCust");
+		Assert.assertEquals(accessor.getProperty(order, "customer.name"), "newCust");
+	}
+	
+	/**
+	 * Ensures field details access fields directly.
+	 */
+	@Test
+	public void testFieldAccess() throws Exception
+	{
+		FieldDetails fieldDetails = new FieldDetails(Employee.class.getDeclaredField("age"), DataType.INT, false, true);
+		Employee emp = new Employee();
+		
+		fieldDetails.setValue(emp, 45);
+		Assert.assertEquals(emp.getAge(), 45);
+		Assert.assertEquals(fieldDetails.getValue(emp), 45);
+		
+		try
+		{
+			fieldDetails.setValue(emp, null);
+			Assert.fail("Null value was set on primitive field");
+		}catch(IllegalStateException ex)
+		{
+			//expected
+		}
+	}
+	
+	/**
+	 * Ensures primitive fields accept values of narrower types and reject values which need narrowing.
+	 */
+	@Test
+	public void testFieldAccessWithWidening() throws Exception
+	{
+		FieldDetails idDetails = new FieldDetails(Employee.class.getDeclaredField("id"), DataType.LONG, false, true);
+		Employee emp = new Employee();
+		
+		idDetails.setValue(emp, 10);
+		Assert.assertEquals(emp.getId(), 10L);
+		
+		idDetails.setValue(emp, (short)20);
+		Assert.assertEquals(emp.getId(), 20L);
+		
+		idDetails.setValue(emp, 30L);
+		Assert.assertEquals(emp.getId(), 30L);
+		Assert.assertEquals(idDetails.getValue(emp), 30L);
+		
+		FieldDetails ageDetails = new FieldDetails(Employee.class.getDeclaredField("age"), DataType.INT, false, true);
+		
+		try
+		{
+			ageDetails.setValue(emp, 40L);
+			Assert.fail("Long value was narrowed and set on int field");
+		}catch(IllegalStateException ex)
+		{
+			//expected
+		}
+		
+		try
+		{
+			ageDetails.setValue(emp, "40");
+			Assert.fail("String value was set on int field");
+		}catch(IllegalStateException ex)
+		{
+			//expected
+		}
+	}
+	
+	/**
+	 * Ensures field setter method handle itself widens boxed primitive values, without falling back to reflection.
+	 */
+	@Test
+	public void testFieldSetterHandleWidening() throws Exception
+	{
+		BiConsumer<Object, Object> idSetter = AccessorFactory.createFieldSetter(Employee.class.getDeclaredField("id"));
+		Employee emp = new Employee();
+		
+		idSetter.accept(emp, Integer.valueOf(10));
+		Assert.assertEquals(emp.getId(), 10L);
+		
+		idSetter.accept(emp, Character.valueOf('A'));
+		Assert.assertEquals(emp.getId(), 65L);
+		
+		BiConsumer<Object, Object> ageSetter = AccessorFactory.createFieldSetter(Employee.class.getDeclaredField("age"));
+		
+		try
+		{
+			ageSetter.accept(emp, Long.valueOf(40));
+			Assert.fail("Long value was narrowed and set on int field");
+		}catch(ClassCastException ex)
+		{
+			//expected
+		}
+	}
+}
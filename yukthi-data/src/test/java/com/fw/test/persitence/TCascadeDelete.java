@@ -0,0 +1,268 @@
+package com.fw.test.persitence;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.fw.test.persitence.entity.cascade.CascadeChild;
+import com.fw.test.persitence.entity.cascade.CascadeGrandChild;
+import com.fw.test.persitence.entity.cascade.CascadeNode;
+import com.fw.test.persitence.entity.cascade.CascadeNote;
+import com.fw.test.persitence.entity.cascade.CascadeParent;
+import com.yukthi.persistence.ChildConstraintViolationException;
+import com.yukthi.persistence.ICrudRepository;
+import com.yukthi.persistence.accessor.BeanAccessor;
+import com.yukthi.persistence.listeners.EntityEvent;
+import com.yukthi.persistence.listeners.EntityEventHandler;
+import com.yukthi.persistence.listeners.EntityEventType;
+import com.yukthi.persistence.metrics.HistogramPersistenceMetrics;
+import com.yukthi.persistence.rdbms.RdbmsDataSource;
+import com.yukthi.persistence.rdbms.RdbmsDataStore;
+import com.yukthi.persistence.repository.RepositoryFactory;
+
+/**
+ * Ensures child entities are deleted (or checked) explicitly using set-based queries, when data store
+ * requires explicit foreign checks.
+ * @author akiran
+ */
+public class TCascadeDelete
+{
+	/**
+	 * Records delete events of cascade entities, using entity names.
+	 */
+	public class DeleteEventHandler
+	{
+		@EntityEventHandler(eventType = EntityEventType.PRE_DELETE, entityTypes = {CascadeParent.class, CascadeChild.class, CascadeGrandChild.class, CascadeNode.class})
+		public void preDelete(EntityEvent event)
+		{
+			events.add("pre-delete-" + getName(event.getEntity()));
+		}
+
+		@EntityEventHandler(eventType = EntityEventType.POST_DELETE, entityTypes = {CascadeParent.class, CascadeChild.class, CascadeGrandChild.class, CascadeNode.class})
+		public void postDelete(EntityEvent event)
+		{
+			events.add("post-delete-" + getName(event.getEntity()));
+		}
+		
+		private Object getName(Object entity)
+		{
+			return BeanAccessor.getAccessor(entity.getClass()).getProperty(entity, "name");
+		}
+	}
+	
+	private RepositoryFactory factory;
+	
+	private HistogramPersistenceMetrics metrics = new HistogramPersistenceMetrics();
+	
+	private ICrudRepository<CascadeParent> parentRepo;
+	private ICrudRepository<CascadeChild> childRepo;
+	private ICrudRepository<CascadeGrandChild> grandChildRepo;
+	private ICrudRepository<CascadeNote> noteRepo;
+	private ICrudRepository<CascadeNode> nodeRepo;
+	
+	private Set<String> events = Collections.synchronizedSet(new HashSet<>());
+	
+	/**
+	 * Last child created by {@link #newParent(String, int, int)}
+	 */
+	private CascadeChild lastChild;
+	
+	@BeforeClass
+	public void init()
+	{
+		//data store which needs explicit handling of child entities
+		RdbmsDataStore dataStore = new RdbmsDataStore("derby")
+		{
+			@Override
+			public boolean isExplicitForeignCheckRequired()
+			{
+				return true;
+			}
+		};
+		
+		dataStore.setDataSource(new RdbmsDataSource("org.apache.derby.jdbc.EmbeddedDriver", "jdbc:derby:memory:cascadeTestDB;create=true", null, null));
+		dataStore.setPersistenceMetrics(metrics);
+		
+		factory = new RepositoryFactory();
+		factory.setCreateTables(true);
+		factory.setDataStore(dataStore);
+		
+		parentRepo = factory.getRepositoryForEntity(CascadeParent.class);
+		childRepo = factory.getRepositoryForEntity(CascadeChild.class);
+		grandChildRepo = factory.getRepositoryForEntity(CascadeGrandChild.class);
+		noteRepo = factory.getRepositoryForEntity(CascadeNote.class);
+		nodeRepo = factory.getRepositoryForEntity(CascadeNode.class);
+		
+		factory.registerListeners(new DeleteEventHandler());
+	}
+	
+	@AfterClass
+	public void cleanup()
+	{
+		factory.dropRepository(CascadeNode.class);
+		factory.dropRepository(CascadeNote.class);
+		factory.dropRepository(CascadeGrandChild.class);
+		factory.dropRepository(CascadeChild.class);
+		factory.dropRepository(CascadeParent.class);
+	}
+	
+	private CascadeParent newParent(String name, int childCount, int grandChildCount)
+	{
+		CascadeParent parent = new CascadeParent(name);
+		parentRepo.save(parent);
+		
+		for(int i = 0; i < childCount; i++)
+		{
+			CascadeChild child = new CascadeChild(name + "-c" + i, parent);
+			childRepo.save(child);
+			lastChild = child;
+			
+			for(int j = 0; j < grandChildCount; j++)
+			{
+				grandChildRepo.save(new CascadeGrandChild(name + "-g" + i + j, child));
+			}
+		}
+		
+		return parent;
+	}
+	
+	/**
+	 * Ensures children and grand children are deleted with single query per table and non-cascaded
+	 * children block the delete.
+	 */
+	@Test
+	public void testCascadeDelete()
+	{
+		CascadeParent parent1 = newParent("p1", 2, 2);
+		CascadeParent parent2 = newParent("p2", 1, 1);
+		
+		metrics.reset();
+		Assert.assertTrue(parentRepo.deleteById(parent1.getId()));
+		
+		//one delete for grand children and one for children, irrespective of number of children
+		Assert.assertEquals(metrics.getTiming("execute:deleteChildrenTemplate").getCount(), 2);
+		Assert.assertNotNull(metrics.getTiming("execute:childrenExistenceTemplate"));
+		
+		Assert.assertNull(parentRepo.findById(parent1.getId()));
+		Assert.assertEquals(childRepo.getCount(), 1);
+		Assert.assertEquals(grandChildRepo.getCount(), 1);
+		
+		//non-cascaded grand child should block the delete
+		CascadeNote note = new CascadeNote("note", lastChild);
+		noteRepo.save(note);
+		
+		try
+		{
+			parentRepo.deleteById(parent2.getId());
+			Assert.fail("Delete succeeded with non-cascaded child entities");
+		}catch(ChildConstraintViolationException ex)
+		{
+			//expected
+		}
+		
+		Assert.assertNotNull(parentRepo.findById(parent2.getId()));
+		Assert.assertEquals(childRepo.getCount(), 1);
+		Assert.assertEquals(grandChildRepo.getCount(), 1);
+		
+		//once blocking entity is removed, batch delete should delete the children
+		Assert.assertTrue(noteRepo.deleteById(note.getId()));
+		Assert.assertEquals(parentRepo.deleteAllById(Arrays.asList(parent2.getId())), 1);
+		
+		Assert.assertEquals(parentRepo.getCount(), 0);
+		Assert.assertEquals(childRepo.getCount(), 0);
+		Assert.assertEquals(grandChildRepo.getCount(), 0);
+	}
+	
+	/**
+	 * Ensures batch delete deletes entities of all the keys along with their children using single query per table
+	 * and delete events are raised for cascaded children also.
+	 */
+	@Test
+	public void testBatchCascadeDelete()
+	{
+		CascadeParent parent1 = newParent("b1", 2, 2);
+		CascadeParent parent2 = newParent("b2", 1, 1);
+		CascadeParent parent3 = newParent("b3", 1, 1);
+		
+		events.clear();
+		metrics.reset();
+		
+		Assert.assertEquals(parentRepo.deleteAllById(Arrays.asList(parent1.getId(), parent2.getId())), 2);
+		
+		//one delete per table and single fetch of entities for listeners, irrespective of number of keys
+		Assert.assertEquals(metrics.getTiming("execute:deleteChildrenTemplate").getCount(), 2);
+		Assert.assertEquals(metrics.getTiming("execute:deleteTemplate").getCount(), 1);
+		Assert.assertEquals(metrics.getTiming("execute:fetchChildrenIdsTemplate").getCount(), 2);
+		Assert.assertEquals(metrics.getTiming("execute:finderTemplate").getCount(), 3);
+		
+		Set<String> expectedEvents = new HashSet<>();
+		
+		for(String name : Arrays.asList("b1", "b2", "b1-c0", "b1-c1", "b2-c0", "b1-g00", "b1-g01", "b1-g10", "b1-g11", "b2-g00"))
+		{
+			expectedEvents.add("pre-delete-" + name);
+			expectedEvents.add("post-delete-" + name);
+		}
+		
+		Assert.assertEquals(events, expectedEvents);
+		
+		Assert.assertNull(parentRepo.findById(parent1.getId()));
+		Assert.assertNull(parentRepo.findById(parent2.getId()));
+		Assert.assertNotNull(parentRepo.findById(parent3.getId()));
+		Assert.assertEquals(childRepo.getCount(), 1);
+		Assert.assertEquals(grandChildRepo.getCount(), 1);
+		
+		Assert.assertTrue(parentRepo.deleteById(parent3.getId()));
+		Assert.assertEquals(childRepo.getCount(), 0);
+		Assert.assertEquals(grandChildRepo.getCount(), 0);
+	}
+	
+	/**
+	 * Ensures descendants of self referencing entities are deleted at all levels.
+	 */
+	@Test
+	public void testSelfReferenceCascadeDelete()
+	{
+		CascadeNode root = new CascadeNode("root", null);
+		nodeRepo.save(root);
+		
+		CascadeNode node1 = new CascadeNode("n1", root);
+		nodeRepo.save(node1);
+		
+		CascadeNode node2 = new CascadeNode("n2", node1);
+		nodeRepo.save(node2);
+		
+		nodeRepo.save(new CascadeNode("n3", node2));
+		nodeRepo.save(new CascadeNode("n21", node1));
+		
+		CascadeNode other = new CascadeNode("other", null);
+		nodeRepo.save(other);
+		
+		CascadeNode otherChild = new CascadeNode("other-c", other);
+		nodeRepo.save(otherChild);
+		
+		events.clear();
+		Assert.assertTrue(nodeRepo.deleteById(root.getId()));
+		
+		Assert.assertEquals(nodeRepo.getCount(), 2);
+		Assert.assertNotNull(nodeRepo.findById(otherChild.getId()));
+		
+		Set<String> expectedEvents = new HashSet<>();
+		
+		for(String name : Arrays.asList("root", "n1", "n2", "n3", "n21"))
+		{
+			expectedEvents.add("pre-delete-" + name);
+			expectedEvents.add("post-delete-" + name);
+		}
+		
+		Assert.assertEquals(events, expectedEvents);
+		
+		Assert.assertTrue(nodeRepo.deleteById(other.getId()));
+		Assert.assertEquals(nodeRepo.getCount(), 0);
+	}
+}
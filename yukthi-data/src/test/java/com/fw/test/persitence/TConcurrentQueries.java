@@ -0,0 +1,378 @@
+package com.fw.test.persitence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.fw.test.persitence.config.TestConfiguration;
+import com.fw.test.persitence.entity.BrokenCycleChild;
+import com.fw.test.persitence.entity.BrokenCycleParent;
+import com.fw.test.persitence.entity.Employee;
+import com.fw.test.persitence.entity.Employee1;
+import com.fw.test.persitence.entity.IEmployeeRepository;
+import com.yukthi.persistence.EntityDetails;
+import com.yukthi.persistence.EntityDetailsFactory;
+import com.yukthi.persistence.ForeignConstraintDetails;
+import com.yukthi.persistence.ITransaction;
+import com.yukthi.persistence.OrderByField;
+import com.yukthi.persistence.repository.RepositoryFactory;
+import com.yukthi.persistence.repository.annotations.OrderByType;
+import com.yukthi.persistence.repository.search.SearchQuery;
+
+/**
+ * Ensures repository methods can be invoked concurrently without interfering each other.
+ * @author akiran
+ */
+public class TConcurrentQueries extends TestSuiteBase
+{
+	private static Logger logger = LogManager.getLogger(TConcurrentQueries.class);
+
+	private static final int EMP_COUNT = 20;
+
+	private static final int THREAD_COUNT = 8;
+
+	private static final int CALLS_PER_THREAD = 50;
+
+	/**
+	 * Task to be executed concurrently by test threads.
+	 * @author akiran
+	 */
+	@FunctionalInterface
+	private static interface ConcurrentTask
+	{
+		/**
+		 * Executes the task and validates the result.
+		 * @param threadIdx Index of the thread executing the task
+		 * @param callIdx Index of the call within the thread
+		 * @return Error message if result is invalid, otherwise null
+		 */
+		public String execute(int threadIdx, int callIdx) throws Exception;
+	}
+
+	/**
+	 * Concurrent calls are executed on pooled connections of the framework.
+	 */
+	@Override
+	protected TestConfiguration getTestConfiguration()
+	{
+		return TestConfiguration.getPooledTestConfiguration();
+	}
+
+	@Override
+	protected void initFactoryBeforeClass(RepositoryFactory factory)
+	{
+		cleanFactoryAfterClass(factory);
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+
+		for(int i = 0; i < EMP_COUNT; i++)
+		{
+			repo.save(new Employee("C" + i, "cuser" + i + "@test.com", "cuser" + i, "98765" + i, 20 + i));
+		}
+	}
+
+	@Override
+	protected void cleanFactoryAfterClass(RepositoryFactory factory)
+	{
+		//cleanup the emp table
+		factory.dropRepository(Employee.class);
+	}
+
+	/**
+	 * Executes specified task {@link #CALLS_PER_THREAD} times from each of specified number of threads. All
+	 * threads are started together and the test fails if any of the calls results in invalid result.
+	 * @param threadCount Number of threads to use
+	 * @param task Task to execute
+	 * @return time taken for execution
+	 */
+	private long executeConcurrently(int threadCount, ConcurrentTask task) throws Exception
+	{
+		ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+		CountDownLatch startLatch = new CountDownLatch(1);
+		List<Future<List<String>>> futures = new ArrayList<>();
+
+		try
+		{
+			for(int i = 0; i < threadCount; i++)
+			{
+				final int threadIdx = i;
+
+				futures.add(executorService.submit(() -> {
+					List<String> errors = new ArrayList<>();
+					startLatch.await();
+
+					for(int callIdx = 0; callIdx < CALLS_PER_THREAD; callIdx++)
+					{
+						String error = task.execute(threadIdx, callIdx);
+
+						if(error != null)
+						{
+							errors.add("Thread " + threadIdx + ", call " + callIdx + " - " + error);
+						}
+					}
+
+					return errors;
+				}));
+			}
+
+			long startTime = System.currentTimeMillis();
+			startLatch.countDown();
+
+			List<String> errors = new ArrayList<>();
+
+			for(Future<List<String>> future : futures)
+			{
+				errors.addAll(future.get(1, TimeUnit.MINUTES));
+			}
+
+			long timeTaken = System.currentTimeMillis() - startTime;
+
+			Assert.assertEquals(errors, Collections.emptyList(), "Concurrent calls resulted in invalid results");
+			return timeTaken;
+		}finally
+		{
+			executorService.shutdownNow();
+		}
+	}
+
+	/**
+	 * Invokes same finder from multiple threads with different params and ensures
+	 * every call gets its own result.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testConcurrentFinders(RepositoryFactory factory) throws Exception
+	{
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+
+		ConcurrentTask task = (threadIdx, callIdx) -> {
+			int idx = (threadIdx * CALLS_PER_THREAD + callIdx) % EMP_COUNT;
+			Employee emp = repo.findByEmployeeNo("C" + idx);
+
+			if(emp == null)
+			{
+				return "No employee found with number: C" + idx;
+			}
+
+			if(!("C" + idx).equals(emp.getEmployeeNo()) || !("cuser" + idx + "@test.com").equals(emp.getEmailId()) || (20 + idx) != emp.getAge())
+			{
+				return "Employee C" + idx + " resulted in other employee: " + emp.getEmployeeNo() + ", " + emp.getEmailId() + ", " + emp.getAge();
+			}
+
+			return null;
+		};
+
+		long singleThreadTime = executeConcurrently(1, task);
+		long multiThreadTime = executeConcurrently(THREAD_COUNT, task);
+
+		logger.debug("Finder throughput - single thread: {} calls/sec, {} threads: {} calls/sec",
+				(CALLS_PER_THREAD * 1000L) / Math.max(singleThreadTime, 1),
+				THREAD_COUNT, (THREAD_COUNT * CALLS_PER_THREAD * 1000L) / Math.max(multiThreadTime, 1));
+	}
+
+	/**
+	 * Blocks a finder call on a row locked by other transaction and ensures other calls of same finder
+	 * are not serialized behind the blocked call.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testFindersNotSerialized(RepositoryFactory factory) throws Exception
+	{
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+		ExecutorService executorService = Executors.newFixedThreadPool(3);
+		CountDownLatch rowLocked = new CountDownLatch(1);
+		CountDownLatch releaseLock = new CountDownLatch(1);
+
+		try
+		{
+			//lock employee C0 in a transaction which is kept open till released
+			Future<?> lockFuture = executorService.submit(() -> {
+				try(ITransaction transaction = repo.newTransaction())
+				{
+					Assert.assertTrue(repo.updatePhone("cuser0@test.com", "LOCKED"));
+					rowLocked.countDown();
+
+					releaseLock.await(1, TimeUnit.MINUTES);
+				}
+
+				return null;
+			});
+
+			Assert.assertTrue(rowLocked.await(30, TimeUnit.SECONDS));
+
+			//this call waits in db till the lock is released
+			Future<Employee> blockedFuture = executorService.submit(() -> repo.findByEmployeeNo("C0"));
+			Thread.sleep(500);
+			Assert.assertFalse(blockedFuture.isDone());
+
+			//same finder on other row should complete, while first call is still blocked
+			Employee emp = executorService.submit(() -> repo.findByEmployeeNo("C1")).get(10, TimeUnit.SECONDS);
+			Assert.assertEquals(emp.getEmailId(), "cuser1@test.com");
+			Assert.assertFalse(blockedFuture.isDone());
+
+			//on release of lock (rollback) blocked call should complete with original data
+			releaseLock.countDown();
+			lockFuture.get(30, TimeUnit.SECONDS);
+
+			emp = blockedFuture.get(30, TimeUnit.SECONDS);
+			Assert.assertEquals(emp.getEmailId(), "cuser0@test.com");
+			Assert.assertNotEquals(emp.getPhoneNo(), "LOCKED");
+		}finally
+		{
+			releaseLock.countDown();
+			executorService.shutdownNow();
+		}
+	}
+
+	/**
+	 * Invokes search method with different order-by fields concurrently and ensures dynamic
+	 * order of one call does not affect the others.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testConcurrentSearches(RepositoryFactory factory) throws Exception
+	{
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+
+		ConcurrentTask task = (threadIdx, callIdx) -> {
+			OrderByType orderType = ((threadIdx + callIdx) % 2 == 0) ? OrderByType.ASC : OrderByType.DESC;
+
+			SearchQuery searchQuery = new SearchQuery();
+			searchQuery.setOrderByFields(Arrays.asList(new OrderByField("age", orderType)));
+
+			List<Employee> results = repo.search(searchQuery);
+
+			if(results.size() != EMP_COUNT)
+			{
+				return "Expected " + EMP_COUNT + " results, but found " + results.size();
+			}
+
+			for(int i = 0; i < EMP_COUNT; i++)
+			{
+				int expectedAge = (orderType == OrderByType.ASC) ? (20 + i) : (20 + EMP_COUNT - 1 - i);
+
+				if(results.get(i).getAge() != expectedAge)
+				{
+					return "Invalid " + orderType + " order, expected age " + expectedAge + " at index " + i + " but found " + results.get(i).getAge();
+				}
+			}
+
+			return null;
+		};
+
+		executeConcurrently(THREAD_COUNT, task);
+	}
+
+	/**
+	 * Loads entity details from multiple threads and ensures single instance is built and published
+	 * for all threads. Also ensures warmed up entities are used by repositories.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testConcurrentEntityDetailsLoading(RepositoryFactory factory) throws Exception
+	{
+		EntityDetailsFactory entityDetailsFactory = new EntityDetailsFactory();
+		AtomicReference<EntityDetails> loadedDetails = new AtomicReference<>();
+
+		try
+		{
+			ConcurrentTask task = (threadIdx, callIdx) -> {
+				EntityDetails entityDetails = entityDetailsFactory.getEntityDetails(Employee1.class, factory.getDataStore(), true);
+
+				if(loadedDetails.compareAndSet(null, entityDetails) || loadedDetails.get() == entityDetails)
+				{
+					return null;
+				}
+
+				return "Different entity details instance is returned";
+			};
+
+			executeConcurrently(THREAD_COUNT, task);
+			Assert.assertSame(entityDetailsFactory.getEntityDetailsFromCache(Employee1.class), loadedDetails.get());
+
+			factory.warmUp(Employee1.class);
+			Assert.assertNotNull(factory.getRepositoryForEntity(Employee1.class).getEntityDetails());
+		}finally
+		{
+			factory.dropRepository(Employee1.class);
+		}
+	}
+
+	/**
+	 * Ensures entities built by a failed build (including the cross linked ones) are not published and child 
+	 * constraints of failed entities are not added to already published entities.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testFailedEntityDetailsBuild(RepositoryFactory factory) throws Exception
+	{
+		EntityDetailsFactory entityDetailsFactory = new EntityDetailsFactory();
+		EntityDetails empDetails = entityDetailsFactory.getEntityDetails(Employee.class, factory.getDataStore(), true);
+		List<ForeignConstraintDetails> empChildConstraints = new ArrayList<>(empDetails.getChildConstraints());
+		
+		//build is attempted twice, to ensure constraints of first failed build are not left behind
+		for(int i = 0; i < 2; i++)
+		{
+			try
+			{
+				entityDetailsFactory.getEntityDetails(BrokenCycleParent.class, factory.getDataStore(), true);
+				Assert.fail("Entity details built for invalid entity");
+			}catch(RuntimeException ex)
+			{
+				Assert.assertTrue(ex.getMessage().contains(BrokenCycleChild.class.getName()), "Unexpected error: " + ex);
+			}
+			
+			Assert.assertNull(entityDetailsFactory.getEntityDetailsFromCache(BrokenCycleParent.class));
+			Assert.assertNull(entityDetailsFactory.getEntityDetailsFromCache(BrokenCycleChild.class));
+			Assert.assertEquals(empDetails.getChildConstraints(), empChildConstraints);
+		}
+		
+		//valid entities should still be served
+		Assert.assertSame(entityDetailsFactory.getEntityDetails(Employee.class, factory.getDataStore(), true), empDetails);
+	}
+	
+	/**
+	 * Invokes non-entity update method concurrently on different rows and ensures
+	 * values of one call are not used by other calls.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testConcurrentUpdates(RepositoryFactory factory) throws Exception
+	{
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+
+		//last phone number set on each row, every row is updated by single thread only
+		Map<Integer, String> expectedPhones = new ConcurrentHashMap<>();
+
+		ConcurrentTask task = (threadIdx, callIdx) -> {
+			int rowsOfThread = (EMP_COUNT - threadIdx + THREAD_COUNT - 1) / THREAD_COUNT;
+			int idx = threadIdx + THREAD_COUNT * (callIdx % rowsOfThread);
+			String phone = "P" + idx + "-" + threadIdx + "-" + callIdx;
+
+			if(!repo.updatePhone("cuser" + idx + "@test.com", phone))
+			{
+				return "Update failed for employee: C" + idx;
+			}
+
+			expectedPhones.put(idx, phone);
+			return null;
+		};
+
+		executeConcurrently(THREAD_COUNT, task);
+		Assert.assertEquals(expectedPhones.size(), EMP_COUNT);
+
+		//ensure every row got phone number meant for it
+		for(int i = 0; i < EMP_COUNT; i++)
+		{
+			Employee emp = repo.findByEmployeeNo("C" + i);
+			Assert.assertEquals(emp.getPhoneNo(), expectedPhones.get(i), "Found invalid phone for employee: C" + i);
+		}
+	}
+}
@@ -9,7 +9,12 @@ import com.fw.test.persitence.entity.Address;
 import com.fw.test.persitence.entity.Employee;
 import com.fw.test.persitence.entity.Employee1;
 import com.fw.test.persitence.entity.IEmployeeRepository;
+import com.yukthi.persistence.EntityDetails;
+import com.yukthi.persistence.FieldDetails;
 import com.yukthi.persistence.ICrudRepository;
+import com.yukthi.persistence.annotations.DataType;
+import com.yukthi.persistence.conversion.ConversionService;
+import com.yukthi.persistence.conversion.impl.JsonConverter;
 import com.yukthi.persistence.repository.RepositoryFactory;
 
 /**
@@ -171,6 +176,38 @@ public class TCrudFunctionality extends TestSuiteBase
 		Assert.assertEquals(savedEmp.getAddress().getState(), "state");
 	}	
 	
+	/**
+	 * Ensures field converters are resolved when entity details are loaded and conversions
+	 * work for field details created outside of entity details.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testResolvedConverters(RepositoryFactory factory) throws Exception
+	{
+		ICrudRepository<Employee1> empRepository = factory.getRepositoryForEntity(Employee1.class);
+		EntityDetails entityDetails = empRepository.getEntityDetails();
+		
+		FieldDetails addressField = entityDetails.getFieldDetailsByField("address");
+		Assert.assertTrue(addressField.isConverterResolved());
+		Assert.assertTrue(addressField.getConverter() instanceof JsonConverter);
+		Assert.assertTrue(addressField.cloneForAudit().getConverter() instanceof JsonConverter);
+		
+		FieldDetails nameField = entityDetails.getFieldDetailsByField("name");
+		Assert.assertTrue(nameField.isConverterResolved());
+		Assert.assertNull(nameField.getConverter());
+		
+		//unresolved field details should use converter from annotations
+		ConversionService conversionService = factory.getDataStore().getConversionService();
+		FieldDetails adhocField = new FieldDetails(Employee1.class.getDeclaredField("address"), DataType.STRING, false, true);
+		Assert.assertFalse(adhocField.isConverterResolved());
+		
+		Object dbValue = conversionService.convertToDBType(new Address("city", "state"), adhocField);
+		Assert.assertTrue(dbValue instanceof String);
+		
+		Address address = (Address)conversionService.convertToJavaType(dbValue, adhocField);
+		Assert.assertEquals(address.getCity(), "city");
+		Assert.assertEquals(address.getState(), "state");
+	}
+	
 	/*
 	@Test
 	public void testDelete()
@@ -1,7 +1,13 @@
 package com.fw.test.persitence;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.testng.Assert;
 import org.testng.ITestResult;
@@ -10,6 +16,7 @@ import org.testng.annotations.Test;
 
 import com.fw.test.persitence.entity.Employee;
 import com.fw.test.persitence.entity.IEmployeeRepository;
+import com.yukthi.persistence.ITransaction;
 import com.yukthi.persistence.listeners.EntityEvent;
 import com.yukthi.persistence.listeners.EntityEventHandler;
 import com.yukthi.persistence.listeners.EntityEventType;
@@ -66,7 +73,46 @@ public class TEventHandlers extends TestSuiteBase
 		}
 	}
 	
-	private Set<String> events = new HashSet<>();
+	/**
+	 * Post save listener used to test async dispatch.
+	 */
+	public class AsyncEventHandler
+	{
+		@EntityEventHandler(eventType = EntityEventType.POST_SAVE, entityTypes = Employee.class)
+		public void postsave(EntityEvent event)
+		{
+			asyncEvents.add(((Employee)event.getEntity()).getEmployeeNo() + "@" + Thread.currentThread().getName());
+			
+			if(asyncLatch != null)
+			{
+				asyncLatch.countDown();
+			}
+		}
+	}
+	
+	/**
+	 * Delete listeners used to test delete events.
+	 */
+	public class DeleteEventHandler
+	{
+		@EntityEventHandler(eventType = EntityEventType.PRE_DELETE, entityTypes = Employee.class)
+		public void predelete(EntityEvent event)
+		{
+			events.add("pre-delete-" + ((Employee)event.getEntity()).getEmployeeNo());
+		}
+
+		@EntityEventHandler(eventType = EntityEventType.POST_DELETE, entityTypes = Employee.class)
+		public void postdelete(EntityEvent event)
+		{
+			events.add("post-delete-" + ((Employee)event.getEntity()).getEmployeeNo());
+		}
+	}
+	
+	private Set<String> events = Collections.synchronizedSet(new HashSet<>());
+	
+	private List<String> asyncEvents = Collections.synchronizedList(new ArrayList<>());
+	
+	private volatile CountDownLatch asyncLatch;
 	
 	
 	
@@ -107,4 +153,78 @@ public class TEventHandlers extends TestSuiteBase
 
 		Assert.assertEquals(events.size(), 5);
 	}
+	
+	/**
+	 * Ensures delete listeners are invoked with the entities being deleted.
+	 * @param factory
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testDeleteEvents(RepositoryFactory factory)
+	{
+		factory.registerListeners(new DeleteEventHandler());
+		
+		IEmployeeRepository empRepository = factory.getRepository(IEmployeeRepository.class);
+		empRepository.save(new Employee("D1", "del1@kk.com", "deluser1", "90232341", 28));
+		empRepository.save(new Employee("D2", "del2@kk.com", "deluser2", "90232342", 28));
+		events.clear();
+		
+		Assert.assertEquals(empRepository.deleteByUserName("deluser1"), 1);
+		Assert.assertEquals(events, new HashSet<>(Arrays.asList("pre-delete-D1", "post-delete-D1")));
+		
+		//no events should be raised when nothing matches
+		events.clear();
+		Assert.assertEquals(empRepository.deleteByUserName("deluser1"), 0);
+		Assert.assertEquals(events.size(), 0);
+	}
+	
+	/**
+	 * Ensures post events are dispatched on dispatcher threads only after commit, and
+	 * are discarded on rollback.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testAsyncPostEvents(RepositoryFactory factory) throws Exception
+	{
+		factory.registerListeners(new AsyncEventHandler());
+		factory.getEntityListenerManager().enableAsyncDispatch(2, 10);
+		asyncEvents.clear();
+		
+		try
+		{
+			IEmployeeRepository empRepository = factory.getRepository(IEmployeeRepository.class);
+			asyncLatch = new CountDownLatch(2);
+			
+			try(ITransaction transaction = empRepository.newOrExistingTransaction())
+			{
+				empRepository.save(new Employee("A1", "async1@kk.com", "async1", "90232331", 28));
+				empRepository.save(new Employee("A2", "async2@kk.com", "async2", "90232332", 28));
+				
+				//events should not be dispatched before commit
+				Assert.assertEquals(asyncEvents.size(), 0);
+				transaction.commit();
+			}
+			
+			Assert.assertTrue(asyncLatch.await(10, TimeUnit.SECONDS));
+			Assert.assertEquals(asyncEvents.size(), 2);
+			Assert.assertTrue(asyncEvents.get(0).startsWith("A1@entity-event-dispatcher-"));
+			Assert.assertTrue(asyncEvents.get(1).startsWith("A2@entity-event-dispatcher-"));
+			
+			//events of rolled back transaction should be discarded
+			try(ITransaction transaction = empRepository.newOrExistingTransaction())
+			{
+				empRepository.save(new Employee("A3", "async3@kk.com", "async3", "90232333", 28));
+				transaction.rollback();
+			}
+			
+			asyncLatch = new CountDownLatch(1);
+			empRepository.save(new Employee("A4", "async4@kk.com", "async4", "90232334", 28));
+			
+			Assert.assertTrue(asyncLatch.await(10, TimeUnit.SECONDS));
+			Assert.assertEquals(asyncEvents.size(), 3);
+			Assert.assertTrue(asyncEvents.get(2).startsWith("A4@"));
+		}finally
+		{
+			asyncLatch = null;
+			factory.getEntityListenerManager().disableAsyncDispatch(10000);
+		}
+	}
 }
@@ -81,6 +81,20 @@ public class TFinders extends TestSuiteBase
 		Assert.assertEquals(repo.findAge("user2", "1234562"), 30);
 	}
 	
+	/**
+	 * Ensures overloaded finder methods are dispatched to their own query executors
+	 * @param factory
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testOverloadedFinders(RepositoryFactory factory)
+	{
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+		
+		Assert.assertEquals(repo.findEmpByEmail("user3@test.com").getEmployeeNo(), "1233");
+		Assert.assertEquals(repo.findEmpByEmail("user3@test.com", "user3").getEmployeeNo(), "1233");
+		Assert.assertNull(repo.findEmpByEmail("user3@test.com", "user2"));
+	}
+	
 	/**
 	 * Tests entity fetching
 	 * @param factory
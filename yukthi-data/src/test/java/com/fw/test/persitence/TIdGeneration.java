@@ -0,0 +1,263 @@
+package com.fw.test.persitence;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.fw.test.persitence.entity.PlainSequenceIdEntity;
+import com.fw.test.persitence.entity.SequenceIdEntity;
+import com.fw.test.persitence.entity.TimeOrderedIdEntity;
+import com.yukthi.persistence.ICrudRepository;
+import com.yukthi.persistence.InvalidMappingException;
+import com.yukthi.persistence.idgen.SequenceBlockIdGenerator;
+import com.yukthi.persistence.metrics.HistogramPersistenceMetrics;
+import com.yukthi.persistence.metrics.NoOpPersistenceMetrics;
+import com.yukthi.persistence.rdbms.RdbmsDataSource;
+import com.yukthi.persistence.rdbms.RdbmsDataStore;
+import com.yukthi.persistence.repository.RepositoryFactory;
+
+/**
+ * Ensures ids generated on client side are used during insert, without fetching them back.
+ * @author akiran
+ */
+public class TIdGeneration extends TestSuiteBase
+{
+	@Override
+	protected void cleanFactoryAfterClass(RepositoryFactory factory)
+	{
+		factory.dropRepository(SequenceIdEntity.class);
+		factory.dropRepository(PlainSequenceIdEntity.class);
+		factory.dropRepository(TimeOrderedIdEntity.class);
+	}
+	
+	/**
+	 * Ensures sequence ids are allocated in blocks and no query is executed to fetch ids.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testSequenceBlockIds(RepositoryFactory factory)
+	{
+		ICrudRepository<SequenceIdEntity> repo = factory.getRepositoryForEntity(SequenceIdEntity.class);
+		HistogramPersistenceMetrics metrics = new HistogramPersistenceMetrics();
+		RdbmsDataStore dataStore = (RdbmsDataStore)factory.getDataStore();
+		
+		dataStore.setPersistenceMetrics(metrics);
+		
+		try
+		{
+			List<SequenceIdEntity> entities = new ArrayList<>();
+			
+			for(int i = 0; i < 3; i++)
+			{
+				SequenceIdEntity entity = new SequenceIdEntity("single" + i);
+				Assert.assertTrue(repo.save(entity));
+				entities.add(entity);
+			}
+			
+			List<SequenceIdEntity> batch = new ArrayList<>();
+			
+			for(int i = 0; i < 12; i++)
+			{
+				batch.add(new SequenceIdEntity("batch" + i));
+			}
+			
+			Assert.assertEquals(repo.saveAll(batch), 12);
+			entities.addAll(batch);
+			
+			//15 ids should be served by 2 blocks
+			Assert.assertEquals(metrics.getTiming("execute:nextSequenceValueTemplate").getCount(), 2);
+			
+			//ids should not be fetched after insert
+			Assert.assertNull(metrics.getTiming("execute:finderTemplate"));
+			
+			//sequence starts with 1, so that all ids are positive
+			Assert.assertTrue(entities.get(0).getId() > 0, "Non positive id generated: " + entities.get(0).getId());
+			
+			for(int i = 1; i < entities.size(); i++)
+			{
+				Assert.assertEquals(entities.get(i).getId(), entities.get(i - 1).getId() + 1);
+			}
+			
+			SequenceIdEntity entity = entities.get(7);
+			Assert.assertEquals(repo.findById(entity.getId()).getName(), entity.getName());
+		}finally
+		{
+			dataStore.setPersistenceMetrics(NoOpPersistenceMetrics.INSTANCE);
+		}
+	}
+	
+	/**
+	 * Ensures ids served concurrently from a hi-lo generator are unique and new block is allocated only when 
+	 * current block is exhausted.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testConcurrentSequenceBlockIds(RepositoryFactory factory) throws Exception
+	{
+		final ICrudRepository<SequenceIdEntity> repo = factory.getRepositoryForEntity(SequenceIdEntity.class);
+		final RdbmsDataStore dataStore = (RdbmsDataStore)factory.getDataStore();
+		final SequenceBlockIdGenerator generator = new SequenceBlockIdGenerator("SEQ_ID_ENTITY_BLOCK", 10);
+		HistogramPersistenceMetrics metrics = new HistogramPersistenceMetrics();
+		
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		CountDownLatch startLatch = new CountDownLatch(1);
+		List<Future<List<Long>>> futures = new ArrayList<>();
+		
+		dataStore.setPersistenceMetrics(metrics);
+		
+		try
+		{
+			for(int i = 0; i < 4; i++)
+			{
+				futures.add(executorService.submit(() -> {
+					List<Long> ids = new ArrayList<>();
+					startLatch.await();
+					
+					for(int j = 0; j < 25; j++)
+					{
+						ids.add((Long)generator.generateId(repo.getEntityDetails(), dataStore));
+					}
+					
+					return ids;
+				}));
+			}
+			
+			startLatch.countDown();
+			Set<Long> ids = new HashSet<>();
+			
+			for(Future<List<Long>> future : futures)
+			{
+				for(Long id : future.get(1, TimeUnit.MINUTES))
+				{
+					Assert.assertTrue(id > 0, "Non positive id generated: " + id);
+					Assert.assertTrue(ids.add(id), "Duplicate id generated: " + id);
+				}
+			}
+			
+			//100 ids should be served by 10 blocks
+			Assert.assertEquals(metrics.getTiming("execute:nextSequenceValueTemplate").getCount(), 10);
+		}finally
+		{
+			executorService.shutdownNow();
+			dataStore.setPersistenceMetrics(NoOpPersistenceMetrics.INSTANCE);
+		}
+	}
+	
+	/**
+	 * Ensures sequence ids without {@link com.yukthi.persistence.annotations.HiLoSequence} are not allocated in blocks, 
+	 * even though default allocation size of sequence generator is more than one.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testSequenceIdsWithoutHiLo(RepositoryFactory factory)
+	{
+		ICrudRepository<PlainSequenceIdEntity> repo = factory.getRepositoryForEntity(PlainSequenceIdEntity.class);
+		HistogramPersistenceMetrics metrics = new HistogramPersistenceMetrics();
+		RdbmsDataStore dataStore = (RdbmsDataStore)factory.getDataStore();
+		
+		Assert.assertNull(repo.getEntityDetails().getIdField().getIdGenerator());
+		dataStore.setPersistenceMetrics(metrics);
+		
+		try
+		{
+			long lastId = 0;
+			
+			for(int i = 0; i < 3; i++)
+			{
+				PlainSequenceIdEntity entity = new PlainSequenceIdEntity("name" + i);
+				Assert.assertTrue(repo.save(entity));
+				
+				Assert.assertTrue(entity.getId() > lastId, "Invalid id generated: " + entity.getId());
+				lastId = entity.getId();
+			}
+			
+			Assert.assertNull(metrics.getTiming("execute:nextSequenceValueTemplate"));
+			Assert.assertEquals(repo.findById(lastId).getName(), "name2");
+		}finally
+		{
+			dataStore.setPersistenceMetrics(NoOpPersistenceMetrics.INSTANCE);
+		}
+	}
+	
+	/**
+	 * Ensures hi-lo ids are rejected while building entity, if data store does not support sequences.
+	 */
+	@Test
+	public void testHiLoWithoutSequenceSupport()
+	{
+		RdbmsDataStore dataStore = new RdbmsDataStore("derby")
+		{
+			@Override
+			public boolean isSequenceSupported()
+			{
+				return false;
+			}
+		};
+		
+		dataStore.setDataSource(new RdbmsDataSource("org.apache.derby.jdbc.EmbeddedDriver", "jdbc:derby:memory:hiLoTestDB;create=true", null, null));
+		
+		RepositoryFactory factory = new RepositoryFactory();
+		factory.setCreateTables(true);
+		factory.setDataStore(dataStore);
+		
+		try
+		{
+			factory.getRepositoryForEntity(SequenceIdEntity.class);
+			Assert.fail("Entity with hi-lo ids is built on data store without sequence support");
+		}catch(RuntimeException ex)
+		{
+			Throwable cause = ex;
+			
+			while(!(cause instanceof InvalidMappingException) && cause.getCause() != null)
+			{
+				cause = cause.getCause();
+			}
+			
+			Assert.assertTrue(cause instanceof InvalidMappingException, "Unexpected error: " + ex);
+			Assert.assertTrue(cause.getMessage().contains("@HiLoSequence"));
+		}
+	}
+	
+	/**
+	 * Ensures time ordered ids are generated on client side and are increasing.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testTimeOrderedIds(RepositoryFactory factory)
+	{
+		ICrudRepository<TimeOrderedIdEntity> repo = factory.getRepositoryForEntity(TimeOrderedIdEntity.class);
+		HistogramPersistenceMetrics metrics = new HistogramPersistenceMetrics();
+		RdbmsDataStore dataStore = (RdbmsDataStore)factory.getDataStore();
+		
+		dataStore.setPersistenceMetrics(metrics);
+		
+		try
+		{
+			Set<Long> ids = new HashSet<>();
+			long lastId = 0;
+			
+			for(int i = 0; i < 10; i++)
+			{
+				TimeOrderedIdEntity entity = new TimeOrderedIdEntity("name" + i);
+				Assert.assertTrue(repo.save(entity));
+				
+				Assert.assertTrue(entity.getId() > lastId);
+				lastId = entity.getId();
+				ids.add(lastId);
+			}
+			
+			Assert.assertEquals(ids.size(), 10);
+			Assert.assertNull(metrics.getTiming("execute:finderTemplate"));
+			
+			Assert.assertEquals(repo.findById(lastId).getName(), "name9");
+		}finally
+		{
+			dataStore.setPersistenceMetrics(NoOpPersistenceMetrics.INSTANCE);
+		}
+	}
+}
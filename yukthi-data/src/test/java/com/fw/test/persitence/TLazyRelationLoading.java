@@ -0,0 +1,134 @@
+package com.fw.test.persitence;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import com.fw.test.persitence.entity.Customer;
+import com.fw.test.persitence.entity.CustomerGroup;
+import com.fw.test.persitence.entity.IOrderRepository;
+import com.fw.test.persitence.entity.Order;
+import com.fw.test.persitence.entity.OrderItem;
+import com.yukthi.persistence.ICrudRepository;
+import com.yukthi.persistence.repository.RepositoryFactory;
+import com.yukthi.persistence.repository.executors.proxy.ProxyLoadGroup;
+import com.yukthi.persistence.repository.search.SearchQuery;
+
+/**
+ * Ensures lazy relations of multiple records are loaded properly, when loaded together.
+ * @author akiran
+ */
+public class TLazyRelationLoading extends TestSuiteBase
+{
+	private static final int CUSTOMER_COUNT = 5;
+	
+	@AfterMethod
+	public void cleanup(ITestResult result)
+	{
+		Object params[] = result.getParameters();
+		RepositoryFactory factory = (RepositoryFactory)params[0];
+		
+		factory.dropRepository(OrderItem.class);
+		factory.dropRepository(Order.class);
+		factory.dropRepository(Customer.class);
+		factory.dropRepository(CustomerGroup.class);
+	}
+	
+	private List<Customer> saveCustomers(RepositoryFactory factory)
+	{
+		ICrudRepository<Customer> customerRepo = factory.getRepositoryForEntity(Customer.class);
+		List<Customer> customers = new ArrayList<>();
+		
+		for(int i = 0; i < CUSTOMER_COUNT; i++)
+		{
+			Customer customer = new Customer("cust" + i, null, null);
+			customerRepo.save(customer);
+			customers.add(customer);
+		}
+		
+		return customers;
+	}
+	
+	/**
+	 * Ensures lazy relations of all the records are loaded with proper entities.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testLazyLoadOfMultipleRecords(RepositoryFactory factory)
+	{
+		List<Customer> customers = saveCustomers(factory);
+		IOrderRepository orderRepo = factory.getRepository(IOrderRepository.class);
+		
+		//create two orders per customer and one order without customer
+		for(int i = 0; i < CUSTOMER_COUNT * 2; i++)
+		{
+			orderRepo.save(new Order("order" + i, i, customers.get(i % CUSTOMER_COUNT), null));
+		}
+		
+		orderRepo.save(new Order("noCustOrder", 100, null, null));
+		
+		List<Order> orders = orderRepo.search(new SearchQuery());
+		Assert.assertEquals(orders.size(), CUSTOMER_COUNT * 2 + 1);
+		
+		for(Order order : orders)
+		{
+			if(order.getOrderNo() == 100)
+			{
+				Assert.assertNull(order.getCustomer());
+				continue;
+			}
+			
+			Customer expected = customers.get(order.getOrderNo() % CUSTOMER_COUNT);
+			
+			Assert.assertEquals(order.getCustomer().getId(), expected.getId());
+			Assert.assertEquals(order.getCustomer().getName(), expected.getName());
+		}
+	}
+	
+	/**
+	 * Ensures entities of all the registered ids are fetched when first entity is loaded.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testGroupLoading(RepositoryFactory factory)
+	{
+		List<Customer> customers = saveCustomers(factory);
+		ICrudRepository<Customer> customerRepo = factory.getRepositoryForEntity(Customer.class);
+		ProxyLoadGroup loadGroup = new ProxyLoadGroup(customerRepo.getEntityDetails(), customerRepo);
+		
+		for(Customer customer : customers)
+		{
+			loadGroup.register(customer.getId());
+		}
+		
+		//non existing id
+		loadGroup.register(-1L);
+		
+		Map<Long, String> names = new HashMap<>();
+		names.put(customers.get(0).getId(), ((Customer)loadGroup.load(customers.get(0).getId())).getName());
+		
+		//delete the customers from db, as they are already loaded, they should still be available from group
+		for(Customer customer : customers)
+		{
+			customerRepo.deleteById(customer.getId());
+		}
+		
+		for(int i = 1; i < CUSTOMER_COUNT; i++)
+		{
+			Customer customer = (Customer)loadGroup.load(customers.get(i).getId());
+			names.put(customer.getId(), customer.getName());
+		}
+		
+		Assert.assertNull(loadGroup.load(-1L));
+		Assert.assertEquals(names.size(), CUSTOMER_COUNT);
+		
+		for(Customer customer : customers)
+		{
+			Assert.assertEquals(names.get(customer.getId()), customer.getName());
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package com.fw.test.persitence;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.ObjectName;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.fw.test.persitence.entity.Employee;
+import com.fw.test.persitence.entity.IEmployeeRepository;
+import com.yukthi.persistence.metrics.HistogramPersistenceMetrics;
+import com.yukthi.persistence.metrics.HistogramSnapshot;
+import com.yukthi.persistence.metrics.NoOpPersistenceMetrics;
+import com.yukthi.persistence.rdbms.RdbmsDataStore;
+import com.yukthi.persistence.repository.RepositoryFactory;
+
+/**
+ * Ensures persistence lifecycle metrics are recorded and exposed over JMX.
+ * @author akiran
+ */
+public class TPersistenceMetrics extends TestSuiteBase
+{
+	@Override
+	protected void cleanFactoryAfterClass(RepositoryFactory factory)
+	{
+		//cleanup the emp table
+		factory.dropRepository(Employee.class);
+	}
+	
+	/**
+	 * Ensures query, row and repository method metrics are recorded for repository operations.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testMetrics(RepositoryFactory factory) throws Exception
+	{
+		RdbmsDataStore dataStore = (RdbmsDataStore)factory.getDataStore();
+		HistogramPersistenceMetrics metrics = new HistogramPersistenceMetrics();
+		metrics.setObjectName(HistogramPersistenceMetrics.DEFAULT_OBJECT_NAME);
+		
+		dataStore.setPersistenceMetrics(metrics);
+		
+		try
+		{
+			IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+			repo.save(new Employee("M1", "muser1@test.com", "muser1", "77771", 30));
+			repo.save(new Employee("M2", "muser2@test.com", "muser2", "77772", 31));
+			
+			Assert.assertEquals(repo.findByEmployeeNo("M2").getAge(), 31);
+			Assert.assertEquals(repo.findByPhoneNo("7777%").size(), 2);
+			
+			HistogramSnapshot saveSnapshot = metrics.getTiming("execute:saveTemplate");
+			Assert.assertNotNull(saveSnapshot);
+			Assert.assertTrue(saveSnapshot.getCount() >= 2);
+			
+			Assert.assertNotNull(metrics.getTiming("templateRender:finderTemplate"));
+			Assert.assertNotNull(metrics.getTiming("prepare:finderTemplate"));
+			Assert.assertNotNull(metrics.getTiming("execute:finderTemplate"));
+			Assert.assertTrue(metrics.getCounter("rowsFetched:finderTemplate") >= 3);
+			Assert.assertTrue(metrics.getCounter("rowsMapped:" + Employee.class.getName()) >= 3);
+			
+			HistogramSnapshot finderSnapshot = metrics.getTiming("repository:" + IEmployeeRepository.class.getName() + ".findByEmployeeNo");
+			Assert.assertNotNull(finderSnapshot);
+			Assert.assertEquals(finderSnapshot.getCount(), 1);
+			
+			//ensure same values are accessible over jmx
+			ObjectName objectName = new ObjectName(HistogramPersistenceMetrics.DEFAULT_OBJECT_NAME);
+			Assert.assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+			Assert.assertNotNull(ManagementFactory.getPlatformMBeanServer().getAttribute(objectName, "Timings"));
+			
+			metrics.reset();
+			Assert.assertNull(metrics.getTiming("execute:finderTemplate"));
+		}finally
+		{
+			metrics.unregister();
+			dataStore.setPersistenceMetrics(NoOpPersistenceMetrics.INSTANCE);
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package com.fw.test.persitence;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.fw.test.persitence.config.TestConfiguration;
+import com.fw.test.persitence.entity.Employee;
+import com.fw.test.persitence.entity.IEmployeeRepository;
+import com.yukthi.persistence.ITransaction;
+import com.yukthi.persistence.rdbms.RdbmsTransactionManager;
+import com.yukthi.persistence.repository.RepositoryFactory;
+
+/**
+ * Ensures prepared statements of pooled connections are reused across transactions, and are invalidated
+ * on all connections when db structure changes.
+ * @author akiran
+ */
+public class TPooledStatementCache extends TestSuiteBase
+{
+	private static final int EMP_COUNT = 5;
+
+	@Override
+	protected TestConfiguration getTestConfiguration()
+	{
+		return TestConfiguration.getPooledTestConfiguration();
+	}
+
+	@Override
+	protected void initFactoryBeforeClass(RepositoryFactory factory)
+	{
+		cleanFactoryAfterClass(factory);
+		saveEmployees(factory);
+	}
+
+	private void saveEmployees(RepositoryFactory factory)
+	{
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+
+		for(int i = 0; i < EMP_COUNT; i++)
+		{
+			repo.save(new Employee("P" + i, "puser" + i + "@test.com", "puser" + i, "12345" + i, 30 + i));
+		}
+	}
+
+	@Override
+	protected void cleanFactoryAfterClass(RepositoryFactory factory)
+	{
+		//cleanup the emp table
+		factory.dropRepository(Employee.class);
+	}
+
+	private RdbmsTransactionManager getTransactionManager(RepositoryFactory factory)
+	{
+		return (RdbmsTransactionManager) factory.getDataStore().getTransactionManager();
+	}
+
+	private void findEmployee(IEmployeeRepository repo, int idx)
+	{
+		Employee emp = repo.findByEmployeeNo("P" + idx);
+		Assert.assertEquals(emp.getEmailId(), "puser" + idx + "@test.com");
+	}
+
+	/**
+	 * Invokes finders without explicit transaction, so that every call uses its own transaction, and ensures
+	 * statements are served from cache of the pooled connection.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testReuseAcrossTransactions(RepositoryFactory factory) throws Exception
+	{
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+		RdbmsTransactionManager transactionManager = getTransactionManager(factory);
+
+		//ensure statements are prepared and cached
+		findEmployee(repo, 0);
+		Assert.assertEquals(repo.getCountByMailId("puser0@test.com"), 1);
+
+		long hits = transactionManager.getStatementCacheHits();
+		long misses = transactionManager.getStatementCacheMisses();
+
+		for(int i = 0; i < EMP_COUNT; i++)
+		{
+			findEmployee(repo, i);
+			Assert.assertEquals(repo.getCountByMailId("puser" + i + "@test.com"), 1);
+		}
+
+		Assert.assertEquals(transactionManager.getStatementCacheMisses() - misses, 0);
+		Assert.assertEquals(transactionManager.getStatementCacheHits() - hits, EMP_COUNT * 2);
+	}
+
+	/**
+	 * Ensures statements cached on a pooled connection are not reused after db structure is changed using 
+	 * other connection.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testInvalidationAcrossConnections(RepositoryFactory factory) throws Exception
+	{
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+		RdbmsTransactionManager transactionManager = getTransactionManager(factory);
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+		try
+		{
+			//while current thread holds a connection, other thread caches finder statement on second connection
+			try(ITransaction transaction = repo.newTransaction())
+			{
+				executorService.submit(() -> findEmployee(repo, 1)).get(30, TimeUnit.SECONDS);
+				transaction.commit();
+			}
+
+			//recreate the table, using first connection
+			factory.dropRepository(Employee.class);
+			saveEmployees(factory);
+
+			IEmployeeRepository newRepo = factory.getRepository(IEmployeeRepository.class);
+
+			//second connection should prepare fresh statement
+			try(ITransaction transaction = newRepo.newTransaction())
+			{
+				long hits = transactionManager.getStatementCacheHits();
+				long misses = transactionManager.getStatementCacheMisses();
+
+				executorService.submit(() -> findEmployee(newRepo, 2)).get(30, TimeUnit.SECONDS);
+
+				Assert.assertEquals(transactionManager.getStatementCacheMisses() - misses, 1);
+				Assert.assertEquals(transactionManager.getStatementCacheHits() - hits, 0);
+
+				transaction.commit();
+			}
+		}finally
+		{
+			executorService.shutdownNow();
+		}
+	}
+}
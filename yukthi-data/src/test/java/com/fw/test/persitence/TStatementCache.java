@@ -0,0 +1,63 @@
+package com.fw.test.persitence;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.fw.test.persitence.entity.Employee;
+import com.fw.test.persitence.entity.IEmployeeRepository;
+import com.yukthi.persistence.ITransaction;
+import com.yukthi.persistence.rdbms.RdbmsTransactionManager;
+import com.yukthi.persistence.repository.RepositoryFactory;
+
+/**
+ * Ensures prepared statements are reused within a transaction.
+ * @author akiran
+ */
+public class TStatementCache extends TestSuiteBase
+{
+	@Override
+	protected void initFactoryBeforeClass(RepositoryFactory factory)
+	{
+		cleanFactoryAfterClass(factory);
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+
+		for(int i = 0; i < 5; i++)
+		{
+			repo.save(new Employee("S" + i, "suser" + i + "@test.com", "suser" + i, "12345" + i, 30 + i));
+		}
+	}
+
+	@Override
+	protected void cleanFactoryAfterClass(RepositoryFactory factory)
+	{
+		//cleanup the emp table
+		factory.dropRepository(Employee.class);
+	}
+
+	@Test(dataProvider = "repositoryFactories")
+	public void testStatementReuse(RepositoryFactory factory) throws Exception
+	{
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+		RdbmsTransactionManager transactionManager = (RdbmsTransactionManager) factory.getDataStore().getTransactionManager();
+		
+		long hits = transactionManager.getStatementCacheHits();
+		long misses = transactionManager.getStatementCacheMisses();
+		
+		try(ITransaction transaction = repo.newTransaction())
+		{
+			for(int i = 0; i < 5; i++)
+			{
+				Employee emp = repo.findByEmployeeNo("S" + i);
+				Assert.assertEquals(emp.getEmailId(), "suser" + i + "@test.com");
+				
+				Assert.assertEquals(repo.getCountByMailId("suser" + i + "@test.com"), 1);
+			}
+			
+			transaction.commit();
+		}
+		
+		//first call of each query should prepare statement and rest should be from cache
+		Assert.assertEquals(transactionManager.getStatementCacheMisses() - misses, 2);
+		Assert.assertEquals(transactionManager.getStatementCacheHits() - hits, 8);
+	}
+}
@@ -0,0 +1,175 @@
+package com.fw.test.persitence;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.fw.test.persitence.entity.Employee;
+import com.fw.test.persitence.entity.IEmployeeRepository;
+import com.yukthi.persistence.ICloseableIterator;
+import com.yukthi.persistence.ITransaction;
+import com.yukthi.persistence.OrderByField;
+import com.yukthi.persistence.repository.RepositoryFactory;
+import com.yukthi.persistence.repository.annotations.OrderByType;
+import com.yukthi.persistence.repository.search.SearchQuery;
+
+/**
+ * Ensures finder and search results can be fetched lazily as stream or iterator.
+ * @author akiran
+ */
+public class TStreamingFinders extends TestSuiteBase
+{
+	private static final int EMP_COUNT = 30;
+	
+	@Override
+	protected void initFactoryBeforeClass(RepositoryFactory factory)
+	{
+		cleanFactoryAfterClass(factory);
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+		
+		for(int i = 0; i < EMP_COUNT; i++)
+		{
+			repo.save(new Employee("S" + i, "suser" + i + "@test.com", "suser" + i, "5555" + i, 20 + i));
+		}
+	}
+	
+	@Override
+	protected void cleanFactoryAfterClass(RepositoryFactory factory)
+	{
+		//cleanup the emp table
+		factory.dropRepository(Employee.class);
+	}
+	
+	/**
+	 * Ensures the transaction is released once the stream is fully consumed or closed.
+	 */
+	private void assertNoTransaction(IEmployeeRepository repo)
+	{
+		try
+		{
+			repo.currentTransaction();
+			Assert.fail("Transaction is not released after streaming");
+		}catch(IllegalStateException ex)
+		{
+			//expected
+		}
+	}
+	
+	/**
+	 * Ensures all the records are streamed in required order.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testStreamFinder(RepositoryFactory factory)
+	{
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+		List<Integer> ages = null;
+		
+		try(Stream<Employee> stream = repo.findStreamByPhoneNo("5555%"))
+		{
+			ages = stream.map(Employee::getAge).collect(Collectors.toList());
+		}
+		
+		Assert.assertEquals(ages.size(), EMP_COUNT);
+		
+		for(int i = 0; i < EMP_COUNT; i++)
+		{
+			Assert.assertEquals((int)ages.get(i), 20 + i);
+		}
+		
+		assertNoTransaction(repo);
+	}
+	
+	/**
+	 * Ensures partially consumed stream releases resources on close.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testPartialStream(RepositoryFactory factory)
+	{
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+		
+		try(Stream<Employee> stream = repo.findStreamByPhoneNo("5555%"))
+		{
+			Iterator<Employee> it = stream.iterator();
+			Assert.assertEquals(it.next().getAge(), 20);
+			Assert.assertEquals(it.next().getAge(), 21);
+			
+			//other queries should work while stream is open, without joining the streaming transaction
+			assertNoTransaction(repo);
+			Assert.assertEquals(repo.findByEmployeeNo("S5").getAge(), 25);
+		}
+		
+		assertNoTransaction(repo);
+		Assert.assertEquals(repo.getCount(), EMP_COUNT);
+	}
+	
+	/**
+	 * Ensures writes done while stream is open are not part of streaming transaction and get committed.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testSaveWhileStreaming(RepositoryFactory factory) throws Exception
+	{
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+		
+		try(Stream<Employee> stream = repo.findStreamByPhoneNo("5555%"))
+		{
+			Iterator<Employee> it = stream.iterator();
+			Assert.assertEquals(it.next().getAge(), 20);
+			
+			repo.save(new Employee("SW", "sweuser@test.com", "sweuser", "66660", 50));
+			
+			//save should be committed and visible to other connections, while stream is still open
+			long count = CompletableFuture.supplyAsync(() -> repo.getCountByMailId("sweuser@test.com")).get(30, TimeUnit.SECONDS);
+			Assert.assertEquals(count, 1L);
+			
+			//new transaction should be allowed while stream is open
+			try(ITransaction transaction = repo.newTransaction())
+			{
+				Assert.assertEquals(repo.findByEmployeeNo("SW").getAge(), 50);
+				transaction.commit();
+			}
+			
+			Assert.assertEquals(it.next().getAge(), 21);
+		}finally
+		{
+			repo.deleteByMailId("sweuser@test.com");
+		}
+		
+		assertNoTransaction(repo);
+		Assert.assertEquals(repo.getCount(), EMP_COUNT);
+	}
+	
+	/**
+	 * Ensures search method can return iterator, with limits applied.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testSearchIterator(RepositoryFactory factory)
+	{
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+		
+		SearchQuery searchQuery = new SearchQuery();
+		searchQuery.setOrderByFields(Arrays.asList(new OrderByField("age", OrderByType.DESC)));
+		searchQuery.setResultsOffset(2);
+		searchQuery.setResultsLimit(5);
+		
+		int count = 0;
+		
+		try(ICloseableIterator<Employee> it = repo.searchIterator(searchQuery))
+		{
+			while(it.hasNext())
+			{
+				Assert.assertEquals(it.next().getAge(), 20 + EMP_COUNT - 3 - count);
+				count++;
+			}
+		}
+		
+		Assert.assertEquals(count, 5);
+		assertNoTransaction(repo);
+	}
+}
@@ -0,0 +1,128 @@
+package com.fw.test.persitence;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import com.fw.test.persitence.entity.Employee;
+import com.fw.test.persitence.entity.IEmployeeRepository;
+import com.yukthi.persistence.ITransaction;
+import com.yukthi.persistence.ITransactionManager;
+import com.yukthi.persistence.repository.RepositoryFactory;
+
+/**
+ * Ensures transactions are isolated per thread and can be propagated to other threads explicitly.
+ * @author akiran
+ */
+public class TTransactionPropagation extends TestSuiteBase
+{
+	private ExecutorService executor = Executors.newSingleThreadExecutor();
+	
+	@AfterMethod
+	public void cleanup(ITestResult result)
+	{
+		Object params[] = result.getParameters();
+		RepositoryFactory factory = (RepositoryFactory)params[0];
+		
+		factory.dropRepository(Employee.class);
+	}
+	
+	@AfterClass
+	public void shutdown()
+	{
+		executor.shutdown();
+	}
+	
+	private boolean hasTransaction(IEmployeeRepository repo)
+	{
+		try
+		{
+			repo.currentTransaction();
+			return true;
+		}catch(IllegalStateException ex)
+		{
+			return false;
+		}
+	}
+	
+	/**
+	 * Ensures transaction of one thread is not visible to other threads, unless propagated.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testThreadIsolation(RepositoryFactory factory) throws Exception
+	{
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+		
+		try(ITransaction transaction = repo.newTransaction())
+		{
+			Assert.assertTrue(hasTransaction(repo));
+			Assert.assertFalse(executor.submit(() -> hasTransaction(repo)).get());
+			
+			transaction.commit();
+		}
+		
+		Assert.assertFalse(hasTransaction(repo));
+	}
+	
+	/**
+	 * Ensures propagated tasks use the transaction of the submitter and the binding is removed after task execution.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testPropagation(RepositoryFactory factory) throws Exception
+	{
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+		ITransactionManager<?> transactionManager = factory.getDataStore().getTransactionManager();
+		
+		try(ITransaction transaction = repo.newTransaction())
+		{
+			Employee emp = new Employee("P1", "puser1@test.com", "puser1", "9999", 30);
+			
+			CompletableFuture.supplyAsync(transactionManager.propagateSupplier(() -> repo.save(emp)), executor).join();
+			CompletableFuture.runAsync(() -> repo.save(new Employee("P2", "puser2@test.com", "puser2", "9998", 31)), 
+					transactionManager.propagatingExecutor(executor)).join();
+			
+			//changes done by tasks should be visible in the transaction
+			Assert.assertEquals(repo.getCount(), 2);
+			
+			//after task execution, executor thread should not hold transaction
+			Assert.assertFalse(executor.submit(() -> hasTransaction(repo)).get());
+			
+			transaction.rollback();
+		}
+		
+		//as the transaction is rolled back, changes done by tasks should be rolled back
+		Assert.assertEquals(repo.getCount(), 0);
+	}
+	
+	/**
+	 * Ensures transaction closed by propagated task is not used further by the owner.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testCloseByPropagatedTask(RepositoryFactory factory) throws Exception
+	{
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+		ITransactionManager<?> transactionManager = factory.getDataStore().getTransactionManager();
+		
+		ITransaction transaction = repo.newTransaction();
+		
+		executor.submit(transactionManager.propagate(() -> {
+			repo.save(new Employee("P3", "puser3@test.com", "puser3", "9997", 32));
+			repo.currentTransaction().close();
+			return null;
+		})).get();
+		
+		Assert.assertFalse(hasTransaction(repo));
+		
+		try(ITransaction newTransaction = repo.newTransaction())
+		{
+			Assert.assertNotSame(newTransaction, transaction);
+			newTransaction.commit();
+		}
+	}
+}
@@ -29,6 +29,16 @@ public class TestSuiteBase
 		return factories.toArray(new Object[0][]);
 	}
 	
+	/**
+	 * Fetches the configuration whose factories should be used by this test class. Test classes depending on
+	 * pooled connections can override this to use {@link TestConfiguration#getPooledTestConfiguration()}.
+	 * @return Test configuration to use
+	 */
+	protected TestConfiguration getTestConfiguration()
+	{
+		return TestConfiguration.getTestConfiguration();
+	}
+	
 	/**
 	 * Testng before-class method to load required configurations for different data stores
 	 */
@@ -36,7 +46,7 @@ public class TestSuiteBase
 	public void initFactories()
 	{
 		//loop through configured data sources
-		for(RepositoryFactory factory : TestConfiguration.getTestConfiguration().getRepositoryFactories())
+		for(RepositoryFactory factory : getTestConfiguration().getRepositoryFactories())
 		{
 			factories.add(new Object[] {factory});
 			initFactoryBeforeClass(factory);
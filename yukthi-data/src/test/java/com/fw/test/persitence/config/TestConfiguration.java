@@ -14,23 +14,47 @@ import com.yukthi.persistence.repository.RepositoryFactory;
 public class TestConfiguration
 {
 	private static TestConfiguration instance = null;
+	
+	private static TestConfiguration pooledInstance = null;
 
 	private List<RepositoryFactory> repositoryFactories = new ArrayList<>();
 
 	private TestConfiguration()
 	{}
 
+	private static TestConfiguration load(String resource)
+	{
+		TestConfiguration configuration = new TestConfiguration();
+		XMLBeanParser.parse(TestConfiguration.class.getResourceAsStream(resource), configuration);
+		
+		return configuration;
+	}
+
 	public static synchronized TestConfiguration getTestConfiguration()
 	{
 		if(instance == null)
 		{
-			instance = new TestConfiguration();
-			XMLBeanParser.parse(TestConfiguration.class.getResourceAsStream("/test-configuration.xml"), instance);
+			instance = load("/test-configuration.xml");
 		}
 
 		return instance;
 	}
 
+	/**
+	 * Fetches configuration whose data stores use connection pool of the framework
+	 * (test-pooled-configuration.xml), used by tests which depend on pooled connections.
+	 * @return Pooled test configuration
+	 */
+	public static synchronized TestConfiguration getPooledTestConfiguration()
+	{
+		if(pooledInstance == null)
+		{
+			pooledInstance = load("/test-pooled-configuration.xml");
+		}
+
+		return pooledInstance;
+	}
+
 	/**
 	 * Adds value to {@link #repositoryFactories repositoryFactories}
 	 *
@@ -0,0 +1,32 @@
+package com.fw.test.persitence.entity;
+
+import javax.persistence.Column;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import com.yukthi.persistence.annotations.Extendable;
+
+/**
+ * Invalid entity (extendable without extended fields holder), which fails only after its foreign 
+ * constraints are built.
+ * @author akiran
+ */
+@Extendable(count = 10, fieldSize = 30)
+@Table(name = "BROKEN_CYCLE_CHILD")
+public class BrokenCycleChild
+{
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private long id;
+	
+	@ManyToOne
+	@Column(name = "PARENT_ID")
+	private BrokenCycleParent parent;
+
+	@ManyToOne
+	@Column(name = "EMPLOYEE_ID")
+	private Employee employee;
+}
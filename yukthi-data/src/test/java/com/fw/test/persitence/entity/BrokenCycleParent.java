@@ -0,0 +1,28 @@
+package com.fw.test.persitence.entity;
+
+import javax.persistence.Column;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+/**
+ * Entity referring {@link BrokenCycleChild}, which in turn refers this entity. As child entity is invalid, 
+ * building of this entity fails after both entities are linked.
+ * @author akiran
+ */
+@Table(name = "BROKEN_CYCLE_PARENT")
+public class BrokenCycleParent
+{
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private long id;
+	
+	@Column(name = "NAME")
+	private String name;
+
+	@ManyToOne
+	@Column(name = "CHILD_ID")
+	private BrokenCycleChild child;
+}
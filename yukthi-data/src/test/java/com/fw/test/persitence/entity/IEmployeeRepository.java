@@ -2,11 +2,13 @@ package com.fw.test.persitence.entity;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import com.fw.test.persitence.queries.DynamicEmpSearchResult;
 import com.fw.test.persitence.queries.EmpSearchQuery;
 import com.fw.test.persitence.queries.EmpSearchResult;
 import com.fw.test.persitence.queries.KeyValueBean;
+import com.yukthi.persistence.ICloseableIterator;
 import com.yukthi.persistence.ICrudRepository;
 import com.yukthi.persistence.repository.annotations.Condition;
 import com.yukthi.persistence.repository.annotations.ConditionBean;
@@ -33,6 +35,8 @@ public interface IEmployeeRepository extends ICrudRepository<Employee>
 	public long findIdByEmail(@Condition("emailId") String mail);
 	
 	public Employee findEmpByEmail(@Condition("emailId") String mail);
+	
+	public Employee findEmpByEmail(@Condition("emailId") String mail, @Condition("name") String name);
 
 	public Employee findEmpByEmailIgnoreCase(@Condition(value = "emailId", ignoreCase = true) String mail);
 	
@@ -63,6 +67,9 @@ public interface IEmployeeRepository extends ICrudRepository<Employee>
 	
 	public List<Employee> findByPhoneNo(@Condition(value = "phoneNo", op = Operator.LIKE) String phone);
 	
+	@OrderBy("age")
+	public Stream<Employee> findStreamByPhoneNo(@Condition(value = "phoneNo", op = Operator.LIKE) String phone);
+	
 	public List<Employee> findByNameOrPhone(@Condition(value = "name", op = Operator.LIKE, joinWith = JoinOperator.OR) String name, 
 			@Condition(value = "phoneNo", op = Operator.LIKE, joinWith = JoinOperator.OR) String phone);
 
@@ -131,4 +138,7 @@ public interface IEmployeeRepository extends ICrudRepository<Employee>
 	@SearchFunction
 	@SearchResult
 	public List<DynamicEmpSearchResult> searchByName(SearchQuery searchQuery);
+	
+	@SearchFunction
+	public ICloseableIterator<Employee> searchIterator(SearchQuery searchQuery);
 }
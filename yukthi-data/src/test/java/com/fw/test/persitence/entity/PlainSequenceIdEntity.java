@@ -0,0 +1,50 @@
+package com.fw.test.persitence.entity;
+
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+/**
+ * Entity whose ids are generated by sequence on every insert, with default allocation size.
+ * @author akiran
+ */
+@Table(name = "PLAIN_SEQ_ID_ENTITY")
+public class PlainSequenceIdEntity
+{
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE)
+	@SequenceGenerator(name = "plainSeqIdEntity", sequenceName = "SEQ_PLAIN_ID_ENTITY")
+	private long id;
+	
+	private String name;
+	
+	public PlainSequenceIdEntity()
+	{}
+	
+	public PlainSequenceIdEntity(String name)
+	{
+		this.name = name;
+	}
+	
+	public long getId()
+	{
+		return id;
+	}
+	
+	public void setId(long id)
+	{
+		this.id = id;
+	}
+	
+	public String getName()
+	{
+		return name;
+	}
+	
+	public void setName(String name)
+	{
+		this.name = name;
+	}
+}
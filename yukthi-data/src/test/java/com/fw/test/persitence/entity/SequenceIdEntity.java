@@ -0,0 +1,53 @@
+package com.fw.test.persitence.entity;
+
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import com.yukthi.persistence.annotations.HiLoSequence;
+
+/**
+ * Entity whose ids are allocated in blocks using a sequence.
+ * @author akiran
+ */
+@Table(name = "SEQ_ID_ENTITY")
+public class SequenceIdEntity
+{
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE)
+	@SequenceGenerator(name = "seqIdEntity", sequenceName = "SEQ_ID_ENTITY_BLOCK", allocationSize = 10)
+	@HiLoSequence
+	private long id;
+	
+	private String name;
+	
+	public SequenceIdEntity()
+	{}
+	
+	public SequenceIdEntity(String name)
+	{
+		this.name = name;
+	}
+	
+	public long getId()
+	{
+		return id;
+	}
+	
+	public void setId(long id)
+	{
+		this.id = id;
+	}
+	
+	public String getName()
+	{
+		return name;
+	}
+	
+	public void setName(String name)
+	{
+		this.name = name;
+	}
+}
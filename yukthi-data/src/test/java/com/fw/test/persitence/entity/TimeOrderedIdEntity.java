@@ -0,0 +1,49 @@
+package com.fw.test.persitence.entity;
+
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import com.yukthi.persistence.annotations.IdGenerator;
+import com.yukthi.persistence.idgen.TimeOrderedIdGenerator;
+
+/**
+ * Entity whose ids are generated on client side, based on time.
+ * @author akiran
+ */
+@Table(name = "TIME_ORD_ID_ENTITY")
+public class TimeOrderedIdEntity
+{
+	@Id
+	@IdGenerator(TimeOrderedIdGenerator.class)
+	private long id;
+	
+	private String name;
+	
+	public TimeOrderedIdEntity()
+	{}
+	
+	public TimeOrderedIdEntity(String name)
+	{
+		this.name = name;
+	}
+	
+	public long getId()
+	{
+		return id;
+	}
+	
+	public void setId(long id)
+	{
+		this.id = id;
+	}
+	
+	public String getName()
+	{
+		return name;
+	}
+	
+	public void setName(String name)
+	{
+		this.name = name;
+	}
+}
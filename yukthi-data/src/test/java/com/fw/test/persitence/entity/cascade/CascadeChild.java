@@ -0,0 +1,69 @@
+package com.fw.test.persitence.entity.cascade;
+
+import javax.persistence.Column;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import com.yukthi.persistence.annotations.DeleteWithParent;
+
+/**
+ * Child entity which gets deleted along with its parent.
+ * @author akiran
+ */
+@Table(name = "CASCADE_CHILD")
+public class CascadeChild
+{
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private long id;
+	
+	@Column
+	private String name;
+	
+	@DeleteWithParent
+	@ManyToOne
+	@Column(name = "PARENT_ID")
+	private CascadeParent parent;
+	
+	public CascadeChild()
+	{}
+	
+	public CascadeChild(String name, CascadeParent parent)
+	{
+		this.name = name;
+		this.parent = parent;
+	}
+	
+	public long getId()
+	{
+		return id;
+	}
+	
+	public void setId(long id)
+	{
+		this.id = id;
+	}
+	
+	public String getName()
+	{
+		return name;
+	}
+	
+	public void setName(String name)
+	{
+		this.name = name;
+	}
+	
+	public CascadeParent getParent()
+	{
+		return parent;
+	}
+	
+	public void setParent(CascadeParent parent)
+	{
+		this.parent = parent;
+	}
+}
@@ -0,0 +1,69 @@
+package com.fw.test.persitence.entity.cascade;
+
+import javax.persistence.Column;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import com.yukthi.persistence.annotations.DeleteWithParent;
+
+/**
+ * Grand child entity which gets deleted along with its parent child entity.
+ * @author akiran
+ */
+@Table(name = "CASCADE_GRAND_CHILD")
+public class CascadeGrandChild
+{
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private long id;
+	
+	@Column
+	private String name;
+	
+	@DeleteWithParent
+	@ManyToOne
+	@Column(name = "CHILD_ID")
+	private CascadeChild child;
+	
+	public CascadeGrandChild()
+	{}
+	
+	public CascadeGrandChild(String name, CascadeChild child)
+	{
+		this.name = name;
+		this.child = child;
+	}
+	
+	public long getId()
+	{
+		return id;
+	}
+	
+	public void setId(long id)
+	{
+		this.id = id;
+	}
+	
+	public String getName()
+	{
+		return name;
+	}
+	
+	public void setName(String name)
+	{
+		this.name = name;
+	}
+	
+	public CascadeChild getChild()
+	{
+		return child;
+	}
+	
+	public void setChild(CascadeChild child)
+	{
+		this.child = child;
+	}
+}
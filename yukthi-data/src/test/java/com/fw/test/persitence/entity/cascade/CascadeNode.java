@@ -0,0 +1,69 @@
+package com.fw.test.persitence.entity.cascade;
+
+import javax.persistence.Column;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import com.yukthi.persistence.annotations.DeleteWithParent;
+
+/**
+ * Self referencing entity (tree node), whose descendants at all levels get deleted along with it.
+ * @author akiran
+ */
+@Table(name = "CASCADE_NODE")
+public class CascadeNode
+{
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private long id;
+	
+	@Column
+	private String name;
+	
+	@DeleteWithParent
+	@ManyToOne
+	@Column(name = "PARENT_NODE_ID")
+	private CascadeNode parentNode;
+	
+	public CascadeNode()
+	{}
+	
+	public CascadeNode(String name, CascadeNode parentNode)
+	{
+		this.name = name;
+		this.parentNode = parentNode;
+	}
+	
+	public long getId()
+	{
+		return id;
+	}
+	
+	public void setId(long id)
+	{
+		this.id = id;
+	}
+	
+	public String getName()
+	{
+		return name;
+	}
+	
+	public void setName(String name)
+	{
+		this.name = name;
+	}
+	
+	public CascadeNode getParentNode()
+	{
+		return parentNode;
+	}
+	
+	public void setParentNode(CascadeNode parentNode)
+	{
+		this.parentNode = parentNode;
+	}
+}
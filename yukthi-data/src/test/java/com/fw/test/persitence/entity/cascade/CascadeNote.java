@@ -0,0 +1,66 @@
+package com.fw.test.persitence.entity.cascade;
+
+import javax.persistence.Column;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+/**
+ * Child entity which does not get deleted along with its parent. Existence of this entity should block parent deletion.
+ * @author akiran
+ */
+@Table(name = "CASCADE_NOTE")
+public class CascadeNote
+{
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private long id;
+	
+	@Column
+	private String name;
+	
+	@ManyToOne
+	@Column(name = "CHILD_ID")
+	private CascadeChild child;
+	
+	public CascadeNote()
+	{}
+	
+	public CascadeNote(String name, CascadeChild child)
+	{
+		this.name = name;
+		this.child = child;
+	}
+	
+	public long getId()
+	{
+		return id;
+	}
+	
+	public void setId(long id)
+	{
+		this.id = id;
+	}
+	
+	public String getName()
+	{
+		return name;
+	}
+	
+	public void setName(String name)
+	{
+		this.name = name;
+	}
+	
+	public CascadeChild getChild()
+	{
+		return child;
+	}
+	
+	public void setChild(CascadeChild child)
+	{
+		this.child = child;
+	}
+}
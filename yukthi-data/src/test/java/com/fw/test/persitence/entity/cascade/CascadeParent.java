@@ -0,0 +1,50 @@
+package com.fw.test.persitence.entity.cascade;
+
+import javax.persistence.Column;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Top level entity used to test cascaded deletes.
+ * @author akiran
+ */
+@Table(name = "CASCADE_PARENT")
+public class CascadeParent
+{
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private long id;
+	
+	@Column
+	private String name;
+	
+	public CascadeParent()
+	{}
+	
+	public CascadeParent(String name)
+	{
+		this.name = name;
+	}
+	
+	public long getId()
+	{
+		return id;
+	}
+	
+	public void setId(long id)
+	{
+		this.id = id;
+	}
+	
+	public String getName()
+	{
+		return name;
+	}
+	
+	public void setName(String name)
+	{
+		this.name = name;
+	}
+}
@@ -29,12 +29,18 @@ import java.lang.reflect.Array;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -46,6 +52,9 @@ import com.yukthi.utils.exceptions.InvalidArgumentException;
 import com.yukthi.utils.exceptions.InvalidStateException;
 
 /**
+ * Finds annotations defined directly or recursively (as meta annotations) on annotated elements. Resolved annotations
+ * (including negative results) are cached per element and annotation type. As resolution depends only on the element
+ * and annotation type, the cache is shared across factory instances.
  * @author akiran
  *
  */
@@ -55,6 +64,38 @@ public class RecursiveAnnotationFactory
 	
 	private static Pattern ARR_IDX_PATTERN = Pattern.compile("\\[(.+)\\]");
 	
+	/**
+	 * Marker used to cache negative results, as concurrent maps does not support null values
+	 */
+	private static final Object NOT_FOUND = new Object();
+	
+	/**
+	 * Resolved annotations of an annotated element
+	 * @author akiran
+	 */
+	private static class CachedAnnotations
+	{
+		/**
+		 * Annotation type to result of {@link RecursiveAnnotationFactory#findAnnotationRecursively(AnnotatedElement, Class)}
+		 */
+		private Map<Class<?>, Object> annotations = new ConcurrentHashMap<>();
+		
+		/**
+		 * Annotation type to result of {@link RecursiveAnnotationFactory#findAllAnnotationsRecursively(AnnotatedElement, Class)}
+		 */
+		private Map<Class<?>, Object> allAnnotations = new ConcurrentHashMap<>();
+		
+		/**
+		 * Result of {@link RecursiveAnnotationFactory#getEffectiveAnnotations(AnnotatedElement)}
+		 */
+		private volatile Map<Class<? extends Annotation>, List<Annotation>> effectiveAnnotations;
+	}
+	
+	/**
+	 * Annotated element to resolved annotations cache
+	 */
+	private static Map<AnnotatedElement, CachedAnnotations> annotationCache = new ConcurrentHashMap<>();
+	
 	/**
 	 * Method handler for proxy annotations
 	 * @author akiran
@@ -378,7 +419,7 @@ public class RecursiveAnnotationFactory
 	 * @param targetAnnotationType Annotation being searched
 	 * @return Target annotation if found, otherwise null
 	 */
-	private <A extends Annotation> A findRecursiveAnnotation(Annotation parentAnnotation, LinkedList<Annotation> annotationQueue, Class<A> targetAnnotationType)
+	private <A extends Annotation> A findRecursiveAnnotation(Annotation parentAnnotation, Deque<Annotation> annotationQueue, Class<A> targetAnnotationType)
 	{
 		//ignore java core annotations
 		if(parentAnnotation.annotationType().getName().startsWith("java"))
@@ -409,13 +450,69 @@ public class RecursiveAnnotationFactory
 		return null;
 	}
 	
+	/**
+	 * Fetches cached annotations entry of specified element, creating one if required.
+	 * @param annotatedElement Element for which cache entry is needed
+	 * @return Cache entry of the element
+	 */
+	private static CachedAnnotations getCachedAnnotations(AnnotatedElement annotatedElement)
+	{
+		CachedAnnotations cachedAnnotations = annotationCache.get(annotatedElement);
+		
+		if(cachedAnnotations == null)
+		{
+			cachedAnnotations = annotationCache.computeIfAbsent(annotatedElement, key -> new CachedAnnotations());
+		}
+		
+		return cachedAnnotations;
+	}
+	
+	/**
+	 * Clears the cached annotations. Needed only when annotated classes are reloaded.
+	 */
+	public static void clearCache()
+	{
+		annotationCache.clear();
+	}
+	
 	/**
 	 * Searches and returns annotation of type "targetAnnotationType" defined on "annotatedElement" recursively.
 	 * @param annotatedElement Element annotation search needs to be done
 	 * @param targetAnnotationType Annotation type to be searched
 	 * @return Found annotaion, if not null
 	 */
+	@SuppressWarnings("unchecked")
 	public <A extends Annotation> A findAnnotationRecursively(AnnotatedElement annotatedElement, Class<A> targetAnnotationType)
+	{
+		Map<Class<?>, Object> annotations = getCachedAnnotations(annotatedElement).annotations;
+		Object result = annotations.get(targetAnnotationType);
+		
+		if(result == null)
+		{
+			A annotation = resolveAnnotation(annotatedElement, targetAnnotationType);
+			Object prevResult = annotations.putIfAbsent(targetAnnotationType, (annotation != null) ? annotation : NOT_FOUND);
+			
+			//if other thread resolved in parallel, use the same for consistency
+			if(prevResult != null)
+			{
+				result = prevResult;
+			}
+			else
+			{
+				return annotation;
+			}
+		}
+		
+		return (result != NOT_FOUND) ? (A)result : null;
+	}
+	
+	/**
+	 * Resolves annotation of type "targetAnnotationType" defined on "annotatedElement" recursively, without using cache.
+	 * @param annotatedElement Element annotation search needs to be done
+	 * @param targetAnnotationType Annotation type to be searched
+	 * @return Found annotaion, if not null
+	 */
+	private <A extends Annotation> A resolveAnnotation(AnnotatedElement annotatedElement, Class<A> targetAnnotationType)
 	{
 		//check if annotation is defined directly.
 		A targetAnnotation = annotatedElement.getAnnotation(targetAnnotationType);
@@ -434,7 +531,7 @@ public class RecursiveAnnotationFactory
 		
 		//queue to maintain annotations order level wise
 		//next level annotation are appended, and annotation are popped from start for processing
-		LinkedList<Annotation> annotationQueue = new LinkedList<>();
+		Deque<Annotation> annotationQueue = new ArrayDeque<>();
 		
 		//find other annotations and add them to queue for further recursive processing
 		Annotation annotations[] = annotatedElement.getAnnotations();
@@ -491,9 +588,46 @@ public class RecursiveAnnotationFactory
 	 * Searches and returns all annotations of type "targetAnnotationType" defined on "annotatedElement" recursively.
 	 * @param annotatedElement Element annotation search needs to be done
 	 * @param targetAnnotationType Annotation type to be searched
-	 * @return Found matching annotaions, if not null
+	 * @return Found matching annotaions (unmodifiable), if not null
 	 */
+	@SuppressWarnings("unchecked")
 	public <A extends Annotation> List<A> findAllAnnotationsRecursively(AnnotatedElement annotatedElement, Class<A> targetAnnotationType)
+	{
+		Map<Class<?>, Object> allAnnotations = getCachedAnnotations(annotatedElement).allAnnotations;
+		Object result = allAnnotations.get(targetAnnotationType);
+		
+		if(result == null)
+		{
+			List<A> annotations = resolveAllAnnotations(annotatedElement, targetAnnotationType);
+			
+			if(annotations != null)
+			{
+				annotations = Collections.unmodifiableList(annotations);
+			}
+			
+			Object prevResult = allAnnotations.putIfAbsent(targetAnnotationType, (annotations != null) ? annotations : NOT_FOUND);
+			
+			//if other thread resolved in parallel, use the same for consistency
+			if(prevResult != null)
+			{
+				result = prevResult;
+			}
+			else
+			{
+				return annotations;
+			}
+		}
+		
+		return (result != NOT_FOUND) ? (List<A>)result : null;
+	}
+	
+	/**
+	 * Resolves all annotations of type "targetAnnotationType" defined on "annotatedElement" recursively, without using cache.
+	 * @param annotatedElement Element annotation search needs to be done
+	 * @param targetAnnotationType Annotation type to be searched
+	 * @return Found matching annotaions, if not null
+	 */
+	private <A extends Annotation> List<A> resolveAllAnnotations(AnnotatedElement annotatedElement, Class<A> targetAnnotationType)
 	{
 		List<A> matchingAnnot = new ArrayList<>();
 		
@@ -519,7 +653,7 @@ public class RecursiveAnnotationFactory
 		
 		//queue to maintain annotations order level wise
 		//next level annotation are appended, and annotation are popped from start for processing
-		LinkedList<Annotation> annotationQueue = new LinkedList<>();
+		Deque<Annotation> annotationQueue = new ArrayDeque<>();
 		
 		//find other annotations and add them to queue for further recursive processing
 		Annotation annotations[] = annotatedElement.getAnnotations();
@@ -550,4 +684,75 @@ public class RecursiveAnnotationFactory
 		
 		return matchingAnnot;
 	}
+
+	/**
+	 * Fetches all the annotations effective on specified element, that is annotations defined directly on the element
+	 * followed by annotations found recursively on them (level wise), with overridden properties applied. Java
+	 * core meta annotations (like @Retention) are ignored.
+	 * @param annotatedElement Element whose annotations needs to be fetched
+	 * @return Unmodifiable map of annotation type to effective annotations of that type
+	 */
+	public Map<Class<? extends Annotation>, List<Annotation>> getEffectiveAnnotations(AnnotatedElement annotatedElement)
+	{
+		CachedAnnotations cachedAnnotations = getCachedAnnotations(annotatedElement);
+		Map<Class<? extends Annotation>, List<Annotation>> effectiveAnnotations = cachedAnnotations.effectiveAnnotations;
+		
+		if(effectiveAnnotations == null)
+		{
+			effectiveAnnotations = resolveEffectiveAnnotations(annotatedElement);
+			cachedAnnotations.effectiveAnnotations = effectiveAnnotations;
+		}
+		
+		return effectiveAnnotations;
+	}
+	
+	/**
+	 * Resolves effective annotations of specified element, without using cache.
+	 * @param annotatedElement Element whose annotations needs to be resolved
+	 * @return Unmodifiable map of annotation type to effective annotations
+	 */
+	private Map<Class<? extends Annotation>, List<Annotation>> resolveEffectiveAnnotations(AnnotatedElement annotatedElement)
+	{
+		Map<Class<? extends Annotation>, List<Annotation>> effectiveAnnotations = new LinkedHashMap<>();
+		Deque<Annotation> annotationQueue = new ArrayDeque<>();
+		Set<Class<?>> processedTypes = new HashSet<>();
+		
+		for(Annotation annotation : annotatedElement.getAnnotations())
+		{
+			effectiveAnnotations.computeIfAbsent(annotation.annotationType(), type -> new ArrayList<>()).add(annotation);
+			annotationQueue.add(annotation);
+		}
+		
+		Annotation parentAnnotation = null;
+		
+		//loop through annotations level wise and collect meta annotations found on them
+		while(!annotationQueue.isEmpty())
+		{
+			parentAnnotation = annotationQueue.removeFirst();
+			
+			//ignore java core annotations and annotation types which are already processed (to avoid cycles)
+			if(parentAnnotation.annotationType().getName().startsWith("java") || !processedTypes.add(parentAnnotation.annotationType()))
+			{
+				continue;
+			}
+			
+			for(Annotation annotation : parentAnnotation.annotationType().getAnnotations())
+			{
+				if(annotation.annotationType().getName().startsWith("java"))
+				{
+					continue;
+				}
+				
+				effectiveAnnotations.computeIfAbsent(annotation.annotationType(), type -> new ArrayList<>()).add(overrideProperties(annotation, parentAnnotation));
+				annotationQueue.add(annotation);
+			}
+		}
+		
+		for(Map.Entry<Class<? extends Annotation>, List<Annotation>> entry : effectiveAnnotations.entrySet())
+		{
+			entry.setValue(Collections.unmodifiableList(entry.getValue()));
+		}
+		
+		return Collections.unmodifiableMap(effectiveAnnotations);
+	}
 }
@@ -0,0 +1,277 @@
+package com.yukthi.utils.beans;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang.ClassUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.yukthi.utils.exceptions.InvalidStateException;
+
+/**
+ * Factory to generate invokers for constructors, getters, setters and fields. Where possible invokers are generated using
+ * {@link LambdaMetafactory}, which results in direct invocation of target methods. When target is not accessible
+ * to generated classes, method handles or reflection is used instead.
+ * 
+ * Generation is expensive compared to invocation, so the generated invokers are expected to be cached by callers.
+ * @author akiran
+ */
+public class AccessorFactory
+{
+	private static Logger logger = LogManager.getLogger(AccessorFactory.class);
+	
+	/**
+	 * Lookup used to generate method handles and lambdas
+	 */
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	
+	/**
+	 * Generic getter signature
+	 */
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	
+	/**
+	 * Generic setter signature
+	 */
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+	
+	/**
+	 * Checks if the specified type is visible and accessible to the classes generated by this factory.
+	 * @param type Type to check
+	 * @return true if lambdas can be generated for members of the type
+	 */
+	private static boolean isLambdaAccessible(Class<?> type)
+	{
+		if(!Modifier.isPublic(type.getModifiers()))
+		{
+			return false;
+		}
+		
+		//generated classes are hosted under this class, so the type should be visible from this class loader
+		try
+		{
+			return (Class.forName(type.getName(), false, AccessorFactory.class.getClassLoader()) == type);
+		}catch(ClassNotFoundException ex)
+		{
+			return false;
+		}
+	}
+	
+	/**
+	 * Converts specified throwable into runtime exception
+	 */
+	private static RuntimeException toRuntimeException(Throwable ex, String mssg, Object... args)
+	{
+		if(ex instanceof RuntimeException)
+		{
+			return (RuntimeException)ex;
+		}
+		
+		if(ex instanceof Error)
+		{
+			throw (Error)ex;
+		}
+		
+		return new InvalidStateException(ex, mssg, args);
+	}
+	
+	/**
+	 * Creates invoker for default constructor of specified type.
+	 * @param type Type for which constructor is needed
+	 * @return Constructor invoker, null if type does not have default constructor
+	 */
+	@SuppressWarnings("unchecked")
+	public static Supplier<Object> createConstructor(Class<?> type)
+	{
+		Constructor<?> constructor = null;
+		
+		try
+		{
+			constructor = type.getDeclaredConstructor();
+		}catch(NoSuchMethodException ex)
+		{
+			return null;
+		}
+		
+		if(Modifier.isAbstract(type.getModifiers()) || type.isInterface())
+		{
+			return null;
+		}
+		
+		if(Modifier.isPublic(constructor.getModifiers()) && isLambdaAccessible(type))
+		{
+			try
+			{
+				MethodHandle handle = LOOKUP.unreflectConstructor(constructor);
+				CallSite site = LambdaMetafactory.metafactory(LOOKUP, "get", MethodType.methodType(Supplier.class), 
+						MethodType.methodType(Object.class), handle, MethodType.methodType(type));
+				
+				return (Supplier<Object>)site.getTarget().invokeExact();
+			}catch(Throwable ex)
+			{
+				logger.debug("Failed to generate constructor invoker for type {}. Reflection will be used instead.", type.getName(), ex);
+			}
+		}
+		
+		constructor.setAccessible(true);
+		final Constructor<?> finalConstructor = constructor;
+		
+		return () -> {
+			try
+			{
+				return finalConstructor.newInstance();
+			}catch(Throwable ex)
+			{
+				throw toRuntimeException(ex, "An error occurred while creating instance of type - {}", type.getName());
+			}
+		};
+	}
+	
+	/**
+	 * Creates invoker for specified getter method.
+	 * @param method Getter method
+	 * @return Getter invoker
+	 */
+	@SuppressWarnings("unchecked")
+	public static Function<Object, Object> createGetter(Method method)
+	{
+		Class<?> beanType = method.getDeclaringClass();
+		
+		if(Modifier.isPublic(method.getModifiers()) && isLambdaAccessible(beanType))
+		{
+			try
+			{
+				MethodHandle handle = LOOKUP.unreflect(method);
+				CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply", MethodType.methodType(Function.class), 
+						GETTER_TYPE, handle, MethodType.methodType(ClassUtils.primitiveToWrapper(method.getReturnType()), beanType));
+				
+				return (Function<Object, Object>)site.getTarget().invokeExact();
+			}catch(Throwable ex)
+			{
+				logger.debug("Failed to generate getter invoker for method {}. Reflection will be used instead.", method, ex);
+			}
+		}
+		
+		method.setAccessible(true);
+		
+		return bean -> {
+			try
+			{
+				return method.invoke(bean);
+			}catch(Throwable ex)
+			{
+				throw toRuntimeException(ex, "An error occurred while invoking getter - {}", method);
+			}
+		};
+	}
+	
+	/**
+	 * Creates invoker for specified setter method.
+	 * @param method Setter method
+	 * @return Setter invoker
+	 */
+	@SuppressWarnings("unchecked")
+	public static BiConsumer<Object, Object> createSetter(Method method)
+	{
+		Class<?> beanType = method.getDeclaringClass();
+		
+		if(Modifier.isPublic(method.getModifiers()) && isLambdaAccessible(beanType))
+		{
+			try
+			{
+				MethodHandle handle = LOOKUP.unreflect(method);
+				CallSite site = LambdaMetafactory.metafactory(LOOKUP, "accept", MethodType.methodType(BiConsumer.class), 
+						SETTER_TYPE, handle, MethodType.methodType(void.class, beanType, ClassUtils.primitiveToWrapper(method.getParameterTypes()[0])));
+				
+				return (BiConsumer<Object, Object>)site.getTarget().invokeExact();
+			}catch(Throwable ex)
+			{
+				logger.debug("Failed to generate setter invoker for method {}. Reflection will be used instead.", method, ex);
+			}
+		}
+		
+		method.setAccessible(true);
+		
+		return (bean, value) -> {
+			try
+			{
+				method.invoke(bean, value);
+			}catch(Throwable ex)
+			{
+				throw toRuntimeException(ex, "An error occurred while invoking setter - {}", method);
+			}
+		};
+	}
+	
+	/**
+	 * Creates getter for specified field. The field is accessed directly (without invoking getter method).
+	 * @param field Field for which getter is needed
+	 * @return Field getter
+	 */
+	public static Function<Object, Object> createFieldGetter(Field field)
+	{
+		final MethodHandle handle;
+		
+		try
+		{
+			field.setAccessible(true);
+			handle = LOOKUP.unreflectGetter(field).asType(GETTER_TYPE);
+		}catch(Exception ex)
+		{
+			throw new InvalidStateException(ex, "An error occurred while creating getter for field - {}", field);
+		}
+		
+		return bean -> {
+			try
+			{
+				return (Object)handle.invokeExact(bean);
+			}catch(Throwable ex)
+			{
+				throw toRuntimeException(ex, "An error occurred while fetching value of field - {}", field);
+			}
+		};
+	}
+	
+	/**
+	 * Creates setter for specified field. The field is accessed directly (without invoking setter method).
+	 * 
+	 * For primitive fields, the method handle unboxes the value and applies primitive widening (like integer for
+	 * long field), same as reflection does. Values needing narrowing or of non-numeric types are rejected.
+	 * @param field Field for which setter is needed
+	 * @return Field setter
+	 */
+	public static BiConsumer<Object, Object> createFieldSetter(Field field)
+	{
+		final MethodHandle handle;
+		
+		try
+		{
+			field.setAccessible(true);
+			handle = LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+		}catch(Exception ex)
+		{
+			throw new InvalidStateException(ex, "An error occurred while creating setter for field - {}", field);
+		}
+		
+		return (bean, value) -> {
+			try
+			{
+				handle.invokeExact(bean, value);
+			}catch(Throwable ex)
+			{
+				throw toRuntimeException(ex, "An error occurred while setting value of field - {}", field);
+			}
+		};
+	}
+}
@@ -24,6 +24,7 @@
 package com.yukthi.utils.beans;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -90,6 +91,15 @@ class BeanInfo
 	{
 		return properties.keySet();
 	}
+	
+	/**
+	 * Fetches properties of this bean
+	 * @return collection of property info
+	 */
+	public Collection<PropertyInfo> getProperties()
+	{
+		return properties.values();
+	}
 
 	/**
 	 * Gets the bean type for which this info is being defined.
@@ -26,6 +26,8 @@ package com.yukthi.utils.beans;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import com.yukthi.utils.exceptions.InvalidArgumentException;
 import com.yukthi.utils.exceptions.InvalidStateException;
@@ -46,6 +48,16 @@ public class NestedProperty
 	 */
 	private List<Method> setters = new ArrayList<>();
 	
+	/**
+	 * Precompiled invokers of getters, in sequence
+	 */
+	private Function<Object, Object> getterInvokers[];
+	
+	/**
+	 * Precompiled invokers of setters, in sequence
+	 */
+	private BiConsumer<Object, Object> setterInvokers[];
+	
 	/**
 	 * Result type of this nested property
 	 */
@@ -138,10 +150,28 @@ public class NestedProperty
 		
 		nestedProperty.type = getter.getReturnType();
 		nestedProperty.name = currentPath;
+		nestedProperty.compileInvokers();
 		
 		return nestedProperty;
 	}
 
+	/**
+	 * Generates invokers for getters and setters of this property, so that property access does not
+	 * involve reflection.
+	 */
+	@SuppressWarnings("unchecked")
+	private void compileInvokers()
+	{
+		getterInvokers = new Function[getters.size()];
+		setterInvokers = new BiConsumer[setters.size()];
+		
+		for(int i = 0; i < getterInvokers.length; i++)
+		{
+			getterInvokers[i] = AccessorFactory.createGetter(getters.get(i));
+			setterInvokers[i] = AccessorFactory.createSetter(setters.get(i));
+		}
+	}
+
 	/**
 	 * Gets the result type of this nested property.
 	 *
@@ -189,7 +219,7 @@ public class NestedProperty
 	 */
 	public void setValue(Object rootBean, Object value)
 	{
-		int maxIdx = getters.size() - 1;
+		int maxIdx = getterInvokers.length - 1;
 		Object prevObject = rootBean, newObject = null;
 		
 		//loop through property path
@@ -200,11 +230,11 @@ public class NestedProperty
 				//if end of path is reached, set the final value and break the loop
 				if(i == maxIdx)
 				{
-					setters.get(i).invoke(prevObject, value);
+					setterInvokers[i].accept(prevObject, value);
 					return;
 				}
 
-				newObject = getters.get(i).invoke(prevObject);
+				newObject = getterInvokers[i].apply(prevObject);
 				
 				//create intermediate beans as needed
 				if(newObject == null)
@@ -212,7 +242,7 @@ public class NestedProperty
 					try
 					{
 						newObject = getters.get(i).getReturnType().newInstance();
-						setters.get(i).invoke(prevObject, newObject);
+						setterInvokers[i].accept(prevObject, newObject);
 					}catch(Exception ex)
 					{
 						throw new InvalidStateException(ex, "Failed to created instance of type - {}", getters.get(i).getReturnType().getName());
@@ -234,7 +264,7 @@ public class NestedProperty
 	 */
 	public Object getValue(Object rootBean)
 	{
-		int maxIdx = getters.size() - 1;
+		int maxIdx = getterInvokers.length - 1;
 		Object prevObject = rootBean, newObject = null;
 		
 		//loop through property path
@@ -245,10 +275,10 @@ public class NestedProperty
 				//if end of path is reached, get the final value and break the loop
 				if(i == maxIdx)
 				{
-					return getters.get(i).invoke(prevObject);
+					return getterInvokers[i].apply(prevObject);
 				}
 
-				newObject = getters.get(i).invoke(prevObject);
+				newObject = getterInvokers[i].apply(prevObject);
 				
 				//if intermediate bean is found null, return null
 				if(newObject == null)
@@ -24,9 +24,7 @@
 package com.yukthi.utils.beans;
 
 import java.lang.reflect.Field;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.logging.log4j.LogManager;
@@ -52,9 +50,28 @@ public class PropertyMapper
 	private static RecursiveAnnotationFactory recursiveAnnotationFactory = new RecursiveAnnotationFactory();
 	
 	/**
-	 * Cache map which caches the properties of different classes
+	 * Cache which caches the properties of different classes
 	 */
-	private static Map<Class<?>, BeanInfo> typeToProp = new HashMap<>();
+	private static ClassValue<BeanInfo> typeToProp = new ClassValue<BeanInfo>()
+	{
+		@Override
+		protected BeanInfo computeValue(Class<?> type)
+		{
+			return loadBeanInfo(type);
+		}
+	};
+	
+	/**
+	 * Cache which maps bean types to actual types. Which would be different for CGLIB proxies.
+	 */
+	private static ClassValue<Class<?>> actualTypes = new ClassValue<Class<?>>()
+	{
+		@Override
+		protected Class<?> computeValue(Class<?> type)
+		{
+			return loadActualType(type);
+		}
+	};
 	
 	/**
 	 * Validates the field information specified in the "mapping" and adds the mapping information
@@ -131,17 +148,19 @@ public class PropertyMapper
 	 * @param beanType Bean types for which property map needs to be fetched
 	 * @return Property details of specified bean type
 	 */
-	public static synchronized BeanInfo getBeanInfo(Class<?> beanType)
+	public static BeanInfo getBeanInfo(Class<?> beanType)
 	{
-		BeanInfo beanInfo = typeToProp.get(beanType);
-		
-		//if type is already loaded return the same
-		if(beanInfo != null)
-		{
-			return beanInfo;
-		}
-		
-		beanInfo = new BeanInfo(beanType);
+		return typeToProp.get(beanType);
+	}
+	
+	/**
+	 * Builds the property details of specified bean type.
+	 * @param beanType Bean types for which property map needs to be built
+	 * @return Property details of specified bean type
+	 */
+	private static BeanInfo loadBeanInfo(Class<?> beanType)
+	{
+		BeanInfo beanInfo = new BeanInfo(beanType);
 		Field fields[] = null;
 		NestedProperty nestedProp = null;
 		IgnorePropertyDestination ignorePropertyDestination = null;
@@ -172,8 +191,6 @@ public class PropertyMapper
 			beanType = beanType.getSuperclass();
 		}
 		
-		//cache and return property map
-		typeToProp.put(beanType, beanInfo);
 		return beanInfo;
 	}
 	
@@ -199,12 +216,22 @@ public class PropertyMapper
 	 */
 	private static Class<?> getClass(Object bean)
 	{
-		String className = bean.getClass().getName();
+		return actualTypes.get(bean.getClass());
+	}
+	
+	/**
+	 * Finds the actual type of specified type. In case of CGLIB proxies, actual class will be loaded and returned.
+	 * @param type Type to be checked
+	 * @return Actual type
+	 */
+	private static Class<?> loadActualType(Class<?> type)
+	{
+		String className = type.getName();
 		int idx = className.indexOf("$$EnhancerByCGLIB$$");
 		
 		if(idx < 0)
 		{
-			return bean.getClass();
+			return type;
 		}
 		
 		try
@@ -212,7 +239,7 @@ public class PropertyMapper
 			return Class.forName(className.substring(0, idx));
 		}catch(Exception ex)
 		{
-			throw new InvalidStateException(ex, "An error occurred while fetching actual class name from proxy class name - {}", bean.getClass().getName());
+			throw new InvalidStateException(ex, "An error occurred while fetching actual class name from proxy class name - {}", type.getName());
 		}
 	}
 	
@@ -241,11 +268,13 @@ public class PropertyMapper
 		Object value = null, destValue = null;
 		
 		PropertyInfo destPropInfo = null;
-		NestedProperty sourceProperty = null, destProperty = null;;
+		NestedProperty sourceProperty = null, destProperty = null;
+		String srcProp = null;
 		
 		//loop through source property and copy all simple (directly matching) properties
-		for(String srcProp : sourceBeanInfo.getPropertyNames())
+		for(PropertyInfo srcPropInfo : sourceBeanInfo.getProperties())
 		{
+			srcProp = srcPropInfo.getName();
 			destPropInfo = destinationBeanInfo.getProperty(srcProp);
 			
 			//if property is not found on destination ignore
@@ -255,7 +284,7 @@ public class PropertyMapper
 			}
 			
 			destProperty = destPropInfo.getProperty();
-			sourceProperty = sourceBeanInfo.getProperty(srcProp).getProperty();
+			sourceProperty = srcPropInfo.getProperty();
 			
 			value = sourceProperty.getValue(source);
 			
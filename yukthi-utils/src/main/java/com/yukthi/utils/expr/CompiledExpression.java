@@ -0,0 +1,244 @@
+package com.yukthi.utils.expr;
+
+import java.util.Set;
+
+import com.yukthi.utils.exceptions.InvalidArgumentException;
+
+/**
+ * Expression compiled against an expression registry. Operators and functions are resolved during compilation and
+ * constant sub-expressions are evaluated once. Compiled expression is immutable and can be evaluated concurrently
+ * by multiple threads.
+ *
+ * Operators and functions added to the registry after compilation will not be used by compiled expression.
+ * @author akiran
+ */
+public class CompiledExpression
+{
+	/**
+	 * Compiled form of expression part.
+	 * @author akiran
+	 */
+	private static interface ICompiledPart
+	{
+		/**
+		 * Evaluates the part using specified variable values.
+		 * @param variableValueProvider Variable value provider
+		 * @return Result value
+		 */
+		public Object evaluate(IVariableValueProvider variableValueProvider);
+	}
+	
+	/**
+	 * Compiled part representing constant value.
+	 * @author akiran
+	 */
+	private static class ConstantPart implements ICompiledPart
+	{
+		/**
+		 * Constant value.
+		 */
+		private final Object value;
+		
+		public ConstantPart(Object value)
+		{
+			this.value = value;
+		}
+		
+		@Override
+		public Object evaluate(IVariableValueProvider variableValueProvider)
+		{
+			return value;
+		}
+	}
+	
+	/**
+	 * Source expression from which this expression is compiled.
+	 */
+	private final Expression expression;
+	
+	/**
+	 * Compiled root part.
+	 */
+	private final ICompiledPart compiledPart;
+	
+	/**
+	 * Instantiates a new compiled expression.
+	 *
+	 * @param expression Expression to compile
+	 * @param registry Registry to be used to resolve operators and functions
+	 */
+	CompiledExpression(Expression expression, ExpressionRegistry registry)
+	{
+		this.expression = expression;
+		this.compiledPart = compile(expression.getExpressionPart(), registry);
+	}
+	
+	/**
+	 * Compiles specified expression part.
+	 * @param part Part to compile
+	 * @param registry Registry to be used
+	 * @return Compiled part
+	 */
+	private static ICompiledPart compile(IExpressionPart part, ExpressionRegistry registry)
+	{
+		if(part instanceof Literal)
+		{
+			return new ConstantPart(((Literal) part).getValue());
+		}
+		
+		if(part instanceof Variable)
+		{
+			String name = ((Variable) part).getName();
+			return provider -> provider.getVariableValue(name);
+		}
+		
+		if(part instanceof OperatorExpr)
+		{
+			return compileOperator((OperatorExpr) part, registry);
+		}
+		
+		if(part instanceof FunctionExpr)
+		{
+			return compileFunction((FunctionExpr) part, registry);
+		}
+		
+		//for custom parts, fallback to dynamic evaluation
+		return provider -> part.evaluate(provider, registry);
+	}
+	
+	/**
+	 * Compiles operator expression. If operator is deterministic and both operands are constants, the
+	 * operator will be evaluated during compilation.
+	 * @param operatorExpr Expression to compile
+	 * @param registry Registry to be used
+	 * @return Compiled part
+	 */
+	private static ICompiledPart compileOperator(OperatorExpr operatorExpr, ExpressionRegistry registry)
+	{
+		IOperator operator = registry.getOperator(operatorExpr.getOperator());
+		
+		if(operator == null)
+		{
+			throw new InvalidArgumentException("Invalid operator encountered - {}", operatorExpr.getOperator());
+		}
+		
+		ICompiledPart left = compile(operatorExpr.getLeft(), registry);
+		ICompiledPart right = compile(operatorExpr.getRight(), registry);
+		ICompiledPart compiledPart = provider -> operator.evaluate(left.evaluate(provider), right.evaluate(provider));
+		
+		if(operator.isDeterministic() && (left instanceof ConstantPart) && (right instanceof ConstantPart))
+		{
+			return fold(compiledPart);
+		}
+		
+		return compiledPart;
+	}
+	
+	/**
+	 * Compiles function expression. If function is deterministic and all parameters are constants, the
+	 * function will be evaluated during compilation.
+	 * @param functionExpr Expression to compile
+	 * @param registry Registry to be used
+	 * @return Compiled part
+	 */
+	private static ICompiledPart compileFunction(FunctionExpr functionExpr, ExpressionRegistry registry)
+	{
+		IFunction function = registry.getFunction(functionExpr.getName());
+		
+		if(function == null)
+		{
+			throw new InvalidArgumentException("Invalid function name encountered - {}", functionExpr.getName());
+		}
+		
+		IExpressionPart parameters[] = functionExpr.getParameters();
+		ICompiledPart compiledParams[] = new ICompiledPart[parameters == null ? 0 : parameters.length];
+		boolean constantParams = true;
+		
+		for(int i = 0; i < compiledParams.length; i++)
+		{
+			compiledParams[i] = compile(parameters[i], registry);
+			constantParams &= (compiledParams[i] instanceof ConstantPart);
+		}
+		
+		ICompiledPart compiledPart = provider -> {
+			Object paramValues[] = new Object[compiledParams.length];
+			
+			for(int i = 0; i < compiledParams.length; i++)
+			{
+				paramValues[i] = compiledParams[i].evaluate(provider);
+			}
+			
+			return function.evaluate(paramValues);
+		};
+		
+		if(function.isDeterministic() && constantParams)
+		{
+			return fold(compiledPart);
+		}
+		
+		return compiledPart;
+	}
+	
+	/**
+	 * Evaluates specified part (with constant inputs) and converts it into constant. If evaluation fails, the part
+	 * is returned as is, so that the error is reported during evaluation.
+	 * @param compiledPart Part to be folded
+	 * @return Constant part or specified part
+	 */
+	private static ICompiledPart fold(ICompiledPart compiledPart)
+	{
+		try
+		{
+			return new ConstantPart(compiledPart.evaluate(null));
+		}catch(RuntimeException ex)
+		{
+			return compiledPart;
+		}
+	}
+	
+	/**
+	 * Gets the source expression from which this expression is compiled.
+	 * @return Source expression
+	 */
+	public Expression getExpression()
+	{
+		return expression;
+	}
+	
+	/**
+	 * Fetches the variable names used in this expression.
+	 * @return Variable names used.
+	 */
+	public Set<String> getVariableNames()
+	{
+		return expression.getVariableNames();
+	}
+	
+	/**
+	 * Checks if this expression is evaluated to constant during compilation.
+	 * @return true if expression result does not depend on variables
+	 */
+	public boolean isConstant()
+	{
+		return (compiledPart instanceof ConstantPart);
+	}
+	
+	/**
+	 * Evaluates the expression and provides the result.
+	 * @param variableValueProvider Variable value provider
+	 * @return Final value
+	 */
+	public Object evaluate(IVariableValueProvider variableValueProvider)
+	{
+		return compiledPart.evaluate(variableValueProvider);
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		return expression.toString();
+	}
+}
@@ -142,7 +142,7 @@ public class DefaultFunctions
 		return avg / (values.length + 1);
 	}
 	
-	@FunctionInfo(name = "RANDOM", syntax = "RANDOM()", description = "Returns a random value.")
+	@FunctionInfo(name = "RANDOM", syntax = "RANDOM()", description = "Returns a random value.", deterministic = false)
 	public static Number randomNumber()
 	{
 		return Math.random();
@@ -56,6 +56,17 @@ public class Expression
 		return expressionPart.getType(variableTypeProvider, registry);
 	}
 	
+	/**
+	 * Compiles this expression against specified registry. Compiled expression can be reused and evaluated
+	 * concurrently.
+	 * @param registry Expression registry to be used
+	 * @return Compiled expression
+	 */
+	public CompiledExpression compile(ExpressionRegistry registry)
+	{
+		return new CompiledExpression(this, registry);
+	}
+	
 	/**
 	 * Evaluates the expression and provides the result.
 	 * @param variableValueProvider Variable value provider
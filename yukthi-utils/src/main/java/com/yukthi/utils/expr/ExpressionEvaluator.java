@@ -4,7 +4,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Parser for parsing expression string into expressions.
@@ -12,6 +14,53 @@ import java.util.Stack;
  */
 public class ExpressionEvaluator
 {
+	/**
+	 * Maximum number of parsed expressions to be cached.
+	 */
+	private static final int MAX_CACHED_EXPRESSIONS = 1000;
+	
+	/**
+	 * Parsed expressions cache, keyed by expression string.
+	 */
+	private Map<String, Expression> parsedExpressions = new ConcurrentHashMap<>();
+	
+	/**
+	 * Parses expression string into expression. Parsed expressions are cached by expression string
+	 * and the same instance is returned for subsequent calls.
+	 * @param expressionStr Expression string to be parsed.
+	 * @return Expression object
+	 */
+	public Expression parseCached(String expressionStr)
+	{
+		Expression expression = parsedExpressions.get(expressionStr);
+		
+		if(expression != null)
+		{
+			return expression;
+		}
+		
+		expression = parse(expressionStr);
+		
+		if(parsedExpressions.size() < MAX_CACHED_EXPRESSIONS)
+		{
+			parsedExpressions.put(expressionStr, expression);
+		}
+		
+		return expression;
+	}
+	
+	/**
+	 * Parses and compiles expression string against specified registry. Compiled expressions are cached
+	 * by the registry, so repeated calls with same expression string return the same compiled expression.
+	 * @param expressionStr Expression string to be compiled.
+	 * @param registry Registry to be used to resolve operators and functions
+	 * @return Compiled expression
+	 */
+	public CompiledExpression compile(String expressionStr, ExpressionRegistry registry)
+	{
+		return registry.getCompiledExpression(expressionStr, str -> parseCached(str).compile(registry));
+	}
+	
 	/**
 	 * Parses expression string into expression.
 	 * @param expressionStr Expression string to be parsed.
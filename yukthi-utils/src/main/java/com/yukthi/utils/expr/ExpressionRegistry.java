@@ -3,6 +3,8 @@ package com.yukthi.utils.expr;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 import com.yukthi.utils.exceptions.InvalidArgumentException;
@@ -23,6 +25,11 @@ public class ExpressionRegistry
 	 */
 	public static final Pattern FUNC_PATTERN = Pattern.compile("\\w+");
 	
+	/**
+	 * Maximum number of compiled expressions to be cached.
+	 */
+	private static final int MAX_COMPILED_EXPRESSIONS = 1000;
+	
 	/**
 	 * Operator map.
 	 */
@@ -33,6 +40,11 @@ public class ExpressionRegistry
 	 */
 	private Map<String, IFunction> functionMap = new HashMap<>();
 	
+	/**
+	 * Expressions compiled against this registry, keyed by expression string.
+	 */
+	private Map<String, CompiledExpression> compiledExpressions = new ConcurrentHashMap<>();
+	
 	/**
 	 * Adds specified operator to the registry.
 	 * @param operatorStr Operator in string format.
@@ -51,6 +63,7 @@ public class ExpressionRegistry
 		}
 		
 		operatorMap.put(operatorStr, operator);
+		compiledExpressions.clear();
 	}
 	
 	/**
@@ -81,6 +94,33 @@ public class ExpressionRegistry
 		}
 		
 		functionMap.put(name, function);
+		compiledExpressions.clear();
+	}
+	
+	/**
+	 * Fetches compiled expression of specified expression string from cache. If not cached, specified compiler
+	 * will be used to compile the expression. Cache is cleared when operators or functions are added.
+	 * @param expressionStr Expression string
+	 * @param compiler Compiler to be used when expression is not cached
+	 * @return Compiled expression
+	 */
+	CompiledExpression getCompiledExpression(String expressionStr, Function<String, CompiledExpression> compiler)
+	{
+		CompiledExpression compiledExpression = compiledExpressions.get(expressionStr);
+		
+		if(compiledExpression != null)
+		{
+			return compiledExpression;
+		}
+		
+		compiledExpression = compiler.apply(expressionStr);
+		
+		if(compiledExpressions.size() < MAX_COMPILED_EXPRESSIONS)
+		{
+			compiledExpressions.put(expressionStr, compiledExpression);
+		}
+		
+		return compiledExpression;
 	}
 	
 	/**
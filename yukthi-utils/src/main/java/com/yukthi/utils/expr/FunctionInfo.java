@@ -39,4 +39,11 @@ public @interface FunctionInfo
 	 * @return function syntax.
 	 */
 	public String syntax();
+	
+	/**
+	 * Indicates if the function always returns same result for same parameters. Calls to deterministic
+	 * functions with constant parameters are evaluated once while compiling expressions.
+	 * @return true if function is deterministic
+	 */
+	public boolean deterministic() default true;
 }
@@ -37,4 +37,14 @@ public interface IFunction
 	 * @return Result value.
 	 */
 	public Object evaluate(Object parameters[]);
+	
+	/**
+	 * Indicates if this function always returns same result for same parameters. Only deterministic
+	 * functions are evaluated during compilation when all parameters are constants.
+	 * @return true if function is deterministic
+	 */
+	public default boolean isDeterministic()
+	{
+		return false;
+	}
 }
@@ -33,4 +33,14 @@ public interface IOperator
 	 * @return Result of operator
 	 */
 	public Object evaluate(Object leftOperand, Object rightOperand);
+	
+	/**
+	 * Indicates if this operator always returns same result for same operands. Deterministic operators
+	 * with constant operands are evaluated during compilation.
+	 * @return true if operator is deterministic
+	 */
+	public default boolean isDeterministic()
+	{
+		return true;
+	}
 }
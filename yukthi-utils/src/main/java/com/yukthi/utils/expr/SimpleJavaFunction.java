@@ -1,9 +1,12 @@
 package com.yukthi.utils.expr;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.function.Function;
+
+import org.apache.commons.lang.ClassUtils;
 
 import com.yukthi.utils.ConvertUtils;
 import com.yukthi.utils.exceptions.InvalidArgumentException;
@@ -39,6 +42,26 @@ public class SimpleJavaFunction implements IFunction
 	 */
 	private Method method;
 	
+	/**
+	 * Flag indicating if the function is deterministic.
+	 */
+	private boolean deterministic;
+	
+	/**
+	 * Method handle of the method, which accepts arguments as object array.
+	 */
+	private MethodHandle methodHandle;
+	
+	/**
+	 * Converters for the method parameters. For var args parameter, converter will be for component type.
+	 */
+	private Function<Object, Object> argConverters[];
+	
+	/**
+	 * Var args component type, if last parameter is array.
+	 */
+	private Class<?> varArgsType;
+	
 	/**
 	 * Instantiates a new simple java function.
 	 *
@@ -51,8 +74,65 @@ public class SimpleJavaFunction implements IFunction
 		syntax = info.syntax();
 		description = info.description();
 		paramList = info.matchParameterTypes().length > 0 ? info.matchParameterTypes() : null;
+		deterministic = info.deterministic();
 		
 		this.method = method;
+		compile();
+	}
+	
+	/**
+	 * Creates the method handle and argument converters, so that evaluation does not need to resolve them.
+	 */
+	@SuppressWarnings("unchecked")
+	private void compile()
+	{
+		Class<?> funcParamTypes[] = method.getParameterTypes();
+		int lastIdx = funcParamTypes.length - 1;
+		
+		argConverters = new Function[funcParamTypes.length];
+		
+		for(int i = 0; i < funcParamTypes.length; i++)
+		{
+			//if last parameter type is array (var args)
+			if(i == lastIdx && funcParamTypes[i].isArray())
+			{
+				varArgsType = funcParamTypes[i].getComponentType();
+				argConverters[i] = newConverter(varArgsType);
+				break;
+			}
+			
+			argConverters[i] = newConverter(funcParamTypes[i]);
+		}
+		
+		try
+		{
+			method.setAccessible(true);
+			
+			MethodHandle handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+			methodHandle = handle.asType(handle.type().generic()).asSpreader(Object[].class, funcParamTypes.length);
+		}catch(Exception ex)
+		{
+			throw new InvalidStateException(ex, "An error occurred while creating method handle for function - {}", name);
+		}
+	}
+	
+	/**
+	 * Creates converter which converts values to specified type, when value is not of required type.
+	 * @param type Type to which values should be converted
+	 * @return Converter
+	 */
+	private static Function<Object, Object> newConverter(Class<?> type)
+	{
+		Class<?> targetType = ClassUtils.primitiveToWrapper(type);
+		
+		return value -> {
+			if(value == null || targetType.isInstance(value))
+			{
+				return value;
+			}
+			
+			return ConvertUtils.convert(value, type);
+		};
 	}
 
 	/* (non-Javadoc)
@@ -161,47 +241,52 @@ public class SimpleJavaFunction implements IFunction
 		return firstParamType;
 	}
 
+	/* (non-Javadoc)
+	 * @see com.yukthi.utils.expr.IFunction#isDeterministic()
+	 */
+	@Override
+	public boolean isDeterministic()
+	{
+		return deterministic;
+	}
+
 	/* (non-Javadoc)
 	 * @see com.yukthi.webutils.utils.expr.IFunction#evaluate(java.lang.Object[])
 	 */
 	@Override
 	public Object evaluate(Object[] parameters)
 	{
-		List<Object> methodArgs = new ArrayList<>();
+		Object methodArgs[] = new Object[argConverters.length];
+		int fixedCount = (varArgsType != null) ? argConverters.length - 1 : argConverters.length;
 		
-		Class<?> funcParamTypes[] = this.method.getParameterTypes();
-		int lastIdx = this.method.getParameterTypes().length - 1;
+		for(int i = 0; i < fixedCount; i++)
+		{
+			//when parameter type is not matching, try conversion
+			methodArgs[i] = argConverters[i].apply(parameters[i]);
+		}
 		
-		for(int i = 0; i < funcParamTypes.length; i++)
+		//collect remaining parameters as var args
+		if(varArgsType != null)
 		{
-			//if last parameter type is array (var args)
-			if(i == lastIdx && funcParamTypes[i].isArray())
-			{
-				int leftCount = parameters.length - i;
-				Object array[] = (Object[]) Array.newInstance(funcParamTypes[i].getComponentType(), leftCount);
-				
-				for(int j = i, k = 0; j < parameters.length; j++, k++)
-				{
-					array[k] = parameters[j];
-				}
-				
-				methodArgs.add(array);
-				break;
-			}
+			int leftCount = parameters.length - fixedCount;
+			Object array[] = (Object[]) Array.newInstance(varArgsType, leftCount);
+			Function<Object, Object> varArgConverter = argConverters[fixedCount];
 			
-			//when parameter type is not matching, try conversion
-			if(!funcParamTypes[i].isAssignableFrom(parameters[i].getClass()))
+			for(int j = fixedCount, k = 0; j < parameters.length; j++, k++)
 			{
-				parameters[i] = ConvertUtils.convert(parameters[i], funcParamTypes[i]);
+				array[k] = varArgConverter.apply(parameters[j]);
 			}
 			
-			methodArgs.add(parameters[i]);
+			methodArgs[fixedCount] = array;
 		}
 
 		try
 		{
-			return method.invoke(null, (Object[]) methodArgs.toArray());
-		}catch(Exception ex)
+			return (Object) methodHandle.invokeExact(methodArgs);
+		}catch(Error ex)
+		{
+			throw ex;
+		}catch(Throwable ex)
 		{
 			throw new InvalidStateException(ex, "An error occurred while invoking function - " + name);
 		}
@@ -0,0 +1,28 @@
+package com.yukthi.utils.pool;
+
+import java.sql.Connection;
+
+/**
+ * Connection returned by {@link PooledDataSource}. Apart from the connection functionality, this provides attributes
+ * which are bound to the underlying physical connection, and so are retained across borrows of the same physical connection.
+ * This can be used to maintain per connection resources, like prepared statement caches.
+ * <p>
+ * Attribute values which are {@link AutoCloseable} are closed when the physical connection is closed.
+ * @author akiran
+ */
+public interface PooledConnection extends Connection
+{
+	/**
+	 * Fetches the attribute with specified name, of underlying physical connection.
+	 * @param name Name of the attribute
+	 * @return Attribute value, null if not set
+	 */
+	public Object getAttribute(String name);
+	
+	/**
+	 * Sets the attribute with specified name on underlying physical connection. Null value removes the attribute.
+	 * @param name Name of the attribute
+	 * @param value Value of the attribute
+	 */
+	public void setAttribute(String name, Object value);
+}
@@ -0,0 +1,1025 @@
+package com.yukthi.utils.pool;
+
+import java.io.Closeable;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Lightweight pooled data source. Connections are created using {@link DriverManager} with configured url
+ * and credentials, and are reused across {@link #getConnection()} calls. Connection returned by this data source
+ * returns the underlying connection to the pool on close. Returned connections are {@link PooledConnection}s, which
+ * can hold attributes that are retained across borrows of the same physical connection.
+ * <p>
+ * Supports following features:
+ * <UL>
+ * 	<LI>Minimum and maximum pool size. Pool is filled to minimum size lazily, on first usage.</LI>
+ * 	<LI>Acquire timeout, which limits the time a caller waits for a connection when all connections are in use.</LI>
+ * 	<LI>Idle eviction of connections which are not used for configured time, beyond minimum size.</LI>
+ * 	<LI>Validation of idle connections on borrow.</LI>
+ * 	<LI>Leak detection, which logs the borrower stack trace of connections not returned in configured time.</LI>
+ * </UL>
+ * @author akiran
+ */
+public class PooledDataSource implements DataSource, Closeable
+{
+	private static Logger logger = LogManager.getLogger(PooledDataSource.class);
+	
+	/**
+	 * Connections used within this time (in millis) are not validated on borrow
+	 */
+	private static final long VALIDATION_BYPASS_WINDOW = 500;
+	
+	/**
+	 * Executor used to run house keeping (eviction and leak detection) of all the pools
+	 */
+	private static ScheduledExecutorService houseKeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "connection-pool-housekeeper");
+		thread.setDaemon(true);
+		return thread;
+	});
+	
+	/**
+	 * Pooled physical connection details
+	 * @author akiran
+	 */
+	private static class PoolEntry
+	{
+		/**
+		 * Physical connection
+		 */
+		private Connection connection;
+		
+		/**
+		 * Auto commit flag of connection at the time of creation, which gets restored when connection is returned
+		 */
+		private boolean defaultAutoCommit;
+		
+		/**
+		 * Transaction isolation of connection at the time of creation, which gets restored when connection is returned
+		 */
+		private int defaultTransactionIsolation;
+		
+		/**
+		 * Read only flag of connection at the time of creation, which gets restored when connection is returned
+		 */
+		private boolean defaultReadOnly;
+		
+		/**
+		 * Catalog of connection at the time of creation, which gets restored when connection is returned
+		 */
+		private String defaultCatalog;
+		
+		/**
+		 * Time at which the connection was last returned to the pool
+		 */
+		private volatile long lastUsedTime;
+		
+		/**
+		 * Time at which the connection was borrowed
+		 */
+		private volatile long borrowTime;
+		
+		/**
+		 * Stack trace of borrower, maintained only when leak detection is enabled
+		 */
+		private volatile Throwable borrowTrace;
+		
+		/**
+		 * Flag indicating leak is already reported for current borrow
+		 */
+		private volatile boolean leakReported;
+		
+		/**
+		 * Attributes bound to the physical connection
+		 */
+		private Map<String, Object> attributes = new ConcurrentHashMap<>();
+		
+		private PoolEntry(Connection connection) throws SQLException
+		{
+			this.connection = connection;
+			this.defaultAutoCommit = connection.getAutoCommit();
+			this.defaultTransactionIsolation = connection.getTransactionIsolation();
+			this.defaultReadOnly = connection.isReadOnly();
+			this.defaultCatalog = connection.getCatalog();
+			this.lastUsedTime = System.currentTimeMillis();
+		}
+	}
+	
+	/**
+	 * Handler of the connection proxy returned to callers, which returns the connection to pool on close
+	 * @author akiran
+	 */
+	private class ConnectionHandler implements InvocationHandler
+	{
+		private PoolEntry entry;
+		
+		private volatile boolean closed = false;
+		
+		private ConnectionHandler(PoolEntry entry)
+		{
+			this.entry = entry;
+		}
+		
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+		{
+			String name = method.getName();
+			int argCount = (args == null) ? 0 : args.length;
+			
+			if("close".equals(name) && argCount == 0)
+			{
+				if(!closed)
+				{
+					closed = true;
+					release(entry);
+				}
+				
+				return null;
+			}
+			
+			if("isClosed".equals(name) && argCount == 0)
+			{
+				return closed || entry.connection.isClosed();
+			}
+			
+			if("equals".equals(name) && argCount == 1)
+			{
+				return (proxy == args[0]);
+			}
+			
+			if("hashCode".equals(name) && argCount == 0)
+			{
+				return System.identityHashCode(proxy);
+			}
+			
+			if("toString".equals(name) && argCount == 0)
+			{
+				return "Pooled[" + entry.connection + "]";
+			}
+			
+			if(method.getDeclaringClass() == PooledConnection.class)
+			{
+				if(closed)
+				{
+					throw new IllegalStateException("Connection is already returned to the pool");
+				}
+				
+				if("getAttribute".equals(name))
+				{
+					return entry.attributes.get(args[0]);
+				}
+				
+				if(args[1] == null)
+				{
+					entry.attributes.remove(args[0]);
+				}
+				else
+				{
+					entry.attributes.put((String)args[0], args[1]);
+				}
+				
+				return null;
+			}
+			
+			if(closed)
+			{
+				throw new SQLException("Connection is already returned to the pool");
+			}
+			
+			try
+			{
+				return method.invoke(entry.connection, args);
+			}catch(InvocationTargetException ex)
+			{
+				throw ex.getCause();
+			}
+		}
+	}
+	
+	/**
+	 * Jdbc driver class name
+	 */
+	private String driverClassName;
+	
+	/**
+	 * Jdbc url
+	 */
+	private String url;
+	
+	/**
+	 * User name to be used for connecting
+	 */
+	private String username;
+	
+	/**
+	 * Password to be used for connecting
+	 */
+	private String password;
+	
+	/**
+	 * Minimum number of connections to be maintained in pool
+	 */
+	private int minSize = 0;
+	
+	/**
+	 * Maximum number of connections that can be used at a time
+	 */
+	private int maxSize = 10;
+	
+	/**
+	 * Maximum time (in millis) to wait for a connection, when all connections are in use
+	 */
+	private long acquireTimeout = 30000;
+	
+	/**
+	 * Time (in millis) after which idle connections beyond minimum size are closed. Zero or negative value
+	 * disables eviction.
+	 */
+	private long idleTimeout = 600000;
+	
+	/**
+	 * Interval (in millis) at which idle connections and leaks are checked
+	 */
+	private long houseKeepingInterval = 30000;
+	
+	/**
+	 * Flag indicating if idle connections should be validated before handing them out
+	 */
+	private boolean validateOnBorrow = true;
+	
+	/**
+	 * Query to be used for validation. If not specified, {@link Connection#isValid(int)} is used.
+	 */
+	private String validationQuery;
+	
+	/**
+	 * Timeout (in seconds) for validation
+	 */
+	private int validationTimeout = 5;
+	
+	/**
+	 * Time (in millis) after which borrowed connection is reported as possible leak. Zero or negative value
+	 * disables leak detection.
+	 */
+	private long leakDetectionThreshold = 0;
+	
+	/**
+	 * Log writer of data source
+	 */
+	private PrintWriter logWriter;
+	
+	/**
+	 * Login timeout of data source
+	 */
+	private int loginTimeout;
+	
+	/**
+	 * Idle connections. Most recently used connections are maintained at head.
+	 */
+	private LinkedBlockingDeque<PoolEntry> idleEntries = new LinkedBlockingDeque<>();
+	
+	/**
+	 * Connections in use
+	 */
+	private Set<PoolEntry> borrowedEntries = ConcurrentHashMap.newKeySet();
+	
+	/**
+	 * Number of physical connections maintained by the pool
+	 */
+	private AtomicInteger totalCount = new AtomicInteger();
+	
+	/**
+	 * Permits which limit the number of connections in use
+	 */
+	private Semaphore permits;
+	
+	/**
+	 * House keeping task of this pool
+	 */
+	private ScheduledFuture<?> houseKeepingTask;
+	
+	private volatile boolean initialized = false;
+	
+	private volatile boolean closed = false;
+	
+	public PooledDataSource()
+	{}
+	
+	public PooledDataSource(String driverClassName, String url, String username, String password)
+	{
+		this.driverClassName = driverClassName;
+		this.url = url;
+		this.username = username;
+		this.password = password;
+	}
+	
+	/**
+	 * Ensures configuration is not changed after pool is initialized
+	 */
+	private void checkNotInitialized()
+	{
+		if(initialized)
+		{
+			throw new IllegalStateException("Configuration can not be changed after pool is initialized");
+		}
+	}
+	
+	/**
+	 * @return the {@link #driverClassName driverClassName}
+	 */
+	public String getDriverClassName()
+	{
+		return driverClassName;
+	}
+	
+	/**
+	 * @param driverClassName the {@link #driverClassName driverClassName} to set
+	 */
+	public void setDriverClassName(String driverClassName)
+	{
+		checkNotInitialized();
+		this.driverClassName = driverClassName;
+	}
+	
+	/**
+	 * @return the {@link #url url}
+	 */
+	public String getUrl()
+	{
+		return url;
+	}
+	
+	/**
+	 * @param url the {@link #url url} to set
+	 */
+	public void setUrl(String url)
+	{
+		checkNotInitialized();
+		this.url = url;
+	}
+	
+	/**
+	 * @return the {@link #username username}
+	 */
+	public String getUsername()
+	{
+		return username;
+	}
+	
+	/**
+	 * @param username the {@link #username username} to set
+	 */
+	public void setUsername(String username)
+	{
+		checkNotInitialized();
+		this.username = username;
+	}
+	
+	/**
+	 * @param password the {@link #password password} to set
+	 */
+	public void setPassword(String password)
+	{
+		checkNotInitialized();
+		this.password = password;
+	}
+	
+	/**
+	 * @return the {@link #minSize minSize}
+	 */
+	public int getMinSize()
+	{
+		return minSize;
+	}
+	
+	/**
+	 * @param minSize the {@link #minSize minSize} to set
+	 */
+	public void setMinSize(int minSize)
+	{
+		checkNotInitialized();
+		
+		if(minSize < 0)
+		{
+			throw new IllegalArgumentException("Minimum pool size can not be negative - " + minSize);
+		}
+		
+		this.minSize = minSize;
+	}
+	
+	/**
+	 * @return the {@link #maxSize maxSize}
+	 */
+	public int getMaxSize()
+	{
+		return maxSize;
+	}
+	
+	/**
+	 * @param maxSize the {@link #maxSize maxSize} to set
+	 */
+	public void setMaxSize(int maxSize)
+	{
+		checkNotInitialized();
+		
+		if(maxSize <= 0)
+		{
+			throw new IllegalArgumentException("Maximum pool size should be non-zero positive value - " + maxSize);
+		}
+		
+		this.maxSize = maxSize;
+	}
+	
+	/**
+	 * @return the {@link #acquireTimeout acquireTimeout}
+	 */
+	public long getAcquireTimeout()
+	{
+		return acquireTimeout;
+	}
+	
+	/**
+	 * @param acquireTimeout the {@link #acquireTimeout acquireTimeout} to set
+	 */
+	public void setAcquireTimeout(long acquireTimeout)
+	{
+		this.acquireTimeout = acquireTimeout;
+	}
+	
+	/**
+	 * @return the {@link #idleTimeout idleTimeout}
+	 */
+	public long getIdleTimeout()
+	{
+		return idleTimeout;
+	}
+	
+	/**
+	 * @param idleTimeout the {@link #idleTimeout idleTimeout} to set
+	 */
+	public void setIdleTimeout(long idleTimeout)
+	{
+		this.idleTimeout = idleTimeout;
+	}
+	
+	/**
+	 * @return the {@link #houseKeepingInterval houseKeepingInterval}
+	 */
+	public long getHouseKeepingInterval()
+	{
+		return houseKeepingInterval;
+	}
+	
+	/**
+	 * @param houseKeepingInterval the {@link #houseKeepingInterval houseKeepingInterval} to set
+	 */
+	public void setHouseKeepingInterval(long houseKeepingInterval)
+	{
+		checkNotInitialized();
+		
+		if(houseKeepingInterval <= 0)
+		{
+			throw new IllegalArgumentException("House keeping interval should be non-zero positive value - " + houseKeepingInterval);
+		}
+		
+		this.houseKeepingInterval = houseKeepingInterval;
+	}
+	
+	/**
+	 * @return the {@link #validateOnBorrow validateOnBorrow}
+	 */
+	public boolean isValidateOnBorrow()
+	{
+		return validateOnBorrow;
+	}
+	
+	/**
+	 * @param validateOnBorrow the {@link #validateOnBorrow validateOnBorrow} to set
+	 */
+	public void setValidateOnBorrow(boolean validateOnBorrow)
+	{
+		this.validateOnBorrow = validateOnBorrow;
+	}
+	
+	/**
+	 * @return the {@link #validationQuery validationQuery}
+	 */
+	public String getValidationQuery()
+	{
+		return validationQuery;
+	}
+	
+	/**
+	 * @param validationQuery the {@link #validationQuery validationQuery} to set
+	 */
+	public void setValidationQuery(String validationQuery)
+	{
+		this.validationQuery = validationQuery;
+	}
+	
+	/**
+	 * @return the {@link #validationTimeout validationTimeout}
+	 */
+	public int getValidationTimeout()
+	{
+		return validationTimeout;
+	}
+	
+	/**
+	 * @param validationTimeout the {@link #validationTimeout validationTimeout} to set
+	 */
+	public void setValidationTimeout(int validationTimeout)
+	{
+		this.validationTimeout = validationTimeout;
+	}
+	
+	/**
+	 * @return the {@link #leakDetectionThreshold leakDetectionThreshold}
+	 */
+	public long getLeakDetectionThreshold()
+	{
+		return leakDetectionThreshold;
+	}
+	
+	/**
+	 * @param leakDetectionThreshold the {@link #leakDetectionThreshold leakDetectionThreshold} to set
+	 */
+	public void setLeakDetectionThreshold(long leakDetectionThreshold)
+	{
+		this.leakDetectionThreshold = leakDetectionThreshold;
+	}
+	
+	/**
+	 * Fetches number of connections currently in use
+	 * @return number of connections in use
+	 */
+	public int getActiveCount()
+	{
+		return borrowedEntries.size();
+	}
+	
+	/**
+	 * Fetches number of idle connections in pool
+	 * @return number of idle connections
+	 */
+	public int getIdleCount()
+	{
+		return idleEntries.size();
+	}
+	
+	/**
+	 * Fetches number of physical connections maintained by pool
+	 * @return number of physical connections
+	 */
+	public int getTotalCount()
+	{
+		return totalCount.get();
+	}
+	
+	/**
+	 * Initializes the pool on first usage
+	 * @throws SQLException
+	 */
+	private synchronized void initialize() throws SQLException
+	{
+		if(initialized)
+		{
+			return;
+		}
+		
+		if(closed)
+		{
+			throw new SQLException("Data source is already closed");
+		}
+		
+		if(url == null)
+		{
+			throw new SQLException("No jdbc url is specified for data source");
+		}
+		
+		if(minSize > maxSize)
+		{
+			throw new SQLException(String.format("Minimum pool size (%s) is greater than maximum pool size (%s)", minSize, maxSize));
+		}
+		
+		if(driverClassName != null)
+		{
+			try
+			{
+				Class.forName(driverClassName);
+			}catch(Exception ex)
+			{
+				throw new SQLException("Invalid driver class name specified: " + driverClassName, ex);
+			}
+		}
+		
+		permits = new Semaphore(maxSize, true);
+		initialized = true;
+		
+		fillMinimum();
+		houseKeepingTask = houseKeeper.scheduleWithFixedDelay(this::houseKeep, houseKeepingInterval, houseKeepingInterval, TimeUnit.MILLISECONDS);
+		
+		logger.debug("Initialized connection pool for url {} with min size {} and max size {}", url, minSize, maxSize);
+	}
+	
+	/**
+	 * Creates new physical connection
+	 * @return Pool entry of new connection
+	 * @throws SQLException
+	 */
+	private PoolEntry createEntry() throws SQLException
+	{
+		Properties properties = new Properties();
+		
+		if(username != null)
+		{
+			properties.setProperty("user", username);
+		}
+		
+		if(password != null)
+		{
+			properties.setProperty("password", password);
+		}
+		
+		PoolEntry entry = new PoolEntry(DriverManager.getConnection(url, properties));
+		totalCount.incrementAndGet();
+		
+		return entry;
+	}
+	
+	/**
+	 * Closes closeable attributes of specified entry and clears the attributes
+	 * @param entry Entry whose attributes needs to be closed
+	 */
+	private void closeAttributes(PoolEntry entry)
+	{
+		for(Object value : entry.attributes.values())
+		{
+			if(!(value instanceof AutoCloseable))
+			{
+				continue;
+			}
+			
+			try
+			{
+				((AutoCloseable)value).close();
+			}catch(Exception ex)
+			{
+				logger.warn("An error occurred while closing pooled connection attribute - " + value, ex);
+			}
+		}
+		
+		entry.attributes.clear();
+	}
+	
+	/**
+	 * Closes the physical connection of specified entry, along with its attributes
+	 * @param entry Entry to close
+	 */
+	private void closeEntry(PoolEntry entry)
+	{
+		totalCount.decrementAndGet();
+		closeAttributes(entry);
+		
+		try
+		{
+			entry.connection.close();
+		}catch(SQLException ex)
+		{
+			logger.warn("An error occurred while closing pooled connection", ex);
+		}
+	}
+	
+	/**
+	 * Checks if connection of specified entry is still valid
+	 * @param entry Entry to check
+	 * @return true if connection is valid
+	 */
+	private boolean isValid(PoolEntry entry)
+	{
+		//avoid validating connections which are used just now
+		if(System.currentTimeMillis() - entry.lastUsedTime < VALIDATION_BYPASS_WINDOW)
+		{
+			return true;
+		}
+		
+		try
+		{
+			if(validationQuery == null)
+			{
+				return entry.connection.isValid(validationTimeout);
+			}
+			
+			try(Statement statement = entry.connection.createStatement())
+			{
+				statement.setQueryTimeout(validationTimeout);
+				statement.execute(validationQuery);
+			}
+			
+			return true;
+		}catch(SQLException ex)
+		{
+			logger.debug("Validation of pooled connection failed", ex);
+			return false;
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see javax.sql.DataSource#getConnection()
+	 */
+	@Override
+	public Connection getConnection() throws SQLException
+	{
+		if(!initialized)
+		{
+			initialize();
+		}
+		
+		if(closed)
+		{
+			throw new SQLException("Data source is already closed");
+		}
+		
+		try
+		{
+			if(!permits.tryAcquire(acquireTimeout, TimeUnit.MILLISECONDS))
+			{
+				throw new SQLTimeoutException(String.format("Failed to obtain connection within %s millis. Active connections: %s", acquireTimeout, borrowedEntries.size()));
+			}
+		}catch(InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw new SQLException("Thread was interrupted while waiting for connection", ex);
+		}
+		
+		try
+		{
+			PoolEntry entry = null;
+			
+			//find a valid idle connection, discarding invalid ones
+			while((entry = idleEntries.pollFirst()) != null)
+			{
+				if(!validateOnBorrow || isValid(entry))
+				{
+					break;
+				}
+				
+				logger.debug("Discarding invalid pooled connection");
+				closeEntry(entry);
+			}
+			
+			if(entry == null)
+			{
+				entry = createEntry();
+			}
+			
+			entry.borrowTime = System.currentTimeMillis();
+			entry.borrowTrace = (leakDetectionThreshold > 0) ? new Exception("Connection borrowed by") : null;
+			entry.leakReported = false;
+			
+			borrowedEntries.add(entry);
+			
+			return (Connection)Proxy.newProxyInstance(PooledDataSource.class.getClassLoader(), new Class<?>[] {PooledConnection.class}, new ConnectionHandler(entry));
+		}catch(SQLException | RuntimeException ex)
+		{
+			permits.release();
+			throw ex;
+		}
+	}
+	
+	/**
+	 * Returns the specified entry to the pool, after resetting its state
+	 * @param entry Entry to be returned
+	 */
+	private void release(PoolEntry entry)
+	{
+		borrowedEntries.remove(entry);
+		
+		try
+		{
+			Connection connection = entry.connection;
+			
+			if(connection.isClosed())
+			{
+				totalCount.decrementAndGet();
+				closeAttributes(entry);
+				return;
+			}
+			
+			//discard uncommitted changes, if any, and restore the settings changed by borrower
+			if(!connection.getAutoCommit())
+			{
+				connection.rollback();
+			}
+			
+			if(connection.getTransactionIsolation() != entry.defaultTransactionIsolation)
+			{
+				connection.setTransactionIsolation(entry.defaultTransactionIsolation);
+			}
+			
+			if(connection.isReadOnly() != entry.defaultReadOnly)
+			{
+				connection.setReadOnly(entry.defaultReadOnly);
+			}
+			
+			if(entry.defaultCatalog != null && !entry.defaultCatalog.equals(connection.getCatalog()))
+			{
+				connection.setCatalog(entry.defaultCatalog);
+			}
+			
+			if(connection.getAutoCommit() != entry.defaultAutoCommit)
+			{
+				connection.setAutoCommit(entry.defaultAutoCommit);
+			}
+			
+			if(closed)
+			{
+				closeEntry(entry);
+				return;
+			}
+			
+			entry.lastUsedTime = System.currentTimeMillis();
+			idleEntries.offerFirst(entry);
+		}catch(SQLException ex)
+		{
+			logger.warn("An error occurred while returning connection to pool. Connection will be discarded.", ex);
+			closeEntry(entry);
+		}finally
+		{
+			permits.release();
+		}
+	}
+	
+	/**
+	 * Creates connections till minimum pool size is reached
+	 */
+	private void fillMinimum()
+	{
+		while(!closed && totalCount.get() < minSize)
+		{
+			try
+			{
+				idleEntries.offerLast(createEntry());
+			}catch(SQLException ex)
+			{
+				logger.warn("An error occurred while creating minimum connections of pool", ex);
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * Evicts idle connections, reports leaks and maintains minimum connections.
+	 */
+	private void houseKeep()
+	{
+		try
+		{
+			long now = System.currentTimeMillis();
+			
+			if(idleTimeout > 0)
+			{
+				//least recently used connections are at the tail
+				Iterator<PoolEntry> it = idleEntries.descendingIterator();
+				PoolEntry entry = null;
+				
+				while(it.hasNext() && totalCount.get() > minSize)
+				{
+					entry = it.next();
+					
+					//remove from idle list, only if it is not borrowed meanwhile
+					if(now - entry.lastUsedTime > idleTimeout && idleEntries.remove(entry))
+					{
+						logger.debug("Closing idle connection");
+						closeEntry(entry);
+					}
+				}
+			}
+			
+			if(leakDetectionThreshold > 0)
+			{
+				for(PoolEntry entry : borrowedEntries)
+				{
+					if(!entry.leakReported && (now - entry.borrowTime) > leakDetectionThreshold)
+					{
+						entry.leakReported = true;
+						logger.warn("Connection is not returned to the pool for more than {} millis, possible connection leak", leakDetectionThreshold, entry.borrowTrace);
+					}
+				}
+			}
+			
+			fillMinimum();
+		}catch(RuntimeException ex)
+		{
+			logger.error("An error occurred during connection pool house keeping", ex);
+		}
+	}
+	
+	/**
+	 * Closes the pool. Idle connections are closed immediately and connections in use are closed when they are returned.
+	 */
+	@Override
+	public synchronized void close()
+	{
+		if(closed)
+		{
+			return;
+		}
+		
+		closed = true;
+		
+		if(houseKeepingTask != null)
+		{
+			houseKeepingTask.cancel(false);
+		}
+		
+		PoolEntry entry = null;
+		
+		while((entry = idleEntries.pollFirst()) != null)
+		{
+			closeEntry(entry);
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see javax.sql.DataSource#getConnection(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException
+	{
+		throw new SQLFeatureNotSupportedException("Pooled data source does not support connections with different credentials");
+	}
+	
+	@Override
+	public PrintWriter getLogWriter() throws SQLException
+	{
+		return logWriter;
+	}
+	
+	@Override
+	public void setLogWriter(PrintWriter out) throws SQLException
+	{
+		this.logWriter = out;
+	}
+	
+	@Override
+	public void setLoginTimeout(int seconds) throws SQLException
+	{
+		this.loginTimeout = seconds;
+	}
+	
+	@Override
+	public int getLoginTimeout() throws SQLException
+	{
+		return loginTimeout;
+	}
+	
+	@Override
+	public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException
+	{
+		throw new SQLFeatureNotSupportedException();
+	}
+	
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException
+	{
+		if(iface.isInstance(this))
+		{
+			return iface.cast(this);
+		}
+		
+		throw new SQLException("Data source is not a wrapper for - " + iface.getName());
+	}
+	
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException
+	{
+		return iface.isInstance(this);
+	}
+}
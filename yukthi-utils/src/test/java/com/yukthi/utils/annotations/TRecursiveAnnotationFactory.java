@@ -23,7 +23,12 @@
 
 package com.yukthi.utils.annotations;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -145,5 +150,47 @@ public class TRecursiveAnnotationFactory
 		Assert.assertNotNull(recursiveAnnotationFactory.findAllAnnotationsRecursively(testClass.getMethod("suppressMethod2"), SearchResult.class));
 	}
 
+	/**
+	 * Ensures resolved annotations, including negative results, are cached
+	 * @throws Exception
+	 */
+	@Test
+	public void testCachedResolution() throws Exception
+	{
+		Method method = testClass.getMethod("simplePropOverride");
+		SearchResult searchResult = recursiveAnnotationFactory.findAnnotationRecursively(method, SearchResult.class);
+		
+		//same proxy annotation should be returned, even by other factory instance
+		Assert.assertSame(new RecursiveAnnotationFactory().findAnnotationRecursively(method, SearchResult.class), searchResult);
+		Assert.assertSame(recursiveAnnotationFactory.findAnnotationRecursively(testClass.getMethod("simplePropOverride"), SearchResult.class), searchResult);
+		
+		Assert.assertNull(recursiveAnnotationFactory.findAnnotationRecursively(method, OrderBy.class));
+		Assert.assertNull(recursiveAnnotationFactory.findAnnotationRecursively(method, OrderBy.class));
+		Assert.assertNull(recursiveAnnotationFactory.findAllAnnotationsRecursively(testClass.getMethod("suppressMethod1"), SearchResult.class));
+	}
+	
+	/**
+	 * Ensures effective annotations include meta annotations with overridden properties
+	 * @throws Exception
+	 */
+	@Test
+	public void testEffectiveAnnotations() throws Exception
+	{
+		Method method = testClass.getMethod("multiOverride");
+		Map<Class<? extends Annotation>, List<Annotation>> annotations = recursiveAnnotationFactory.getEffectiveAnnotations(method);
+		
+		Assert.assertEquals(annotations.keySet(), new HashSet<>(Arrays.asList(LovQuery5.class, SearchResult.class, OrderBy.class)));
+		
+		SearchResult searchResult = (SearchResult)annotations.get(SearchResult.class).get(0);
+		Assert.assertEquals(searchResult.count(), 60);
+		Assert.assertEquals(searchResult.mappings()[0].field(), "field6");
+		Assert.assertEquals(searchResult.returnMapping().field(), "field6");
+		
+		OrderBy orderBy = (OrderBy)annotations.get(OrderBy.class).get(0);
+		Assert.assertEquals(orderBy.fields()[0], "field6");
+		
+		Assert.assertSame(recursiveAnnotationFactory.getEffectiveAnnotations(method), annotations);
+	}
+
 	//TODO: add test cases for multi dimension array, sub annotation override
 }
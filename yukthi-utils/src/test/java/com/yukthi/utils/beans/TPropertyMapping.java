@@ -71,4 +71,18 @@ public class TPropertyMapping
 		Assert.assertEquals(modelBean.getFile().getId(), 2000L);
 		Assert.assertEquals(modelBean.getFile().getName(), "file2000");
 	}
+	
+	/**
+	 * Ensures bean info is cached against the requested bean type
+	 */
+	@Test
+	public void testBeanInfoCache()
+	{
+		BeanInfo beanInfo = PropertyMapper.getBeanInfo(EntityBean.class);
+		
+		Assert.assertSame(PropertyMapper.getBeanInfo(EntityBean.class), beanInfo);
+		Assert.assertEquals(beanInfo.getBeanType(), EntityBean.class);
+		Assert.assertNotNull(beanInfo.getProperty("entityName"));
+		Assert.assertNotNull(beanInfo.getMappings(ModelBean.class));
+	}
 }
@@ -206,4 +206,60 @@ public class TExpressionEvaluator
 		Assert.assertEquals(expressionEvaluator.parse("SUM(4, 5, 6)").evaluate(variableValueProvider, registry), (Double)15.0);
 		Assert.assertEquals(expressionEvaluator.parse("SUM(2)").evaluate(variableValueProvider, registry), (Double)2.0);
 	}
+	
+	/**
+	 * Tests compiled expressions evaluate same as parsed expressions and constants are folded.
+	 */
+	@Test
+	public void testCompiledEvaluation()
+	{
+		ExpressionRegistry registry = new ExpressionRegistry();
+		RegistryFactory.registerDefaults(registry);
+		
+		IVariableValueProvider variableValueProvider = name -> {
+			if("a".equals(name) || "b".equals(name))
+			{
+				return 20;
+			}
+			
+			if(name.startsWith("str"))
+			{
+				return name;
+			}
+			
+			return null;
+		};
+		
+		String expressions[] = {"(a * 2) + 10", "IF(a > 10, 30, 40.5)", "MAX(3, a, 1, 2)", "IS_BLANK(xyz)", "NVL(xyz, 10, 20)", "(a > 3) && NOT(b < 3)"};
+		
+		for(String expressionStr : expressions)
+		{
+			CompiledExpression compiledExpression = expressionEvaluator.compile(expressionStr, registry);
+			
+			Assert.assertEquals(compiledExpression.evaluate(variableValueProvider), 
+					expressionEvaluator.parse(expressionStr).evaluate(variableValueProvider, registry), "Result mismatch for expression - " + expressionStr);
+			Assert.assertFalse(compiledExpression.isConstant(), "Expression is found to be constant - " + expressionStr);
+			
+			//ensure compiled expression is cached
+			Assert.assertSame(expressionEvaluator.compile(expressionStr, registry), compiledExpression);
+		}
+		
+		//test constant folding
+		CompiledExpression compiledExpression = expressionEvaluator.compile("SUM(3 * 4, MAX(1, 5)) + 2", registry);
+		Assert.assertTrue(compiledExpression.isConstant());
+		Assert.assertEquals(compiledExpression.evaluate(variableValueProvider), (Double)19.0);
+		
+		//non-deterministic functions should not be folded
+		Assert.assertFalse(expressionEvaluator.compile("RANDOM() * 2", registry).isConstant());
+		
+		//functions should be resolved during compilation
+		try
+		{
+			expressionEvaluator.compile("UNKNOWN_FUNC(a)", registry);
+			Assert.fail("Exception is not thrown.");
+		}catch(Exception ex)
+		{
+			Assert.assertTrue(ex.getMessage().contains("UNKNOWN_FUNC"));
+		}
+	}
 }
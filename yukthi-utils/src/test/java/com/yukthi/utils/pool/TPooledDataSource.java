@@ -0,0 +1,335 @@
+package com.yukthi.utils.pool;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Ensures pooled data source reuses, limits, validates and evicts connections.
+ * @author akiran
+ */
+public class TPooledDataSource
+{
+	private static final String URL = "jdbc:testpool:db";
+	
+	/**
+	 * Physical connection created by test driver
+	 */
+	private static class TestConnection
+	{
+		private AtomicBoolean closed = new AtomicBoolean(false);
+		private AtomicBoolean valid = new AtomicBoolean(true);
+		private boolean autoCommit = true;
+		private int transactionIsolation = Connection.TRANSACTION_READ_COMMITTED;
+		private boolean readOnly = false;
+		private String catalog = "main";
+		private int rollbacks = 0;
+		
+		private Connection connection = (Connection)Proxy.newProxyInstance(TPooledDataSource.class.getClassLoader(), new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+			switch(method.getName())
+			{
+				case "close":
+					closed.set(true);
+					return null;
+				case "isClosed":
+					return closed.get();
+				case "isValid":
+					return valid.get() && !closed.get();
+				case "getAutoCommit":
+					return autoCommit;
+				case "setAutoCommit":
+					autoCommit = (Boolean)args[0];
+					return null;
+				case "getTransactionIsolation":
+					return transactionIsolation;
+				case "setTransactionIsolation":
+					transactionIsolation = (Integer)args[0];
+					return null;
+				case "isReadOnly":
+					return readOnly;
+				case "setReadOnly":
+					readOnly = (Boolean)args[0];
+					return null;
+				case "getCatalog":
+					return catalog;
+				case "setCatalog":
+					catalog = (String)args[0];
+					return null;
+				case "rollback":
+					rollbacks++;
+					return null;
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "equals":
+					return proxy == args[0];
+				default:
+					return null;
+			}
+		});
+	}
+	
+	/**
+	 * Driver which creates in-memory test connections
+	 */
+	private static class TestDriver implements Driver
+	{
+		private List<TestConnection> connections = new CopyOnWriteArrayList<>();
+		
+		@Override
+		public Connection connect(String url, Properties info) throws SQLException
+		{
+			if(!acceptsURL(url))
+			{
+				return null;
+			}
+			
+			TestConnection connection = new TestConnection();
+			connections.add(connection);
+			return connection.connection;
+		}
+		
+		@Override
+		public boolean acceptsURL(String url) throws SQLException
+		{
+			return url.startsWith("jdbc:testpool:");
+		}
+		
+		@Override
+		public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) throws SQLException
+		{
+			return new DriverPropertyInfo[0];
+		}
+		
+		@Override
+		public int getMajorVersion()
+		{
+			return 1;
+		}
+		
+		@Override
+		public int getMinorVersion()
+		{
+			return 0;
+		}
+		
+		@Override
+		public boolean jdbcCompliant()
+		{
+			return false;
+		}
+		
+		@Override
+		public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException
+		{
+			throw new SQLFeatureNotSupportedException();
+		}
+	}
+	
+	private TestDriver driver = new TestDriver();
+	
+	@BeforeClass
+	public void registerDriver() throws SQLException
+	{
+		DriverManager.registerDriver(driver);
+	}
+	
+	@AfterClass
+	public void deregisterDriver() throws SQLException
+	{
+		DriverManager.deregisterDriver(driver);
+	}
+	
+	private PooledDataSource newDataSource(int maxSize)
+	{
+		driver.connections.clear();
+		
+		PooledDataSource dataSource = new PooledDataSource(null, URL, "user", "pass");
+		dataSource.setMaxSize(maxSize);
+		dataSource.setAcquireTimeout(200);
+		
+		return dataSource;
+	}
+	
+	/**
+	 * Ensures connections are reused and their state is reset when returned.
+	 */
+	@Test
+	public void testReuse() throws Exception
+	{
+		PooledDataSource dataSource = newDataSource(2);
+		
+		Connection con = dataSource.getConnection();
+		con.setAutoCommit(false);
+		con.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+		con.setReadOnly(true);
+		con.setCatalog("other");
+		con.close();
+		
+		//closing again should not have any effect
+		con.close();
+		Assert.assertTrue(con.isClosed());
+		
+		TestConnection physical = driver.connections.get(0);
+		Assert.assertFalse(physical.closed.get());
+		Assert.assertTrue(physical.autoCommit);
+		Assert.assertEquals(physical.transactionIsolation, Connection.TRANSACTION_READ_COMMITTED);
+		Assert.assertFalse(physical.readOnly);
+		Assert.assertEquals(physical.catalog, "main");
+		Assert.assertEquals(physical.rollbacks, 1);
+		
+		try
+		{
+			con.createStatement();
+			Assert.fail("Returned connection is still usable");
+		}catch(SQLException ex)
+		{
+			//expected
+		}
+		
+		try(Connection con2 = dataSource.getConnection())
+		{
+			Assert.assertEquals(driver.connections.size(), 1);
+			Assert.assertEquals(dataSource.getActiveCount(), 1);
+		}
+		
+		Assert.assertEquals(dataSource.getIdleCount(), 1);
+		
+		dataSource.close();
+		Assert.assertTrue(physical.closed.get());
+		Assert.assertEquals(dataSource.getTotalCount(), 0);
+	}
+	
+	/**
+	 * Ensures callers wait only for acquire timeout, when pool is exhausted.
+	 */
+	@Test
+	public void testAcquireTimeout() throws Exception
+	{
+		PooledDataSource dataSource = newDataSource(1);
+		Connection con = dataSource.getConnection();
+		
+		long startTime = System.currentTimeMillis();
+		
+		try
+		{
+			dataSource.getConnection();
+			Assert.fail("Connection obtained beyond max size");
+		}catch(SQLTimeoutException ex)
+		{
+			Assert.assertTrue(System.currentTimeMillis() - startTime >= 200);
+		}
+		
+		//once connection is released, it should be available
+		con.close();
+		dataSource.getConnection().close();
+		
+		Assert.assertEquals(driver.connections.size(), 1);
+		dataSource.close();
+	}
+	
+	/**
+	 * Ensures invalid idle connections are discarded on borrow.
+	 */
+	@Test
+	public void testValidationOnBorrow() throws Exception
+	{
+		PooledDataSource dataSource = newDataSource(2);
+		dataSource.getConnection().close();
+		
+		TestConnection physical = driver.connections.get(0);
+		physical.valid.set(false);
+		
+		//wait for validation bypass window to expire
+		Thread.sleep(600);
+		
+		dataSource.getConnection().close();
+		
+		Assert.assertEquals(driver.connections.size(), 2);
+		Assert.assertTrue(physical.closed.get());
+		Assert.assertEquals(dataSource.getTotalCount(), 1);
+		
+		dataSource.close();
+	}
+	
+	/**
+	 * Ensures connection attributes are retained across borrows of same physical connection and closeable
+	 * attributes are closed along with physical connection.
+	 */
+	@Test
+	public void testConnectionAttributes() throws Exception
+	{
+		PooledDataSource dataSource = newDataSource(1);
+		AtomicBoolean attributeClosed = new AtomicBoolean(false);
+		AutoCloseable attribute = () -> attributeClosed.set(true);
+		
+		PooledConnection con = (PooledConnection)dataSource.getConnection();
+		Assert.assertNull(con.getAttribute("cache"));
+		
+		con.setAttribute("cache", attribute);
+		con.setAttribute("other", "value");
+		con.close();
+		
+		try
+		{
+			con.getAttribute("cache");
+			Assert.fail("Attributes are accessible after returning connection");
+		}catch(IllegalStateException ex)
+		{
+			//expected
+		}
+		
+		con = (PooledConnection)dataSource.getConnection();
+		Assert.assertSame(con.getAttribute("cache"), attribute);
+		
+		con.setAttribute("other", null);
+		Assert.assertNull(con.getAttribute("other"));
+		con.close();
+		
+		Assert.assertEquals(driver.connections.size(), 1);
+		Assert.assertFalse(attributeClosed.get());
+		
+		dataSource.close();
+		Assert.assertTrue(attributeClosed.get());
+		Assert.assertTrue(driver.connections.get(0).closed.get());
+	}
+	
+	/**
+	 * Ensures idle connections beyond min size are evicted and min size is maintained.
+	 */
+	@Test
+	public void testIdleEviction() throws Exception
+	{
+		PooledDataSource dataSource = newDataSource(3);
+		dataSource.setMinSize(1);
+		dataSource.setIdleTimeout(100);
+		dataSource.setHouseKeepingInterval(50);
+		
+		Connection con1 = dataSource.getConnection();
+		Connection con2 = dataSource.getConnection();
+		con1.close();
+		con2.close();
+		
+		Assert.assertEquals(dataSource.getTotalCount(), 2);
+		
+		Thread.sleep(500);
+		
+		Assert.assertEquals(dataSource.getTotalCount(), 1);
+		Assert.assertEquals(dataSource.getIdleCount(), 1);
+		
+		dataSource.close();
+	}
+}